@@ -0,0 +1,80 @@
+package com.interview.assessment.jp.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of an account's transaction list, with the object
+ * mapper configured as the application's
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionResponseJsonBenchmark {
+
+    @Param({"100", "10000"})
+    public int transactionsPerAccount;
+
+    private ObjectWriter writer;
+    private List<TransactionResponse> transactions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TransactionResponse.class));
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        transactions = new ArrayList<>(transactionsPerAccount);
+        for (int i = 0; i < transactionsPerAccount; i++) {
+            transactions.add(TransactionResponse.builder()
+                    .id((long) i + 1)
+                    .transactionType(i % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT)
+                    .amount(new BigDecimal("12.34"))
+                    .description("Card payment")
+                    .transactionDate(start.plusMinutes(i))
+                    .accountId(1L)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] writeTransactions() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] writeTransactionsFourThreads() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transactions);
+    }
+}
@@ -0,0 +1,64 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.response.AccountResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The current user's account list. Account reads do not touch transactions,
+ * so a large account history should not change the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceImplBenchmark {
+
+    private static final int ACCOUNTS = 16;
+
+    @Param({"100", "10000"})
+    public int transactionsPerAccount;
+
+    private MockDataService mockDataService;
+    private AccountServiceImpl accountService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mockDataService = LedgerFixture.populate(ACCOUNTS, transactionsPerAccount);
+        accountService = new AccountServiceImpl(mockDataService);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mockDataService.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<AccountResponse> getAccountsByCurrentUser() {
+        return accountService.getAccountsByCurrentUser();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<AccountResponse> getAccountsByCurrentUserFourThreads() {
+        return accountService.getAccountsByCurrentUser();
+    }
+}
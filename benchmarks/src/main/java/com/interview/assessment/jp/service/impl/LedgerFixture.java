@@ -0,0 +1,68 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory ledgers populated for the benchmarks
+ */
+final class LedgerFixture {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final String[] DESCRIPTIONS = {"Card payment", "Salary payment", "Transfer", "Refund"};
+
+    private LedgerFixture() {
+    }
+
+    /**
+     * Create a ledger with extra accounts for the current user, each holding
+     * the same number of transactions, one minute apart
+     *
+     * @param accounts               Accounts to add
+     * @param transactionsPerAccount Transactions of each added account
+     * @return Initialized ledger
+     */
+    static MockDataService populate(int accounts, int transactionsPerAccount) {
+        MockDataService ledger = new MockDataService(new LedgerProperties());
+        ledger.init();
+        Long userId = ledger.getCurrentUser().getId();
+        for (int a = 0; a < accounts; a++) {
+            Account account = ledger.createAccount(Account.builder()
+                    .accountNumber("JMH-" + a)
+                    .balance(new BigDecimal("1000000.00"))
+                    .accountType(AccountType.CHECKING)
+                    .userId(userId)
+                    .build());
+            List<Transaction> transactions = new ArrayList<>(transactionsPerAccount);
+            for (int i = 0; i < transactionsPerAccount; i++) {
+                transactions.add(Transaction.builder()
+                        .transactionType(i % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT)
+                        .amount(new BigDecimal("12.34"))
+                        .description(DESCRIPTIONS[i % DESCRIPTIONS.length])
+                        .transactionDate(START.plusMinutes(i))
+                        .account(account)
+                        .build());
+            }
+            ledger.createTransactions(account.getId(), transactions);
+        }
+        return ledger;
+    }
+
+    /**
+     * @return IDs of the accounts added by {@link #populate}
+     */
+    static List<Long> accountIds(MockDataService ledger) {
+        return ledger.getAccountsByUserId(ledger.getCurrentUser().getId()).stream()
+                .filter(account -> account.getAccountNumber().startsWith("JMH-"))
+                .map(Account::getId)
+                .toList();
+    }
+}
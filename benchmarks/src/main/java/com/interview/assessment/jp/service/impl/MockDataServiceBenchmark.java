@@ -0,0 +1,105 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Postings and full account reads on the in-memory ledger. The ledger is
+ * rebuilt for every iteration, so the postings of one iteration do not grow
+ * the accounts read by the next.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockDataServiceBenchmark {
+
+    private static final int ACCOUNTS = 16;
+
+    @Param({"100", "10000"})
+    public int transactionsPerAccount;
+
+    private MockDataService mockDataService;
+    private List<Long> accountIds;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        mockDataService = LedgerFixture.populate(ACCOUNTS, transactionsPerAccount);
+        accountIds = LedgerFixture.accountIds(mockDataService);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        mockDataService.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction createTransaction() {
+        return post();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Transaction createTransactionFourThreads() {
+        return post();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void getTransactionsByAccountId(Blackhole blackhole) {
+        read(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void getTransactionsByAccountIdFourThreads(Blackhole blackhole) {
+        read(blackhole);
+    }
+
+    private Transaction post() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return mockDataService.createTransaction(Transaction.builder()
+                .transactionType(random.nextBoolean() ? TransactionType.CREDIT : TransactionType.DEBIT)
+                .amount(BigDecimal.ONE)
+                .description("Card payment")
+                .transactionDate(LocalDateTime.now())
+                .account(Account.builder().id(accountIds.get(random.nextInt(accountIds.size()))).build())
+                .build());
+    }
+
+    /**
+     * Read an account's transactions and build every one of them, as a caller
+     * iterating the returned view does
+     */
+    private void read(Blackhole blackhole) {
+        Long accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+        for (Transaction transaction : mockDataService.getTransactionsByAccountId(accountId)) {
+            blackhole.consume(transaction);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion of one transaction, and a whole account's
+ * transactions read through the service
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceImplBenchmark {
+
+    private static final int ACCOUNTS = 16;
+
+    @Param({"100", "10000"})
+    public int transactionsPerAccount;
+
+    private MockDataService mockDataService;
+    private TransactionServiceImpl transactionService;
+    private List<Long> accountIds;
+    // Built once, so convertToDto is measured without the ledger read
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mockDataService = LedgerFixture.populate(ACCOUNTS, transactionsPerAccount);
+        transactionService = new TransactionServiceImpl(mockDataService,
+                new IdempotencyCache(1_000, Duration.ofHours(1)), new PostingMetrics(new SimpleMeterRegistry()));
+        accountIds = LedgerFixture.accountIds(mockDataService);
+        transactions = new ArrayList<>(mockDataService.getTransactionsByAccountId(accountIds.get(0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mockDataService.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransactionResponse convertToDto() {
+        return transactionService.convertToDto(
+                transactions.get(ThreadLocalRandom.current().nextInt(transactions.size())));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TransactionResponse convertToDtoFourThreads() {
+        return convertToDto();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<TransactionResponse> getTransactionsByAccountId() {
+        return transactionService.getTransactionsByAccountId(
+                accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size())));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<TransactionResponse> getTransactionsByAccountIdFourThreads() {
+        return getTransactionsByAccountId();
+    }
+}
@@ -0,0 +1,22 @@
+package com.interview.assessment.jp.config;
+
+import com.interview.assessment.jp.service.impl.IdempotencyCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Idempotency Configuration Class
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * Results of transaction postings by idempotency key
+     */
+    @Bean
+    public IdempotencyCache idempotencyCache(IdempotencyProperties properties) {
+        return new IdempotencyCache(properties.getMaxEntries(), properties.getTtl());
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.assessment.jp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency key configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Keys remembered at most; the oldest are forgotten first, zero disables
+     */
+    private int maxEntries = 500_000;
+
+    /**
+     * How long a key's result is returned to retries
+     */
+    private Duration ttl = Duration.ofHours(24);
+}
@@ -0,0 +1,148 @@
+package com.interview.assessment.jp.config;
+
+import com.interview.assessment.jp.ledger.TransactionJournal;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Ledger configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.ledger")
+public class LedgerProperties {
+
+    /**
+     * Backend storing the ledger
+     */
+    private Store store = Store.MEMORY;
+
+    /**
+     * Balance engine used for postings
+     */
+    private BalanceEngine balanceEngine = BalanceEngine.LOCKED;
+
+    /**
+     * Durable posting journal
+     */
+    private Journal journal = new Journal();
+
+    /**
+     * Periodic ledger snapshots
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * Ledger Store Enum
+     */
+    public enum Store {
+        /**
+         * Concurrent maps in memory, optionally journaled
+         */
+        MEMORY,
+
+        /**
+         * Concurrent maps in memory, persisted in the memory-mapped journal and snapshots
+         */
+        MAPPED,
+
+        /**
+         * The users, accounts and transactions tables, also read directly by the
+         * JPA transaction and account services
+         */
+        JPA
+    }
+
+    /**
+     * Balance Engine Enum
+     */
+    public enum BalanceEngine {
+        /**
+         * BigDecimal balances on the account, updated under the account lock
+         */
+        LOCKED,
+
+        /**
+         * Long minor-unit balances updated with compare-and-set, without locks.
+         * Only the balance check is lock-free: the journal record and the row in
+         * the account's segment are still appended under the account lock, which
+         * keeps the rows in ID order and lets a snapshot cut the journal and
+         * every segment at one point.
+         */
+        CAS
+    }
+
+    /**
+     * Journal Configuration
+     */
+    @Data
+    public static class Journal {
+
+        /**
+         * Whether postings are journaled and replayed on startup
+         */
+        private boolean enabled = false;
+
+        /**
+         * Journal file
+         */
+        private Path path = Path.of("data", "ledger.journal");
+
+        /**
+         * When journal writes are forced to disk
+         */
+        private TransactionJournal.FsyncPolicy fsyncPolicy = TransactionJournal.FsyncPolicy.INTERVAL;
+
+        /**
+         * Interval between forces for the INTERVAL policy
+         */
+        private Duration fsyncInterval = Duration.ofMillis(100);
+
+        /**
+         * Batching for the GROUP policy
+         */
+        private GroupCommit groupCommit = new GroupCommit();
+    }
+
+    /**
+     * Group Commit Configuration
+     */
+    @Data
+    public static class GroupCommit {
+
+        /**
+         * Maximum number of postings made durable by one sync
+         */
+        private int batchSize = 256;
+
+        /**
+         * Longest time the writer waits for a batch to fill before syncing. Zero
+         * syncs whatever queued during the previous sync.
+         */
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    /**
+     * Snapshot Configuration
+     */
+    @Data
+    public static class Snapshot {
+
+        /**
+         * Whether snapshots are taken and loaded on startup; requires the journal
+         */
+        private boolean enabled = false;
+
+        /**
+         * Snapshot file prefix; each snapshot is suffixed with its journal generation
+         */
+        private Path path = Path.of("data", "ledger.snapshot");
+
+        /**
+         * Interval between background snapshots, zero to only snapshot on demand
+         */
+        private Duration interval = Duration.ofMinutes(5);
+    }
+}
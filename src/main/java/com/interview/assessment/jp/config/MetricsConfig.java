@@ -0,0 +1,140 @@
+package com.interview.assessment.jp.config;
+
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.impl.IdempotencyCache;
+import com.interview.assessment.jp.service.impl.LookupCache;
+import com.interview.assessment.jp.service.impl.PostingMetrics;
+import com.interview.assessment.jp.service.impl.RepositoryCache;
+import com.interview.assessment.jp.service.impl.StatementCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+
+/**
+ * Metrics Configuration Class
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Outcome counters of postings
+     */
+    @Bean
+    public PostingMetrics postingMetrics(MeterRegistry registry) {
+        return new PostingMetrics(registry);
+    }
+
+    /**
+     * Size of the ledger, sampled when the metrics are read rather than on
+     * every posting
+     */
+    @Bean
+    public MeterBinder ledgerStoreMetrics(LedgerStore ledgerStore) {
+        return registry -> {
+            Gauge.builder("banking.ledger.accounts", ledgerStore, LedgerStore::countAccounts)
+                    .description("Accounts in the ledger store")
+                    .register(registry);
+            Gauge.builder("banking.ledger.transactions", ledgerStore, LedgerStore::countTransactions)
+                    .description("Transactions in the ledger store")
+                    .register(registry);
+            Gauge.builder("banking.ledger.retained", ledgerStore, LedgerStore::retainedBytes)
+                    .description("Approximate heap retained by the ledger store's transactions")
+                    .baseUnit(BaseUnits.BYTES)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Counters of the JPA services' lookup caches, one set per cache name
+     */
+    @Bean
+    public MeterBinder repositoryCacheMetrics(ObjectProvider<RepositoryCache> repositoryCache) {
+        return registry -> repositoryCache.ifAvailable(cache -> {
+            for (String name : cache.stats().keySet()) {
+                bindCache(registry, "repository." + name, cache, c -> CacheStats.of(c.stats().get(name)));
+            }
+        });
+    }
+
+    /**
+     * Counters of the rendered statement cache, with its approximate size
+     */
+    @Bean
+    public MeterBinder statementCacheMetrics(ObjectProvider<StatementCache> statementCache) {
+        return registry -> statementCache.ifAvailable(cache -> {
+            bindCache(registry, "statements", cache, c -> CacheStats.of(c.stats()));
+            Gauge.builder("cache.retained", cache, c -> c.stats().bytes())
+                    .tag("cache", "statements")
+                    .description("Approximate heap retained by the cached statements")
+                    .baseUnit(BaseUnits.BYTES)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Counters of the posting results remembered by idempotency key
+     */
+    @Bean
+    public MeterBinder idempotencyCacheMetrics(ObjectProvider<IdempotencyCache> idempotencyCache) {
+        return registry -> idempotencyCache.ifAvailable(
+                cache -> bindCache(registry, "idempotency", cache, c -> CacheStats.of(c.stats())));
+    }
+
+    /**
+     * Bind a cache's counters under Micrometer's cache meter names, read
+     * from the cache when the metrics are scraped
+     *
+     * @param registry Registry
+     * @param name     Value of the cache tag
+     * @param cache    Cache
+     * @param stats    Reads the cache's counters
+     */
+    static <C> void bindCache(MeterRegistry registry, String name, C cache, Function<C, CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).hits())
+                .tags("cache", name, "result", "hit")
+                .description("Lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).misses())
+                .tags("cache", name, "result", "miss")
+                .description("Lookups that were not served from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> stats.apply(c).evictions())
+                .tag("cache", name)
+                .description("Entries evicted to stay within the cache's limits")
+                .register(registry);
+        Gauge.builder("cache.size", cache, c -> stats.apply(c).entries())
+                .tag("cache", name)
+                .description("Entries in the cache")
+                .register(registry);
+    }
+
+    /**
+     * Counters common to the caches
+     *
+     * @param hits      Lookups served from the cache
+     * @param misses    Lookups not served from the cache
+     * @param evictions Entries evicted to stay within the limits
+     * @param entries   Number of entries
+     */
+    record CacheStats(long hits, long misses, long evictions, long entries) {
+
+        static CacheStats of(LookupCache.Stats stats) {
+            return new CacheStats(stats.hits(), stats.misses(), stats.evictions(), stats.entries());
+        }
+
+        static CacheStats of(StatementCache.Stats stats) {
+            return new CacheStats(stats.hits(), stats.misses(), stats.evictions(), stats.entries());
+        }
+
+        static CacheStats of(IdempotencyCache.Stats stats) {
+            return new CacheStats(stats.hits(), stats.misses(), stats.evictions(), stats.entries());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.interview.assessment.jp.config;
+
+import com.interview.assessment.jp.repository.AccountRepository;
+import com.interview.assessment.jp.repository.UserRepository;
+import com.interview.assessment.jp.service.impl.RepositoryCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Repository Cache Configuration Class
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "banking.ledger", name = "store", havingValue = "JPA")
+@EnableConfigurationProperties(RepositoryCacheProperties.class)
+public class RepositoryCacheConfig {
+
+    /**
+     * Account and user lookups of the JPA services, invalidated by balance changes
+     */
+    @Bean
+    public RepositoryCache repositoryCache(RepositoryCacheProperties properties,
+            AccountRepository accountRepository, UserRepository userRepository) {
+        return new RepositoryCache(accountRepository, userRepository, properties.getMaxAccounts(),
+                properties.getMaxUserAccounts(), properties.getMaxUsers());
+    }
+}
@@ -0,0 +1,27 @@
+package com.interview.assessment.jp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Account and user lookup cache configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.repository-cache")
+public class RepositoryCacheProperties {
+
+    /**
+     * Accounts cached by ID; the least recently used are evicted first, zero disables
+     */
+    private int maxAccounts = 100_000;
+
+    /**
+     * Account lists cached by user ID; zero disables
+     */
+    private int maxUserAccounts = 50_000;
+
+    /**
+     * Users cached by username; zero disables
+     */
+    private int maxUsers = 50_000;
+}
@@ -0,0 +1,25 @@
+package com.interview.assessment.jp.config;
+
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.impl.StatementCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Statement Configuration Class
+ */
+@Configuration
+@EnableConfigurationProperties(StatementProperties.class)
+public class StatementConfig {
+
+    /**
+     * Statement cache, invalidated by every posting into a cached month
+     */
+    @Bean
+    public StatementCache statementCache(StatementProperties properties, LedgerStore ledgerStore) {
+        StatementCache cache = new StatementCache(properties.getCache().getMaxSize().toBytes());
+        ledgerStore.addPostingListener(cache::invalidate);
+        return cache;
+    }
+}
@@ -0,0 +1,98 @@
+package com.interview.assessment.jp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.Deflater;
+
+/**
+ * Statement generation configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.statement")
+public class StatementProperties {
+
+    /**
+     * Cache of rendered statements for closed months
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Asynchronous statement jobs
+     */
+    private Jobs jobs = new Jobs();
+
+    /**
+     * Bulk statement exports
+     */
+    private Export export = new Export();
+
+    /**
+     * Cache Configuration
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Total size of cached statements; zero disables the cache
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * Jobs Configuration
+     */
+    @Data
+    public static class Jobs {
+
+        /**
+         * Worker threads rendering statements
+         */
+        private int threads = 2;
+
+        /**
+         * Jobs that may wait for a worker before submissions are rejected
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Directory holding rendered statements
+         */
+        private Path directory = Path.of("data", "statements");
+
+        /**
+         * How long a finished job and its statement are kept
+         */
+        private Duration ttl = Duration.ofHours(1);
+
+        /**
+         * Interval between sweeps for expired jobs
+         */
+        private Duration cleanupInterval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Export Configuration
+     */
+    @Data
+    public static class Export {
+
+        /**
+         * Statements rendered in parallel
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Rendered statements that may wait to be zipped before rendering pauses
+         */
+        private int maxPending = 64;
+
+        /**
+         * ZIP deflate level, 0 to 9; compression runs on the single writing thread
+         */
+        private int compressionLevel = Deflater.BEST_SPEED;
+    }
+}
@@ -1,16 +1,32 @@
 package com.interview.assessment.jp.controller.v1;
 
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.dto.response.StatementJobResponse;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.service.StatementExportService;
+import com.interview.assessment.jp.service.StatementJobService;
+import com.interview.assessment.jp.service.StatementService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Statement Controller
@@ -21,47 +37,117 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Statements", description = "Statement related APIs")
 public class StatementController {
 
+        private final StatementService statementService;
+        private final StatementJobService statementJobService;
+        private final StatementExportService statementExportService;
+
         /**
          * Download monthly statement
          *
          * @param accountId Account ID
-         * @param year      Year
-         * @param month     Month
+         * @param request   Year and month, bound from the path
          * @return Statement TXT
          */
         @GetMapping("/accounts/{accountId}/statements/{year}/{month}")
-        @Operation(summary = "Download monthly statement", description = "Downloads the statement for the specified account and month")
-        public ResponseEntity<ByteArrayResource> downloadStatement(
+        @Operation(summary = "Download monthly statement", description = "Downloads the statement for the specified account and month, with the opening balance and a running balance per transaction")
+        @Parameters({
+                        @Parameter(name = "year", in = ParameterIn.PATH, required = true, description = "Year, 2000 to 2100"),
+                        @Parameter(name = "month", in = ParameterIn.PATH, required = true, description = "Month, 1 to 12")
+        })
+        public ResponseEntity<StreamingResponseBody> downloadStatement(
+                        @PathVariable Long accountId,
+                        @Parameter(hidden = true) @Valid StatementRequest request) {
+
+                // Resolve eagerly so that a missing account is still a 404 rather than a broken download
+                StatementService.Statement statement = statementService.getStatement(accountId, request);
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + statement.fileName());
+
+                return ResponseEntity.ok()
+                                .headers(headers)
+                                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                                .body(statement::writeTo);
+        }
+
+        /**
+         * Request a monthly statement to be generated in the background
+         *
+         * @param accountId Account ID
+         * @param request   Year and month
+         * @return Queued job, located by the Location header
+         */
+        @PostMapping("/accounts/{accountId}/statement-jobs")
+        @Operation(summary = "Request monthly statement", description = "Queues the statement for the specified account and month; poll the returned job and download the statement once it has completed")
+        public ResponseEntity<StatementJobResponse> submitStatementJob(
                         @PathVariable Long accountId,
-                        @PathVariable Integer year,
-                        @PathVariable Integer month) {
-
-                // Generate simple text format statement
-                StringBuilder statementBuilder = new StringBuilder();
-                statementBuilder.append("Account Statement\n");
-                statementBuilder.append("========================\n");
-                statementBuilder.append("Account ID: ").append(accountId).append("\n");
-                statementBuilder.append("Statement Period: ").append(year).append(" year ").append(month)
-                                .append(" month\n");
-                statementBuilder.append("========================\n\n");
-                statementBuilder.append("Transaction Details:\n");
-                statementBuilder.append("1. 2023-01-01 - Deposit - $1000.00 - Salary Deposit\n");
-                statementBuilder.append("2. 2023-01-05 - Withdrawal - $200.00 - Supermarket Shopping\n");
-                statementBuilder.append("3. 2023-01-15 - Withdrawal - $500.00 - Rent\n");
-                statementBuilder.append("========================\n");
-                statementBuilder.append("Ending Balance: $8000.00\n");
-
-                byte[] data = statementBuilder.toString().getBytes();
-                ByteArrayResource resource = new ByteArrayResource(data);
+                        @Valid @RequestBody StatementRequest request) {
+
+                StatementJobResponse job = statementJobService.submitJob(accountId, request);
+
+                return ResponseEntity.accepted()
+                                .location(URI.create("/api/v1/statement-jobs/" + job.getJobId()))
+                                .body(job);
+        }
+
+        /**
+         * Get statement job status
+         *
+         * @param jobId Job ID
+         * @return Job status
+         */
+        @GetMapping("/statement-jobs/{jobId}")
+        @Operation(summary = "Get statement job", description = "Gets the status of a statement job, with the download URL once it has completed")
+        public ResponseEntity<StatementJobResponse> getStatementJob(@PathVariable String jobId) {
+                return ResponseEntity.ok(statementJobService.getJob(jobId));
+        }
+
+        /**
+         * Download the statement of a completed job
+         *
+         * @param jobId Job ID
+         * @return Statement TXT
+         */
+        @GetMapping("/statement-jobs/{jobId}/download")
+        @Operation(summary = "Download statement job", description = "Downloads the statement generated by a completed job")
+        public ResponseEntity<StreamingResponseBody> downloadStatementJob(@PathVariable String jobId) {
+                StatementService.Statement statement = statementJobService.getJobStatement(jobId);
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + statement.fileName());
+
+                return ResponseEntity.ok()
+                                .headers(headers)
+                                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                                .body(statement::writeTo);
+        }
+
+        /**
+         * Download the monthly statements of all accounts as one ZIP; admins only
+         *
+         * @param request     Year and month, bound from the path
+         * @param accountType Optional account type filter
+         * @return Statements ZIP
+         */
+        @GetMapping("/admin/statements/{year}/{month}")
+        @Operation(summary = "Export monthly statements", description = "Generates the statements of every account, or of every account of the given type, in parallel and streams them as one ZIP with an export summary entry; requires the ADMIN role")
+        @Parameters({
+                        @Parameter(name = "year", in = ParameterIn.PATH, required = true, description = "Year, 2000 to 2100"),
+                        @Parameter(name = "month", in = ParameterIn.PATH, required = true, description = "Month, 1 to 12")
+        })
+        public ResponseEntity<StreamingResponseBody> exportStatements(
+                        @Parameter(hidden = true) @Valid StatementRequest request,
+                        @RequestParam(required = false) AccountType accountType) {
+
+                StatementExportService.StatementArchive archive = statementExportService.getStatementArchive(request,
+                                accountType);
 
                 HttpHeaders headers = new HttpHeaders();
-                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=statement-" +
-                                accountId + "-" + year + "-" + month + ".txt");
+                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + archive.fileName());
 
                 return ResponseEntity.ok()
                                 .headers(headers)
-                                .contentType(MediaType.TEXT_PLAIN)
-                                .contentLength(data.length)
-                                .body(resource);
+                                .contentType(MediaType.parseMediaType("application/zip"))
+                                .body(archive::writeTo);
         }
-}
\ No newline at end of file
+}
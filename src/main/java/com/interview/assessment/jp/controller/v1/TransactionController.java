@@ -1,16 +1,32 @@
 package com.interview.assessment.jp.controller.v1;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionPageResponse;
 import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
 import com.interview.assessment.jp.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Transaction Controller
@@ -22,31 +38,113 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Get all transactions for an account
+     * Get all transactions for an account, or those dated in a range
      *
      * @param accountId Account ID
+     * @param from      Earliest transaction date, inclusive
+     * @param to        Latest transaction date, exclusive
      * @return List of transactions
      */
-    @GetMapping("/accounts/{accountId}/transactions")
-    @Operation(summary = "Get all transactions for an account", description = "Returns a list of all transactions for the specified account")
-    public ResponseEntity<List<TransactionResponse>> getTransactionsByAccountId(@PathVariable Long accountId) {
-        return ResponseEntity.ok(transactionService.getTransactionsByAccountId(accountId));
+    @GetMapping(value = "/accounts/{accountId}/transactions", params = "!limit")
+    @Operation(summary = "Get all transactions for an account", description = "Returns a list of all transactions for the specified account. With from and/or to, returns only transactions dated in [from, to), ordered by date")
+    public ResponseEntity<List<TransactionResponse>> getTransactionsByAccountId(@PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from == null && to == null) {
+            return ResponseEntity.ok(transactionService.getTransactionsByAccountId(accountId));
+        }
+        return ResponseEntity.ok(transactionService.getTransactionsByAccountIdBetween(accountId, from, to));
     }
 
     /**
-     * Create a new transaction
+     * Export all transactions for an account, or those dated in a range, as
+     * newline-delimited JSON. Rows are serialized one at a time as they are
+     * read, so memory use does not grow with the account's history.
+     *
+     * @param accountId Account ID
+     * @param from      Earliest transaction date, inclusive
+     * @param to        Latest transaction date, exclusive
+     * @return One JSON transaction per line
+     */
+    @GetMapping(value = "/accounts/{accountId}/transactions", params = "!limit",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export transactions for an account as NDJSON", description = "Streams every transaction for the specified account, one JSON object per line, when requested with Accept: application/x-ndjson. With from and/or to, streams only transactions dated in [from, to), ordered by date")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByAccountId(@PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        // Resolve eagerly so that a missing account is still a 404 rather than a broken stream
+        Stream<TransactionResponse> transactions = transactionService.streamTransactionsByAccountId(accountId,
+                from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(transactions, out));
+    }
+
+    /**
+     * Get one page of transactions for an account
      *
      * @param accountId Account ID
-     * @param request   Transaction request data
+     * @param limit     Maximum number of transactions on the page
+     * @param cursor    Next-page cursor from the previous page
+     * @param from      Rejected: date ranges are not paginated
+     * @param to        Rejected: date ranges are not paginated
+     * @return Page of transactions
+     */
+    @GetMapping(value = "/accounts/{accountId}/transactions", params = "limit")
+    @Operation(summary = "Get a page of transactions for an account", description = "Returns up to limit transactions ordered by date, then ID, with a cursor for the next page. Pass the cursor back to continue after the last transaction returned")
+    public ResponseEntity<TransactionPageResponse> getTransactionsPageByAccountId(@PathVariable Long accountId,
+            @RequestParam int limit, @RequestParam(required = false) String cursor,
+            @Parameter(hidden = true) @RequestParam(required = false) String from,
+            @Parameter(hidden = true) @RequestParam(required = false) String to) {
+        if (from != null || to != null) {
+            throw new IllegalArgumentException("'limit' cannot be combined with 'from' or 'to'");
+        }
+        return ResponseEntity.ok(transactionService.getTransactionsPageByAccountId(accountId, cursor, limit));
+    }
+
+    /**
+     * Create a new transaction
+     *
+     * @param accountId      Account ID
+     * @param request        Transaction request data
+     * @param idempotencyKey Optional key making retries return the original transaction
      * @return Created transaction
      */
     @PostMapping("/accounts/{accountId}/transactions")
-    @Operation(summary = "Create a new transaction", description = "Creates a new transaction for the specified account")
+    @Operation(summary = "Create a new transaction", description = "Creates a new transaction for the specified account. Retries sending the same Idempotency-Key and request get the original transaction instead of posting again")
     public ResponseEntity<TransactionResponse> createTransaction(@PathVariable Long accountId,
-            @Valid @RequestBody TransactionRequest request) {
-        return ResponseEntity.ok(transactionService.createTransaction(accountId, request));
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(transactionService.createTransaction(accountId, request, idempotencyKey));
+    }
+
+    /**
+     * Create a batch of transactions, all or none
+     *
+     * @param accountId Account ID
+     * @param requests  Transaction requests in posting order
+     * @return Created transactions
+     */
+    @PostMapping("/accounts/{accountId}/transactions:batch")
+    @Operation(summary = "Create a batch of transactions", description = "Validates every transaction, then posts them all in order for the specified account, or none if any debit exceeds the balance left before it")
+    public ResponseEntity<List<TransactionResponse>> createTransactions(@PathVariable Long accountId,
+            @RequestBody List<@Valid TransactionRequest> requests) {
+        return ResponseEntity.ok(transactionService.createTransactions(accountId, requests));
+    }
+
+    /**
+     * Transfer money between two accounts, all or none
+     *
+     * @param request Transfer request data
+     * @return Created debit and credit
+     */
+    @PostMapping("/transfers")
+    @Operation(summary = "Transfer between accounts", description = "Debits the source account, which must belong to the current user, and credits the destination account atomically. Both transactions reference each other through linkedTransactionId")
+    public ResponseEntity<TransferResponse> createTransfer(@Valid @RequestBody TransferRequest request) {
+        return ResponseEntity.ok(transactionService.createTransfer(request));
     }
 
     /**
@@ -60,4 +158,22 @@ public class TransactionController {
     public ResponseEntity<TransactionResponse> getTransactionById(@PathVariable Long id) {
         return ResponseEntity.ok(transactionService.getTransactionById(id));
     }
-}
\ No newline at end of file
+
+    /**
+     * Write each transaction as one line of JSON, leaving the response stream
+     * open for the container to close
+     */
+    private void writeNdjson(Stream<TransactionResponse> transactions, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<TransactionResponse> rows = transactions;
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<TransactionResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.interview.assessment.jp.dto.request;
 
 import com.interview.assessment.jp.enums.TransactionType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -24,6 +25,7 @@ public class TransactionRequest {
      */
     @NotNull(message = "Transaction amount cannot be null")
     @Positive(message = "Transaction amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Transaction amount must have at most 2 decimal places")
     private BigDecimal amount;
 
     /**
@@ -0,0 +1,41 @@
+package com.interview.assessment.jp.dto.request;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Transfer Request DTO
+ */
+@Data
+public class TransferRequest {
+    /**
+     * Account to debit
+     */
+    @NotNull(message = "Source account cannot be null")
+    private Long fromAccountId;
+
+    /**
+     * Account to credit
+     */
+    @NotNull(message = "Destination account cannot be null")
+    private Long toAccountId;
+
+    /**
+     * Transfer Amount
+     */
+    @NotNull(message = "Transfer amount cannot be null")
+    @Positive(message = "Transfer amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Transfer amount must have at most 2 decimal places")
+    private BigDecimal amount;
+
+    /**
+     * Transfer Description
+     */
+    @NotBlank(message = "Transfer description cannot be blank")
+    private String description;
+}
@@ -0,0 +1,68 @@
+package com.interview.assessment.jp.dto.response;
+
+import com.interview.assessment.jp.enums.StatementJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statement Job Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementJobResponse {
+    /**
+     * Job ID
+     */
+    private String jobId;
+
+    /**
+     * Account ID
+     */
+    private Long accountId;
+
+    /**
+     * Statement Year
+     */
+    private Integer year;
+
+    /**
+     * Statement Month
+     */
+    private Integer month;
+
+    /**
+     * Job Status
+     */
+    private StatementJobStatus status;
+
+    /**
+     * Submission Time
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * Completion Time, null until the job finishes
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * Time after which the artifact is deleted, null until the job finishes
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Download URL, null until the statement is ready
+     */
+    private String downloadUrl;
+
+    /**
+     * Failure Reason, null unless the job failed
+     */
+    private String error;
+}
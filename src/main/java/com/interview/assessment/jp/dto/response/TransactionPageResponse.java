@@ -0,0 +1,27 @@
+package com.interview.assessment.jp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Transaction Page Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+    /**
+     * Transactions on this page, ordered by date, then ID
+     */
+    private List<TransactionResponse> transactions;
+
+    /**
+     * Cursor for the next page; null on the last page
+     */
+    private String nextCursor;
+}
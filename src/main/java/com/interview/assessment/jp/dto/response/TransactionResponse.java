@@ -46,4 +46,9 @@ public class TransactionResponse {
      * Account ID
      */
     private Long accountId;
+
+    /**
+     * ID of the other leg when the transaction is part of a transfer
+     */
+    private Long linkedTransactionId;
 }
\ No newline at end of file
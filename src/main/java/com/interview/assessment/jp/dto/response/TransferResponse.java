@@ -0,0 +1,25 @@
+package com.interview.assessment.jp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transfer Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponse {
+    /**
+     * Debit of the source account
+     */
+    private TransactionResponse debit;
+
+    /**
+     * Credit of the destination account
+     */
+    private TransactionResponse credit;
+}
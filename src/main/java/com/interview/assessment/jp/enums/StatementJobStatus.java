@@ -0,0 +1,26 @@
+package com.interview.assessment.jp.enums;
+
+/**
+ * Statement Job Status Enum
+ */
+public enum StatementJobStatus {
+    /**
+     * Waiting for a worker
+     */
+    QUEUED,
+
+    /**
+     * Being rendered
+     */
+    RUNNING,
+
+    /**
+     * Rendered and ready to download
+     */
+    COMPLETED,
+
+    /**
+     * Rendering failed
+     */
+    FAILED
+}
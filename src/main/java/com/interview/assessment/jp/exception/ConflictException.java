@@ -0,0 +1,15 @@
+package com.interview.assessment.jp.exception;
+
+/**
+ * Conflict Exception, for requests that do not fit the current state of a resource
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,19 +1,29 @@
 package com.interview.assessment.jp.exception;
 
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * Global Exception Handler
+ * API Exception Handler, the only advice handling the API's exceptions. Ordered
+ * after {@link GlobalExceptionHandler}, so its catch-all does not answer
+ * requests for missing static resources.
  */
 @ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
 public class ControllerExceptionHandler {
 
     /**
@@ -34,7 +44,115 @@ public class ControllerExceptionHandler {
         body.put("message", ex.getMessage());
         body.put("path", request.getDescription(false));
 
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+        return error(HttpStatus.NOT_FOUND, body);
+    }
+
+    /**
+     * Handle invalid request arguments
+     *
+     * @param ex      Exception
+     * @param request Web request
+     * @return Error response
+     */
+    @ExceptionHandler({IllegalArgumentException.class, MethodArgumentNotValidException.class,
+            HandlerMethodValidationException.class})
+    public ResponseEntity<Object> handleBadRequestException(
+            Exception ex, WebRequest request) {
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        if (ex instanceof MethodArgumentNotValidException validation) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            validation.getBindingResult().getFieldErrors()
+                    .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+            body.put("message", "Validation failed");
+            body.put("errors", errors);
+        } else if (ex instanceof HandlerMethodValidationException validation) {
+            // Elements of a validated list are keyed by their index, e.g. "[2].amount"
+            Map<String, String> errors = new LinkedHashMap<>();
+            validation.getParameterValidationResults().forEach(result -> {
+                String prefix = result.getContainerIndex() == null ? "" : "[" + result.getContainerIndex() + "].";
+                if (result instanceof ParameterErrors parameterErrors) {
+                    parameterErrors.getFieldErrors()
+                            .forEach(error -> errors.put(prefix + error.getField(), error.getDefaultMessage()));
+                } else {
+                    result.getResolvableErrors().forEach(error -> errors.put(
+                            prefix + result.getMethodParameter().getParameterName(), error.getDefaultMessage()));
+                }
+            });
+            body.put("message", "Validation failed");
+            body.put("errors", errors);
+        } else {
+            body.put("message", ex.getMessage());
+        }
+        body.put("path", request.getDescription(false));
+
+        return error(HttpStatus.BAD_REQUEST, body);
+    }
+
+    /**
+     * Handle requests the current user has no role for
+     *
+     * @param ex      Exception
+     * @param request Web request
+     * @return Error response
+     */
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<Object> handleForbiddenException(
+            ForbiddenException ex, WebRequest request) {
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.FORBIDDEN.value());
+        body.put("error", "Forbidden");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return error(HttpStatus.FORBIDDEN, body);
+    }
+
+    /**
+     * Handle requests that conflict with the resource's current state
+     *
+     * @param ex      Exception
+     * @param request Web request
+     * @return Error response
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Object> handleConflictException(
+            ConflictException ex, WebRequest request) {
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return error(HttpStatus.CONFLICT, body);
+    }
+
+    /**
+     * Handle work rejected because a bounded queue is full
+     *
+     * @param ex      Exception
+     * @param request Web request
+     * @return Error response
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecutionException(
+            RejectedExecutionException ex, WebRequest request) {
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return error(HttpStatus.SERVICE_UNAVAILABLE, body);
     }
 
     /**
@@ -55,6 +173,21 @@ public class ControllerExceptionHandler {
         body.put("message", ex.getMessage());
         body.put("path", request.getDescription(false));
 
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, body);
+    }
+
+    /**
+     * Build an error response. The content type is fixed to JSON so that the
+     * error can be written even when the request accepted only a streaming
+     * type such as NDJSON.
+     *
+     * @param status HTTP status
+     * @param body   Error body
+     * @return Error response
+     */
+    private ResponseEntity<Object> error(HttpStatus status, Map<String, Object> body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
-}
\ No newline at end of file
+}
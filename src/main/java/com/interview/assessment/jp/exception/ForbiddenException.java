@@ -0,0 +1,11 @@
+package com.interview.assessment.jp.exception;
+
+/**
+ * Forbidden Exception, for requests the current user has no role for
+ */
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -1,39 +1,22 @@
 package com.interview.assessment.jp.exception;
 
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
- * Global Exception Handler
+ * Global Exception Handler, for requests that reach no API endpoint. Ordered
+ * before {@link ControllerExceptionHandler}, whose catch-all would otherwise
+ * answer them; every API exception is handled there only.
  */
 @RestControllerAdvice
-@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class GlobalExceptionHandler {
 
-    /**
-     * Handle resource not found exception
-     */
-    @ExceptionHandler(ResourceNotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ErrorResponse handleResourceNotFoundException(ResourceNotFoundException ex) {
-        log.error("Resource not found exception: {}", ex.getMessage());
-
-        return new ErrorResponse(
-                HttpStatus.NOT_FOUND.value(),
-                ex.getMessage(),
-                LocalDateTime.now());
-    }
-
     /**
      * Handle static resource not found exception (like favicon.ico)
      */
@@ -42,57 +25,4 @@ public class GlobalExceptionHandler {
     public void handleNoResourceFoundException(NoResourceFoundException ex) {
         // Silent handling, no logging, no response body
     }
-
-    /**
-     * Handle validation exceptions
-     */
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public Map<String, Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error("Validation exception: {}", ex.getMessage());
-
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> errors = new HashMap<>();
-
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
-
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("message", "Validation failed");
-        response.put("errors", errors);
-
-        return response;
-    }
-
-    /**
-     * Handle illegal argument exception
-     */
-    @ExceptionHandler(IllegalArgumentException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleIllegalArgumentException(IllegalArgumentException ex) {
-        log.error("Illegal argument exception: {}", ex.getMessage());
-
-        return new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                ex.getMessage(),
-                LocalDateTime.now());
-    }
-
-    /**
-     * Handle all other exceptions
-     */
-    @ExceptionHandler(Exception.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponse handleGlobalException(Exception ex) {
-        log.error("Unhandled exception: ", ex);
-
-        return new ErrorResponse(
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal server error",
-                LocalDateTime.now());
-    }
-}
\ No newline at end of file
+}
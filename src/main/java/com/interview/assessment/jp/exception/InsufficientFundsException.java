@@ -0,0 +1,12 @@
+package com.interview.assessment.jp.exception;
+
+/**
+ * Insufficient Funds Exception, for debits larger than the account balance.
+ * An invalid argument, so it is answered with 400 like the others
+ */
+public class InsufficientFundsException extends IllegalArgumentException {
+
+    public InsufficientFundsException() {
+        super("Insufficient account balance");
+    }
+}
@@ -0,0 +1,108 @@
+package com.interview.assessment.jp.ledger;
+
+import com.interview.assessment.jp.exception.InsufficientFundsException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free balance engine keeping each account's balance as long minor units.
+ * <p>
+ * Credits and debits are compare-and-set loops on a per-account slot, so they
+ * never block and never allocate. A debit that would take the balance below
+ * zero is rejected without changing the slot.
+ */
+public final class CasBalanceEngine {
+
+    private final ConcurrentHashMap<Long, AtomicLong> balances = new ConcurrentHashMap<>();
+
+    /**
+     * Register an account with its opening balance
+     *
+     * @param accountId    Account ID
+     * @param openingMinor Opening balance in minor units
+     */
+    public void open(Long accountId, long openingMinor) {
+        balances.put(accountId, new AtomicLong(openingMinor));
+    }
+
+    /**
+     * Get the current balance
+     *
+     * @param accountId Account ID
+     * @return Balance in minor units
+     */
+    public long balance(Long accountId) {
+        return slot(accountId).get();
+    }
+
+    /**
+     * Add to the balance
+     *
+     * @param accountId Account ID
+     * @param minor     Amount in minor units
+     * @return New balance in minor units
+     */
+    public long credit(Long accountId, long minor) {
+        AtomicLong slot = slot(accountId);
+        long current;
+        long updated;
+        do {
+            current = slot.get();
+            updated = Math.addExact(current, minor);
+        } while (!slot.compareAndSet(current, updated));
+        return updated;
+    }
+
+    /**
+     * Subtract from the balance if sufficient funds are available
+     *
+     * @param accountId Account ID
+     * @param minor     Amount in minor units
+     * @return New balance in minor units
+     * @throws InsufficientFundsException if the balance is insufficient
+     */
+    public long debit(Long accountId, long minor) {
+        AtomicLong slot = slot(accountId);
+        long current;
+        do {
+            current = slot.get();
+            if (current < minor) {
+                throw new InsufficientFundsException();
+            }
+        } while (!slot.compareAndSet(current, current - minor));
+        return current - minor;
+    }
+
+    /**
+     * Apply a sequence of credits and debits as one change, if no prefix of
+     * the sequence takes the balance below zero
+     *
+     * @param accountId   Account ID
+     * @param netMinor    Sum of the changes in minor units
+     * @param lowestMinor Lowest running sum of the changes, zero or below
+     * @return New balance in minor units
+     * @throws InsufficientFundsException if the balance is insufficient
+     */
+    public long settle(Long accountId, long netMinor, long lowestMinor) {
+        AtomicLong slot = slot(accountId);
+        long current;
+        long updated;
+        do {
+            current = slot.get();
+            if (current + lowestMinor < 0) {
+                throw new InsufficientFundsException();
+            }
+            updated = Math.addExact(current, netMinor);
+        } while (!slot.compareAndSet(current, updated));
+        return updated;
+    }
+
+    private AtomicLong slot(Long accountId) {
+        AtomicLong slot = balances.get(accountId);
+        if (slot == null) {
+            throw new IllegalStateException("No balance registered for account " + accountId);
+        }
+        return slot;
+    }
+}
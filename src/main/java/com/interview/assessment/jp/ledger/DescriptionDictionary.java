@@ -0,0 +1,80 @@
+package com.interview.assessment.jp.ledger;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding of transaction descriptions, so each distinct description
+ * is stored once and rows only keep an int code.
+ * <p>
+ * Encoding is synchronized; decoding is lock-free. A code is only ever handed
+ * out after its value is stored, so any reader that obtained a code through a
+ * published row can decode it.
+ */
+public final class DescriptionDictionary {
+
+    /**
+     * Code of a null description
+     */
+    public static final int NULL_CODE = -1;
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    private int size;
+
+    /**
+     * Get the code of a description, adding it if new
+     *
+     * @param description Description, may be null
+     * @return Code
+     */
+    public int encode(String description) {
+        if (description == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(description);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(description);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = description;
+            values = current;
+            codes.put(description, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Get the description for a code
+     *
+     * @param code Code returned by {@link #encode(String)}
+     * @return Description, or null for {@link #NULL_CODE}
+     */
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * Copy the descriptions in code order
+     *
+     * @return Descriptions, where index is the code
+     */
+    public synchronized String[] values() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * @return Number of distinct descriptions
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
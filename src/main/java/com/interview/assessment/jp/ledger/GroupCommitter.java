@@ -0,0 +1,166 @@
+package com.interview.assessment.jp.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit stage in front of a storage sync.
+ * <p>
+ * Callers write their record first, then block in {@link #commit()}. A single
+ * writer thread collects waiting callers into a batch of up to
+ * {@code batchSize}, waiting at most {@code maxWait} for the batch to fill,
+ * runs the sync once and releases the whole batch. Every record written before
+ * its caller queued is covered by the batch's sync.
+ * <p>
+ * A failed sync poisons the committer: after a failed fsync the kernel may have
+ * dropped the dirty pages, so a later sync that succeeds proves nothing about
+ * the records before it. Every caller from then on fails without another sync,
+ * and {@link #ensureHealthy()} lets the writer stop before writing at all.
+ */
+@Slf4j
+public final class GroupCommitter implements Closeable {
+
+    private final Runnable sync;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<CompletableFuture<Void>> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    // First sync failure, after which no record counts as durable
+    private volatile RuntimeException failure;
+
+    /**
+     * @param sync      Makes every record written so far durable
+     * @param batchSize Maximum number of callers released by one sync
+     * @param maxWait   Longest time the writer waits for a batch to fill
+     */
+    public GroupCommitter(Runnable sync, int batchSize, Duration maxWait) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Group commit batch size must be positive");
+        }
+        this.sync = sync;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+        this.writer = new Thread(this::run, "group-commit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Check that no sync has failed yet, so a record written now can still be
+     * made durable
+     *
+     * @throws IllegalStateException if a sync has failed
+     */
+    public void ensureHealthy() {
+        RuntimeException failed = failure;
+        if (failed != null) {
+            throw new IllegalStateException("Group commit failed earlier; postings are no longer accepted", failed);
+        }
+    }
+
+    /**
+     * Block until the records written by the calling thread are durable
+     *
+     * @throws IllegalStateException if the sync failed, an earlier sync failed, or the committer is closed
+     */
+    public void commit() {
+        ensureHealthy();
+        CompletableFuture<Void> ticket = new CompletableFuture<>();
+        queue.add(ticket);
+        if (!running && queue.remove(ticket)) {
+            throw new IllegalStateException("Group commit is closed");
+        }
+        try {
+            ticket.join();
+        } catch (CompletionException ex) {
+            throw new IllegalStateException("Posting could not be made durable", ex.getCause());
+        }
+    }
+
+    /**
+     * Stop the writer after it has synced every queued caller
+     */
+    @Override
+    public void close() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Release callers that queued after the writer stopped
+        List<CompletableFuture<Void>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            syncBatch(remaining);
+        }
+    }
+
+    private void run() {
+        List<CompletableFuture<Void>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                // Closing: sync whatever was collected, then drain the queue
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                syncBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Block for the first caller, then gather more until the batch is full or
+     * the maximum wait has passed
+     */
+    private void collect(List<CompletableFuture<Void>> batch) throws InterruptedException {
+        batch.add(queue.take());
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            CompletableFuture<Void> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void syncBatch(List<CompletableFuture<Void>> batch) {
+        RuntimeException failed = failure;
+        if (failed != null) {
+            batch.forEach(ticket -> ticket.completeExceptionally(failed));
+            return;
+        }
+        try {
+            sync.run();
+        } catch (RuntimeException ex) {
+            log.error("Group commit sync failed for {} postings; rejecting further postings", batch.size(), ex);
+            failure = ex;
+            batch.forEach(ticket -> ticket.completeExceptionally(ex));
+            return;
+        }
+        batch.forEach(ticket -> ticket.complete(null));
+    }
+}
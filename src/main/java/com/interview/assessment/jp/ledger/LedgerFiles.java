@@ -0,0 +1,36 @@
+package com.interview.assessment.jp.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File system helpers shared by the journal and the snapshots
+ */
+final class LedgerFiles {
+
+    // Directories cannot be opened as channels on Windows, where renames are durable once they return
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private LedgerFiles() {
+    }
+
+    /**
+     * Force a directory's entries to disk, so a file created, moved into or
+     * deleted from it survives a crash
+     *
+     * @param directory Directory
+     */
+    static void forceDirectory(Path directory) {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to force directory " + directory, ex);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.interview.assessment.jp.ledger;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Point-in-time image of the in-memory ledger in a compact binary file.
+ * <p>
+ * A snapshot covers every posting journaled before
+ * {@code journalGeneration}; startup loads it and replays only that generation
+ * and later ones. Files are named {@code <path>.<generation>} and written to a
+ * temporary file first, then moved into place and the directory forced, so a
+ * crash never leaves a partial snapshot under the final name and a written
+ * snapshot is still there after one. Transaction columns are written as
+ * bulk little-endian arrays, one account after another, followed by the
+ * pairs of transactions linked as the two legs of a transfer.
+ *
+ * @param journalGeneration First journal generation not covered by the snapshot
+ * @param nextUserId        Next user ID
+ * @param nextAccountId     Next account ID
+ * @param nextTransactionId Next transaction ID
+ * @param users             Users
+ * @param descriptions      Description dictionary in code order
+ * @param accounts          Accounts with their transactions at the cut
+ * @param links             Transaction IDs of linked pairs, flattened as first, second, first, ...
+ */
+@Slf4j
+public record LedgerSnapshot(long journalGeneration, long nextUserId, long nextAccountId, long nextTransactionId,
+        List<User> users, String[] descriptions, List<AccountState> accounts, long[] links) {
+
+    private static final int MAGIC = 0x4C47534E;
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    /**
+     * One account at the cut
+     *
+     * @param account      Account; its balance is not written
+     * @param openingMinor Balance before its first transaction, in minor units
+     * @param transactions Transactions at the cut
+     */
+    public record AccountState(Account account, long openingMinor, TransactionSegment.Snapshot transactions) {
+    }
+
+    /**
+     * Write the snapshot as {@code <path>.<journalGeneration>}. Once this
+     * returns, the snapshot is durable and the journal generations and
+     * snapshots it covers can be deleted.
+     *
+     * @param path Snapshot path
+     * @return Written file
+     */
+    public Path write(Path path) {
+        Path file = fileFor(path, journalGeneration);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Output out = new Output(FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                out.putInt(MAGIC);
+                out.putInt(VERSION);
+                out.putLong(journalGeneration);
+                out.putLong(nextUserId);
+                out.putLong(nextAccountId);
+                out.putLong(nextTransactionId);
+
+                out.putInt(users.size());
+                for (User user : users) {
+                    out.putLong(user.getId());
+                    out.putString(user.getUsername());
+                    out.putString(user.getPassword());
+                    out.putInt(user.getRoles().size());
+                    for (String role : user.getRoles()) {
+                        out.putString(role);
+                    }
+                    out.putTime(user.getCreatedAt());
+                    out.putTime(user.getUpdatedAt());
+                }
+
+                out.putInt(descriptions.length);
+                for (String description : descriptions) {
+                    out.putString(description);
+                }
+
+                out.putInt(accounts.size());
+                for (AccountState state : accounts) {
+                    Account account = state.account();
+                    out.putLong(account.getId());
+                    out.putString(account.getAccountNumber());
+                    out.putByte((byte) account.getAccountType().ordinal());
+                    out.putLong(account.getUserId());
+                    out.putTime(account.getCreatedAt());
+                    out.putTime(account.getUpdatedAt());
+                    out.putLong(state.openingMinor());
+
+                    TransactionSegment.Snapshot rows = state.transactions();
+                    int size = rows.size();
+                    out.putInt(size);
+                    out.putLongs(rows.ids(), size);
+                    out.putBytes(rows.types(), size);
+                    out.putLongs(rows.amounts(), size);
+                    out.putLongs(rows.timestamps(), size);
+                    out.putInts(rows.descriptions(), size);
+                }
+
+                out.putInt(links.length);
+                out.putLongs(links, links.length);
+                out.putInt(MAGIC);
+                out.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            LedgerFiles.forceDirectory(file.toAbsolutePath().getParent());
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write ledger snapshot " + file, ex);
+        }
+    }
+
+    /**
+     * Read the snapshot with the highest generation
+     *
+     * @param path Snapshot path
+     * @return Newest snapshot, or empty if there is none
+     * @throws IllegalStateException if the newest snapshot is unreadable
+     */
+    public static Optional<LedgerSnapshot> readLatest(Path path) {
+        List<Long> generations = generations(path);
+        if (generations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(read(fileFor(path, generations.get(generations.size() - 1))));
+    }
+
+    /**
+     * Read one snapshot file
+     *
+     * @param file Snapshot file
+     * @return Snapshot
+     * @throws IllegalStateException if the file is not a complete snapshot
+     */
+    public static LedgerSnapshot read(Path file) {
+        try (Input in = new Input(FileChannel.open(file, StandardOpenOption.READ))) {
+            if (in.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a ledger snapshot: " + file);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Not a ledger snapshot: " + file);
+            }
+            long journalGeneration = in.getLong();
+            long nextUserId = in.getLong();
+            long nextAccountId = in.getLong();
+            long nextTransactionId = in.getLong();
+
+            int userCount = in.getInt();
+            List<User> users = new ArrayList<>(userCount);
+            Map<Long, User> usersById = new HashMap<>();
+            for (int i = 0; i < userCount; i++) {
+                User user = User.builder()
+                        .id(in.getLong())
+                        .username(in.getString())
+                        .password(in.getString())
+                        .build();
+                int roleCount = in.getInt();
+                List<String> roles = new ArrayList<>(roleCount);
+                for (int r = 0; r < roleCount; r++) {
+                    roles.add(in.getString());
+                }
+                user.setRoles(roles);
+                user.setCreatedAt(in.getTime());
+                user.setUpdatedAt(in.getTime());
+                users.add(user);
+                usersById.put(user.getId(), user);
+            }
+
+            String[] descriptions = new String[in.getInt()];
+            for (int i = 0; i < descriptions.length; i++) {
+                descriptions[i] = in.getString();
+            }
+
+            int accountCount = in.getInt();
+            List<AccountState> accounts = new ArrayList<>(accountCount);
+            for (int i = 0; i < accountCount; i++) {
+                Account account = Account.builder()
+                        .id(in.getLong())
+                        .accountNumber(in.getString())
+                        .accountType(ACCOUNT_TYPES[in.getByte()])
+                        .build();
+                long userId = in.getLong();
+                account.setUser(usersById.get(userId));
+                account.setUserId(userId);
+                account.setCreatedAt(in.getTime());
+                account.setUpdatedAt(in.getTime());
+                long openingMinor = in.getLong();
+
+                int size = in.getInt();
+                TransactionSegment.Snapshot rows = TransactionSegment.snapshotOf(
+                        in.getLongs(size), in.getBytes(size), in.getLongs(size), in.getLongs(size), in.getInts(size));
+                accounts.add(new AccountState(account, openingMinor, rows));
+            }
+
+            long[] links = in.getLongs(in.getInt());
+            if (in.getInt() != MAGIC) {
+                throw new IllegalStateException("Ledger snapshot is truncated: " + file);
+            }
+            return new LedgerSnapshot(journalGeneration, nextUserId, nextAccountId, nextTransactionId, users,
+                    descriptions, accounts, links);
+        } catch (EOFException ex) {
+            throw new IllegalStateException("Ledger snapshot is truncated: " + file, ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read ledger snapshot " + file, ex);
+        }
+    }
+
+    /**
+     * Delete every snapshot older than {@code generation}
+     *
+     * @param path       Snapshot path
+     * @param generation Oldest generation to keep
+     */
+    public static void deleteBefore(Path path, long generation) {
+        for (long older : generations(path)) {
+            if (older < generation) {
+                try {
+                    Files.deleteIfExists(fileFor(path, older));
+                } catch (IOException ex) {
+                    log.warn("Failed to delete ledger snapshot {} of {}", older, path, ex);
+                }
+            }
+        }
+    }
+
+    static Path fileFor(Path path, long generation) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    /**
+     * List the generations of complete snapshots on disk in ascending order
+     */
+    private static List<Long> generations(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.length() > prefix.length()
+                            && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+                    .map(name -> Long.parseLong(name.substring(prefix.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to list ledger snapshots of " + path, ex);
+        }
+    }
+
+    /**
+     * Buffered little-endian writer with bulk array puts
+     */
+    private static final class Output implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putTime(LocalDateTime value) throws IOException {
+            putLong(value == null ? NULL_TIME : LedgerTime.toEpochMillis(value));
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes, bytes.length);
+        }
+
+        void putBytes(byte[] values, int count) throws IOException {
+            for (int offset = 0; offset < count; ) {
+                ensure(Byte.BYTES);
+                int n = Math.min(count - offset, buffer.remaining());
+                buffer.put(values, offset, n);
+                offset += n;
+            }
+        }
+
+        void putInts(int[] values, int count) throws IOException {
+            for (int offset = 0; offset < count; ) {
+                ensure(Integer.BYTES);
+                int n = Math.min(count - offset, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, offset, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                offset += n;
+            }
+        }
+
+        void putLongs(long[] values, int count) throws IOException {
+            for (int offset = 0; offset < count; ) {
+                ensure(Long.BYTES);
+                int n = Math.min(count - offset, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().put(values, offset, n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                offset += n;
+            }
+        }
+
+        void force() throws IOException {
+            flush();
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered little-endian reader with bulk array gets
+     */
+    private static final class Input implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        Input(FileChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        byte getByte() throws IOException {
+            ensure(Byte.BYTES);
+            return buffer.get();
+        }
+
+        int getInt() throws IOException {
+            ensure(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        long getLong() throws IOException {
+            ensure(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        LocalDateTime getTime() throws IOException {
+            long value = getLong();
+            return value == NULL_TIME ? null : LedgerTime.toLocalDateTime(value);
+        }
+
+        String getString() throws IOException {
+            int length = getInt();
+            if (length < 0) {
+                return null;
+            }
+            return new String(getBytes(length), StandardCharsets.UTF_8);
+        }
+
+        byte[] getBytes(int count) throws IOException {
+            byte[] values = new byte[count];
+            for (int offset = 0; offset < count; ) {
+                ensure(Byte.BYTES);
+                int n = Math.min(count - offset, buffer.remaining());
+                buffer.get(values, offset, n);
+                offset += n;
+            }
+            return values;
+        }
+
+        int[] getInts(int count) throws IOException {
+            int[] values = new int[count];
+            for (int offset = 0; offset < count; ) {
+                ensure(Integer.BYTES);
+                int n = Math.min(count - offset, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().get(values, offset, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                offset += n;
+            }
+            return values;
+        }
+
+        long[] getLongs(int count) throws IOException {
+            long[] values = new long[count];
+            for (int offset = 0; offset < count; ) {
+                ensure(Long.BYTES);
+                int n = Math.min(count - offset, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().get(values, offset, n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                offset += n;
+            }
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Refill until at least {@code bytes} are buffered
+         */
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
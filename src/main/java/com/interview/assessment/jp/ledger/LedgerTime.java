@@ -0,0 +1,44 @@
+package com.interview.assessment.jp.ledger;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversion between LocalDateTime and the epoch milliseconds stored by the
+ * ledger. Transaction dates are zone-less, so they are stored as UTC.
+ */
+public final class LedgerTime {
+
+    private LedgerTime() {
+    }
+
+    /**
+     * @param dateTime Date time
+     * @return Milliseconds since the epoch, treating the date time as UTC
+     */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Round up to the next whole millisecond, so that for a stored date
+     * {@code d}, {@code d < toEpochMillisCeiling(t)} exactly when the
+     * transaction date is before {@code t}
+     *
+     * @param dateTime Date time
+     * @return Milliseconds since the epoch, rounded up
+     */
+    public static long toEpochMillisCeiling(LocalDateTime dateTime) {
+        long millis = toEpochMillis(dateTime);
+        return dateTime.getNano() % 1_000_000 == 0 ? millis : millis + 1;
+    }
+
+    /**
+     * @param epochMillis Milliseconds since the epoch
+     * @return Date time in UTC
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,43 @@
+package com.interview.assessment.jp.ledger;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversion between BigDecimal amounts and long minor units (cents)
+ */
+public final class MinorUnits {
+
+    /**
+     * Number of decimal places in a minor unit
+     */
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Convert an amount to minor units
+     *
+     * @param amount Amount with at most two decimal places
+     * @return Amount in minor units
+     * @throws IllegalArgumentException if the amount has more than two decimal
+     *                                  places or does not fit in a long
+     */
+    public static long toMinor(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE + " decimal places", ex);
+        }
+    }
+
+    /**
+     * Convert minor units to an amount
+     *
+     * @param minor Amount in minor units
+     * @return Amount with two decimal places
+     */
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
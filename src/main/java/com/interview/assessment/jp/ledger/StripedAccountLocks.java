@@ -0,0 +1,121 @@
+package com.interview.assessment.jp.ledger;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks striped by account ID.
+ * <p>
+ * All postings against one account serialize on the same lock, while postings
+ * against accounts that hash to different stripes proceed in parallel.
+ */
+public final class StripedAccountLocks {
+
+    /**
+     * Default number of stripes
+     */
+    public static final int DEFAULT_STRIPES = 256;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedAccountLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes Number of stripes, rounded up to the next power of two
+     */
+    public StripedAccountLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Get the stripe index for an account. Callers that need several accounts
+     * must acquire their stripes in ascending index order.
+     *
+     * @param accountId Account ID
+     * @return Stripe index
+     */
+    public int indexFor(long accountId) {
+        int h = Long.hashCode(accountId);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Get the lock guarding an account
+     *
+     * @param accountId Account ID
+     * @return Lock for the account's stripe
+     */
+    public ReentrantLock lockFor(long accountId) {
+        return locks[indexFor(accountId)];
+    }
+
+    /**
+     * Acquire the stripes of two accounts in ascending index order, so that
+     * concurrent pairs locking the same accounts in either direction cannot
+     * deadlock. Accounts sharing a stripe take it once.
+     *
+     * @param firstAccountId  First account ID
+     * @param secondAccountId Second account ID
+     */
+    public void lockPair(long firstAccountId, long secondAccountId) {
+        int first = indexFor(firstAccountId);
+        int second = indexFor(secondAccountId);
+        locks[Math.min(first, second)].lock();
+        if (first != second) {
+            locks[Math.max(first, second)].lock();
+        }
+    }
+
+    /**
+     * Release the stripes acquired by {@link #lockPair(long, long)}
+     *
+     * @param firstAccountId  First account ID
+     * @param secondAccountId Second account ID
+     */
+    public void unlockPair(long firstAccountId, long secondAccountId) {
+        int first = indexFor(firstAccountId);
+        int second = indexFor(secondAccountId);
+        if (first != second) {
+            locks[Math.max(first, second)].unlock();
+        }
+        locks[Math.min(first, second)].unlock();
+    }
+
+    /**
+     * Acquire every stripe in ascending index order, stopping all postings
+     */
+    public void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    /**
+     * Release every stripe acquired by {@link #lockAll()}
+     */
+    public void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    /**
+     * @return Number of stripes
+     */
+    public int size() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,59 @@
+package com.interview.assessment.jp.ledger;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Maps transaction IDs to the ID of the account that holds them.
+ * <p>
+ * Transaction IDs are dense and start at one, so the directory is a chunked
+ * primitive array costing eight bytes per transaction instead of a boxed map
+ * entry.
+ */
+public final class TransactionDirectory {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    private final AtomicReferenceArray<AtomicLongArray> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+    /**
+     * Record the account holding a transaction
+     *
+     * @param transactionId Transaction ID
+     * @param accountId     Account ID
+     */
+    public void put(long transactionId, long accountId) {
+        int chunkIndex = chunkIndex(transactionId);
+        AtomicLongArray chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            chunks.compareAndSet(chunkIndex, null, new AtomicLongArray(CHUNK_SIZE));
+            chunk = chunks.get(chunkIndex);
+        }
+        chunk.set((int) (transactionId & CHUNK_MASK), accountId);
+    }
+
+    /**
+     * Get the account holding a transaction
+     *
+     * @param transactionId Transaction ID
+     * @return Account ID, or 0 if the transaction is unknown
+     */
+    public long accountOf(long transactionId) {
+        if (transactionId <= 0 || (transactionId >>> CHUNK_BITS) >= MAX_CHUNKS) {
+            return 0;
+        }
+        AtomicLongArray chunk = chunks.get((int) (transactionId >>> CHUNK_BITS));
+        return chunk == null ? 0 : chunk.get((int) (transactionId & CHUNK_MASK));
+    }
+
+    private static int chunkIndex(long transactionId) {
+        long index = transactionId >>> CHUNK_BITS;
+        if (transactionId <= 0 || index >= MAX_CHUNKS) {
+            throw new IllegalArgumentException("Transaction ID out of range: " + transactionId);
+        }
+        return (int) index;
+    }
+}
@@ -0,0 +1,705 @@
+package com.interview.assessment.jp.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of postings in memory-mapped files.
+ * <p>
+ * The journal is a sequence of generation files named
+ * {@code <path>.<generation>}; {@link #roll()} starts a new generation so
+ * older ones can be deleted once a snapshot covers them. Replay also starts a
+ * new generation, so nothing is ever appended after the point where a crash
+ * may have left torn or stale records. Each file is a
+ * sequence of fixed regions, each mapped with {@link FileChannel#map}. A record
+ * occupies one or more 64-byte slots: the first slot holds the fixed-width
+ * fields and the start of the UTF-8 description, continuation slots hold the
+ * rest. Records never span regions; the unused tail of a region is marked with
+ * a pad header. Each record carries a CRC so a torn write at the tail is
+ * detected and discarded on replay. Records appended together as a batch are
+ * flagged as continued up to the last one; a batch cut short by a crash is
+ * discarded as a whole on replay. The two legs of a transfer are a batch of
+ * two records both flagged as linked. An account record opens an account
+ * before its postings, reusing the fixed-width fields for the owner's user
+ * ID, the opening balance, the creation time and the account type, with the
+ * account number as description.
+ *
+ * <pre>
+ * offset size field
+ *      0    4 header: MAGIC &lt;&lt; 16 | slot count (0 = end of journal, slot count 0 = pad)
+ *      4    4 CRC32C of bytes 8 .. 44 + description length
+ *      8    8 transaction ID
+ *     16    8 account ID
+ *     24    8 amount in minor units
+ *     32    8 transaction date in epoch milliseconds
+ *     40    1 transaction type ordinal
+ *     41    1 flags: 1 = more records of the same batch follow, 2 = linked pair, 4 = account
+ *     42    2 description length in bytes, -1 for null
+ *     44    n description
+ * </pre>
+ */
+@Slf4j
+public final class TransactionJournal implements Closeable {
+
+    /**
+     * Slot size in bytes
+     */
+    public static final int SLOT_SIZE = 64;
+
+    /**
+     * Default region size in bytes
+     */
+    public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private static final int MAGIC = 0x4C47;
+    private static final int HEADER_SIZE = 44;
+    private static final int MAX_DESCRIPTION_BYTES = Short.MAX_VALUE;
+    private static final byte CONTINUED = 1;
+    private static final byte LINKED = 2;
+    private static final byte ACCOUNT = 4;
+
+    private final Path path;
+    private final int regionSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by writeLock
+    private JournalFile current;
+    private final List<JournalFile> retired = new ArrayList<>();
+    private boolean replayed;
+
+    /**
+     * Fsync Policy Enum
+     */
+    public enum FsyncPolicy {
+        /**
+         * Force every record to disk before the append returns
+         */
+        ALWAYS,
+
+        /**
+         * Force dirty pages on a fixed interval from a background thread
+         */
+        INTERVAL,
+
+        /**
+         * Leave forcing to the caller, which batches concurrent appends into
+         * one {@link #force()} through a {@link GroupCommitter}
+         */
+        GROUP
+    }
+
+    /**
+     * Receives records during replay
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        void onRecord(long transactionId, long accountId, byte type, long amountMinor, long epochMillis,
+                String description);
+
+        /**
+         * Called after both records of a pair appended by
+         * {@link #appendLinked(Entry, Entry)}
+         *
+         * @param firstTransactionId  Transaction ID of the first record
+         * @param secondTransactionId Transaction ID of the second record
+         */
+        default void onLinked(long firstTransactionId, long secondTransactionId) {
+        }
+
+        /**
+         * Called for a record appended by {@link #appendAccount}, before any
+         * posting to the account
+         *
+         * @param accountId     Account ID
+         * @param userId        Owner's user ID
+         * @param accountType   Account type ordinal
+         * @param openingMinor  Opening balance in minor units
+         * @param epochMillis   Creation time in epoch milliseconds
+         * @param accountNumber Account number
+         */
+        default void onAccount(long accountId, long userId, byte accountType, long openingMinor, long epochMillis,
+                String accountNumber) {
+        }
+    }
+
+    /**
+     * Posting to append as part of a batch
+     */
+    public record Entry(long transactionId, long accountId, byte type, long amountMinor, long epochMillis,
+            String description) {
+    }
+
+    public TransactionJournal(Path path, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this(path, fsyncPolicy, fsyncInterval, DEFAULT_REGION_SIZE);
+    }
+
+    TransactionJournal(Path path, FsyncPolicy fsyncPolicy, Duration fsyncInterval, int regionSize) {
+        if (regionSize % SLOT_SIZE != 0 || regionSize < HEADER_SIZE + MAX_DESCRIPTION_BYTES + SLOT_SIZE) {
+            throw new IllegalArgumentException("Region size must be a multiple of " + SLOT_SIZE
+                    + " large enough for the longest record");
+        }
+        this.path = path.toAbsolutePath();
+        this.regionSize = regionSize;
+        this.fsyncPolicy = fsyncPolicy;
+        try {
+            Files.createDirectories(this.path.getParent());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to create journal directory for " + path, ex);
+        }
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long intervalMillis = Math.max(1, fsyncInterval.toMillis());
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::forceQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Replay every intact record in append order and start a new generation
+     * for the appends that follow. Must be called once before the first
+     * append.
+     *
+     * @param handler Record handler
+     * @return Number of posting records replayed
+     */
+    public long replay(RecordHandler handler) {
+        return replay(0, handler);
+    }
+
+    /**
+     * Replay the intact records of every generation from
+     * {@code fromGeneration} on, in append order, and start a new generation
+     * after the last one for the appends that follow. Older generations are
+     * ignored. Must be called once before the first append.
+     *
+     * @param fromGeneration First generation to replay
+     * @param handler        Record handler
+     * @return Number of posting records replayed
+     */
+    public long replay(long fromGeneration, RecordHandler handler) {
+        writeLock.lock();
+        try {
+            long count = 0;
+            List<Long> generations = generations().stream().filter(g -> g >= fromGeneration).toList();
+            for (long generation : generations) {
+                JournalFile file = openFile(generation);
+                count += scan(file, handler);
+                file.close();
+            }
+            // A fresh file is all zeros, so a torn record, or an older one behind it, can never follow new appends
+            current = openFile(generations.isEmpty() ? Math.max(1, fromGeneration)
+                    : generations.get(generations.size() - 1) + 1);
+            replayed = true;
+            return count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Append a record, forcing it to disk first when the policy is
+     * {@link FsyncPolicy#ALWAYS}. With {@link FsyncPolicy#GROUP} the record is
+     * durable once a later {@link #force()} returns.
+     */
+    public void append(long transactionId, long accountId, byte type, long amountMinor, long epochMillis,
+            String description) {
+        append(transactionId, accountId, type, amountMinor, epochMillis, description, 0);
+    }
+
+    /**
+     * Append an account record, forced as for {@link #append}. Replay
+     * reports it through {@link RecordHandler#onAccount}.
+     *
+     * @param accountId     Account ID
+     * @param userId        Owner's user ID
+     * @param accountType   Account type ordinal
+     * @param openingMinor  Opening balance in minor units
+     * @param epochMillis   Creation time in epoch milliseconds
+     * @param accountNumber Account number
+     */
+    public void appendAccount(long accountId, long userId, byte accountType, long openingMinor, long epochMillis,
+            String accountNumber) {
+        append(userId, accountId, accountType, openingMinor, epochMillis, accountNumber, ACCOUNT);
+    }
+
+    private void append(long transactionId, long accountId, byte type, long amountMinor, long epochMillis,
+            String description, int flags) {
+        byte[] text = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+        if (text != null && text.length > MAX_DESCRIPTION_BYTES) {
+            throw new IllegalArgumentException("Transaction description is too long");
+        }
+        writeLock.lock();
+        try {
+            write(transactionId, accountId, type, amountMinor, epochMillis, text, flags);
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                current.force(current.forcedPosition, current.position);
+                current.forcedPosition = current.position;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Append records as one batch: they are written contiguously and replayed
+     * either all together or, if the batch was cut short, not at all. Forcing
+     * follows the policy as for {@link #append}, once for the whole batch.
+     *
+     * @param entries Records in append order
+     */
+    public void append(List<Entry> entries) {
+        append(entries, 0);
+    }
+
+    /**
+     * Append two records as one batch flagged as a linked pair, such as the
+     * debit and credit of a transfer. Replay reports the pair through
+     * {@link RecordHandler#onLinked} after both records.
+     *
+     * @param first  First record
+     * @param second Second record
+     */
+    public void appendLinked(Entry first, Entry second) {
+        append(List.of(first, second), LINKED);
+    }
+
+    private void append(List<Entry> entries, int flags) {
+        List<byte[]> texts = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            byte[] text = entry.description() == null ? null : entry.description().getBytes(StandardCharsets.UTF_8);
+            if (text != null && text.length > MAX_DESCRIPTION_BYTES) {
+                throw new IllegalArgumentException("Transaction description is too long");
+            }
+            texts.add(text);
+        }
+        writeLock.lock();
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                write(entry.transactionId(), entry.accountId(), entry.type(), entry.amountMinor(),
+                        entry.epochMillis(), texts.get(i), i < entries.size() - 1 ? flags | CONTINUED : flags);
+            }
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                current.force(current.forcedPosition, current.position);
+                current.forcedPosition = current.position;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Start a new generation file; later appends go to it. The previous file
+     * is forced by the next {@link #force()}.
+     *
+     * @return New generation
+     */
+    public long roll() {
+        writeLock.lock();
+        try {
+            if (!replayed) {
+                throw new IllegalStateException("Journal must be replayed before rolling");
+            }
+            JournalFile previous = current;
+            current = openFile(previous.generation + 1);
+            if (previous.forcedPosition == previous.position) {
+                previous.close();
+            } else {
+                retired.add(previous);
+            }
+            return current.generation;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Delete every generation file older than {@code generation}
+     *
+     * @param generation Oldest generation to keep
+     */
+    public void deleteBefore(long generation) {
+        for (long older : generations()) {
+            if (older < generation) {
+                try {
+                    Files.deleteIfExists(fileFor(path, older));
+                } catch (IOException ex) {
+                    log.warn("Failed to delete journal generation {} of {}", older, path, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Force all appended records to disk
+     */
+    public void force() {
+        forceLock.lock();
+        try {
+            List<JournalFile> previous;
+            JournalFile file;
+            long from;
+            long to;
+            writeLock.lock();
+            try {
+                previous = new ArrayList<>(retired);
+                retired.clear();
+                file = current;
+                from = file == null ? 0 : file.forcedPosition;
+                to = file == null ? 0 : file.position;
+            } finally {
+                writeLock.unlock();
+            }
+
+            for (JournalFile old : previous) {
+                old.force(old.forcedPosition, old.position);
+                old.close();
+            }
+            if (from == to) {
+                return;
+            }
+            file.force(from, to);
+            writeLock.lock();
+            try {
+                file.forcedPosition = Math.max(file.forcedPosition, to);
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * @return Bytes appended to the current generation so far, including padding
+     */
+    public long position() {
+        writeLock.lock();
+        try {
+            return current == null ? 0 : current.position;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Current generation, 0 before replay
+     */
+    public long generation() {
+        writeLock.lock();
+        try {
+            return current == null ? 0 : current.generation;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        force();
+        writeLock.lock();
+        try {
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Get the file holding one generation of a journal
+     *
+     * @param path       Journal path
+     * @param generation Generation
+     * @return Generation file
+     */
+    static Path fileFor(Path path, long generation) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    /**
+     * Scan a generation file, hand every intact record to the handler and
+     * position the file after the last one
+     */
+    private long scan(JournalFile file, RecordHandler handler) {
+        long count = 0;
+        long offset = 0;
+        byte[] text = new byte[256];
+        // Records of a batch whose last record has not been read yet
+        List<Entry> batch = new ArrayList<>();
+        long batchStart = 0;
+        boolean linked = false;
+        while (offset < (long) file.regions.size() * regionSize) {
+            MappedByteBuffer region = file.regions.get(regionIndex(offset));
+            int at = (int) (offset % regionSize);
+            int header = region.getInt(at);
+            if (header == 0) {
+                break;
+            }
+            int slots = header & 0xFFFF;
+            if (header >>> 16 != MAGIC) {
+                log.warn("Journal {} has a corrupt header at offset {}, discarding the tail", file.path, offset);
+                break;
+            }
+            if (slots == 0) {
+                // Pad to the end of the region
+                offset = (offset / regionSize + 1) * regionSize;
+                continue;
+            }
+
+            short length = region.getShort(at + 42);
+            int payload = HEADER_SIZE + Math.max(0, length);
+            if (length < -1 || at + payload > regionSize
+                    || slots != slotsFor(Math.max(0, length))) {
+                log.warn("Journal {} has a corrupt record at offset {}, discarding the tail", file.path, offset);
+                break;
+            }
+            crc.reset();
+            crc.update(region.slice(at + 8, payload - 8));
+            if ((int) crc.getValue() != region.getInt(at + 4)) {
+                log.warn("Journal {} has a torn record at offset {}, discarding the tail", file.path, offset);
+                break;
+            }
+
+            String description = null;
+            if (length >= 0) {
+                if (text.length < length) {
+                    text = new byte[Math.max(length, text.length * 2)];
+                }
+                region.get(at + HEADER_SIZE, text, 0, length);
+                description = new String(text, 0, length, StandardCharsets.UTF_8);
+            }
+            Entry entry = new Entry(
+                    region.getLong(at + 8),
+                    region.getLong(at + 16),
+                    region.get(at + 40),
+                    region.getLong(at + 24),
+                    region.getLong(at + 32),
+                    description);
+            byte flags = region.get(at + 41);
+            if ((flags & ACCOUNT) != 0 && batch.isEmpty()) {
+                handler.onAccount(entry.accountId(), entry.transactionId(), entry.type(), entry.amountMinor(),
+                        entry.epochMillis(), entry.description());
+                offset += (long) slots * SLOT_SIZE;
+                continue;
+            }
+            if (batch.isEmpty()) {
+                batchStart = offset;
+                linked = (flags & LINKED) != 0;
+            }
+            batch.add(entry);
+            if ((flags & CONTINUED) == 0) {
+                for (Entry record : batch) {
+                    handler.onRecord(record.transactionId(), record.accountId(), record.type(),
+                            record.amountMinor(), record.epochMillis(), record.description());
+                }
+                if (linked && batch.size() == 2) {
+                    handler.onLinked(batch.get(0).transactionId(), batch.get(1).transactionId());
+                }
+                count += batch.size();
+                batch.clear();
+            }
+            offset += (long) slots * SLOT_SIZE;
+        }
+        if (!batch.isEmpty()) {
+            log.warn("Journal {} ends with an incomplete batch of {} records at offset {}, discarding it",
+                    file.path, batch.size(), batchStart);
+            offset = batchStart;
+        }
+        file.position = offset;
+        return count;
+    }
+
+    /**
+     * Write one record at the current position; caller holds the write lock
+     */
+    private void write(long transactionId, long accountId, byte type, long amountMinor, long epochMillis,
+            byte[] text, int flags) {
+        if (!replayed) {
+            throw new IllegalStateException("Journal must be replayed before appending");
+        }
+        JournalFile file = current;
+        int length = text == null ? 0 : text.length;
+        int slots = slotsFor(length);
+        int size = slots * SLOT_SIZE;
+
+        int at = (int) (file.position % regionSize);
+        if (at + size > regionSize) {
+            // Pad the rest of this region and continue in the next one
+            file.regions.get(regionIndex(file.position)).putInt(at, MAGIC << 16);
+            file.position = (file.position / regionSize + 1) * regionSize;
+            at = 0;
+        }
+        int index = regionIndex(file.position);
+        while (index >= file.regions.size()) {
+            file.mapRegion(file.regions.size());
+        }
+        MappedByteBuffer region = file.regions.get(index);
+
+        region.putLong(at + 8, transactionId);
+        region.putLong(at + 16, accountId);
+        region.putLong(at + 24, amountMinor);
+        region.putLong(at + 32, epochMillis);
+        region.put(at + 40, type);
+        region.put(at + 41, (byte) flags);
+        region.putShort(at + 42, (short) (text == null ? -1 : length));
+        if (text != null) {
+            region.put(at + HEADER_SIZE, text);
+        }
+        crc.reset();
+        crc.update(region.slice(at + 8, HEADER_SIZE - 8 + length));
+        region.putInt(at + 4, (int) crc.getValue());
+        // Header last, so a record is never visible before its body
+        region.putInt(at, MAGIC << 16 | slots);
+
+        file.position += size;
+    }
+
+    private void forceQuietly() {
+        try {
+            force();
+        } catch (RuntimeException ex) {
+            log.error("Failed to force journal {}", path, ex);
+        }
+    }
+
+    /**
+     * List the generations present on disk in ascending order
+     */
+    private List<Long> generations() {
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.length() > prefix.length()
+                            && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+                    .map(name -> Long.parseLong(name.substring(prefix.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to list journal generations of " + path, ex);
+        }
+    }
+
+    /**
+     * Open a generation file, creating it if needed; a new file's directory
+     * entry is forced before any record is appended to it
+     */
+    private JournalFile openFile(long generation) {
+        Path file = fileFor(path, generation);
+        try {
+            boolean created = !Files.exists(file);
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (created) {
+                LedgerFiles.forceDirectory(path.getParent());
+            }
+            JournalFile journalFile = new JournalFile(generation, file, channel);
+            long existingRegions = Math.max(1, (channel.size() + regionSize - 1) / regionSize);
+            for (int i = 0; i < existingRegions; i++) {
+                journalFile.mapRegion(i);
+            }
+            return journalFile;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open journal " + file, ex);
+        }
+    }
+
+    private int regionIndex(long offset) {
+        return (int) (offset / regionSize);
+    }
+
+    private static int slotsFor(int descriptionLength) {
+        return (HEADER_SIZE + descriptionLength + SLOT_SIZE - 1) / SLOT_SIZE;
+    }
+
+    /**
+     * One mapped generation file
+     */
+    private final class JournalFile {
+
+        final long generation;
+        final Path path;
+        final FileChannel channel;
+        final List<MappedByteBuffer> regions = new ArrayList<>();
+
+        // Guarded by writeLock
+        long position;
+        long forcedPosition;
+
+        JournalFile(long generation, Path path, FileChannel channel) {
+            this.generation = generation;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        void mapRegion(int index) {
+            try {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * regionSize,
+                        regionSize);
+                region.order(ByteOrder.LITTLE_ENDIAN);
+                regions.add(region);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to map journal region " + index + " of " + path, ex);
+            }
+        }
+
+        void force(long from, long to) {
+            for (long offset = from; offset < to; ) {
+                int index = regionIndex(offset);
+                int start = (int) (offset % regionSize);
+                int end = (int) Math.min(regionSize, to - (long) index * regionSize);
+                MappedByteBuffer region;
+                writeLock.lock();
+                try {
+                    region = regions.get(index);
+                } finally {
+                    writeLock.unlock();
+                }
+                region.force(start, end - start);
+                offset = (long) index * regionSize + end;
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to close journal " + path, ex);
+            }
+        }
+    }
+}
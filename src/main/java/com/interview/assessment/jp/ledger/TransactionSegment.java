@@ -0,0 +1,490 @@
+package com.interview.assessment.jp.ledger;
+
+import java.util.Arrays;
+
+/**
+ * Columnar, append-only store of one account's transactions.
+ * <p>
+ * Each column is a growable primitive array. Appends require the account lock;
+ * reads are lock-free: a writer fills the row, then publishes it by writing the
+ * volatile size, so a reader that reads the size first sees every row below it.
+ * Rows are appended in ascending transaction ID order.
+ * <p>
+ * Rows are also indexed by transaction date, ties broken by ID. While every
+ * row arrives in date order the index is the row order itself and costs
+ * nothing; the first backdated row materializes a permutation column. A
+ * backdated row is inserted into a copy of the permutation, so positions a
+ * reader may already see are never moved.
+ * <p>
+ * The balance before a date position is served from running-balance
+ * checkpoints taken every {@value #CHECKPOINT_INTERVAL} positions. They are
+ * built by the first reader that needs them and extended as rows arrive, so a
+ * statement's opening balance costs at most one interval of rows instead of
+ * the account's whole history; a backdated row starts them over.
+ */
+public final class TransactionSegment {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // Date positions between two running-balance checkpoints
+    static final int CHECKPOINT_INTERVAL = 256;
+
+    private volatile Columns columns;
+    private volatile int size;
+
+    public TransactionSegment() {
+        this.columns = new Columns(INITIAL_CAPACITY);
+    }
+
+    private TransactionSegment(Columns columns, int size) {
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * Build a segment holding the rows of a snapshot. Columns that hold
+     * exactly the snapshot's rows are shared rather than copied: any append to
+     * either segment has to grow them into new arrays first.
+     *
+     * @param snapshot Snapshot to restore
+     * @return Segment
+     */
+    public static TransactionSegment restore(Snapshot snapshot) {
+        Columns restored = snapshot.columns.ids.length == snapshot.size
+                ? snapshot.columns
+                : snapshot.columns.grow(Math.max(INITIAL_CAPACITY, snapshot.size));
+        return new TransactionSegment(restored, snapshot.size);
+    }
+
+    /**
+     * Wrap column arrays of equal length as a snapshot of all their rows,
+     * building the date index
+     */
+    static Snapshot snapshotOf(long[] ids, byte[] types, long[] amounts, long[] timestamps, int[] descriptions) {
+        int[] order = dateOrder(timestamps, ids.length);
+        return new Snapshot(new Columns(ids, types, amounts, timestamps, descriptions, order, ids.length),
+                ids.length);
+    }
+
+    /**
+     * Append a row; caller holds the account lock
+     *
+     * @param id          Transaction ID
+     * @param type        Transaction type ordinal
+     * @param amountMinor Amount in minor units
+     * @param epochMillis Transaction date in epoch milliseconds
+     * @param description Description code
+     * @return Row index
+     */
+    public int append(long id, byte type, long amountMinor, long epochMillis, int description) {
+        int row = size;
+        Columns current = columns;
+        if (row == current.ids.length) {
+            current = current.grow(Math.max(INITIAL_CAPACITY, row * 2));
+            columns = current;
+        }
+        current.ids[row] = id;
+        current.types[row] = type;
+        current.amounts[row] = amountMinor;
+        current.timestamps[row] = epochMillis;
+        current.descriptions[row] = description;
+
+        if (row > 0 && epochMillis < current.timestamps[current.rowAt(row - 1)]) {
+            // Backdated: publish a new permutation with the row at its date
+            columns = current.withOrder(insertByDate(current, row, epochMillis), row + 1);
+        } else if (current.order != null) {
+            current.order[row] = row;
+        }
+        size = row + 1;
+        return row;
+    }
+
+    /**
+     * @return Number of published rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Take a consistent view of the rows published so far
+     *
+     * @return Snapshot
+     */
+    public Snapshot snapshot() {
+        while (true) {
+            int published = size;
+            Columns current = columns;
+            // A backdated row's permutation is published just before the row itself
+            if (current.orderedRows <= published) {
+                return new Snapshot(current, published);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Approximate heap retained by the column arrays
+     *
+     * @return Bytes
+     */
+    public long retainedBytes() {
+        Columns current = columns;
+        long capacity = current.ids.length;
+        // 3 long columns, 1 int column, 1 byte column, optional int permutation, array headers
+        int perRow = 8 * 3 + 4 + 1 + (current.order == null ? 0 : 4);
+        return capacity * perRow + (current.order == null ? 5 : 6) * 16;
+    }
+
+    /**
+     * Copy the permutation, identity if there is none yet, with {@code row}
+     * inserted after every row dated at or before {@code epochMillis}
+     */
+    private static int[] insertByDate(Columns current, int row, long epochMillis) {
+        int position = upperBound(current, row, epochMillis);
+        int[] order = new int[current.ids.length];
+        for (int i = 0; i < position; i++) {
+            order[i] = current.rowAt(i);
+        }
+        order[position] = row;
+        for (int i = position; i < row; i++) {
+            order[i + 1] = current.rowAt(i);
+        }
+        return order;
+    }
+
+    /**
+     * First date position among the first {@code size} rows dated after
+     * {@code epochMillis}
+     */
+    private static int upperBound(Columns columns, int size, long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (columns.timestamps[columns.rowAt(mid)] <= epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First date position among the first {@code size} rows dated at or after
+     * {@code epochMillis}
+     */
+    private static int lowerBound(Columns columns, int size, long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (columns.timestamps[columns.rowAt(mid)] < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First date position among the first {@code size} rows sorted after the
+     * row dated {@code epochMillis} with ID {@code id}
+     */
+    private static int keyAfter(Columns columns, int size, long epochMillis, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int row = columns.rowAt(mid);
+            long timestamp = columns.timestamps[row];
+            if (timestamp < epochMillis || (timestamp == epochMillis && columns.ids[row] <= id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Stable sort of row indices by date, or null if the rows are already in
+     * date order
+     */
+    private static int[] dateOrder(long[] timestamps, int size) {
+        int first = 1;
+        while (first < size && timestamps[first] >= timestamps[first - 1]) {
+            first++;
+        }
+        if (first >= size) {
+            return null;
+        }
+
+        int[] order = new int[timestamps.length];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Bottom-up merge sort; merging keeps equal dates in row order
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width <<= 1) {
+            for (int low = 0; low < size - width; low += width << 1) {
+                int mid = low + width;
+                int high = Math.min(low + (width << 1), size);
+                int left = low;
+                int right = mid;
+                int out = low;
+                while (left < mid && right < high) {
+                    buffer[out++] = timestamps[order[right]] < timestamps[order[left]] ? order[right++] : order[left++];
+                }
+                while (left < mid) {
+                    buffer[out++] = order[left++];
+                }
+                while (right < high) {
+                    buffer[out++] = order[right++];
+                }
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Immutable view of the first {@code size} rows
+     */
+    public static final class Snapshot {
+
+        private final Columns columns;
+        private final int size;
+
+        private Snapshot(Columns columns, int size) {
+            this.columns = columns;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long id(int row) {
+            return columns.ids[checkRow(row)];
+        }
+
+        public byte type(int row) {
+            return columns.types[checkRow(row)];
+        }
+
+        public long amountMinor(int row) {
+            return columns.amounts[checkRow(row)];
+        }
+
+        public long epochMillis(int row) {
+            return columns.timestamps[checkRow(row)];
+        }
+
+        public int description(int row) {
+            return columns.descriptions[checkRow(row)];
+        }
+
+        /**
+         * Find the row holding a transaction ID
+         *
+         * @param id Transaction ID
+         * @return Row index, or -1 if absent
+         */
+        public int indexOf(long id) {
+            int row = Arrays.binarySearch(columns.ids, 0, size, id);
+            return row >= 0 ? row : -1;
+        }
+
+        /**
+         * Get the row at a position in date order
+         *
+         * @param position Position among the rows sorted by date, then ID
+         * @return Row index
+         */
+        public int rowAt(int position) {
+            return columns.rowAt(checkRow(position));
+        }
+
+        /**
+         * Find the first date position at or after a date
+         *
+         * @param epochMillis Transaction date in epoch milliseconds
+         * @return Position in {@code [0, size]}
+         */
+        public int positionOf(long epochMillis) {
+            return lowerBound(columns, size, epochMillis);
+        }
+
+        /**
+         * Find the first date position after a (date, ID) key, which need not
+         * belong to a row of this snapshot
+         *
+         * @param epochMillis Transaction date in epoch milliseconds
+         * @param id          Transaction ID
+         * @return Position in {@code [0, size]}
+         */
+        public int positionAfter(long epochMillis, long id) {
+            return keyAfter(columns, size, epochMillis, id);
+        }
+
+        /**
+         * Net effect of the rows on the balance: credits minus debits
+         *
+         * @param creditType Ordinal of the credit transaction type
+         * @return Amount in minor units
+         */
+        public long netMinor(byte creditType) {
+            long net = 0;
+            for (int row = 0; row < size; row++) {
+                long amount = columns.amounts[row];
+                net += columns.types[row] == creditType ? amount : -amount;
+            }
+            return net;
+        }
+
+        /**
+         * Net effect on the balance of the rows before a date position
+         *
+         * @param creditType Ordinal of the credit transaction type
+         * @param position   Date position in {@code [0, size]}
+         * @return Amount in minor units
+         */
+        public long netMinorBefore(byte creditType, int position) {
+            if (position < 0 || position > size) {
+                throw new IndexOutOfBoundsException("Position " + position + " out of " + size);
+            }
+            int checkpoint = position / CHECKPOINT_INTERVAL;
+            return columns.checkpoints(creditType, checkpoint).nets[checkpoint]
+                    + columns.netMinor(creditType, checkpoint * CHECKPOINT_INTERVAL, position);
+        }
+
+        long[] ids() {
+            return columns.ids;
+        }
+
+        byte[] types() {
+            return columns.types;
+        }
+
+        long[] amounts() {
+            return columns.amounts;
+        }
+
+        long[] timestamps() {
+            return columns.timestamps;
+        }
+
+        int[] descriptions() {
+            return columns.descriptions;
+        }
+
+        private int checkRow(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+            }
+            return row;
+        }
+    }
+
+    /**
+     * Column arrays sharing one capacity, plus the date permutation once rows
+     * have arrived out of date order
+     */
+    private static final class Columns {
+
+        final long[] ids;
+        final byte[] types;
+        final long[] amounts;
+        final long[] timestamps;
+        final int[] descriptions;
+        final int[] order;
+        // Rows covered by the permutation when it was built; later rows keep their append position
+        final int orderedRows;
+        // Running balances by date position, null until first read; positions never move within these columns
+        volatile Checkpoints checkpoints;
+
+        Columns(int capacity) {
+            this(new long[capacity], new byte[capacity], new long[capacity], new long[capacity], new int[capacity],
+                    null, 0);
+        }
+
+        Columns(long[] ids, byte[] types, long[] amounts, long[] timestamps, int[] descriptions, int[] order,
+                int orderedRows) {
+            this.ids = ids;
+            this.types = types;
+            this.amounts = amounts;
+            this.timestamps = timestamps;
+            this.descriptions = descriptions;
+            this.order = order;
+            this.orderedRows = orderedRows;
+        }
+
+        int rowAt(int position) {
+            return order == null ? position : order[position];
+        }
+
+        Columns withOrder(int[] order, int orderedRows) {
+            return new Columns(ids, types, amounts, timestamps, descriptions, order, orderedRows);
+        }
+
+        Columns grow(int capacity) {
+            Columns grown = new Columns(
+                    Arrays.copyOf(ids, capacity),
+                    Arrays.copyOf(types, capacity),
+                    Arrays.copyOf(amounts, capacity),
+                    Arrays.copyOf(timestamps, capacity),
+                    Arrays.copyOf(descriptions, capacity),
+                    order == null ? null : Arrays.copyOf(order, capacity),
+                    orderedRows);
+            // Same rows at the same positions
+            grown.checkpoints = checkpoints;
+            return grown;
+        }
+
+        /**
+         * Net effect on the balance of the rows at date positions
+         * {@code [from, to)}
+         */
+        long netMinor(byte creditType, int from, int to) {
+            long net = 0;
+            for (int i = from; i < to; i++) {
+                int row = rowAt(i);
+                long amount = amounts[row];
+                net += types[row] == creditType ? amount : -amount;
+            }
+            return net;
+        }
+
+        /**
+         * Get checkpoints reaching at least checkpoint {@code index}, extending
+         * the known ones; every position they cover must be published. Readers
+         * racing to extend them compute the same values, so the last one wins.
+         */
+        Checkpoints checkpoints(byte creditType, int index) {
+            Checkpoints known = checkpoints;
+            if (known != null && known.creditType != creditType) {
+                known = null;
+            }
+            if (known != null && known.nets.length > index) {
+                return known;
+            }
+            long[] nets = known == null ? new long[index + 1] : Arrays.copyOf(known.nets, index + 1);
+            for (int k = known == null ? 1 : known.nets.length; k <= index; k++) {
+                nets[k] = nets[k - 1] + netMinor(creditType, (k - 1) * CHECKPOINT_INTERVAL, k * CHECKPOINT_INTERVAL);
+            }
+            Checkpoints extended = new Checkpoints(creditType, nets);
+            checkpoints = extended;
+            return extended;
+        }
+    }
+
+    /**
+     * Net effect on the balance of the first {@code k * CHECKPOINT_INTERVAL}
+     * date positions, for each {@code k}
+     */
+    private record Checkpoints(byte creditType, long[] nets) {
+    }
+}
@@ -1,19 +1,35 @@
 package com.interview.assessment.jp.repository;
 
+import com.interview.assessment.jp.dto.response.AccountResponse;
 import com.interview.assessment.jp.entity.Account;
 import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Repository for Account entity operations
+ * Repository for Account entity operations. Declared queries run in
+ * read-only transactions unless the caller's transaction is already open.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    /**
+     * Select clause building {@link AccountResponse} rows straight from the
+     * columns, so read queries neither hydrate nor manage entities
+     */
+    String SELECT_RESPONSE = "SELECT new com.interview.assessment.jp.dto.response.AccountResponse(" +
+            "a.id, a.accountNumber, a.balance, a.accountType) FROM Account a ";
+
     /**
      * Find all accounts by user
      * 
@@ -31,13 +47,57 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
 
     /**
-     * Find all accounts by user ID
+     * Find all accounts by user ID. The owner is not loaded: the user ID is
+     * read from the foreign key.
      * 
      * @param userId the user ID whose accounts to find
      * @return list of accounts belonging to the user ID
      */
     List<Account> findByUser_Id(Long userId);
 
+    /**
+     * Find all accounts ordered by ID
+     * 
+     * @return list of all accounts
+     */
+    List<Account> findAllByOrderByIdAsc();
+
+    /**
+     * Find all accounts of a type ordered by ID
+     * 
+     * @param accountType the account type
+     * @return list of accounts of the type
+     */
+    List<Account> findByAccountTypeOrderByIdAsc(AccountType accountType);
+
+    /**
+     * Find all accounts of a user ordered by ID
+     * 
+     * @param userId the user ID
+     * @return list of the user's accounts
+     */
+    @Query(SELECT_RESPONSE + "WHERE a.user.id = :userId ORDER BY a.id ASC")
+    List<AccountResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find an account by ID if it belongs to a user
+     * 
+     * @param id     the account ID
+     * @param userId the user ID
+     * @return an Optional containing the account or empty
+     */
+    @Query(SELECT_RESPONSE + "WHERE a.id = :id AND a.user.id = :userId")
+    Optional<AccountResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Check if an account belongs to a user, without loading either
+     * 
+     * @param id     the account ID
+     * @param userId the user ID
+     * @return true if the account exists and belongs to the user
+     */
+    boolean existsByIdAndUser_Id(Long id, Long userId);
+
     /**
      * Check if account exists by account number
      * 
@@ -45,4 +105,16 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return true if account exists, false otherwise
      */
     boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Find account by ID and lock its row until the transaction ends, so that
+     * the balance check and update of a posting are not interleaved with
+     * another posting's
+     * 
+     * @param id the account ID
+     * @return an Optional containing the locked account or empty
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
 }
\ No newline at end of file
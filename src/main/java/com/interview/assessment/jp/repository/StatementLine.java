@@ -0,0 +1,20 @@
+package com.interview.assessment.jp.repository;
+
+import com.interview.assessment.jp.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only statement row: the columns a statement prints, selected straight
+ * into a record without loading the Transaction entity or its account
+ *
+ * @param id              Transaction ID
+ * @param transactionType Transaction type
+ * @param amount          Amount
+ * @param description     Description
+ * @param transactionDate Transaction date
+ */
+public record StatementLine(Long id, TransactionType transactionType, BigDecimal amount, String description,
+        LocalDateTime transactionDate) {
+}
@@ -1,21 +1,36 @@
 package com.interview.assessment.jp.repository;
 
 import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.dto.response.TransactionResponse;
 import com.interview.assessment.jp.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
- * Repository for Transaction entity operations
+ * Repository for Transaction entity operations. Declared queries run in
+ * read-only transactions unless the caller's transaction is already open.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+        /**
+         * Select clause building {@link TransactionResponse} rows straight from
+         * the columns, so read queries neither hydrate nor manage entities
+         */
+        String SELECT_RESPONSE = "SELECT new com.interview.assessment.jp.dto.response.TransactionResponse(" +
+                        "t.id, t.transactionType, t.amount, t.description, t.transactionDate, t.account.id, " +
+                        "t.linkedTransactionId) FROM Transaction t ";
+
         /**
          * Find all transactions by account
          * 
@@ -32,6 +47,114 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
          */
         List<Transaction> findByAccount_Id(Long accountId);
 
+        /**
+         * Find a transaction by ID with its account in the same select
+         * 
+         * @param id the transaction ID
+         * @return an Optional containing the transaction or empty
+         */
+        @Query("SELECT t FROM Transaction t JOIN FETCH t.account WHERE t.id = :id")
+        Optional<Transaction> findWithAccountById(@Param("id") Long id);
+
+        /**
+         * Find all transactions by account ID in posting order
+         * 
+         * @param accountId the account ID whose transactions to find
+         * @return list of transactions for the account ID ordered by ID
+         */
+        List<Transaction> findByAccount_IdOrderByIdAsc(Long accountId);
+
+        /**
+         * Find an account's transactions dated in {@code [from, to)}, ordered by
+         * date, then ID
+         * 
+         * @param accountId the account ID
+         * @param from      earliest transaction date, inclusive
+         * @param to        latest transaction date, exclusive
+         * @return list of transactions in the range
+         */
+        @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+                        "AND t.transactionDate >= :from AND t.transactionDate < :to " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<Transaction> findByAccountIdAndTransactionDateRange(
+                        @Param("accountId") Long accountId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        /**
+         * Find the page of an account's transactions following a keyset
+         * position, ordered by date, then ID
+         * 
+         * @param accountId the account ID
+         * @param afterDate transaction date of the last row already returned
+         * @param afterId   ID of the last row already returned
+         * @param limit     page size, as an unsorted {@code PageRequest.of(0, limit)}
+         * @return list of transactions on the page
+         */
+        @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+                        "AND (t.transactionDate > :afterDate " +
+                        "OR (t.transactionDate = :afterDate AND t.id > :afterId)) " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<Transaction> findTransactionPageByAccountIdAfter(
+                        @Param("accountId") Long accountId,
+                        @Param("afterDate") LocalDateTime afterDate,
+                        @Param("afterId") Long afterId,
+                        Pageable limit);
+
+        /**
+         * Sum the credits less the debits of an account's transactions dated at
+         * or after a date
+         * 
+         * @param accountId the account ID
+         * @param from      earliest transaction date, inclusive
+         * @return net amount, zero when there are no such transactions
+         */
+        @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType = " +
+                        "com.interview.assessment.jp.enums.TransactionType.CREDIT " +
+                        "THEN t.amount ELSE -t.amount END), 0) " +
+                        "FROM Transaction t WHERE t.account.id = :accountId AND t.transactionDate >= :from")
+        BigDecimal sumNetAmountByAccountIdFrom(
+                        @Param("accountId") Long accountId,
+                        @Param("from") LocalDateTime from);
+
+        /**
+         * Find a transaction by ID if its account belongs to a user
+         * 
+         * @param id     the transaction ID
+         * @param userId the user ID
+         * @return an Optional containing the transaction or empty
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.id = :id AND t.account.user.id = :userId")
+        Optional<TransactionResponse> findResponseByIdAndUserId(
+                        @Param("id") Long id,
+                        @Param("userId") Long userId);
+
+        /**
+         * Find all transactions by account ID ordered by ID
+         * 
+         * @param accountId the account ID whose transactions to find
+         * @return list of transactions for the account ID in posting order
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.account.id = :accountId ORDER BY t.id ASC")
+        List<TransactionResponse> findResponsesByAccountId(@Param("accountId") Long accountId);
+
+        /**
+         * Find an account's transactions dated in {@code [from, to)}, ordered by
+         * date, then ID
+         * 
+         * @param accountId the account ID
+         * @param from      earliest transaction date, inclusive
+         * @param to        latest transaction date, exclusive
+         * @return list of transactions in the range
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.account.id = :accountId " +
+                        "AND t.transactionDate >= :from AND t.transactionDate < :to " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<TransactionResponse> findResponsesByAccountIdAndTransactionDateRange(
+                        @Param("accountId") Long accountId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
         /**
          * Find all transactions by account ID and transaction date between start and
          * end dates
@@ -45,18 +168,97 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                         Long accountId, LocalDateTime startDate, LocalDateTime endDate);
 
         /**
-         * Find transactions for a specific month and year
+         * Find the statement lines of an account dated in {@code [from, to)},
+         * ordered by date, then ID. The bare column comparisons let the database
+         * seek the {@code (account_id, transaction_date, id)} index to the start
+         * of the range and read only the rows in it.
          * 
          * @param accountId the account ID
-         * @param year      the year
-         * @param month     the month (1-12)
-         * @return list of transactions for the specified month and year
+         * @param from      earliest transaction date, inclusive
+         * @param to        latest transaction date, exclusive
+         * @return list of statement lines in the range
          */
-        @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
-                        "AND YEAR(t.transactionDate) = :year AND MONTH(t.transactionDate) = :month " +
-                        "ORDER BY t.transactionDate DESC")
-        List<Transaction> findByAccountIdAndYearAndMonth(
+        @Query("SELECT new com.interview.assessment.jp.repository.StatementLine(" +
+                        "t.id, t.transactionType, t.amount, t.description, t.transactionDate) " +
+                        "FROM Transaction t WHERE t.account.id = :accountId " +
+                        "AND t.transactionDate >= :from AND t.transactionDate < :to " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<StatementLine> findStatementLines(
+                        @Param("accountId") Long accountId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        /**
+         * Find the first page of an account's transactions ordered by date, then ID
+         * 
+         * @param accountId the account ID
+         * @param limit     page size, as an unsorted {@code PageRequest.of(0, limit)}
+         * @return list of transactions on the first page
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.account.id = :accountId " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<TransactionResponse> findFirstPageByAccountId(
+                        @Param("accountId") Long accountId,
+                        Pageable limit);
+
+        /**
+         * Find the page of an account's transactions following a keyset position,
+         * ordered by date, then ID. The position is a predicate rather than an
+         * OFFSET, so the database seeks straight to it however deep the page is.
+         * 
+         * @param accountId the account ID
+         * @param afterDate transaction date of the last row already returned
+         * @param afterId   ID of the last row already returned
+         * @param limit     page size, as an unsorted {@code PageRequest.of(0, limit)}
+         * @return list of transactions on the page
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.account.id = :accountId " +
+                        "AND (t.transactionDate > :afterDate " +
+                        "OR (t.transactionDate = :afterDate AND t.id > :afterId)) " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<TransactionResponse> findPageByAccountIdAfter(
+                        @Param("accountId") Long accountId,
+                        @Param("afterDate") LocalDateTime afterDate,
+                        @Param("afterId") Long afterId,
+                        Pageable limit);
+
+        /**
+         * Find the page of an account's transactions following an ID, ordered by
+         * ID
+         * 
+         * @param accountId the account ID
+         * @param afterId   ID of the last row already returned, 0 for the first page
+         * @param limit     page size, as an unsorted {@code PageRequest.of(0, limit)}
+         * @return list of transactions on the page
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.account.id = :accountId AND t.id > :afterId " +
+                        "ORDER BY t.id ASC")
+        List<TransactionResponse> findPageByAccountIdAfterId(
+                        @Param("accountId") Long accountId,
+                        @Param("afterId") Long afterId,
+                        Pageable limit);
+
+        /**
+         * Find the page of an account's transactions dated before {@code to}
+         * following a keyset position, ordered by date, then ID. Starting from
+         * {@code (from, 0)} pages through the range {@code [from, to)}.
+         * 
+         * @param accountId the account ID
+         * @param to        latest transaction date, exclusive
+         * @param afterDate transaction date of the last row already returned
+         * @param afterId   ID of the last row already returned
+         * @param limit     page size, as an unsorted {@code PageRequest.of(0, limit)}
+         * @return list of transactions on the page
+         */
+        @Query(SELECT_RESPONSE + "WHERE t.account.id = :accountId " +
+                        "AND t.transactionDate < :to " +
+                        "AND (t.transactionDate > :afterDate " +
+                        "OR (t.transactionDate = :afterDate AND t.id > :afterId)) " +
+                        "ORDER BY t.transactionDate ASC, t.id ASC")
+        List<TransactionResponse> findPageByAccountIdBeforeAfter(
                         @Param("accountId") Long accountId,
-                        @Param("year") int year,
-                        @Param("month") int month);
-}
\ No newline at end of file
+                        @Param("to") LocalDateTime to,
+                        @Param("afterDate") LocalDateTime afterDate,
+                        @Param("afterId") Long afterId,
+                        Pageable limit);
+}
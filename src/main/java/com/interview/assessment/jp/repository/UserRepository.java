@@ -1,6 +1,7 @@
 package com.interview.assessment.jp.repository;
 
 import com.interview.assessment.jp.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,11 +14,12 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Find user by username
+     * Find user by username, with its roles in the same select
      * 
      * @param username the username to search for
      * @return an Optional containing the found user or empty
      */
+    @EntityGraph(User.WITH_ROLES)
     Optional<User> findByUsername(String username);
 
     /**
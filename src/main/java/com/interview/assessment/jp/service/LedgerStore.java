@@ -0,0 +1,219 @@
+package com.interview.assessment.jp.service;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.exception.InsufficientFundsException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage of users, accounts and postings behind the ledger services.
+ * <p>
+ * The backend is chosen with {@code banking.ledger.store}: MEMORY keeps the
+ * ledger in concurrent maps, MAPPED does the same and persists it in a
+ * memory-mapped journal with snapshots, and JPA keeps it in the database
+ * tables and selects the JPA transaction and account services along with it.
+ * Every backend checks debits against the balance and applies each posting,
+ * batch or transfer atomically.
+ * <p>
+ * A posting call that returns has made its posting durable. A posting may be
+ * visible to readers before that, so when a call fails because the posting
+ * could not be made durable, its outcome is unknown: the posting can stay
+ * visible and may or may not survive a restart. A store that fails this way
+ * rejects every later write rather than let a retry post twice.
+ */
+public interface LedgerStore {
+
+    /**
+     * Get current user
+     *
+     * @return Current user
+     */
+    User getCurrentUser();
+
+    /**
+     * Get accounts by user ID, ordered by ID
+     *
+     * @param userId User ID
+     * @return List of accounts
+     */
+    List<Account> getAccountsByUserId(Long userId);
+
+    /**
+     * Get account by ID
+     *
+     * @param id Account ID
+     * @return Account, or null if there is none
+     */
+    Account getAccountById(Long id);
+
+    /**
+     * Get all accounts, optionally of one type, ordered by ID
+     *
+     * @param accountType Account type, or null for every type
+     * @return List of accounts
+     */
+    List<Account> getAllAccounts(AccountType accountType);
+
+    /**
+     * Get transactions by account ID in posting order
+     *
+     * @param accountId Account ID
+     * @return List of transactions
+     */
+    List<Transaction> getTransactionsByAccountId(Long accountId);
+
+    /**
+     * Get transactions of an account dated in {@code [from, to)}, ordered by
+     * transaction date, then ID
+     *
+     * @param accountId Account ID
+     * @param from      Earliest transaction date, inclusive; null for no lower bound
+     * @param to        Latest transaction date, exclusive; null for no upper bound
+     * @return List of transactions
+     */
+    List<Transaction> getTransactionsByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Get the transactions of an account dated in {@code [from, to)}, ordered
+     * by date, together with the balance before the first of them. Both are
+     * read consistently, so they agree even while postings continue.
+     *
+     * @param accountId Account ID
+     * @param from      Start of the period, inclusive
+     * @param to        End of the period, exclusive
+     * @return Opening balance and transactions of the period
+     */
+    StatementPeriod getStatementPeriod(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Get up to {@code limit} transactions of an account sorted after a
+     * keyset position, ordered by transaction date, then ID
+     *
+     * @param accountId Account ID
+     * @param afterDate Transaction date of the last row already seen; null to start from the first row
+     * @param afterId   Transaction ID of the last row already seen
+     * @param limit     Maximum number of transactions
+     * @return List of transactions
+     */
+    List<Transaction> getTransactionsPageByAccountId(Long accountId, LocalDateTime afterDate, long afterId,
+            int limit);
+
+    /**
+     * Get transaction by ID
+     *
+     * @param id Transaction ID
+     * @return Transaction, or null if there is none
+     */
+    Transaction getTransactionById(Long id);
+
+    /**
+     * Create new account for the user given by its user ID
+     *
+     * @param account Account
+     * @return Created account
+     */
+    Account createAccount(Account account);
+
+    /**
+     * Create new transaction and apply it to the account balance
+     *
+     * @param transaction Transaction
+     * @return Created transaction
+     * @throws InsufficientFundsException if a debit exceeds the account balance
+     * @throws IllegalStateException      if the posting could not be made durable, or an earlier one could not
+     */
+    Transaction createTransaction(Transaction transaction);
+
+    /**
+     * Create a batch of transactions for one account, all or none
+     *
+     * @param accountId    Account ID
+     * @param transactions Transactions in posting order
+     * @return Created transactions
+     * @throws InsufficientFundsException if any debit exceeds the balance left before it
+     * @throws IllegalStateException      if the batch could not be made durable, or an earlier posting could not
+     */
+    List<Transaction> createTransactions(Long accountId, List<Transaction> transactions);
+
+    /**
+     * Move money from one account to another as a debit and a linked
+     * credit, both or neither
+     *
+     * @param fromAccountId   Account to debit
+     * @param toAccountId     Account to credit
+     * @param amount          Amount
+     * @param description     Description of both legs
+     * @param transactionDate Transaction date of both legs
+     * @return Created legs
+     * @throws IllegalArgumentException   if the accounts are the same or unknown
+     * @throws InsufficientFundsException if the amount exceeds the source account's balance
+     * @throws IllegalStateException      if the transfer could not be made durable, or an earlier posting could not
+     */
+    Transfer createTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String description,
+            LocalDateTime transactionDate);
+
+    /**
+     * Register a listener for new postings. Listeners run on the posting
+     * thread once the posting is visible to readers, so they must be cheap.
+     *
+     * @param listener Listener
+     */
+    void addPostingListener(PostingListener listener);
+
+    /**
+     * Count accounts
+     *
+     * @return Number of accounts
+     */
+    long countAccounts();
+
+    /**
+     * Count transactions of every account
+     *
+     * @return Number of transactions
+     */
+    long countTransactions();
+
+    /**
+     * Approximate heap retained by the stored transactions
+     *
+     * @return Bytes, 0 when the transactions are kept outside the heap
+     */
+    long retainedBytes();
+
+    /**
+     * Listener for new postings
+     */
+    @FunctionalInterface
+    interface PostingListener {
+
+        /**
+         * @param accountId       Account ID
+         * @param transactionDate Transaction date of the posting
+         */
+        void posted(long accountId, LocalDateTime transactionDate);
+    }
+
+    /**
+     * The two legs of a transfer
+     *
+     * @param debit  Debit of the source account
+     * @param credit Credit of the destination account
+     */
+    record Transfer(Transaction debit, Transaction credit) {
+    }
+
+    /**
+     * Transactions of a statement period and the balance before them
+     *
+     * @param openingBalance Balance before the first transaction of the period
+     * @param transactions   Transactions of the period, ordered by date
+     */
+    record StatementPeriod(BigDecimal openingBalance, List<Transaction> transactions) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.interview.assessment.jp.service;
+
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.enums.AccountType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+/**
+ * Statement Export Service Interface
+ */
+public interface StatementExportService {
+
+    /**
+     * Prepare a ZIP of the monthly statements of every account, or of every
+     * account of one type. The accounts are captured before returning; the
+     * statements are rendered only when the archive is written.
+     *
+     * @param request     Statement year and month
+     * @param accountType Account type, or null for every type
+     * @return Archive ready to be written
+     * @throws com.interview.assessment.jp.exception.ForbiddenException if the current user is not an admin
+     */
+    StatementArchive getStatementArchive(StatementRequest request, AccountType accountType);
+
+    /**
+     * ZIP of monthly statements that renders itself onto a stream
+     */
+    interface StatementArchive {
+
+        /**
+         * @return Suggested file name for downloads
+         */
+        String fileName();
+
+        /**
+         * Render the statements and write them as ZIP entries; the stream is
+         * flushed but left open
+         *
+         * @param out Target stream
+         * @return Export summary
+         * @throws IOException if rendering or writing fails
+         */
+        ExportSummary writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Outcome of a bulk export
+     *
+     * @param statements Statements written
+     * @param bytes      Uncompressed statement bytes
+     * @param wallTime   Time from the first render to the end of the archive
+     */
+    record ExportSummary(int statements, long bytes, Duration wallTime) {
+
+        /**
+         * @return Statements written per second of wall time
+         */
+        public double accountsPerSecond() {
+            long nanos = Math.max(1, wallTime.toNanos());
+            return statements * 1e9 / nanos;
+        }
+    }
+}
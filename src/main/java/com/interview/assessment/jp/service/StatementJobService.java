@@ -0,0 +1,37 @@
+package com.interview.assessment.jp.service;
+
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.dto.response.StatementJobResponse;
+
+/**
+ * Statement Job Service Interface
+ */
+public interface StatementJobService {
+
+    /**
+     * Queue a statement to be rendered in the background
+     *
+     * @param accountId Account ID
+     * @param request   Statement year and month
+     * @return Queued job
+     * @throws java.util.concurrent.RejectedExecutionException if the job queue is full
+     */
+    StatementJobResponse submitJob(Long accountId, StatementRequest request);
+
+    /**
+     * Get the status of a job
+     *
+     * @param jobId Job ID
+     * @return Job status
+     */
+    StatementJobResponse getJob(String jobId);
+
+    /**
+     * Get the rendered statement of a completed job
+     *
+     * @param jobId Job ID
+     * @return Statement read from the job's artifact
+     * @throws com.interview.assessment.jp.exception.ConflictException if the job has not completed
+     */
+    StatementService.Statement getJobStatement(String jobId);
+}
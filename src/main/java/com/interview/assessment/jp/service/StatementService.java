@@ -0,0 +1,54 @@
+package com.interview.assessment.jp.service;
+
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+
+/**
+ * Statement Service Interface
+ */
+public interface StatementService {
+
+    /**
+     * Prepare the monthly statement of an account. Ownership is checked and
+     * the month's transactions are captured before returning; the statement is
+     * rendered only when written.
+     *
+     * @param accountId Account ID
+     * @param request   Statement year and month
+     * @return Statement ready to be written
+     */
+    Statement getStatement(Long accountId, StatementRequest request);
+
+    /**
+     * Prepare the monthly statement of an account without checking who owns
+     * it, for back-office exports
+     *
+     * @param account Account
+     * @param month   Statement month
+     * @return Statement ready to be written
+     */
+    Statement getAccountStatement(Account account, YearMonth month);
+
+    /**
+     * Monthly statement that renders itself onto a stream
+     */
+    interface Statement {
+
+        /**
+         * @return Suggested file name for downloads
+         */
+        String fileName();
+
+        /**
+         * Render the statement; the stream is flushed but left open
+         *
+         * @param out Target stream
+         * @throws IOException if writing fails
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
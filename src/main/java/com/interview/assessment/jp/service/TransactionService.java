@@ -1,9 +1,14 @@
 package com.interview.assessment.jp.service;
 
 import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionPageResponse;
 import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Transaction Service Interface
@@ -18,6 +23,43 @@ public interface TransactionService {
      */
     List<TransactionResponse> getTransactionsByAccountId(Long accountId);
 
+    /**
+     * Get the transactions of an account dated in {@code [from, to)}, ordered
+     * by transaction date
+     *
+     * @param accountId Account ID
+     * @param from      Earliest transaction date, inclusive; null for no lower bound
+     * @param to        Latest transaction date, exclusive; null for no upper bound
+     * @return List of transactions
+     */
+    List<TransactionResponse> getTransactionsByAccountIdBetween(Long accountId, LocalDateTime from,
+            LocalDateTime to);
+
+    /**
+     * Stream the transactions of an account, all of them in ID order, or those
+     * dated in {@code [from, to)} in date order. Ownership is checked before
+     * returning; rows are then read lazily from a consistent snapshot, so the
+     * caller never holds more than one in memory.
+     *
+     * @param accountId Account ID
+     * @param from      Earliest transaction date, inclusive; null for no lower bound
+     * @param to        Latest transaction date, exclusive; null for no upper bound
+     * @return Lazy stream of transactions
+     */
+    Stream<TransactionResponse> streamTransactionsByAccountId(Long accountId, LocalDateTime from,
+            LocalDateTime to);
+
+    /**
+     * Get one page of an account's transactions, ordered by transaction date,
+     * then ID
+     *
+     * @param accountId Account ID
+     * @param cursor    Next-page cursor from the previous page; null for the first page
+     * @param limit     Maximum number of transactions on the page
+     * @return Page of transactions with the cursor of the following page
+     */
+    TransactionPageResponse getTransactionsPageByAccountId(Long accountId, String cursor, int limit);
+
     /**
      * Create a new transaction
      *
@@ -27,6 +69,37 @@ public interface TransactionService {
      */
     TransactionResponse createTransaction(Long accountId, TransactionRequest request);
 
+    /**
+     * Create a new transaction at most once per idempotency key. A retry with
+     * the same key and request returns the original transaction; one arriving
+     * while the original is still posting waits for it.
+     *
+     * @param accountId      Account ID
+     * @param request        Transaction request
+     * @param idempotencyKey Client-chosen key; null posts unconditionally
+     * @return Created transaction, or the one created for the key before
+     */
+    TransactionResponse createTransaction(Long accountId, TransactionRequest request, String idempotencyKey);
+
+    /**
+     * Create a batch of transactions, all or none. Each debit must be covered
+     * by the balance left by the transactions before it.
+     *
+     * @param accountId Account ID
+     * @param requests  Transaction requests in posting order
+     * @return Created transactions, in request order
+     */
+    List<TransactionResponse> createTransactions(Long accountId, List<TransactionRequest> requests);
+
+    /**
+     * Transfer money from one of the current user's accounts to another
+     * account, as a debit and a credit linked to each other, both or neither
+     *
+     * @param request Transfer request
+     * @return Created debit and credit
+     */
+    TransferResponse createTransfer(TransferRequest request);
+
     /**
      * Get transaction details by ID
      *
@@ -5,7 +5,10 @@ import com.interview.assessment.jp.entity.Account;
 import com.interview.assessment.jp.entity.User;
 import com.interview.assessment.jp.exception.ResourceNotFoundException;
 import com.interview.assessment.jp.service.AccountService;
+import com.interview.assessment.jp.service.LedgerStore;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,15 +18,17 @@ import java.util.stream.Collectors;
  * Account Service Implementation
  */
 @Service
+@Timed(value = "banking.service", description = "Service calls")
+@ConditionalOnExpression("'${banking.ledger.store:MEMORY}' != 'JPA'")
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
 
-    private final MockDataService mockDataService;
+    private final LedgerStore ledgerStore;
 
     @Override
     public List<AccountResponse> getAccountsByCurrentUser() {
-        User currentUser = mockDataService.getCurrentUser();
-        List<Account> accounts = mockDataService.getAccountsByUserId(currentUser.getId());
+        User currentUser = ledgerStore.getCurrentUser();
+        List<Account> accounts = ledgerStore.getAccountsByUserId(currentUser.getId());
 
         return accounts.stream()
                 .map(this::convertToDto)
@@ -32,8 +37,8 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public AccountResponse getAccountById(Long id) {
-        User currentUser = mockDataService.getCurrentUser();
-        Account account = mockDataService.getAccountById(id);
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(id);
 
         if (account == null) {
             throw new ResourceNotFoundException("Account not found");
@@ -0,0 +1,206 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.exception.ConflictException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring results of requests carrying an idempotency key,
+ * scoped by account.
+ * <p>
+ * The first request with a key inserts a pending entry and runs; a retry, or a
+ * concurrent duplicate, waits for that entry and returns the same result
+ * without running again. A request that fails removes its entry so it can be
+ * retried. Every entry lives for the same time, so insertion order is also
+ * expiry order: one FIFO queue drops entries that are too old or, once the
+ * limit is passed, the oldest ones. Entries already removed, by failure or
+ * expiry, stay queued until they reach the old end and count against the
+ * limit meanwhile, so the queue stays bounded. Lookups are a single concurrent
+ * map read.
+ */
+public final class IdempotencyCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order, trimmed by whichever thread holds the eviction lock
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicInteger size = new AtomicInteger();
+    // Length of the order queue, including entries already removed from the map
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries Keys kept at most; zero disables the cache
+     * @param ttl        How long a key's result is kept
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries < 0 || ttl.isNegative()) {
+            throw new IllegalArgumentException("Idempotency cache size and TTL must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Run a request once per key, returning the stored result to retries
+     *
+     * @param scope   Scope of the key, such as the account posted to
+     * @param key     Idempotency key sent by the client
+     * @param request Request body; a retry must send an equal one
+     * @param action  Performs the request
+     * @param <T>     Result type; every request with the same scope must use one
+     * @return Result of the first request with the key
+     * @throws ConflictException if the key was used with a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(long scope, String key, Object request, Supplier<T> action) {
+        if (maxEntries == 0) {
+            misses.increment();
+            return action.get();
+        }
+
+        Key id = new Key(scope, key);
+        long now = clock.getAsLong();
+        Entry entry;
+        while (true) {
+            entry = entries.get(id);
+            if (entry != null && now - entry.createdAt >= ttlNanos) {
+                remove(entry);
+                continue;
+            }
+            if (entry != null) {
+                break;
+            }
+            Entry created = new Entry(id, request, now);
+            if (entries.putIfAbsent(id, created) == null) {
+                misses.increment();
+                size.incrementAndGet();
+                queued.incrementAndGet();
+                order.add(created);
+                evict(now);
+                return (T) run(created, action);
+            }
+        }
+
+        if (!entry.request.equals(request)) {
+            throw new ConflictException("Idempotency-Key was already used with a different request");
+        }
+        hits.increment();
+        return (T) join(entry);
+    }
+
+    /**
+     * @return Current counters and size
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size.get());
+    }
+
+    private Object run(Entry entry, Supplier<?> action) {
+        Object result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            remove(entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+        entry.result.complete(result);
+        return result;
+    }
+
+    /**
+     * Drop entries from the old end of the queue while they are expired, already
+     * removed, or the queue is over the limit. A thread finding another one
+     * evicting leaves it to that thread.
+     */
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry eldest;
+            while ((eldest = order.peek()) != null) {
+                boolean live = entries.get(eldest.key) == eldest;
+                if (live && queued.get() <= maxEntries && now - eldest.createdAt < ttlNanos) {
+                    break;
+                }
+                order.poll();
+                queued.decrementAndGet();
+                if (live && remove(eldest)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static Object join(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Cache counters
+     *
+     * @param hits      Requests answered with a stored result, including those that waited for one in flight
+     * @param misses    Requests that ran
+     * @param evictions Entries dropped for age or to stay within the limit
+     * @param entries   Number of entries
+     */
+    public record Stats(long hits, long misses, long evictions, int entries) {
+    }
+
+    private record Key(long scope, String key) {
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final Object request;
+        private final long createdAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(Key key, Object request, long createdAt) {
+            this.key = key;
+            this.request = request;
+            this.createdAt = createdAt;
+        }
+    }
+}
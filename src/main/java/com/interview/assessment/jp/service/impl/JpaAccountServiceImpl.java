@@ -0,0 +1,59 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.response.AccountResponse;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.AccountService;
+import com.interview.assessment.jp.service.LedgerStore;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Account Service Implementation on the JPA repositories, selected with
+ * {@code banking.ledger.store=JPA} and paired with
+ * {@link JpaTransactionServiceImpl} so balances are read from the same tables
+ * the postings update. The user and accounts are read through the
+ * {@link RepositoryCache} without a transaction of their own, so a request
+ * served from the cache takes no connection. The signed-in username comes
+ * from the {@link JpaLedgerStore}, which reads it once.
+ */
+@Service
+@Timed(value = "banking.service", description = "Service calls")
+@ConditionalOnProperty(prefix = "banking.ledger", name = "store", havingValue = "JPA")
+@RequiredArgsConstructor
+public class JpaAccountServiceImpl implements AccountService {
+
+    private final RepositoryCache repositoryCache;
+    private final LedgerStore ledgerStore;
+
+    @Override
+    public List<AccountResponse> getAccountsByCurrentUser() {
+        return repositoryCache.findAccountsByUserId(currentUserId()).stream()
+                .map(RepositoryCache.CachedAccount::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public AccountResponse getAccountById(Long id) {
+        Long userId = currentUserId();
+
+        // Another user's account is not found, as with an unknown ID
+        return repositoryCache.findAccountById(id)
+                .filter(account -> account.userId().equals(userId))
+                .map(RepositoryCache.CachedAccount::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    }
+
+    /**
+     * Resolve the signed-in user's ID in the users table
+     */
+    private Long currentUserId() {
+        return repositoryCache.findUserByUsername(ledgerStore.getCurrentUser().getUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .id();
+    }
+}
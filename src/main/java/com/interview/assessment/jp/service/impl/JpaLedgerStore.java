@@ -0,0 +1,389 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.InsufficientFundsException;
+import com.interview.assessment.jp.repository.AccountRepository;
+import com.interview.assessment.jp.repository.StatementLine;
+import com.interview.assessment.jp.repository.TransactionRepository;
+import com.interview.assessment.jp.repository.UserRepository;
+import com.interview.assessment.jp.service.LedgerStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LedgerStore} on the JPA repositories, selected with
+ * {@code banking.ledger.store=JPA} together with the JPA transaction and
+ * account services, so statements, exports and the current user are read from
+ * the same tables the postings update.
+ * <p>
+ * Each call runs in its own database transaction, or joins the caller's.
+ * Postings lock the account row, check and update its balance and insert the
+ * transactions together; a transfer locks both rows in ID order. Reads load
+ * the account before its transactions so that every returned transaction
+ * refers to the loaded account, never to an uninitialized proxy. Posting
+ * listeners run once the posting has committed.
+ */
+@Service
+@Timed(value = "banking.ledger.store", description = "Ledger store operations")
+@ConditionalOnProperty(prefix = "banking.ledger", name = "store", havingValue = "JPA")
+public class JpaLedgerStore implements LedgerStore {
+
+    // Mock current user
+    private static final long CURRENT_USER_ID = 1L;
+    // A count not read from its table yet
+    private static final long UNCOUNTED = -1;
+
+    // Stand-ins for an open end of a date range
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final TransactionTemplate statementTemplate;
+
+    // Read once; users are not changed at runtime
+    private volatile User currentUser;
+
+    // Counted once, then advanced by each commit of this store
+    private final AtomicLong accountCount = new AtomicLong(UNCOUNTED);
+    private final AtomicLong transactionCount = new AtomicLong(UNCOUNTED);
+
+    // Notified after each new posting commits
+    private final List<PostingListener> postingListeners = new CopyOnWriteArrayList<>();
+
+    public JpaLedgerStore(UserRepository userRepository, AccountRepository accountRepository,
+            TransactionRepository transactionRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.statementTemplate = new TransactionTemplate(transactionManager);
+        this.statementTemplate.setReadOnly(true);
+        this.statementTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    /**
+     * The user is read with its roles on the first call and then served from
+     * memory, so a request whose lookups hit the repository cache takes no
+     * connection. The returned user is detached.
+     */
+    @Override
+    public User getCurrentUser() {
+        User user = currentUser;
+        if (user == null) {
+            user = readOnlyTemplate.execute(status -> userRepository.findById(CURRENT_USER_ID)
+                    .map(JpaLedgerStore::detached)
+                    .orElse(null));
+            currentUser = user;
+        }
+        return user;
+    }
+
+    @Override
+    public List<Account> getAccountsByUserId(Long userId) {
+        return accountRepository.findByUser_Id(userId).stream()
+                .sorted(Comparator.comparing(Account::getId))
+                .toList();
+    }
+
+    @Override
+    public Account getAccountById(Long id) {
+        return accountRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public List<Account> getAllAccounts(AccountType accountType) {
+        return accountType == null
+                ? accountRepository.findAllByOrderByIdAsc()
+                : accountRepository.findByAccountTypeOrderByIdAsc(accountType);
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByAccountId(Long accountId) {
+        return readOnlyTemplate.execute(status -> accountRepository.findById(accountId)
+                .map(account -> transactionRepository.findByAccount_IdOrderByIdAsc(accountId))
+                .orElseGet(List::of));
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByAccountIdBetween(Long accountId, LocalDateTime from,
+            LocalDateTime to) {
+        return readOnlyTemplate.execute(status -> accountRepository.findById(accountId)
+                .map(account -> transactionRepository.findByAccountIdAndTransactionDateRange(accountId,
+                        from == null ? MIN_DATE : from, to == null ? MAX_DATE : to))
+                .orElseGet(List::of));
+    }
+
+    /**
+     * The balance, the sum it is unwound by and the statement lines are read
+     * in one serializable read-only transaction, so they agree without
+     * locking the account against postings. Lines are selected as
+     * {@link StatementLine} projections and wrapped in unmanaged transactions.
+     */
+    @Override
+    public StatementPeriod getStatementPeriod(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return statementTemplate.execute(status -> accountRepository.findById(accountId)
+                .map(account -> new StatementPeriod(
+                        account.getBalance().subtract(
+                                transactionRepository.sumNetAmountByAccountIdFrom(accountId, from)),
+                        transactionRepository.findStatementLines(accountId, from, to).stream()
+                                .map(line -> toTransaction(line, account))
+                                .toList()))
+                .orElseGet(() -> new StatementPeriod(BigDecimal.ZERO, List.of())));
+    }
+
+    @Override
+    public List<Transaction> getTransactionsPageByAccountId(Long accountId, LocalDateTime afterDate, long afterId,
+            int limit) {
+        return readOnlyTemplate.execute(status -> accountRepository.findById(accountId)
+                .map(account -> transactionRepository.findTransactionPageByAccountIdAfter(accountId,
+                        afterDate == null ? MIN_DATE : afterDate, afterDate == null ? 0L : afterId,
+                        PageRequest.of(0, limit)))
+                .orElseGet(List::of));
+    }
+
+    @Override
+    public Transaction getTransactionById(Long id) {
+        return transactionRepository.findWithAccountById(id).orElse(null);
+    }
+
+    @Override
+    public Account createAccount(Account account) {
+        Account created = transactionTemplate.execute(status -> {
+            account.setUser(userRepository.getReferenceById(account.getUserId()));
+            return accountRepository.save(account);
+        });
+
+        advanceAfterCommit(accountCount, 1);
+        return created;
+    }
+
+    @Override
+    public Transaction createTransaction(Transaction transaction) {
+        Long accountId = transaction.getAccount().getId();
+        Transaction created = transactionTemplate.execute(status -> {
+            Account account = lockAccount(accountId);
+            account.setBalance(apply(account.getBalance(), transaction.getTransactionType(),
+                    transaction.getAmount()));
+            return transactionRepository.save(prepare(transaction, account));
+        });
+
+        advanceAfterCommit(transactionCount, 1);
+        posted(accountId, created);
+        return created;
+    }
+
+    @Override
+    public List<Transaction> createTransactions(Long accountId, List<Transaction> transactions) {
+        List<Transaction> created = transactionTemplate.execute(status -> {
+            Account account = lockAccount(accountId);
+            // Every debit must be covered by the balance left by the transactions before it
+            BigDecimal balance = account.getBalance();
+            for (Transaction transaction : transactions) {
+                balance = apply(balance, transaction.getTransactionType(), transaction.getAmount());
+                prepare(transaction, account);
+            }
+            account.setBalance(balance);
+            return transactionRepository.saveAll(transactions);
+        });
+
+        advanceAfterCommit(transactionCount, created.size());
+        for (Transaction transaction : created) {
+            posted(accountId, transaction);
+        }
+        return created;
+    }
+
+    @Override
+    public Transfer createTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String description,
+            LocalDateTime transactionDate) {
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        Transfer transfer = transactionTemplate.execute(status -> {
+            // Lock both rows in ID order so that crossing transfers cannot deadlock
+            Account first = lockTransferAccount(Math.min(fromAccountId, toAccountId));
+            Account second = lockTransferAccount(Math.max(fromAccountId, toAccountId));
+            Account from = first.getId().equals(fromAccountId) ? first : second;
+            Account to = from == first ? second : first;
+
+            from.setBalance(apply(from.getBalance(), TransactionType.DEBIT, amount));
+            to.setBalance(to.getBalance().add(amount));
+
+            Transaction debit = transactionRepository.save(prepare(Transaction.builder()
+                    .transactionType(TransactionType.DEBIT)
+                    .amount(amount)
+                    .description(description)
+                    .transactionDate(transactionDate)
+                    .build(), from));
+            Transaction credit = transactionRepository.save(prepare(Transaction.builder()
+                    .transactionType(TransactionType.CREDIT)
+                    .amount(amount)
+                    .description(description)
+                    .transactionDate(transactionDate)
+                    .linkedTransactionId(debit.getId())
+                    .build(), to));
+            debit.setLinkedTransactionId(credit.getId());
+            return new Transfer(debit, credit);
+        });
+
+        advanceAfterCommit(transactionCount, 2);
+        posted(fromAccountId, transfer.debit());
+        posted(toAccountId, transfer.credit());
+        return transfer;
+    }
+
+    @Override
+    public void addPostingListener(PostingListener listener) {
+        postingListeners.add(listener);
+    }
+
+    /**
+     * Counted in the table on the first call, then kept up to date by the
+     * accounts this store creates, so it is cheap to sample. Rows written
+     * outside this store after the first call are not counted.
+     */
+    @Override
+    public long countAccounts() {
+        return counted(accountCount, accountRepository::count);
+    }
+
+    /**
+     * Counted in the table on the first call, then kept up to date by the
+     * postings this store commits, so sampling it on every metrics scrape
+     * runs no query. Rows written outside this store after the first call
+     * are not counted.
+     */
+    @Override
+    public long countTransactions() {
+        return counted(transactionCount, transactionRepository::count);
+    }
+
+    /**
+     * Transactions live in the database, so none are retained
+     */
+    @Override
+    public long retainedBytes() {
+        return 0;
+    }
+
+    private void posted(Long accountId, Transaction transaction) {
+        for (PostingListener listener : postingListeners) {
+            listener.posted(accountId, transaction.getTransactionDate());
+        }
+    }
+
+    private static long counted(AtomicLong count, LongSupplier query) {
+        long value = count.get();
+        if (value == UNCOUNTED) {
+            count.compareAndSet(UNCOUNTED, query.getAsLong());
+            value = count.get();
+        }
+        return value;
+    }
+
+    /**
+     * Advance a count once the current transaction commits, or now if there
+     * is none, so rolled-back rows are never counted
+     */
+    private static void advanceAfterCommit(AtomicLong count, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance(count, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance(count, delta);
+            }
+        });
+    }
+
+    private static void advance(AtomicLong count, long delta) {
+        count.getAndUpdate(value -> value == UNCOUNTED ? UNCOUNTED : value + delta);
+    }
+
+    /**
+     * Attach a new transaction to its locked account and normalize its date
+     * to the millisecond precision of the other stores
+     */
+    private static Transaction prepare(Transaction transaction, Account account) {
+        transaction.setAccount(account);
+        transaction.setTransactionDate(transaction.getTransactionDate() == null
+                ? LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)
+                : transaction.getTransactionDate().truncatedTo(ChronoUnit.MILLIS));
+        return transaction;
+    }
+
+    private static User detached(User user) {
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .roles(List.copyOf(user.getRoles()))
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    private static Transaction toTransaction(StatementLine line, Account account) {
+        return Transaction.builder()
+                .id(line.id())
+                .transactionType(line.transactionType())
+                .amount(line.amount())
+                .description(line.description())
+                .transactionDate(line.transactionDate())
+                .account(account)
+                .build();
+    }
+
+    /**
+     * Apply a posting to a balance
+     *
+     * @throws InsufficientFundsException if a debit exceeds the balance
+     */
+    private static BigDecimal apply(BigDecimal balance, TransactionType type, BigDecimal amount) {
+        if (type == TransactionType.CREDIT) {
+            return balance.add(amount);
+        }
+        if (balance.compareTo(amount) < 0) {
+            throw new InsufficientFundsException();
+        }
+        return balance.subtract(amount);
+    }
+
+    private Account lockAccount(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown account"));
+    }
+
+    private Account lockTransferAccount(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown transfer account"));
+    }
+}
@@ -0,0 +1,334 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionPageResponse;
+import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.repository.TransactionRepository;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.TransactionService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Transaction Service Implementation on the JPA repositories, selected with
+ * {@code banking.ledger.store=JPA}.
+ * <p>
+ * Postings go through the {@link JpaLedgerStore}, which locks the account row,
+ * checks and updates its balance and inserts the transactions in one database
+ * transaction, then notifies its posting listeners, such as the statement
+ * cache. Transaction and account IDs come from pooled sequences, so a batch of
+ * postings is flushed as JDBC insert batches. Reads select
+ * {@link TransactionResponse} rows straight from the columns in read-only
+ * transactions, so no entity is hydrated, snapshotted for dirty checking or
+ * held by the persistence context. The user and the account ownership are
+ * looked up through the {@link RepositoryCache}, which every balance change
+ * invalidates on commit. Postings commit within the outcome count of the
+ * {@link PostingMetrics}, so a failed commit is not counted as a success.
+ */
+@Service
+@Timed(value = "banking.service", description = "Service calls")
+@ConditionalOnProperty(prefix = "banking.ledger", name = "store", havingValue = "JPA")
+public class JpaTransactionServiceImpl implements TransactionService {
+
+    /**
+     * Rows read per query when streaming an account's transactions
+     */
+    static final int STREAM_PAGE_SIZE = 1000;
+
+    // Stand-ins for an open end of a date range
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final TransactionRepository transactionRepository;
+    private final LedgerStore ledgerStore;
+    private final RepositoryCache repositoryCache;
+    private final IdempotencyCache idempotencyCache;
+    private final PostingMetrics postingMetrics;
+
+    public JpaTransactionServiceImpl(TransactionRepository transactionRepository, LedgerStore ledgerStore,
+            RepositoryCache repositoryCache, IdempotencyCache idempotencyCache, PostingMetrics postingMetrics) {
+        this.transactionRepository = transactionRepository;
+        this.ledgerStore = ledgerStore;
+        this.repositoryCache = repositoryCache;
+        this.idempotencyCache = idempotencyCache;
+        this.postingMetrics = postingMetrics;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getTransactionsByAccountId(Long accountId) {
+        checkOwnedAccount(accountId);
+
+        return transactionRepository.findResponsesByAccountId(accountId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getTransactionsByAccountIdBetween(Long accountId, LocalDateTime from,
+            LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        checkOwnedAccount(accountId);
+
+        return transactionRepository.findResponsesByAccountIdAndTransactionDateRange(accountId,
+                from == null ? MIN_DATE : from, to == null ? MAX_DATE : to);
+    }
+
+    @Override
+    public Stream<TransactionResponse> streamTransactionsByAccountId(Long accountId, LocalDateTime from,
+            LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        checkOwnedAccount(accountId);
+
+        PageRequest page = PageRequest.of(0, STREAM_PAGE_SIZE);
+        if (from == null && to == null) {
+            return pages(last -> transactionRepository.findPageByAccountIdAfterId(accountId,
+                    last == null ? 0L : last.getId(), page));
+        }
+        LocalDateTime start = from == null ? MIN_DATE : from;
+        LocalDateTime end = to == null ? MAX_DATE : to;
+        return pages(last -> transactionRepository.findPageByAccountIdBeforeAfter(accountId, end,
+                last == null ? start : last.getTransactionDate(), last == null ? 0L : last.getId(), page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsPageByAccountId(Long accountId, String cursor, int limit) {
+        if (limit < 1 || limit > TransactionServiceImpl.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + TransactionServiceImpl.MAX_PAGE_SIZE);
+        }
+        TransactionCursor after = cursor == null ? null : TransactionCursor.decode(cursor);
+        checkOwnedAccount(accountId);
+
+        // Fetch one extra row to learn whether a next page exists
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<TransactionResponse> transactions = after == null
+                ? transactionRepository.findFirstPageByAccountId(accountId, page)
+                : transactionRepository.findPageByAccountIdAfter(accountId, after.transactionDate(), after.id(),
+                        page);
+
+        String nextCursor = null;
+        if (transactions.size() > limit) {
+            transactions = transactions.subList(0, limit);
+            TransactionResponse last = transactions.get(limit - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+
+        return TransactionPageResponse.builder()
+                .transactions(transactions)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public TransactionResponse createTransaction(Long accountId, TransactionRequest request) {
+        return createTransaction(accountId, request, null);
+    }
+
+    @Override
+    public TransactionResponse createTransaction(Long accountId, TransactionRequest request, String idempotencyKey) {
+        return postingMetrics.record(PostingMetrics.Kind.TRANSACTION, () -> post(accountId, request, idempotencyKey));
+    }
+
+    @Override
+    public List<TransactionResponse> createTransactions(Long accountId, List<TransactionRequest> requests) {
+        return postingMetrics.record(PostingMetrics.Kind.BATCH, () -> postBatch(accountId, requests));
+    }
+
+    @Override
+    public TransferResponse createTransfer(TransferRequest request) {
+        return postingMetrics.record(PostingMetrics.Kind.TRANSFER, () -> transfer(request));
+    }
+
+    private TransactionResponse post(Long accountId, TransactionRequest request, String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank()
+                || idempotencyKey.length() > TransactionServiceImpl.MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and "
+                    + TransactionServiceImpl.MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        checkOwnedAccount(accountId);
+
+        // The key records the result only once the posting has committed
+        if (idempotencyKey == null) {
+            return post(accountId, request);
+        }
+        return idempotencyCache.execute(accountId, idempotencyKey, request, () -> post(accountId, request));
+    }
+
+    /**
+     * Post a batch through the ledger store, which checks every debit against
+     * the balance left by the transactions before it
+     */
+    private List<TransactionResponse> postBatch(Long accountId, List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > TransactionServiceImpl.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "A batch must hold between 1 and " + TransactionServiceImpl.MAX_BATCH_SIZE + " transactions");
+        }
+        checkOwnedAccount(accountId);
+
+        // The whole batch is posted at one instant; IDs keep the request order
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            transactions.add(Transaction.builder()
+                    .transactionType(request.getTransactionType())
+                    .amount(request.getAmount())
+                    .description(request.getDescription())
+                    .transactionDate(now)
+                    .build());
+        }
+
+        List<Transaction> created = ledgerStore.createTransactions(accountId, transactions);
+        repositoryCache.evictAfterCommit(created.get(0).getAccount());
+        return created.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Post both legs of a transfer through the ledger store, which locks both
+     * rows in ID order
+     */
+    private TransferResponse transfer(TransferRequest request) {
+        Long fromAccountId = request.getFromAccountId();
+        Long toAccountId = request.getToAccountId();
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        checkOwnedAccount(fromAccountId);
+        if (repositoryCache.findAccountById(toAccountId).isEmpty()) {
+            throw new ResourceNotFoundException("Destination account not found");
+        }
+
+        LedgerStore.Transfer transfer = ledgerStore.createTransfer(fromAccountId, toAccountId, request.getAmount(),
+                request.getDescription(), LocalDateTime.now());
+        repositoryCache.evictAfterCommit(transfer.debit().getAccount());
+        repositoryCache.evictAfterCommit(transfer.credit().getAccount());
+
+        return TransferResponse.builder()
+                .debit(convertToDto(transfer.debit()))
+                .credit(convertToDto(transfer.credit()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionResponse getTransactionById(Long id) {
+        // Another user's transaction is not found, as with an unknown ID
+        return transactionRepository.findResponseByIdAndUserId(id, currentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
+    }
+
+    /**
+     * Post one transaction through the ledger store, which locks the account
+     * row and checks a debit against its balance
+     */
+    private TransactionResponse post(Long accountId, TransactionRequest request) {
+        // The store attaches the locked account in place of this reference
+        Transaction created = ledgerStore.createTransaction(Transaction.builder()
+                .transactionType(request.getTransactionType())
+                .amount(request.getAmount())
+                .description(request.getDescription())
+                .transactionDate(LocalDateTime.now())
+                .account(Account.builder().id(accountId).build())
+                .build());
+        repositoryCache.evictAfterCommit(created.getAccount());
+        return convertToDto(created);
+    }
+
+    /**
+     * Check that an account belongs to the current user
+     *
+     * @throws ResourceNotFoundException if there is none with the ID
+     */
+    private void checkOwnedAccount(Long accountId) {
+        Long userId = currentUserId();
+        repositoryCache.findAccountById(accountId)
+                .filter(account -> account.userId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    }
+
+    /**
+     * Resolve the signed-in user's ID in the users table
+     */
+    private Long currentUserId() {
+        return repositoryCache.findUserByUsername(ledgerStore.getCurrentUser().getUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .id();
+    }
+
+    /**
+     * Read rows lazily, one page per query, so a stream consumed after the
+     * request thread has returned holds neither a connection nor more than
+     * one page
+     *
+     * @param nextPage Reads the page after a row, or the first page for null
+     */
+    private static Stream<TransactionResponse> pages(
+            Function<TransactionResponse, List<TransactionResponse>> nextPage) {
+        Iterator<TransactionResponse> iterator = new Iterator<>() {
+            private List<TransactionResponse> page = nextPage.apply(null);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index == page.size() && page.size() == STREAM_PAGE_SIZE) {
+                    page = nextPage.apply(page.get(page.size() - 1));
+                    index = 0;
+                }
+                return index < page.size();
+            }
+
+            @Override
+            public TransactionResponse next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Convert entity to DTO
+     *
+     * @param transaction Transaction entity
+     * @return Transaction DTO
+     */
+    private TransactionResponse convertToDto(Transaction transaction) {
+        return TransactionResponse.builder()
+                .id(transaction.getId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .description(transaction.getDescription())
+                .transactionDate(transaction.getTransactionDate())
+                .accountId(transaction.getAccount().getId())
+                .linkedTransactionId(transaction.getLinkedTransactionId())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.interview.assessment.jp.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of repository lookups, keyed by what was looked
+ * up.
+ * <p>
+ * Entries are evicted least recently used first once there are more than the
+ * limit. Empty results are not cached, so a row inserted later is found. A
+ * miss loads outside the lock; if any entry is invalidated while it loads, the
+ * loaded value is returned but not cached, so a load that read a row just
+ * before a committed change cannot put the old row back.
+ *
+ * @param <K> Key type
+ * @param <V> Immutable value type
+ */
+public final class LookupCache<K, V> {
+
+    private final int maxEntries;
+
+    // Access-ordered, guarded by this
+    private final LinkedHashMap<K, V> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    // Bumped by every invalidation or clear; a load started before a bump is not cached
+    private long generation;
+
+    /**
+     * @param maxEntries Number of cached entries; zero disables caching
+     */
+    public LookupCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Lookup cache size must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > LookupCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value, loading and caching it on a miss
+     *
+     * @param key  Lookup key
+     * @param load Looks the key up in the repository
+     * @return The value, or empty if the repository has none
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> load) {
+        long generationBefore;
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits++;
+                return Optional.of(value);
+            }
+            misses++;
+            generationBefore = generation;
+        }
+
+        Optional<V> loaded = load.apply(key);
+        if (maxEntries > 0 && loaded.isPresent()) {
+            synchronized (this) {
+                if (generation == generationBefore) {
+                    entries.put(key, loaded.get());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Remove a key's entry, and keep loads already running from caching
+     *
+     * @param key Lookup key
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        invalidations++;
+        generation++;
+    }
+
+    /**
+     * Remove every entry and reset the counters
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+        generation++;
+    }
+
+    /**
+     * @return Current counters and size
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size());
+    }
+
+    /**
+     * Cache counters
+     *
+     * @param hits          Lookups served from the cache
+     * @param misses        Lookups that went to the repository
+     * @param evictions     Entries evicted to stay within the limit
+     * @param invalidations Invalidations by writes, whether or not the key was cached
+     * @param entries       Number of entries
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int entries) {
+
+        /**
+         * @return Share of lookups served from the cache, 0 before any lookup
+         */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persistent {@link com.interview.assessment.jp.service.LedgerStore}, selected
+ * with {@code banking.ledger.store=MAPPED}.
+ * <p>
+ * The in-memory ledger with its memory-mapped journal and snapshots always on,
+ * whatever {@code banking.ledger.journal.enabled} and
+ * {@code banking.ledger.snapshot.enabled} say: every posting is appended to
+ * the mapped journal files before it is acknowledged, and startup restores the
+ * newest snapshot and replays the journal written after it. The seed data is
+ * not journaled, so a snapshot is also written once startup completes. Paths,
+ * fsync policy and snapshot interval are taken from the journal and snapshot
+ * properties.
+ */
+@Service
+@Timed(value = "banking.ledger.store", description = "Ledger store operations")
+@ConditionalOnProperty(prefix = "banking.ledger", name = "store", havingValue = "MAPPED")
+public class MappedLedgerStore extends MockDataService {
+
+    public MappedLedgerStore(LedgerProperties properties) {
+        super(persistent(properties));
+    }
+
+    /**
+     * Initialize the ledger, then snapshot it so the seed data and the
+     * replayed journal survive the next restart without replay
+     */
+    @Override
+    @PostConstruct
+    public void init() {
+        super.init();
+        snapshot();
+    }
+
+    /**
+     * Copy the ledger properties with the journal and snapshots enabled
+     */
+    static LedgerProperties persistent(LedgerProperties properties) {
+        LedgerProperties.Journal journal = new LedgerProperties.Journal();
+        journal.setEnabled(true);
+        journal.setPath(properties.getJournal().getPath());
+        journal.setFsyncPolicy(properties.getJournal().getFsyncPolicy());
+        journal.setFsyncInterval(properties.getJournal().getFsyncInterval());
+        journal.setGroupCommit(properties.getJournal().getGroupCommit());
+
+        LedgerProperties.Snapshot snapshot = new LedgerProperties.Snapshot();
+        snapshot.setEnabled(true);
+        snapshot.setPath(properties.getSnapshot().getPath());
+        snapshot.setInterval(properties.getSnapshot().getInterval());
+
+        LedgerProperties persistent = new LedgerProperties();
+        persistent.setStore(LedgerProperties.Store.MAPPED);
+        persistent.setBalanceEngine(properties.getBalanceEngine());
+        persistent.setJournal(journal);
+        persistent.setSnapshot(snapshot);
+        return persistent;
+    }
+}
@@ -1,42 +1,173 @@
 package com.interview.assessment.jp.service.impl;
 
+import com.interview.assessment.jp.config.LedgerProperties;
 import com.interview.assessment.jp.entity.Account;
 import com.interview.assessment.jp.entity.Transaction;
 import com.interview.assessment.jp.entity.User;
 import com.interview.assessment.jp.enums.AccountType;
 import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.InsufficientFundsException;
+import com.interview.assessment.jp.ledger.CasBalanceEngine;
+import com.interview.assessment.jp.ledger.DescriptionDictionary;
+import com.interview.assessment.jp.ledger.GroupCommitter;
+import com.interview.assessment.jp.ledger.LedgerSnapshot;
+import com.interview.assessment.jp.ledger.LedgerTime;
+import com.interview.assessment.jp.ledger.MinorUnits;
+import com.interview.assessment.jp.ledger.StripedAccountLocks;
+import com.interview.assessment.jp.ledger.TransactionDirectory;
+import com.interview.assessment.jp.ledger.TransactionJournal;
+import com.interview.assessment.jp.ledger.TransactionSegment;
+import com.interview.assessment.jp.service.LedgerStore;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Mock Data Service
+ * Mock Data Service: the in-memory {@link LedgerStore}, selected with
+ * {@code banking.ledger.store=MEMORY}
  */
+@Slf4j
 @Service
-public class MockDataService {
+@Timed(value = "banking.ledger.store", description = "Ledger store operations")
+@ConditionalOnProperty(prefix = "banking.ledger", name = "store", havingValue = "MEMORY", matchIfMissing = true)
+public class MockDataService implements LedgerStore {
+
+        private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+        private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+        private static final byte CREDIT = (byte) TransactionType.CREDIT.ordinal();
+        private static final TransactionSegment EMPTY_SEGMENT = new TransactionSegment();
+        // How long close waits for a snapshot in progress before interrupting it
+        private static final Duration SNAPSHOT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
 
         private final ConcurrentHashMap<Long, User> userMap = new ConcurrentHashMap<>();
         private final ConcurrentHashMap<Long, Account> accountMap = new ConcurrentHashMap<>();
-        private final ConcurrentHashMap<Long, Transaction> transactionMap = new ConcurrentHashMap<>();
-        private final ConcurrentHashMap<Long, List<Transaction>> accountTransactionsMap = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, TransactionSegment> accountTransactionsMap = new ConcurrentHashMap<>();
         private final ConcurrentHashMap<Long, List<Account>> userAccountsMap = new ConcurrentHashMap<>();
 
+        // Balance of each account before its first transaction, in minor units
+        private final ConcurrentHashMap<Long, Long> openingBalances = new ConcurrentHashMap<>();
+
         private final AtomicLong userIdGenerator = new AtomicLong(1);
         private final AtomicLong accountIdGenerator = new AtomicLong(1);
         private final AtomicLong transactionIdGenerator = new AtomicLong(1);
 
+        // Columnar transaction storage: transaction ID to account, shared descriptions
+        private final TransactionDirectory transactionDirectory = new TransactionDirectory();
+        private final DescriptionDictionary descriptions = new DescriptionDictionary();
+
+        // Each transfer leg's transaction ID to the other leg's, in both directions
+        private final ConcurrentHashMap<Long, Long> transferLinks = new ConcurrentHashMap<>();
+
+        // Guards each account's transaction list and balance
+        private final StripedAccountLocks accountLocks = new StripedAccountLocks();
+
+        // Lock-free minor-unit balances, null when balances live on the account
+        private final CasBalanceEngine balanceEngine;
+
+        // Durable posting journal, null when disabled
+        private final TransactionJournal journal;
+
+        // Batches journal syncs for the GROUP fsync policy, null otherwise
+        private final GroupCommitter groupCommitter;
+
+        // Snapshot file prefix, null when snapshots are disabled
+        private final Path snapshotPath;
+        private final Duration snapshotInterval;
+        private ScheduledExecutorService snapshotter;
+
+        // Notified after each new posting is stored
+        private final List<PostingListener> postingListeners = new CopyOnWriteArrayList<>();
+
+        public MockDataService(LedgerProperties properties) {
+                this.balanceEngine = properties.getBalanceEngine() == LedgerProperties.BalanceEngine.CAS
+                                ? new CasBalanceEngine()
+                                : null;
+
+                LedgerProperties.Journal journalProperties = properties.getJournal();
+                this.journal = journalProperties.isEnabled()
+                                ? new TransactionJournal(journalProperties.getPath(), journalProperties.getFsyncPolicy(),
+                                                journalProperties.getFsyncInterval())
+                                : null;
+
+                LedgerProperties.GroupCommit groupCommit = journalProperties.getGroupCommit();
+                this.groupCommitter = journal != null
+                                && journalProperties.getFsyncPolicy() == TransactionJournal.FsyncPolicy.GROUP
+                                ? new GroupCommitter(journal::force, groupCommit.getBatchSize(),
+                                                groupCommit.getMaxWait())
+                                : null;
+
+                LedgerProperties.Snapshot snapshotProperties = properties.getSnapshot();
+                if (snapshotProperties.isEnabled() && journal == null) {
+                        throw new IllegalArgumentException("Ledger snapshots require the journal to be enabled");
+                }
+                this.snapshotPath = snapshotProperties.isEnabled() ? snapshotProperties.getPath() : null;
+                this.snapshotInterval = snapshotProperties.getInterval();
+        }
+
         /**
-         * Initialize mock data
+         * Initialize the ledger from the newest snapshot, or from mock data when
+         * there is none, then replay the journal written after it
          */
         @PostConstruct
         public void init() {
+                LedgerSnapshot snapshot = snapshotPath == null
+                                ? null
+                                : LedgerSnapshot.readLatest(snapshotPath).orElse(null);
+                if (snapshot != null) {
+                        restoreSnapshot(snapshot);
+                } else {
+                        createMockData();
+                }
+
+                if (journal != null) {
+                        replayJournal(snapshot == null ? 0 : snapshot.journalGeneration());
+                }
+
+                if (balanceEngine != null) {
+                        accountMap.values().forEach(account -> balanceEngine.open(account.getId(),
+                                        MinorUnits.toMinor(account.getBalance())));
+                }
+
+                if (snapshotPath != null && !snapshotInterval.isZero()) {
+                        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                                Thread thread = new Thread(runnable, "ledger-snapshotter");
+                                thread.setDaemon(true);
+                                return thread;
+                        });
+                        long intervalMillis = snapshotInterval.toMillis();
+                        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis,
+                                        TimeUnit.MILLISECONDS);
+                }
+        }
+
+        /**
+         * Initialize mock data
+         */
+        private void createMockData() {
                 // Create users
                 User user1 = User.builder()
                                 .id(userIdGenerator.getAndIncrement())
@@ -94,7 +225,7 @@ public class MockDataService {
                 accountMap.put(checkingAccount.getId(), checkingAccount);
                 accountMap.put(creditAccount.getId(), creditAccount);
 
-                List<Account> user1Accounts = new ArrayList<>();
+                List<Account> user1Accounts = new CopyOnWriteArrayList<>();
                 user1Accounts.add(savingsAccount);
                 user1Accounts.add(checkingAccount);
                 user1Accounts.add(creditAccount);
@@ -113,15 +244,12 @@ public class MockDataService {
 
                 accountMap.put(user2SavingsAccount.getId(), user2SavingsAccount);
 
-                List<Account> user2Accounts = new ArrayList<>();
+                List<Account> user2Accounts = new CopyOnWriteArrayList<>();
                 user2Accounts.add(user2SavingsAccount);
                 userAccountsMap.put(user2.getId(), user2Accounts);
 
                 // Create transactions for savings account
-                List<Transaction> savingsTransactions = new ArrayList<>();
-
                 Transaction transaction1 = Transaction.builder()
-                                .id(transactionIdGenerator.getAndIncrement())
                                 .transactionType(TransactionType.CREDIT)
                                 .amount(new BigDecimal("1000.00"))
                                 .description("Salary payment")
@@ -132,7 +260,6 @@ public class MockDataService {
                                 .build();
 
                 Transaction transaction2 = Transaction.builder()
-                                .id(transactionIdGenerator.getAndIncrement())
                                 .transactionType(TransactionType.DEBIT)
                                 .amount(new BigDecimal("500.00"))
                                 .description("Shopping expense")
@@ -143,7 +270,6 @@ public class MockDataService {
                                 .build();
 
                 Transaction transaction3 = Transaction.builder()
-                                .id(transactionIdGenerator.getAndIncrement())
                                 .transactionType(TransactionType.CREDIT)
                                 .amount(new BigDecimal("200.00"))
                                 .description("Refund")
@@ -153,20 +279,12 @@ public class MockDataService {
                                 .updatedAt(LocalDateTime.now().minusDays(1))
                                 .build();
 
-                transactionMap.put(transaction1.getId(), transaction1);
-                transactionMap.put(transaction2.getId(), transaction2);
-                transactionMap.put(transaction3.getId(), transaction3);
-
-                savingsTransactions.add(transaction1);
-                savingsTransactions.add(transaction2);
-                savingsTransactions.add(transaction3);
-                accountTransactionsMap.put(savingsAccount.getId(), savingsTransactions);
+                seed(savingsAccount.getId(), transaction1);
+                seed(savingsAccount.getId(), transaction2);
+                seed(savingsAccount.getId(), transaction3);
 
                 // Create transactions for checking account
-                List<Transaction> checkingTransactions = new ArrayList<>();
-
                 Transaction transaction4 = Transaction.builder()
-                                .id(transactionIdGenerator.getAndIncrement())
                                 .transactionType(TransactionType.DEBIT)
                                 .amount(new BigDecimal("300.00"))
                                 .description("Restaurant bill")
@@ -177,7 +295,6 @@ public class MockDataService {
                                 .build();
 
                 Transaction transaction5 = Transaction.builder()
-                                .id(transactionIdGenerator.getAndIncrement())
                                 .transactionType(TransactionType.DEBIT)
                                 .amount(new BigDecimal("150.00"))
                                 .description("Movie tickets")
@@ -187,12 +304,43 @@ public class MockDataService {
                                 .updatedAt(LocalDateTime.now().minusDays(2))
                                 .build();
 
-                transactionMap.put(transaction4.getId(), transaction4);
-                transactionMap.put(transaction5.getId(), transaction5);
+                seed(checkingAccount.getId(), transaction4);
+                seed(checkingAccount.getId(), transaction5);
+
+                // Seed balances already include the seed transactions
+                accountMap.values().forEach(account -> {
+                        TransactionSegment segment = accountTransactionsMap.get(account.getId());
+                        long net = segment == null ? 0 : segment.snapshot().netMinor(CREDIT);
+                        openingBalances.put(account.getId(), MinorUnits.toMinor(account.getBalance()) - net);
+                });
+        }
 
-                checkingTransactions.add(transaction4);
-                checkingTransactions.add(transaction5);
-                accountTransactionsMap.put(checkingAccount.getId(), checkingTransactions);
+        /**
+         * Stop snapshots, waiting for one in progress to finish, then flush and
+         * close the journal
+         */
+        @PreDestroy
+        public void close() {
+                if (snapshotter != null) {
+                        snapshotter.shutdown();
+                        try {
+                                if (!snapshotter.awaitTermination(SNAPSHOT_SHUTDOWN_TIMEOUT.toMillis(),
+                                                TimeUnit.MILLISECONDS)) {
+                                        log.warn("Ledger snapshot did not finish within {}, interrupting it",
+                                                        SNAPSHOT_SHUTDOWN_TIMEOUT);
+                                        snapshotter.shutdownNow();
+                                }
+                        } catch (InterruptedException ex) {
+                                snapshotter.shutdownNow();
+                                Thread.currentThread().interrupt();
+                        }
+                }
+                if (groupCommitter != null) {
+                        groupCommitter.close();
+                }
+                if (journal != null) {
+                        journal.close();
+                }
         }
 
         /**
@@ -200,6 +348,7 @@ public class MockDataService {
          * 
          * @return Current user
          */
+        @Override
         public User getCurrentUser() {
                 // Mock current user as user1
                 return userMap.get(1L);
@@ -211,8 +360,11 @@ public class MockDataService {
          * @param userId User ID
          * @return List of accounts
          */
+        @Override
         public List<Account> getAccountsByUserId(Long userId) {
-                return userAccountsMap.getOrDefault(userId, new ArrayList<>());
+                List<Account> accounts = userAccountsMap.getOrDefault(userId, new ArrayList<>());
+                accounts.forEach(this::withCurrentBalance);
+                return accounts;
         }
 
         /**
@@ -221,18 +373,118 @@ public class MockDataService {
          * @param id Account ID
          * @return Account
          */
+        @Override
         public Account getAccountById(Long id) {
-                return accountMap.get(id);
+                return withCurrentBalance(accountMap.get(id));
+        }
+
+        /**
+         * Get all accounts, optionally of one type, ordered by ID
+         * 
+         * @param accountType Account type, or null for every type
+         * @return List of accounts
+         */
+        @Override
+        public List<Account> getAllAccounts(AccountType accountType) {
+                return accountMap.values().stream()
+                                .filter(account -> accountType == null || account.getAccountType() == accountType)
+                                .sorted(Comparator.comparing(Account::getId))
+                                .map(this::withCurrentBalance)
+                                .toList();
         }
 
         /**
-         * Get transactions by account ID
+         * Get transactions by account ID. The returned list is a snapshot of the
+         * account's columnar segment; each Transaction is built on access.
          * 
          * @param accountId Account ID
          * @return List of transactions
          */
+        @Override
         public List<Transaction> getTransactionsByAccountId(Long accountId) {
-                return accountTransactionsMap.getOrDefault(accountId, new ArrayList<>());
+                TransactionSegment segment = accountTransactionsMap.get(accountId);
+                if (segment == null) {
+                        return new ArrayList<>();
+                }
+                TransactionSegment.Snapshot snapshot = segment.snapshot();
+                return new TransactionView(accountMap.get(accountId), snapshot, 0, snapshot.size(), false);
+        }
+
+        /**
+         * Get transactions of an account dated in {@code [from, to)}, ordered by
+         * transaction date, then ID. Located by binary search over the account's
+         * date index.
+         * 
+         * @param accountId Account ID
+         * @param from      Earliest transaction date, inclusive; null for no lower bound
+         * @param to        Latest transaction date, exclusive; null for no upper bound
+         * @return List of transactions
+         */
+        @Override
+        public List<Transaction> getTransactionsByAccountIdBetween(Long accountId, LocalDateTime from,
+                        LocalDateTime to) {
+                TransactionSegment segment = accountTransactionsMap.get(accountId);
+                if (segment == null) {
+                        return new ArrayList<>();
+                }
+                TransactionSegment.Snapshot snapshot = segment.snapshot();
+                int start = from == null ? 0 : snapshot.positionOf(LedgerTime.toEpochMillisCeiling(from));
+                int end = to == null ? snapshot.size() : snapshot.positionOf(LedgerTime.toEpochMillisCeiling(to));
+                return new TransactionView(accountMap.get(accountId), snapshot, start, Math.max(start, end), true);
+        }
+
+        /**
+         * Get the transactions of an account dated in {@code [from, to)}, ordered
+         * by date, together with the balance before the first of them. Both come
+         * from one snapshot, so they agree even while postings continue.
+         * 
+         * @param accountId Account ID
+         * @param from      Start of the period, inclusive
+         * @param to        End of the period, exclusive
+         * @return Opening balance and transactions of the period
+         */
+        @Override
+        public StatementPeriod getStatementPeriod(Long accountId, LocalDateTime from, LocalDateTime to) {
+                TransactionSegment segment = accountTransactionsMap.getOrDefault(accountId, EMPTY_SEGMENT);
+                TransactionSegment.Snapshot snapshot = segment.snapshot();
+                int start = snapshot.positionOf(LedgerTime.toEpochMillisCeiling(from));
+                int end = Math.max(start, snapshot.positionOf(LedgerTime.toEpochMillisCeiling(to)));
+                long openingMinor = openingBalances.getOrDefault(accountId, 0L) + snapshot.netMinorBefore(CREDIT, start);
+                return new StatementPeriod(MinorUnits.fromMinor(openingMinor),
+                                new TransactionView(accountMap.get(accountId), snapshot, start, end, true));
+        }
+
+        /**
+         * Get up to {@code limit} transactions of an account sorted after a
+         * keyset position, ordered by transaction date, then ID. Located by
+         * binary search over the account's date index, so a page costs
+         * O(log n + limit) however deep it is.
+         * 
+         * @param accountId Account ID
+         * @param afterDate Transaction date of the last row already seen; null to start from the first row
+         * @param afterId   Transaction ID of the last row already seen
+         * @param limit     Maximum number of transactions
+         * @return List of transactions
+         */
+        @Override
+        public List<Transaction> getTransactionsPageByAccountId(Long accountId, LocalDateTime afterDate,
+                        long afterId, int limit) {
+                TransactionSegment segment = accountTransactionsMap.get(accountId);
+                if (segment == null) {
+                        return new ArrayList<>();
+                }
+                TransactionSegment.Snapshot snapshot = segment.snapshot();
+                int start;
+                if (afterDate == null) {
+                        start = 0;
+                } else if (afterDate.getNano() % 1_000_000 != 0) {
+                        // Stored dates are whole milliseconds, so every row at or before the key is dated before it
+                        start = snapshot.positionOf(LedgerTime.toEpochMillisCeiling(afterDate));
+                } else {
+                        start = snapshot.positionAfter(LedgerTime.toEpochMillis(afterDate), afterId);
+                }
+                int end = (int) Math.min(snapshot.size(), (long) start + limit);
+                return new TransactionView(accountMap.get(accountId), snapshot, start, end, true);
         }
 
         /**
@@ -241,40 +493,714 @@ public class MockDataService {
          * @param id Transaction ID
          * @return Transaction
          */
+        @Override
         public Transaction getTransactionById(Long id) {
-                return transactionMap.get(id);
+                long accountId = transactionDirectory.accountOf(id);
+                TransactionSegment segment = accountId == 0 ? null : accountTransactionsMap.get(accountId);
+                if (segment == null) {
+                        return null;
+                }
+                TransactionSegment.Snapshot snapshot = segment.snapshot();
+                int row = snapshot.indexOf(id);
+                return row < 0 ? null : toTransaction(accountMap.get(accountId), snapshot, row);
+        }
+
+        /**
+         * Create new account
+         * 
+         * @param account Account
+         * @return Created account
+         */
+        @Override
+        public Account createAccount(Account account) {
+                ensureWritable();
+                account.setId(accountIdGenerator.getAndIncrement());
+                account.setCreatedAt(LocalDateTime.now());
+                account.setUpdatedAt(LocalDateTime.now());
+
+                long balance = MinorUnits.toMinor(account.getBalance());
+                // Under the account's lock a snapshot sees the account if it cut the journal after its record
+                ReentrantLock lock = accountLocks.lockFor(account.getId());
+                lock.lock();
+                try {
+                        if (journal != null) {
+                                journal.appendAccount(account.getId(), account.getUserId(),
+                                                (byte) account.getAccountType().ordinal(), balance,
+                                                LedgerTime.toEpochMillis(account.getCreatedAt()),
+                                                account.getAccountNumber());
+                        }
+                        open(account, balance);
+                } finally {
+                        lock.unlock();
+                }
+
+                awaitDurable();
+                return account;
+        }
+
+        private void open(Account account, long openingMinor) {
+                openingBalances.put(account.getId(), openingMinor);
+                if (balanceEngine != null) {
+                        balanceEngine.open(account.getId(), openingMinor);
+                }
+                accountMap.put(account.getId(), account);
+                userAccountsMap.computeIfAbsent(account.getUserId(), id -> new CopyOnWriteArrayList<>()).add(account);
         }
 
         /**
-         * Create new transaction
+         * Create new transaction. The balance check, the append and the balance
+         * update happen atomically under the account's lock, or through the
+         * lock-free balance engine when it is enabled. With group commit the call
+         * returns once the batch holding the posting is durable; the posting is
+         * visible to readers while it waits. If the batch's sync fails the call
+         * throws, the posting stays visible until restart, whether it was
+         * persisted is unknown, and every later write is rejected so a retry
+         * cannot post it twice.
          * 
          * @param transaction Transaction
          * @return Created transaction
+         * @throws InsufficientFundsException if a debit exceeds the account balance
+         * @throws IllegalStateException      if the posting could not be made durable, or an earlier one could not
          */
+        @Override
         public Transaction createTransaction(Transaction transaction) {
-                transaction.setId(transactionIdGenerator.getAndIncrement());
-                transaction.setCreatedAt(LocalDateTime.now());
-                transaction.setUpdatedAt(LocalDateTime.now());
+                ensureWritable();
+                if (balanceEngine != null) {
+                        return createTransactionLockFree(transaction);
+                }
+
+                Long accountId = transaction.getAccount().getId();
+                long amount = MinorUnits.toMinor(transaction.getAmount());
+                ReentrantLock lock = accountLocks.lockFor(accountId);
+                lock.lock();
+                try {
+                        Account account = accountMap.get(accountId);
 
-                transactionMap.put(transaction.getId(), transaction);
+                        // For debit transactions, verify sufficient balance
+                        if (account != null && transaction.getTransactionType() == TransactionType.DEBIT
+                                        && account.getBalance().compareTo(transaction.getAmount()) < 0) {
+                                throw new InsufficientFundsException();
+                        }
 
+                        append(accountId, transaction, amount);
+
+                        // Update account balance
+                        if (account != null) {
+                                if (transaction.getTransactionType() == TransactionType.CREDIT) {
+                                        account.setBalance(account.getBalance().add(transaction.getAmount()));
+                                } else if (transaction.getTransactionType() == TransactionType.DEBIT) {
+                                        account.setBalance(account.getBalance().subtract(transaction.getAmount()));
+                                }
+                                account.setUpdatedAt(LocalDateTime.now());
+                        }
+                } finally {
+                        lock.unlock();
+                }
+
+                posted(accountId, transaction);
+                awaitDurable();
+                return transaction;
+        }
+
+        /**
+         * Create new transaction against the lock-free balance engine. The balance
+         * is settled by compare-and-set first; the account lock is still taken
+         * for the journal and segment append, which must stay in ID order and
+         * atomic with respect to snapshots.
+         * 
+         * @param transaction Transaction
+         * @return Created transaction
+         */
+        private Transaction createTransactionLockFree(Transaction transaction) {
                 Long accountId = transaction.getAccount().getId();
-                List<Transaction> transactions = accountTransactionsMap.getOrDefault(accountId, new ArrayList<>());
-                transactions.add(transaction);
-                accountTransactionsMap.put(accountId, transactions);
+                long amount = MinorUnits.toMinor(transaction.getAmount());
+                long change = 0;
+                if (accountMap.containsKey(accountId)) {
+                        if (transaction.getTransactionType() == TransactionType.CREDIT) {
+                                balanceEngine.credit(accountId, amount);
+                                change = amount;
+                        } else if (transaction.getTransactionType() == TransactionType.DEBIT) {
+                                balanceEngine.debit(accountId, amount);
+                                change = -amount;
+                        }
+                }
 
-                // Update account balance
-                Account account = accountMap.get(accountId);
-                if (account != null) {
+                ReentrantLock lock = accountLocks.lockFor(accountId);
+                lock.lock();
+                try {
+                        append(accountId, transaction, amount);
+                } catch (RuntimeException ex) {
+                        // Undo the settled balance if the posting could not be recorded
+                        if (change != 0) {
+                                balanceEngine.credit(accountId, -change);
+                        }
+                        throw ex;
+                } finally {
+                        lock.unlock();
+                }
+
+                posted(accountId, transaction);
+                awaitDurable();
+                return transaction;
+        }
+
+        /**
+         * Create a batch of transactions for one account, all or none. Every
+         * debit is checked against the balance left by the transactions before
+         * it; the batch is then journaled as one record batch and appended under
+         * a single acquisition of the account's lock. With group commit the call
+         * waits for one sync covering the whole batch.
+         * 
+         * @param accountId    Account ID
+         * @param transactions Transactions in posting order
+         * @return Created transactions
+         * @throws InsufficientFundsException if any debit exceeds the balance left before it
+         * @throws IllegalStateException      if the batch could not be made durable, or an earlier posting could not
+         */
+        @Override
+        public List<Transaction> createTransactions(Long accountId, List<Transaction> transactions) {
+                ensureWritable();
+                long[] amounts = new long[transactions.size()];
+                long net = 0;
+                long lowest = 0;
+                for (int i = 0; i < amounts.length; i++) {
+                        Transaction transaction = transactions.get(i);
+                        amounts[i] = MinorUnits.toMinor(transaction.getAmount());
                         if (transaction.getTransactionType() == TransactionType.CREDIT) {
-                                account.setBalance(account.getBalance().add(transaction.getAmount()));
+                                net = Math.addExact(net, amounts[i]);
                         } else if (transaction.getTransactionType() == TransactionType.DEBIT) {
-                                account.setBalance(account.getBalance().subtract(transaction.getAmount()));
+                                net = Math.subtractExact(net, amounts[i]);
+                                lowest = Math.min(lowest, net);
+                        }
+                }
+
+                Account account = accountMap.get(accountId);
+                boolean settled = false;
+                if (balanceEngine != null && account != null) {
+                        balanceEngine.settle(accountId, net, lowest);
+                        settled = true;
+                }
+
+                ReentrantLock lock = accountLocks.lockFor(accountId);
+                lock.lock();
+                try {
+                        if (balanceEngine == null && account != null
+                                        && MinorUnits.toMinor(account.getBalance()) + lowest < 0) {
+                                throw new InsufficientFundsException();
+                        }
+
+                        appendAll(accountId, transactions, amounts);
+
+                        if (balanceEngine == null && account != null) {
+                                account.setBalance(account.getBalance().add(MinorUnits.fromMinor(net)));
+                                account.setUpdatedAt(LocalDateTime.now());
+                        }
+                } catch (RuntimeException ex) {
+                        // Undo the settled balance if the batch could not be recorded
+                        if (settled) {
+                                balanceEngine.credit(accountId, -net);
+                        }
+                        throw ex;
+                } finally {
+                        lock.unlock();
+                }
+
+                for (Transaction transaction : transactions) {
+                        posted(accountId, transaction);
+                }
+                awaitDurable();
+                return transactions;
+        }
+
+        /**
+         * Move money from one account to another as a debit and a linked
+         * credit, both or neither. The two accounts' locks are taken in stripe
+         * order, so transfers crossing in opposite directions cannot deadlock,
+         * and the legs are journaled as one linked batch. With the lock-free
+         * balance engine the debit is settled by compare-and-set before any lock
+         * is taken and the credit once the legs are stored, so only the append
+         * runs under the locks; a concurrent reader may then briefly see the
+         * amount in neither balance. With group commit the call waits for one
+         * sync covering both legs.
+         * 
+         * @param fromAccountId   Account to debit
+         * @param toAccountId     Account to credit
+         * @param amount          Amount
+         * @param description     Description of both legs
+         * @param transactionDate Transaction date of both legs
+         * @return Created legs
+         * @throws IllegalArgumentException   if the accounts are the same or unknown
+         * @throws InsufficientFundsException if the amount exceeds the source account's balance
+         * @throws IllegalStateException      if the transfer could not be made durable, or an earlier posting could not
+         */
+        @Override
+        public Transfer createTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String description,
+                        LocalDateTime transactionDate) {
+                ensureWritable();
+                if (fromAccountId.equals(toAccountId)) {
+                        throw new IllegalArgumentException("Cannot transfer to the same account");
+                }
+                Account from = accountMap.get(fromAccountId);
+                Account to = accountMap.get(toAccountId);
+                if (from == null || to == null) {
+                        throw new IllegalArgumentException("Unknown transfer account");
+                }
+                long amountMinor = MinorUnits.toMinor(amount);
+                Transaction debit = Transaction.builder()
+                                .transactionType(TransactionType.DEBIT)
+                                .amount(amount)
+                                .description(description)
+                                .transactionDate(transactionDate)
+                                .account(from)
+                                .build();
+                Transaction credit = Transaction.builder()
+                                .transactionType(TransactionType.CREDIT)
+                                .amount(amount)
+                                .description(description)
+                                .transactionDate(transactionDate)
+                                .account(to)
+                                .build();
+
+                if (balanceEngine != null) {
+                        balanceEngine.debit(fromAccountId, amountMinor);
+                }
+
+                accountLocks.lockPair(fromAccountId, toAccountId);
+                try {
+                        if (balanceEngine == null && from.getBalance().compareTo(amount) < 0) {
+                                throw new InsufficientFundsException();
+                        }
+
+                        appendTransfer(fromAccountId, debit, toAccountId, credit, amountMinor);
+
+                        if (balanceEngine == null) {
+                                LocalDateTime now = LocalDateTime.now();
+                                from.setBalance(from.getBalance().subtract(amount));
+                                from.setUpdatedAt(now);
+                                to.setBalance(to.getBalance().add(amount));
+                                to.setUpdatedAt(now);
+                        }
+                } catch (RuntimeException ex) {
+                        // Undo the settled debit if the transfer could not be recorded
+                        if (balanceEngine != null) {
+                                balanceEngine.credit(fromAccountId, amountMinor);
+                        }
+                        throw ex;
+                } finally {
+                        accountLocks.unlockPair(fromAccountId, toAccountId);
+                }
+                if (balanceEngine != null) {
+                        balanceEngine.credit(toAccountId, amountMinor);
+                }
+
+                posted(fromAccountId, debit);
+                posted(toAccountId, credit);
+                awaitDurable();
+                return new Transfer(debit, credit);
+        }
+
+        /**
+         * Register a listener for new postings. Listeners run on the posting
+         * thread after the posting is visible to readers, so they must be cheap.
+         * 
+         * @param listener Listener
+         */
+        @Override
+        public void addPostingListener(PostingListener listener) {
+                postingListeners.add(listener);
+        }
+
+        @Override
+        public long countAccounts() {
+                return accountMap.size();
+        }
+
+        @Override
+        public long countTransactions() {
+                long count = 0;
+                for (TransactionSegment segment : accountTransactionsMap.values()) {
+                        count += segment.size();
+                }
+                return count;
+        }
+
+        /**
+         * Approximate heap retained by the transaction columns of every account
+         */
+        @Override
+        public long retainedBytes() {
+                long bytes = 0;
+                for (TransactionSegment segment : accountTransactionsMap.values()) {
+                        bytes += segment.retainedBytes();
+                }
+                return bytes;
+        }
+
+        private void posted(Long accountId, Transaction transaction) {
+                for (PostingListener listener : postingListeners) {
+                        listener.posted(accountId, transaction.getTransactionDate());
+                }
+        }
+
+        /**
+         * Refuse a write once a group commit has failed, before it becomes
+         * visible, since it could never be made durable
+         */
+        private void ensureWritable() {
+                if (groupCommitter != null) {
+                        groupCommitter.ensureHealthy();
+                }
+        }
+
+        /**
+         * Wait outside the account lock for the group commit covering the
+         * posting just journaled
+         */
+        private void awaitDurable() {
+                if (groupCommitter != null) {
+                        groupCommitter.commit();
+                }
+        }
+
+        /**
+         * Assign an ID and store a seed transaction without journaling it
+         */
+        private void seed(Long accountId, Transaction transaction) {
+                prepare(transaction);
+                store(accountId, transaction, MinorUnits.toMinor(transaction.getAmount()));
+        }
+
+        /**
+         * Assign an ID, journal the transaction and append it to the account's
+         * segment; caller holds the account lock
+         */
+        private void append(Long accountId, Transaction transaction, long amount) {
+                prepare(transaction);
+                if (journal != null) {
+                        journal.append(transaction.getId(), accountId, (byte) transaction.getTransactionType().ordinal(),
+                                        amount, LedgerTime.toEpochMillis(transaction.getTransactionDate()),
+                                        transaction.getDescription());
+                }
+                store(accountId, transaction, amount);
+        }
+
+        /**
+         * Assign IDs, journal the transactions as one batch and append them to
+         * the account's segment; caller holds the account lock
+         */
+        private void appendAll(Long accountId, List<Transaction> transactions, long[] amounts) {
+                for (Transaction transaction : transactions) {
+                        prepare(transaction);
+                }
+                if (journal != null) {
+                        List<TransactionJournal.Entry> entries = new ArrayList<>(transactions.size());
+                        for (int i = 0; i < amounts.length; i++) {
+                                entries.add(journalEntry(accountId, transactions.get(i), amounts[i]));
                         }
-                        account.setUpdatedAt(LocalDateTime.now());
+                        journal.append(entries);
+                }
+                for (int i = 0; i < amounts.length; i++) {
+                        store(accountId, transactions.get(i), amounts[i]);
+                }
+        }
+
+        /**
+         * Assign IDs to both legs of a transfer, journal them as a linked pair
+         * and append each to its account's segment; caller holds both accounts'
+         * locks
+         */
+        private void appendTransfer(Long fromAccountId, Transaction debit, Long toAccountId, Transaction credit,
+                        long amount) {
+                prepare(debit);
+                prepare(credit);
+                debit.setLinkedTransactionId(credit.getId());
+                credit.setLinkedTransactionId(debit.getId());
+                if (journal != null) {
+                        journal.appendLinked(journalEntry(fromAccountId, debit, amount),
+                                        journalEntry(toAccountId, credit, amount));
+                }
+                // Linked before either leg is visible to readers
+                link(debit.getId(), credit.getId());
+                store(fromAccountId, debit, amount);
+                store(toAccountId, credit, amount);
+        }
+
+        private TransactionJournal.Entry journalEntry(Long accountId, Transaction transaction, long amount) {
+                return new TransactionJournal.Entry(transaction.getId(), accountId,
+                                (byte) transaction.getTransactionType().ordinal(), amount,
+                                LedgerTime.toEpochMillis(transaction.getTransactionDate()), transaction.getDescription());
+        }
+
+        private void link(long firstTransactionId, long secondTransactionId) {
+                transferLinks.put(firstTransactionId, secondTransactionId);
+                transferLinks.put(secondTransactionId, firstTransactionId);
+        }
+
+        /**
+         * Flatten the transfer links into first, second pairs, each pair once
+         */
+        private long[] linkPairs() {
+                long[] pairs = new long[transferLinks.size()];
+                int i = 0;
+                for (Map.Entry<Long, Long> link : transferLinks.entrySet()) {
+                        if (link.getKey() < link.getValue() && i < pairs.length) {
+                                pairs[i++] = link.getKey();
+                                pairs[i++] = link.getValue();
+                        }
+                }
+                return i == pairs.length ? pairs : Arrays.copyOf(pairs, i);
+        }
+
+        /**
+         * Assign an ID and normalize the dates of a new transaction
+         */
+        private void prepare(Transaction transaction) {
+                LocalDateTime now = LocalDateTime.now();
+                transaction.setId(transactionIdGenerator.getAndIncrement());
+                // The segment keeps millisecond precision
+                transaction.setTransactionDate(transaction.getTransactionDate() == null
+                                ? now.truncatedTo(ChronoUnit.MILLIS)
+                                : transaction.getTransactionDate().truncatedTo(ChronoUnit.MILLIS));
+                if (transaction.getCreatedAt() == null) {
+                        transaction.setCreatedAt(now);
+                        transaction.setUpdatedAt(now);
+                }
+        }
+
+        private void store(Long accountId, Transaction transaction, long amount) {
+                store(accountId, transaction.getId(), (byte) transaction.getTransactionType().ordinal(), amount,
+                                LedgerTime.toEpochMillis(transaction.getTransactionDate()), transaction.getDescription());
+        }
+
+        private void store(Long accountId, long id, byte type, long amount, long epochMillis, String description) {
+                accountTransactionsMap.computeIfAbsent(accountId, key -> new TransactionSegment())
+                                .append(id, type, amount, epochMillis, descriptions.encode(description));
+                transactionDirectory.put(id, accountId);
+        }
+
+        /**
+         * Write a snapshot of the ledger and truncate the journal before it.
+         * Postings are stopped only while the journal rolls to a new generation
+         * and each account's rows are cut; the file is written while postings
+         * continue.
+         * 
+         * @return Journal generation the snapshot covers up to
+         */
+        public synchronized long snapshot() {
+                if (snapshotPath == null) {
+                        throw new IllegalStateException("Ledger snapshots are disabled");
+                }
+                long started = System.nanoTime();
+                long generation;
+                long nextAccountId;
+                long nextTransactionId;
+                long[] links;
+                List<LedgerSnapshot.AccountState> accounts = new ArrayList<>(accountMap.size());
+
+                // With every stripe held no posting is between the journal and its segment
+                accountLocks.lockAll();
+                try {
+                        generation = journal.roll();
+                        nextAccountId = accountIdGenerator.get();
+                        nextTransactionId = transactionIdGenerator.get();
+                        for (Account account : accountMap.values()) {
+                                TransactionSegment segment = accountTransactionsMap.get(account.getId());
+                                accounts.add(new LedgerSnapshot.AccountState(account,
+                                                openingBalances.get(account.getId()),
+                                                segment == null ? EMPTY_SEGMENT.snapshot() : segment.snapshot()));
+                        }
+                        links = linkPairs();
+                } finally {
+                        accountLocks.unlockAll();
+                }
+                long cutMicros = (System.nanoTime() - started) / 1_000;
+
+                LedgerSnapshot snapshot = new LedgerSnapshot(generation, userIdGenerator.get(), nextAccountId,
+                                nextTransactionId, new ArrayList<>(userMap.values()), descriptions.values(), accounts, links);
+                // Written and its directory forced, so the generations it covers are no longer needed
+                Path file = snapshot.write(snapshotPath);
+                journal.deleteBefore(generation);
+                LedgerSnapshot.deleteBefore(snapshotPath, generation);
+
+                log.info("Wrote ledger snapshot {} in {} ms, postings paused for {} us", file,
+                                (System.nanoTime() - started) / 1_000_000, cutMicros);
+                return generation;
+        }
+
+        private void snapshotQuietly() {
+                try {
+                        snapshot();
+                } catch (RuntimeException ex) {
+                        log.error("Failed to write ledger snapshot", ex);
+                }
+        }
+
+        /**
+         * Load users, accounts and transactions from a snapshot
+         */
+        private void restoreSnapshot(LedgerSnapshot snapshot) {
+                long started = System.nanoTime();
+                snapshot.users().forEach(user -> userMap.put(user.getId(), user));
+                for (String description : snapshot.descriptions()) {
+                        descriptions.encode(description);
+                }
+
+                long transactions = 0;
+                for (LedgerSnapshot.AccountState state : snapshot.accounts()) {
+                        Account account = state.account();
+                        TransactionSegment.Snapshot rows = state.transactions();
+                        account.setBalance(MinorUnits.fromMinor(state.openingMinor() + rows.netMinor(CREDIT)));
+                        openingBalances.put(account.getId(), state.openingMinor());
                         accountMap.put(account.getId(), account);
+                        userAccountsMap.computeIfAbsent(account.getUserId(), id -> new CopyOnWriteArrayList<>())
+                                        .add(account);
+
+                        if (rows.size() > 0) {
+                                accountTransactionsMap.put(account.getId(), TransactionSegment.restore(rows));
+                                for (int row = 0; row < rows.size(); row++) {
+                                        transactionDirectory.put(rows.id(row), account.getId());
+                                }
+                                transactions += rows.size();
+                        }
                 }
 
-                return transaction;
+                long[] links = snapshot.links();
+                for (int i = 0; i + 1 < links.length; i += 2) {
+                        link(links[i], links[i + 1]);
+                }
+
+                userIdGenerator.set(snapshot.nextUserId());
+                accountIdGenerator.set(snapshot.nextAccountId());
+                transactionIdGenerator.set(snapshot.nextTransactionId());
+
+                log.info("Loaded ledger snapshot of generation {} with {} accounts and {} transactions in {} ms",
+                                snapshot.journalGeneration(), snapshot.accounts().size(), transactions,
+                                (System.nanoTime() - started) / 1_000_000);
+        }
+
+        /**
+         * Rebuild postings and balances from the journal on top of the seed data
+         * or snapshot
+         */
+        private void replayJournal(long fromGeneration) {
+                long started = System.nanoTime();
+                Map<Long, long[]> balanceChanges = new HashMap<>();
+                long[] lastId = {0};
+                long replayed = journal.replay(fromGeneration, new TransactionJournal.RecordHandler() {
+                        @Override
+                        public void onRecord(long id, long accountId, byte type, long amount, long epochMillis,
+                                        String description) {
+                                if (!accountMap.containsKey(accountId)) {
+                                        log.warn("Skipping journaled transaction {} for unknown account {}", id,
+                                                        accountId);
+                                        return;
+                                }
+                                store(accountId, id, type, amount, epochMillis, description);
+                                long[] change = balanceChanges.computeIfAbsent(accountId, key -> new long[1]);
+                                change[0] += TRANSACTION_TYPES[type] == TransactionType.CREDIT ? amount : -amount;
+                                lastId[0] = Math.max(lastId[0], id);
+                        }
+
+                        @Override
+                        public void onLinked(long firstId, long secondId) {
+                                link(firstId, secondId);
+                        }
+
+                        @Override
+                        public void onAccount(long accountId, long userId, byte accountType, long openingMinor,
+                                        long epochMillis, String accountNumber) {
+                                // Already restored when the snapshot was cut after the record
+                                if (accountMap.containsKey(accountId)) {
+                                        return;
+                                }
+                                LocalDateTime createdAt = LedgerTime.toLocalDateTime(epochMillis);
+                                Account account = Account.builder()
+                                                .id(accountId)
+                                                .accountNumber(accountNumber)
+                                                .balance(MinorUnits.fromMinor(openingMinor))
+                                                .accountType(ACCOUNT_TYPES[accountType])
+                                                .user(userMap.get(userId))
+                                                .userId(userId)
+                                                .createdAt(createdAt)
+                                                .updatedAt(createdAt)
+                                                .build();
+                                open(account, openingMinor);
+                                accountIdGenerator.accumulateAndGet(accountId + 1, Math::max);
+                        }
+                });
+
+                balanceChanges.forEach((accountId, change) -> {
+                        Account account = accountMap.get(accountId);
+                        account.setBalance(account.getBalance().add(MinorUnits.fromMinor(change[0])));
+                });
+                transactionIdGenerator.accumulateAndGet(lastId[0] + 1, Math::max);
+
+                log.info("Replayed {} journaled transactions in {} ms", replayed,
+                                (System.nanoTime() - started) / 1_000_000);
+        }
+
+        /**
+         * Build a Transaction from a segment row
+         */
+        private Transaction toTransaction(Account account, TransactionSegment.Snapshot snapshot, int row) {
+                LocalDateTime transactionDate = LedgerTime.toLocalDateTime(snapshot.epochMillis(row));
+                return Transaction.builder()
+                                .id(snapshot.id(row))
+                                .transactionType(TRANSACTION_TYPES[snapshot.type(row)])
+                                .amount(MinorUnits.fromMinor(snapshot.amountMinor(row)))
+                                .description(descriptions.decode(snapshot.description(row)))
+                                .transactionDate(transactionDate)
+                                .account(account)
+                                .linkedTransactionId(transferLinks.isEmpty() ? null : transferLinks.get(snapshot.id(row)))
+                                .createdAt(transactionDate)
+                                .updatedAt(transactionDate)
+                                .build();
+        }
+
+        /**
+         * Publish the engine balance on the account entity when the lock-free
+         * engine is enabled
+         */
+        private Account withCurrentBalance(Account account) {
+                if (balanceEngine != null && account != null) {
+                        account.setBalance(MinorUnits.fromMinor(balanceEngine.balance(account.getId())));
+                }
+                return account;
+        }
+
+        /**
+         * Read-only list over a range of a segment snapshot, in row or date
+         * order, that builds each Transaction on access
+         */
+        private final class TransactionView extends AbstractList<Transaction> implements RandomAccess {
+
+                private final Account account;
+                private final TransactionSegment.Snapshot snapshot;
+                private final int start;
+                private final int end;
+                private final boolean dateOrder;
+
+                private TransactionView(Account account, TransactionSegment.Snapshot snapshot, int start, int end,
+                                boolean dateOrder) {
+                        this.account = account;
+                        this.snapshot = snapshot;
+                        this.start = start;
+                        this.end = end;
+                        this.dateOrder = dateOrder;
+                }
+
+                @Override
+                public Transaction get(int index) {
+                        if (index < 0 || index >= size()) {
+                                throw new IndexOutOfBoundsException("Index " + index + " out of " + size());
+                        }
+                        int position = start + index;
+                        return toTransaction(account, snapshot, dateOrder ? snapshot.rowAt(position) : position);
+                }
+
+                @Override
+                public int size() {
+                        return end - start;
+                }
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.exception.InsufficientFundsException;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Outcome counters of postings, as {@code banking.postings} tagged with the
+ * kind of posting and its outcome. Every counter is registered up front, so
+ * counting a posting is one increment without a registry lookup.
+ */
+public final class PostingMetrics {
+
+    /**
+     * Kind of posting
+     */
+    public enum Kind {
+        TRANSACTION, BATCH, TRANSFER
+    }
+
+    /**
+     * How a posting ended
+     */
+    public enum Outcome {
+        SUCCESS, INSUFFICIENT_FUNDS, NOT_FOUND, REJECTED
+    }
+
+    private final Map<Kind, Map<Outcome, Counter>> counters = new EnumMap<>(Kind.class);
+
+    public PostingMetrics(MeterRegistry registry) {
+        for (Kind kind : Kind.values()) {
+            Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, Counter.builder("banking.postings")
+                        .description("Postings by kind and outcome")
+                        .tag("kind", kind.name().toLowerCase())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(registry));
+            }
+            counters.put(kind, outcomes);
+        }
+    }
+
+    /**
+     * Run a posting and count its outcome. Other failures than missing
+     * accounts and funds, such as invalid requests, are counted as rejected.
+     *
+     * @param kind    Kind of posting
+     * @param posting Performs the posting
+     * @param <T>     Result type
+     * @return Result of the posting
+     */
+    public <T> T record(Kind kind, Supplier<T> posting) {
+        Map<Outcome, Counter> outcomes = counters.get(kind);
+        T result;
+        try {
+            result = posting.get();
+        } catch (InsufficientFundsException e) {
+            outcomes.get(Outcome.INSUFFICIENT_FUNDS).increment();
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            outcomes.get(Outcome.NOT_FOUND).increment();
+            throw e;
+        } catch (RuntimeException e) {
+            outcomes.get(Outcome.REJECTED).increment();
+            throw e;
+        }
+        outcomes.get(Outcome.SUCCESS).increment();
+        return result;
+    }
+
+    /**
+     * @param kind    Kind of posting
+     * @param outcome Outcome
+     * @return Postings of the kind counted with the outcome
+     */
+    public long count(Kind kind, Outcome outcome) {
+        return (long) counters.get(kind).get(outcome).count();
+    }
+}
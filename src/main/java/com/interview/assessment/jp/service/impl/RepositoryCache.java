@@ -0,0 +1,168 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.response.AccountResponse;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.repository.AccountRepository;
+import com.interview.assessment.jp.repository.UserRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through caches in front of the account and user lookups that every
+ * JPA request makes: the current user by username, an account by ID for the
+ * ownership check and a user's account list.
+ * <p>
+ * Values are immutable copies, never managed entities. A balance change
+ * removes the account and its owner's list once the posting commits, so the
+ * old balance cannot be read back into the cache by a request that loaded it
+ * before the commit.
+ */
+public class RepositoryCache {
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final LookupCache<Long, CachedAccount> accounts;
+    private final LookupCache<Long, List<CachedAccount>> userAccounts;
+    private final LookupCache<String, CachedUser> users;
+
+    /**
+     * @param maxAccounts     Accounts cached by ID; zero disables
+     * @param maxUserAccounts Account lists cached by user ID; zero disables
+     * @param maxUsers        Users cached by username; zero disables
+     */
+    public RepositoryCache(AccountRepository accountRepository, UserRepository userRepository, int maxAccounts,
+            int maxUserAccounts, int maxUsers) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.accounts = new LookupCache<>(maxAccounts);
+        this.userAccounts = new LookupCache<>(maxUserAccounts);
+        this.users = new LookupCache<>(maxUsers);
+    }
+
+    /**
+     * Find account by ID, through {@link AccountRepository#findById}
+     *
+     * @param id Account ID
+     * @return The account, or empty if there is none
+     */
+    public Optional<CachedAccount> findAccountById(Long id) {
+        return accounts.get(id, key -> accountRepository.findById(key).map(CachedAccount::of));
+    }
+
+    /**
+     * Find all accounts of a user ordered by ID, through
+     * {@link AccountRepository#findByUser_Id}
+     *
+     * @param userId User ID
+     * @return List of the user's accounts
+     */
+    public List<CachedAccount> findAccountsByUserId(Long userId) {
+        return userAccounts.get(userId, key -> Optional.of(accountRepository.findByUser_Id(key).stream()
+                        .map(CachedAccount::of)
+                        .sorted(Comparator.comparing(CachedAccount::id))
+                        .toList()))
+                .orElseThrow();
+    }
+
+    /**
+     * Find user by username, with its roles, through
+     * {@link UserRepository#findByUsername}
+     *
+     * @param username Username
+     * @return The user, or empty if there is none
+     */
+    public Optional<CachedUser> findUserByUsername(String username) {
+        return users.get(username, key -> userRepository.findByUsername(key).map(CachedUser::of));
+    }
+
+    /**
+     * Remove an account whose balance changed, and its owner's account list,
+     * when the current transaction commits, or now if there is none
+     *
+     * @param account Account whose balance changed
+     */
+    public void evictAfterCommit(Account account) {
+        Long accountId = account.getId();
+        Long userId = account.getUserId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(accountId, userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(accountId, userId);
+            }
+        });
+    }
+
+    /**
+     * Remove every entry and reset the counters
+     */
+    public void clear() {
+        accounts.clear();
+        userAccounts.clear();
+        users.clear();
+    }
+
+    /**
+     * @return Counters of each cache, by name
+     */
+    public Map<String, LookupCache.Stats> stats() {
+        return Map.of("accounts", accounts.stats(),
+                "userAccounts", userAccounts.stats(),
+                "users", users.stats());
+    }
+
+    private void evict(Long accountId, Long userId) {
+        accounts.invalidate(accountId);
+        userAccounts.invalidate(userId);
+    }
+
+    /**
+     * Account columns read by the services
+     *
+     * @param id            Account ID
+     * @param accountNumber Account number
+     * @param balance       Balance when cached
+     * @param accountType   Account type
+     * @param userId        Owner's user ID
+     */
+    public record CachedAccount(Long id, String accountNumber, BigDecimal balance, AccountType accountType,
+            Long userId) {
+
+        static CachedAccount of(Account account) {
+            return new CachedAccount(account.getId(), account.getAccountNumber(), account.getBalance(),
+                    account.getAccountType(), account.getUserId());
+        }
+
+        /**
+         * @return A new response DTO, so callers cannot change the cached copy
+         */
+        public AccountResponse toResponse() {
+            return new AccountResponse(id, accountNumber, balance, accountType);
+        }
+    }
+
+    /**
+     * User columns read by the services
+     *
+     * @param id       User ID
+     * @param username Username
+     * @param roles    Roles
+     */
+    public record CachedUser(Long id, String username, List<String> roles) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), List.copyOf(user.getRoles()));
+        }
+    }
+}
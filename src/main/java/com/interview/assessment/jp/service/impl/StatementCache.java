@@ -0,0 +1,198 @@
+package com.interview.assessment.jp.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of rendered statements, keyed by account and month.
+ * <p>
+ * Entries are evicted least recently used first once their total size passes
+ * the limit. A posting dated inside a cached month removes just that entry.
+ * A miss inserts a pending entry before rendering, so concurrent requests for
+ * the same statement wait for one render, and a posting that lands while it
+ * renders removes the pending entry and keeps the stale bytes out of the
+ * cache.
+ */
+public final class StatementCache {
+
+    // Rough per-entry overhead of the key, entry and map node
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+
+    // Access-ordered, guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    // Keys present in entries, readable without the lock on the posting path
+    private final Set<Key> keys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxBytes Total size of cached statements; zero disables caching
+     */
+    public StatementCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Statement cache size must not be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a rendered statement, rendering and caching it on a miss
+     *
+     * @param accountId Account ID
+     * @param month     Statement month
+     * @param render    Renders the statement; called at most once per miss
+     * @return Statement bytes
+     */
+    public byte[] get(long accountId, YearMonth month, Supplier<byte[]> render) {
+        if (maxBytes == 0) {
+            synchronized (this) {
+                misses++;
+            }
+            return render.get();
+        }
+
+        Key key = new Key(accountId, month);
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+            } else {
+                misses++;
+                owner = true;
+                entry = new Entry();
+                entries.put(key, entry);
+                keys.add(key);
+            }
+        }
+        if (!owner) {
+            return join(entry);
+        }
+
+        byte[] rendered;
+        try {
+            rendered = render.get();
+        } catch (RuntimeException ex) {
+            remove(key, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+        store(key, entry, rendered);
+        entry.result.complete(rendered);
+        return rendered;
+    }
+
+    /**
+     * Remove the cached statement of the month a posting is dated in
+     *
+     * @param accountId       Account ID
+     * @param transactionDate Transaction date of the posting
+     */
+    public void invalidate(long accountId, LocalDateTime transactionDate) {
+        Key key = new Key(accountId, YearMonth.from(transactionDate));
+        if (!keys.contains(key)) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                keys.remove(key);
+                bytes -= entry.size;
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * @return Current counters and size
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size(), bytes);
+    }
+
+    /**
+     * Fill a pending entry unless it was invalidated while rendering, then
+     * evict down to the limit
+     */
+    private synchronized void store(Key key, Entry entry, byte[] rendered) {
+        if (entries.get(key) != entry) {
+            return;
+        }
+        long size = rendered.length + ENTRY_OVERHEAD;
+        if (size > maxBytes) {
+            entries.remove(key);
+            keys.remove(key);
+            return;
+        }
+        entry.size = size;
+        bytes += size;
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, Entry> candidate = eldest.next();
+            if (candidate.getValue() == entry || candidate.getValue().size == 0) {
+                // Never evict the entry just stored or one still rendering
+                continue;
+            }
+            eldest.remove();
+            keys.remove(candidate.getKey());
+            bytes -= candidate.getValue().size;
+            evictions++;
+        }
+    }
+
+    private synchronized void remove(Key key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            keys.remove(key);
+        }
+    }
+
+    private static byte[] join(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Cache counters
+     *
+     * @param hits          Requests served from the cache, including those that waited for a render in progress
+     * @param misses        Requests that rendered the statement
+     * @param evictions     Entries evicted to stay within the size limit
+     * @param invalidations Entries removed by postings into their month
+     * @param entries       Number of entries
+     * @param bytes         Approximate size of the entries
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int entries, long bytes) {
+    }
+
+    private record Key(long accountId, YearMonth month) {
+    }
+
+    private static final class Entry {
+
+        final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        // Guarded by the cache; zero while rendering
+        long size;
+    }
+}
@@ -0,0 +1,182 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.StatementProperties;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.exception.ForbiddenException;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.StatementExportService;
+import com.interview.assessment.jp.service.StatementService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Statement Export Service Implementation
+ * <p>
+ * Statements are rendered on a fork-join pool and zipped in the order they
+ * finish by the thread writing the archive. At most {@code maxPending}
+ * statements are rendered ahead of the writer, so the heap holds that many
+ * statements however many accounts are exported. Every customer's
+ * statements are exported, so only a current user with the admin role may
+ * export them.
+ */
+@Slf4j
+@Service
+public class StatementExportServiceImpl implements StatementExportService {
+
+    static final String SUMMARY_ENTRY = "export-summary.txt";
+
+    /**
+     * Role allowed to export every customer's statements
+     */
+    static final String ADMIN_ROLE = "ADMIN";
+
+    private final LedgerStore ledgerStore;
+    private final StatementService statementService;
+    private final StatementProperties.Export properties;
+    private final ForkJoinPool pool;
+
+    public StatementExportServiceImpl(LedgerStore ledgerStore, StatementService statementService,
+            StatementProperties properties) {
+        this.ledgerStore = ledgerStore;
+        this.statementService = statementService;
+        this.properties = properties.getExport();
+        if (this.properties.getParallelism() < 1 || this.properties.getMaxPending() < 1) {
+            throw new IllegalArgumentException("Statement export parallelism and max pending must be positive");
+        }
+        this.pool = new ForkJoinPool(this.properties.getParallelism(), pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("statement-export-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Stop the render pool; exports in progress fail
+     */
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public StatementArchive getStatementArchive(StatementRequest request, AccountType accountType) {
+        User currentUser = ledgerStore.getCurrentUser();
+        if (currentUser == null || !currentUser.getRoles().contains(ADMIN_ROLE)) {
+            throw new ForbiddenException("Exporting statements requires the " + ADMIN_ROLE + " role");
+        }
+        YearMonth month = YearMonth.of(request.getYear(), request.getMonth());
+        List<Account> accounts = ledgerStore.getAllAccounts(accountType);
+        String fileName = "statements-" + month.getYear() + "-" + month.getMonthValue()
+                + (accountType == null ? "" : "-" + accountType.name().toLowerCase()) + ".zip";
+
+        return new StatementArchive() {
+            @Override
+            public String fileName() {
+                return fileName;
+            }
+
+            @Override
+            public ExportSummary writeTo(OutputStream out) throws IOException {
+                ExportSummary summary = export(accounts, month, out);
+                log.info("Exported {} statements for {} ({}) in {} ms, {} accounts/s",
+                        summary.statements(), month, accountType == null ? "all accounts" : accountType,
+                        summary.wallTime().toMillis(), Math.round(summary.accountsPerSecond()));
+                return summary;
+            }
+        };
+    }
+
+    private ExportSummary export(List<Account> accounts, YearMonth month, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        // Finishing, rather than closing, the ZIP leaves the caller's stream open
+        ZipOutputStream zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+        });
+        zip.setLevel(properties.getCompressionLevel());
+
+        CompletionService<RenderedStatement> completion = new ExecutorCompletionService<>(pool);
+        Queue<Future<RenderedStatement>> pending = new ArrayDeque<>();
+        int submitted = 0;
+        long bytes = 0;
+        try {
+            for (int written = 0; written < accounts.size(); written++) {
+                while (submitted < accounts.size() && pending.size() < properties.getMaxPending()) {
+                    Account account = accounts.get(submitted++);
+                    pending.add(completion.submit(() -> render(account, month)));
+                }
+                Future<RenderedStatement> done = completion.take();
+                pending.remove(done);
+                RenderedStatement statement = done.get();
+
+                zip.putNextEntry(new ZipEntry(statement.fileName()));
+                zip.write(statement.content());
+                zip.closeEntry();
+                bytes += statement.content().length;
+            }
+
+            Duration wallTime = Duration.ofNanos(System.nanoTime() - started);
+            ExportSummary summary = new ExportSummary(accounts.size(), bytes, wallTime);
+            zip.putNextEntry(new ZipEntry(SUMMARY_ENTRY));
+            zip.write(summary(month, summary).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.finish();
+            out.flush();
+            return summary;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Statement export interrupted");
+        } catch (ExecutionException ex) {
+            throw new IOException("Statement export failed", ex.getCause());
+        } finally {
+            // Stop rendering for an export that failed or whose client went away
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private RenderedStatement render(Account account, YearMonth month) throws IOException {
+        StatementService.Statement statement = statementService.getAccountStatement(account, month);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        statement.writeTo(content);
+        return new RenderedStatement(statement.fileName(), content.toByteArray());
+    }
+
+    private static String summary(YearMonth month, ExportSummary summary) {
+        return "Statement Export\n"
+                + "Statement Period: " + month + "\n"
+                + "Statements: " + summary.statements() + "\n"
+                + "Statement Bytes: " + summary.bytes() + "\n"
+                + "Wall Time: " + summary.wallTime().toMillis() + " ms\n"
+                + String.format(Locale.ROOT, "Accounts per Second: %.1f\n", summary.accountsPerSecond());
+    }
+
+    private record RenderedStatement(String fileName, byte[] content) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.StatementProperties;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.dto.response.StatementJobResponse;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.StatementJobStatus;
+import com.interview.assessment.jp.exception.ConflictException;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.StatementJobService;
+import com.interview.assessment.jp.service.StatementService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statement Job Service Implementation
+ * <p>
+ * Jobs run on a fixed pool of workers fed by a priority queue, so statements
+ * of the current month, which customers are waiting on, go ahead of closed
+ * months; jobs of equal priority run in submission order. The queue is bounded
+ * by rejecting submissions once it is full. Rendered statements are written to
+ * the job directory and deleted, with the job, once their time to live has
+ * passed.
+ */
+@Slf4j
+@Service
+public class StatementJobServiceImpl implements StatementJobService {
+
+    private static final String FILE_PREFIX = "statement-job-";
+    private static final String FILE_SUFFIX = ".txt";
+
+    private final StatementService statementService;
+    private final LedgerStore ledgerStore;
+    private final StatementProperties.Jobs properties;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService cleaner;
+
+    public StatementJobServiceImpl(StatementService statementService, LedgerStore ledgerStore,
+            StatementProperties properties) {
+        this.statementService = statementService;
+        this.ledgerStore = ledgerStore;
+        this.properties = properties.getJobs();
+        if (this.properties.getThreads() < 1 || this.properties.getQueueCapacity() < 1) {
+            throw new IllegalArgumentException("Statement job threads and queue capacity must be positive");
+        }
+    }
+
+    /**
+     * Prepare the job directory, removing statements left by a previous run,
+     * and start the workers and the cleaner
+     */
+    @PostConstruct
+    public void start() {
+        Path directory = properties.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+                for (Path leftover : leftovers) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare statement job directory " + directory, ex);
+        }
+
+        AtomicInteger workers = new AtomicInteger();
+        executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "statement-job-" + workers.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        long interval = Math.max(1, properties.getCleanupInterval().toMillis());
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statement-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::removeExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the workers and the cleaner; queued jobs are dropped
+     */
+    @PreDestroy
+    public void close() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public StatementJobResponse submitJob(Long accountId, StatementRequest request) {
+        User currentUser = ledgerStore.getCurrentUser();
+        // Checks ownership now, so the job can only fail on rendering
+        StatementService.Statement statement = statementService.getStatement(accountId, request);
+
+        if (waiting.incrementAndGet() > properties.getQueueCapacity()) {
+            waiting.decrementAndGet();
+            throw new RejectedExecutionException("Too many statement jobs queued, try again later");
+        }
+        YearMonth month = YearMonth.of(request.getYear(), request.getMonth());
+        String id = UUID.randomUUID().toString();
+        Job job = new Job(id, currentUser.getId(), accountId, month, month.equals(YearMonth.now()) ? 0 : 1,
+                sequence.incrementAndGet(), statement, properties.getDirectory().resolve(FILE_PREFIX + id + FILE_SUFFIX));
+        jobs.put(id, job);
+        // Snapshot before a worker can pick the job up, so the submission always answers QUEUED
+        StatementJobResponse response = toResponse(job);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException ex) {
+            waiting.decrementAndGet();
+            jobs.remove(id);
+            throw ex;
+        }
+        return response;
+    }
+
+    @Override
+    public StatementJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    @Override
+    public StatementService.Statement getJobStatement(String jobId) {
+        Job job = findJob(jobId);
+        if (job.status == StatementJobStatus.FAILED) {
+            throw new ConflictException("Statement job failed: " + job.error);
+        }
+        if (job.status != StatementJobStatus.COMPLETED) {
+            throw new ConflictException("Statement job has not completed");
+        }
+        String fileName = job.statement.fileName();
+        Path artifact = job.artifact;
+        return new StatementService.Statement() {
+            @Override
+            public String fileName() {
+                return fileName;
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                Files.copy(artifact, out);
+                out.flush();
+            }
+        };
+    }
+
+    /**
+     * Delete finished jobs, and their statements, older than the time to live
+     */
+    void removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        jobs.values().removeIf(job -> {
+            LocalDateTime completedAt = job.completedAt;
+            if (completedAt == null || completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(job.artifact);
+            } catch (IOException ex) {
+                log.warn("Cannot delete expired statement {}", job.artifact, ex);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Find a job of the current user; other users' jobs are reported as missing
+     */
+    private Job findJob(String jobId) {
+        User currentUser = ledgerStore.getCurrentUser();
+        Job job = jobId == null ? null : jobs.get(jobId);
+        if (job == null || !job.userId.equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Statement job not found");
+        }
+        return job;
+    }
+
+    private StatementJobResponse toResponse(Job job) {
+        StatementJobStatus status = job.status;
+        LocalDateTime completedAt = job.completedAt;
+        return StatementJobResponse.builder()
+                .jobId(job.id)
+                .accountId(job.accountId)
+                .year(job.month.getYear())
+                .month(job.month.getMonthValue())
+                .status(status)
+                .submittedAt(job.submittedAt)
+                .completedAt(completedAt)
+                .expiresAt(completedAt == null ? null : completedAt.plus(properties.getTtl()))
+                .downloadUrl(status == StatementJobStatus.COMPLETED
+                        ? "/api/v1/statement-jobs/" + job.id + "/download"
+                        : null)
+                .error(job.error)
+                .build();
+    }
+
+    /**
+     * Queued statement render, ordered by priority, then submission
+     */
+    private final class Job implements Runnable, Comparable<Job> {
+
+        private final String id;
+        private final Long userId;
+        private final Long accountId;
+        private final YearMonth month;
+        private final int priority;
+        private final long sequence;
+        private final StatementService.Statement statement;
+        private final Path artifact;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile StatementJobStatus status = StatementJobStatus.QUEUED;
+        private volatile LocalDateTime completedAt;
+        private volatile String error;
+
+        private Job(String id, Long userId, Long accountId, YearMonth month, int priority, long sequence,
+                StatementService.Statement statement, Path artifact) {
+            this.id = id;
+            this.userId = userId;
+            this.accountId = accountId;
+            this.month = month;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.statement = statement;
+            this.artifact = artifact;
+        }
+
+        @Override
+        public void run() {
+            waiting.decrementAndGet();
+            status = StatementJobStatus.RUNNING;
+            long started = System.nanoTime();
+            Path partial = artifact.resolveSibling(artifact.getFileName() + ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(partial)) {
+                    statement.writeTo(out);
+                }
+                Files.move(partial, artifact, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                completedAt = LocalDateTime.now();
+                status = StatementJobStatus.COMPLETED;
+                log.debug("Statement job {} completed in {} ms", id,
+                        Duration.ofNanos(System.nanoTime() - started).toMillis());
+            } catch (IOException | RuntimeException ex) {
+                log.error("Statement job {} failed", id, ex);
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException ignored) {
+                    // Removed with the directory's other leftovers on the next start
+                }
+                error = ex.getMessage();
+                completedAt = LocalDateTime.now();
+                status = StatementJobStatus.FAILED;
+            }
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = Integer.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.StatementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+/**
+ * Statement Service Implementation
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementServiceImpl implements StatementService {
+
+    private static final String RULE = "========================\n";
+    private static final DateTimeFormatter LINE_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final LedgerStore ledgerStore;
+    private final StatementCache statementCache;
+
+    @Override
+    public Statement getStatement(Long accountId, StatementRequest request) {
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
+
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Verify account belongs to current user
+        if (!account.getUserId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        return getAccountStatement(account, YearMonth.of(request.getYear(), request.getMonth()));
+    }
+
+    @Override
+    public Statement getAccountStatement(Account account, YearMonth month) {
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        if (to.isAfter(LocalDateTime.now())) {
+            // The month is still open, so every posting would invalidate a cached copy
+            return render(account, month);
+        }
+        return new CachedStatement(account.getId(), month, () -> toBytes(render(account, month)));
+    }
+
+    /**
+     * Capture the month's transactions and opening balance for rendering
+     */
+    private MonthlyStatement render(Account account, YearMonth month) {
+        LedgerStore.StatementPeriod period = ledgerStore.getStatementPeriod(account.getId(),
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        return new MonthlyStatement(account, month, period);
+    }
+
+    private static byte[] toBytes(Statement statement) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            statement.writeTo(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Statement of a closed month, served from the statement cache. The
+     * period is captured only on a miss, when the cache renders it.
+     */
+    private final class CachedStatement implements Statement {
+
+        private final Long accountId;
+        private final YearMonth month;
+        private final Supplier<byte[]> render;
+
+        private CachedStatement(Long accountId, YearMonth month, Supplier<byte[]> render) {
+            this.accountId = accountId;
+            this.month = month;
+            this.render = render;
+        }
+
+        @Override
+        public String fileName() {
+            return MonthlyStatement.fileName(accountId, month);
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(statementCache.get(accountId, month, render));
+            out.flush();
+        }
+    }
+
+    /**
+     * Statement over a captured period, rendered line by line through a
+     * fixed-size buffer
+     */
+    private static final class MonthlyStatement implements Statement {
+
+        private final Account account;
+        private final YearMonth month;
+        private final LedgerStore.StatementPeriod period;
+
+        private MonthlyStatement(Account account, YearMonth month, LedgerStore.StatementPeriod period) {
+            this.account = account;
+            this.month = month;
+            this.period = period;
+        }
+
+        @Override
+        public String fileName() {
+            return fileName(account.getId(), month);
+        }
+
+        static String fileName(Long accountId, YearMonth month) {
+            return "statement-" + accountId + "-" + month.getYear() + "-" + month.getMonthValue() + ".txt";
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("Account Statement\n");
+            writer.write(RULE);
+            writer.write("Account ID: " + account.getId() + "\n");
+            writer.write("Account Number: " + account.getAccountNumber() + "\n");
+            writer.write("Statement Period: " + month.atDay(1) + " to " + month.atEndOfMonth() + "\n");
+            writer.write(RULE);
+            writer.write("\n");
+            writer.write("Opening Balance: $" + period.openingBalance().toPlainString() + "\n\n");
+
+            writer.write("Transaction Details:\n");
+            BigDecimal balance = period.openingBalance();
+            BigDecimal credits = BigDecimal.ZERO;
+            BigDecimal debits = BigDecimal.ZERO;
+            int line = 0;
+            for (Transaction transaction : period.transactions()) {
+                boolean credit = transaction.getTransactionType() == TransactionType.CREDIT;
+                BigDecimal amount = transaction.getAmount();
+                if (credit) {
+                    balance = balance.add(amount);
+                    credits = credits.add(amount);
+                } else {
+                    balance = balance.subtract(amount);
+                    debits = debits.add(amount);
+                }
+                writer.write(++line + ". " + LINE_DATE.format(transaction.getTransactionDate())
+                        + " - " + (credit ? "Deposit" : "Withdrawal")
+                        + " - $" + amount.toPlainString()
+                        + " - " + (transaction.getDescription() == null ? "" : transaction.getDescription())
+                        + " - Balance $" + balance.toPlainString() + "\n");
+            }
+            if (line == 0) {
+                writer.write("No transactions\n");
+            }
+
+            writer.write(RULE);
+            writer.write("Total Deposits: $" + credits.toPlainString() + "\n");
+            writer.write("Total Withdrawals: $" + debits.toPlainString() + "\n");
+            writer.write("Ending Balance: $" + balance.toPlainString() + "\n");
+            writer.flush();
+        }
+    }
+}
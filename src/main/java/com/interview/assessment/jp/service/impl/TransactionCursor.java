@@ -0,0 +1,58 @@
+package com.interview.assessment.jp.service.impl;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Keyset position in an account's transactions sorted by date, then ID.
+ * <p>
+ * Clients see it only as an opaque URL-safe token: the date's epoch second and
+ * nanosecond plus the ID, Base64 encoded. Nanoseconds are kept so the position
+ * is exact whatever precision the store keeps dates at.
+ *
+ * @param transactionDate Transaction date of the last row returned
+ * @param id              Transaction ID of the last row returned
+ */
+record TransactionCursor(LocalDateTime transactionDate, long id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    /**
+     * @return Opaque token
+     */
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(transactionDate.toEpochSecond(ZoneOffset.UTC))
+                .putInt(transactionDate.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @param token Opaque token from {@link #encode()}
+     * @return Cursor
+     * @throws IllegalArgumentException if the token is not a cursor
+     */
+    static TransactionCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        long id = buffer.getLong();
+        try {
+            return new TransactionCursor(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC), id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
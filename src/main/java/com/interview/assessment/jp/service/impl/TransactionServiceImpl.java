@@ -1,34 +1,59 @@
 package com.interview.assessment.jp.service.impl;
 
 import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionPageResponse;
 import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
 import com.interview.assessment.jp.entity.Account;
 import com.interview.assessment.jp.entity.Transaction;
 import com.interview.assessment.jp.entity.User;
-import com.interview.assessment.jp.enums.TransactionType;
 import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.LedgerStore;
 import com.interview.assessment.jp.service.TransactionService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Transaction Service Implementation
  */
 @Service
+@Timed(value = "banking.service", description = "Service calls")
+@ConditionalOnExpression("'${banking.ledger.store:MEMORY}' != 'JPA'")
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
-    private final MockDataService mockDataService;
+    /**
+     * Largest page a client may request
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Largest batch a client may post at once
+     */
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Longest idempotency key accepted
+     */
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final LedgerStore ledgerStore;
+    private final IdempotencyCache idempotencyCache;
+    private final PostingMetrics postingMetrics;
 
     @Override
     public List<TransactionResponse> getTransactionsByAccountId(Long accountId) {
-        User currentUser = mockDataService.getCurrentUser();
-        Account account = mockDataService.getAccountById(accountId);
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
 
         if (account == null) {
             throw new ResourceNotFoundException("Account not found");
@@ -39,7 +64,7 @@ public class TransactionServiceImpl implements TransactionService {
             throw new ResourceNotFoundException("Account not found");
         }
 
-        List<Transaction> transactions = mockDataService.getTransactionsByAccountId(accountId);
+        List<Transaction> transactions = ledgerStore.getTransactionsByAccountId(accountId);
 
         return transactions.stream()
                 .map(this::convertToDto)
@@ -47,9 +72,14 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public TransactionResponse createTransaction(Long accountId, TransactionRequest request) {
-        User currentUser = mockDataService.getCurrentUser();
-        Account account = mockDataService.getAccountById(accountId);
+    public List<TransactionResponse> getTransactionsByAccountIdBetween(Long accountId, LocalDateTime from,
+            LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
 
         if (account == null) {
             throw new ResourceNotFoundException("Account not found");
@@ -60,14 +90,118 @@ public class TransactionServiceImpl implements TransactionService {
             throw new ResourceNotFoundException("Account not found");
         }
 
-        // For debit transactions, verify sufficient balance
-        if (request.getTransactionType() == TransactionType.DEBIT) {
-            if (account.getBalance().compareTo(request.getAmount()) < 0) {
-                throw new IllegalArgumentException("Insufficient account balance");
-            }
+        return ledgerStore.getTransactionsByAccountIdBetween(accountId, from, to).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<TransactionResponse> streamTransactionsByAccountId(Long accountId, LocalDateTime from,
+            LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
+
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Verify account belongs to current user
+        if (!account.getUserId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Both lists are views over a segment snapshot that build each Transaction on access
+        List<Transaction> transactions = from == null && to == null
+                ? ledgerStore.getTransactionsByAccountId(accountId)
+                : ledgerStore.getTransactionsByAccountIdBetween(accountId, from, to);
+        return transactions.stream().map(this::convertToDto);
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionsPageByAccountId(Long accountId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TransactionCursor after = cursor == null ? null : TransactionCursor.decode(cursor);
+
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
+
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Verify account belongs to current user
+        if (!account.getUserId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Fetch one extra row to learn whether a next page exists
+        List<Transaction> transactions = after == null
+                ? ledgerStore.getTransactionsPageByAccountId(accountId, null, 0, limit + 1)
+                : ledgerStore.getTransactionsPageByAccountId(accountId, after.transactionDate(), after.id(),
+                        limit + 1);
+
+        String nextCursor = null;
+        if (transactions.size() > limit) {
+            transactions = transactions.subList(0, limit);
+            Transaction last = transactions.get(limit - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+
+        return TransactionPageResponse.builder()
+                .transactions(transactions.stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public TransactionResponse createTransaction(Long accountId, TransactionRequest request) {
+        return createTransaction(accountId, request, null);
+    }
+
+    @Override
+    public TransactionResponse createTransaction(Long accountId, TransactionRequest request, String idempotencyKey) {
+        return postingMetrics.record(PostingMetrics.Kind.TRANSACTION, () -> post(accountId, request, idempotencyKey));
+    }
+
+    @Override
+    public List<TransactionResponse> createTransactions(Long accountId, List<TransactionRequest> requests) {
+        return postingMetrics.record(PostingMetrics.Kind.BATCH, () -> postBatch(accountId, requests));
+    }
+
+    @Override
+    public TransferResponse createTransfer(TransferRequest request) {
+        return postingMetrics.record(PostingMetrics.Kind.TRANSFER, () -> transfer(request));
+    }
+
+    private TransactionResponse post(Long accountId, TransactionRequest request, String idempotencyKey) {
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
+
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Verify account belongs to current user
+        if (!account.getUserId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Account not found");
         }
 
-        // Create transaction
+        // Create transaction; the ledger verifies sufficient balance for debits
+        // atomically with the posting
         Transaction transaction = Transaction.builder()
                 .transactionType(request.getTransactionType())
                 .amount(request.getAmount())
@@ -76,15 +210,83 @@ public class TransactionServiceImpl implements TransactionService {
                 .account(account)
                 .build();
 
-        Transaction createdTransaction = mockDataService.createTransaction(transaction);
+        if (idempotencyKey == null) {
+            return convertToDto(ledgerStore.createTransaction(transaction));
+        }
+        return idempotencyCache.execute(accountId, idempotencyKey, request,
+                () -> convertToDto(ledgerStore.createTransaction(transaction)));
+    }
+
+    private List<TransactionResponse> postBatch(Long accountId, List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must hold between 1 and " + MAX_BATCH_SIZE + " transactions");
+        }
 
-        return convertToDto(createdTransaction);
+        User currentUser = ledgerStore.getCurrentUser();
+        Account account = ledgerStore.getAccountById(accountId);
+
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Verify account belongs to current user
+        if (!account.getUserId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // The whole batch is posted at one instant; IDs keep the request order
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            transactions.add(Transaction.builder()
+                    .transactionType(request.getTransactionType())
+                    .amount(request.getAmount())
+                    .description(request.getDescription())
+                    .transactionDate(now)
+                    .account(account)
+                    .build());
+        }
+
+        return ledgerStore.createTransactions(accountId, transactions).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private TransferResponse transfer(TransferRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+
+        User currentUser = ledgerStore.getCurrentUser();
+        Account from = ledgerStore.getAccountById(request.getFromAccountId());
+
+        if (from == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        // Verify the source account belongs to current user; any account may receive
+        if (!from.getUserId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        if (ledgerStore.getAccountById(request.getToAccountId()) == null) {
+            throw new ResourceNotFoundException("Destination account not found");
+        }
+
+        // The ledger verifies sufficient balance atomically with both postings
+        LedgerStore.Transfer transfer = ledgerStore.createTransfer(request.getFromAccountId(),
+                request.getToAccountId(), request.getAmount(), request.getDescription(), LocalDateTime.now());
+
+        return TransferResponse.builder()
+                .debit(convertToDto(transfer.debit()))
+                .credit(convertToDto(transfer.credit()))
+                .build();
     }
 
     @Override
     public TransactionResponse getTransactionById(Long id) {
-        User currentUser = mockDataService.getCurrentUser();
-        Transaction transaction = mockDataService.getTransactionById(id);
+        User currentUser = ledgerStore.getCurrentUser();
+        Transaction transaction = ledgerStore.getTransactionById(id);
 
         if (transaction == null) {
             throw new ResourceNotFoundException("Transaction not found");
@@ -100,12 +302,12 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * Convert entity to DTO
+     * Convert entity to DTO; package-private for the benchmarks
      *
      * @param transaction Transaction entity
      * @return Transaction DTO
      */
-    private TransactionResponse convertToDto(Transaction transaction) {
+    TransactionResponse convertToDto(Transaction transaction) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .transactionType(transaction.getTransactionType())
@@ -113,6 +315,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .description(transaction.getDescription())
                 .transactionDate(transaction.getTransactionDate())
                 .accountId(transaction.getAccount().getId())
+                .linkedTransactionId(transaction.getLinkedTransactionId())
                 .build();
     }
 }
\ No newline at end of file
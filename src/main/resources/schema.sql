@@ -3,6 +3,14 @@ DROP TABLE IF EXISTS transactions;
 DROP TABLE IF EXISTS accounts;
 DROP TABLE IF EXISTS user_roles;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS transactions_seq;
+DROP SEQUENCE IF EXISTS accounts_seq;
+
+-- ID sequences; each increment matches the entity's allocationSize. Hibernate's pooled-lo
+-- optimizer uses a fetched value as the low end of its block, so rows inserted outside it
+-- with NEXT VALUE FOR never collide with IDs it hands out. Accounts start after the seed data.
+CREATE SEQUENCE accounts_seq START WITH 5 INCREMENT BY 50;
+CREATE SEQUENCE transactions_seq START WITH 1 INCREMENT BY 50;
 
 -- Create users table
 CREATE TABLE users (
@@ -23,7 +31,7 @@ CREATE TABLE user_roles (
 
 -- Create accounts table
 CREATE TABLE accounts (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR accounts_seq PRIMARY KEY,
     account_number VARCHAR(20) NOT NULL UNIQUE,
     balance DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
     account_type VARCHAR(20) NOT NULL,
@@ -36,18 +44,21 @@ CREATE TABLE accounts (
 
 -- Create transactions table
 CREATE TABLE transactions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR transactions_seq PRIMARY KEY,
     transaction_type VARCHAR(20) NOT NULL,
     amount DECIMAL(19, 2) NOT NULL,
     description VARCHAR(255),
     transaction_date TIMESTAMP NOT NULL,
     account_id BIGINT NOT NULL,
+    linked_transaction_id BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
 );
 
 -- Create indexes for better performance
-CREATE INDEX idx_transactions_account_id ON transactions(account_id);
 CREATE INDEX idx_accounts_user_id ON accounts(user_id);
-CREATE INDEX idx_transactions_date ON transactions(transaction_date); 
\ No newline at end of file
+CREATE INDEX idx_transactions_date ON transactions(transaction_date);
+-- Serves statement date ranges and keyset pagination: seek to (account_id, transaction_date, id),
+-- then read forward. Its account_id prefix also backs the foreign key and account lookups.
+CREATE INDEX idx_transactions_account_date_id ON transactions(account_id, transaction_date, id); 
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.interview.assessment.jp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = AssessmentApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should expose API histograms, service timers, posting outcomes, ledger gauges and cache counters")
+    public void should_expose_metrics() throws Exception {
+        // Prepare test data
+        mockMvc.perform(get("/api/v1/accounts")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactionType\":\"DEBIT\",\"amount\":1000000000,\"description\":\"Too much\"}"))
+                .andExpect(status().isBadRequest());
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions", 1L)
+                            .header("Idempotency-Key", "metrics-test")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"transactionType\":\"CREDIT\",\"amount\":1,\"description\":\"Once\"}"))
+                    .andExpect(status().isOk());
+            MvcResult statement = mockMvc.perform(get("/api/v1/accounts/{accountId}/statements/{year}/{month}",
+                            1L, 2024, 1))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(statement)).andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions", 999L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactionType\":\"CREDIT\",\"amount\":10,\"description\":\"Nobody\"}"))
+                .andExpect(status().isNotFound());
+
+        // Execute test
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        // The first scrape's own timing must fit the histograms of the API's, or the next scrape fails
+        String scrapedAgain = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Verify results
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                && line.contains("uri=\"/api/v1/accounts\"")));
+        assertTrue(scrapedAgain.contains("uri=\"/actuator/prometheus\""));
+        assertTrue(metrics.contains("banking_service_seconds_count{class=\"com.interview.assessment.jp.service.impl"
+                + ".AccountServiceImpl\""));
+        assertTrue(metrics.contains("banking_ledger_store_seconds_count{"));
+        assertTrue(metrics.contains(
+                "banking_postings_total{kind=\"transaction\",outcome=\"insufficient_funds\"} 1.0"));
+        assertTrue(metrics.contains("banking_postings_total{kind=\"transaction\",outcome=\"not_found\"} 1.0"));
+        assertTrue(metrics.contains("banking_ledger_accounts "));
+        assertTrue(metrics.contains("banking_ledger_transactions "));
+        assertTrue(metrics.contains("banking_ledger_retained_bytes "));
+        assertTrue(metrics.contains("cache_gets_total{cache=\"statements\",result=\"hit\"} 1.0"));
+        assertTrue(metrics.contains("cache_gets_total{cache=\"statements\",result=\"miss\"} 1.0"));
+        assertTrue(metrics.contains("cache_evictions_total{cache=\"statements\"} 0.0"));
+        assertTrue(metrics.contains("cache_size{cache=\"statements\"} 1.0"));
+        assertTrue(metrics.contains("cache_retained_bytes{cache=\"statements\"} "));
+        assertTrue(metrics.contains("cache_gets_total{cache=\"idempotency\",result=\"hit\"} 1.0"));
+        assertTrue(metrics.contains("cache_gets_total{cache=\"idempotency\",result=\"miss\"} 1.0"));
+        assertTrue(metrics.contains("cache_size{cache=\"idempotency\"} 1.0"));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "banking.ledger.store=JPA")
+    public class JpaStore {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Should expose the hits, misses, evictions and sizes of the repository caches")
+        public void should_expose_repository_cache_metrics() throws Exception {
+            // Prepare test data
+            mockMvc.perform(get("/api/v1/accounts")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/accounts")).andExpect(status().isOk());
+
+            // Execute test
+            String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Verify results
+            assertTrue(metrics.contains("cache_gets_total{cache=\"repository.userAccounts\",result=\"hit\"} 1.0"));
+            assertTrue(metrics.contains("cache_gets_total{cache=\"repository.userAccounts\",result=\"miss\"} 1.0"));
+            assertTrue(metrics.contains("cache_gets_total{cache=\"repository.users\",result=\"hit\"} 1.0"));
+            assertTrue(metrics.contains("cache_evictions_total{cache=\"repository.accounts\"} 0.0"));
+            assertTrue(metrics.contains("cache_size{cache=\"repository.userAccounts\"} 1.0"));
+        }
+    }
+}
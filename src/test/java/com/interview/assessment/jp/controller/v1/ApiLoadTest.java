@@ -0,0 +1,318 @@
+package com.interview.assessment.jp.controller.v1;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.assessment.jp.AssessmentApplication;
+import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end latency of the v1 API, through Tomcat, Jackson and validation,
+ * under a mixed workload. Requests are sent open-loop at a constant arrival
+ * rate and timed from when they were due rather than when they were sent, so
+ * a stalled server shows up in the percentiles instead of slowing the load
+ * down. Run with {@code mvn test -Pbenchmark -Dtest=ApiLoadTest}; the rate,
+ * durations and SLO thresholds are set with the {@code benchmark.load.*}
+ * system properties below. Latency distributions are written to
+ * {@code target/load-test} in HdrHistogram's percentile format.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = AssessmentApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.interview.assessment=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "spring.jpa.show-sql=false"
+})
+public class ApiLoadTest {
+
+    private static final int RATE = Integer.getInteger("benchmark.load.rate", 100);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.load.warmup-seconds", 30);
+    private static final int SECONDS = Integer.getInteger("benchmark.load.seconds", 30);
+    private static final int STEP_SECONDS = Integer.getInteger("benchmark.load.step-seconds", 10);
+    private static final int MAX_STEPS = Integer.getInteger("benchmark.load.max-steps", 6);
+
+    // SLO thresholds, applied to every operation and to the workload as a whole
+    private static final double SLO_P50_MS = Double.parseDouble(System.getProperty("benchmark.load.slo.p50-ms", "20"));
+    private static final double SLO_P99_MS = Double.parseDouble(System.getProperty("benchmark.load.slo.p99-ms", "100"));
+    private static final double SLO_P999_MS = Double.parseDouble(System.getProperty("benchmark.load.slo.p999-ms", "250"));
+    private static final double SLO_ERROR_RATE = Double.parseDouble(System.getProperty("benchmark.load.slo.error-rate", "0.001"));
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+
+    /**
+     * Operations of the workload and their share of the requests, in percent
+     */
+    private enum Operation {
+        ACCOUNTS(30),
+        TRANSACTIONS(40),
+        POSTING(20),
+        STATEMENT(10);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    int port;
+
+    private List<Long> accountIds;
+    private List<byte[]> postingBodies;
+
+    // The application context, and so its JIT-compiled server, is shared by the tests of this class
+    private static boolean warmedUp;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(uri("/api/v1/accounts")).build(), HttpResponse.BodyHandlers.ofByteArray());
+        accountIds = new ArrayList<>();
+        for (JsonNode account : objectMapper.readTree(response.body())) {
+            accountIds.add(account.get("id").asLong());
+        }
+        assertFalse(accountIds.isEmpty(), "No accounts to load");
+
+        // Bodies are serialized up front, as a client would have them ready; mostly credits, so debits never run dry
+        postingBodies = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            TransactionRequest request = new TransactionRequest();
+            request.setTransactionType(i % 4 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT);
+            request.setAmount(BigDecimal.valueOf(100 + i, 2));
+            request.setDescription(i % 4 == 0 ? "Card payment" : "Incoming transfer");
+            postingBodies.add(objectMapper.writeValueAsBytes(request));
+        }
+
+        if (!warmedUp) {
+            run(RATE, WARMUP_SECONDS);
+            warmedUp = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Mixed workload at a constant arrival rate meets the SLO")
+    public void mixed_workload_meets_slo() throws Exception {
+        // Execute test
+        Run run = run(RATE, SECONDS);
+
+        // Verify results
+        System.out.printf("%nOpen-loop load at %d requests/s for %ds, %.0f requests/s completed%n",
+                RATE, SECONDS, run.throughput());
+        System.out.printf("%-14s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            print(operation.name(), run.histograms.get(operation), run.errors.get(operation).sum());
+        }
+        print("all", run.total(), run.totalErrors());
+
+        Files.createDirectories(REPORT_DIRECTORY);
+        for (Operation operation : Operation.values()) {
+            write(operation.name(), run.histograms.get(operation));
+        }
+        write("all", run.total());
+
+        List<String> breaches = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            breaches.addAll(breaches(operation.name(), run.histograms.get(operation), run.errors.get(operation).sum()));
+        }
+        breaches.addAll(breaches("all", run.total(), run.totalErrors()));
+        assertTrue(breaches.isEmpty(), "SLO breached at " + RATE + " requests/s: " + String.join("; ", breaches));
+    }
+
+    @Test
+    @DisplayName("Highest arrival rate within the SLO")
+    public void max_throughput_within_slo() throws Exception {
+        System.out.printf("%nOpen-loop load doubling from %d requests/s, %ds per step%n", RATE, STEP_SECONDS);
+        System.out.printf("%-14s %10s %8s %10s %10s %10s %10s  %s%n",
+                "offered/s", "done/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "SLO");
+        int best = 0;
+        for (int step = 0, rate = RATE; step < MAX_STEPS; step++, rate *= 2) {
+            Run run = run(rate, STEP_SECONDS);
+            Histogram total = run.total();
+            List<String> breaches = breaches("all", total, run.totalErrors());
+            System.out.printf("%-14d %10.0f %8d %10.2f %10.2f %10.2f %10.2f  %s%n",
+                    rate, run.throughput(), run.totalErrors(),
+                    millis(total, 50), millis(total, 99), millis(total, 99.9), total.getMaxValue() / 1e3,
+                    breaches.isEmpty() ? "met" : String.join("; ", breaches));
+            if (!breaches.isEmpty()) {
+                break;
+            }
+            best = rate;
+        }
+        System.out.printf("Highest rate within the SLO: %s%n", best == 0 ? "none" : best + " requests/s");
+    }
+
+    /**
+     * Send the workload at a constant arrival rate, without waiting for
+     * responses, and wait for the last of them
+     */
+    private Run run(int rate, int seconds) throws Exception {
+        Run run = new Run();
+        SplittableRandom random = new SplittableRandom(42);
+        YearMonth month = YearMonth.now();
+        List<CompletableFuture<?>> pending = new ArrayList<>(rate * seconds);
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long duration = TimeUnit.SECONDS.toNanos(seconds);
+        long started = System.nanoTime();
+        for (long i = 0; i * interval < duration; i++) {
+            long due = started + i * interval;
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(random);
+            pending.add(client.sendAsync(request(operation, random, month), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        run.histograms.get(operation).recordValue(
+                                Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due), HIGHEST_LATENCY_MICROS));
+                        if (error != null || response.statusCode() >= 400) {
+                            run.errors.get(operation).increment();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .get(1, TimeUnit.MINUTES);
+        run.elapsed = System.nanoTime() - started;
+        return run;
+    }
+
+    private static Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Operation weights do not add up to 100");
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random, YearMonth month) {
+        long accountId = accountIds.get(random.nextInt(accountIds.size()));
+        return switch (operation) {
+            case ACCOUNTS -> HttpRequest.newBuilder(uri("/api/v1/accounts"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            case TRANSACTIONS -> HttpRequest.newBuilder(uri("/api/v1/accounts/" + accountId + "/transactions?limit=50"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            case POSTING -> HttpRequest.newBuilder(uri("/api/v1/accounts/" + accountId + "/transactions"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(postingBodies.get(random.nextInt(postingBodies.size()))))
+                    .build();
+            case STATEMENT -> HttpRequest.newBuilder(uri("/api/v1/accounts/" + accountId + "/statements/"
+                            + month.getYear() + "/" + month.getMonthValue()))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+        };
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static List<String> breaches(String name, Histogram histogram, long errors) {
+        List<String> breaches = new ArrayList<>();
+        check(breaches, name, "p50", millis(histogram, 50), SLO_P50_MS);
+        check(breaches, name, "p99", millis(histogram, 99), SLO_P99_MS);
+        check(breaches, name, "p99.9", millis(histogram, 99.9), SLO_P999_MS);
+        double errorRate = histogram.getTotalCount() == 0 ? 0 : (double) errors / histogram.getTotalCount();
+        if (errorRate > SLO_ERROR_RATE) {
+            breaches.add(String.format("%s error rate %.4f > %.4f", name, errorRate, SLO_ERROR_RATE));
+        }
+        return breaches;
+    }
+
+    private static void check(List<String> breaches, String name, String percentile, double actual, double threshold) {
+        if (actual > threshold) {
+            breaches.add(String.format("%s %s %.2f ms > %.2f ms", name, percentile, actual, threshold));
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e3;
+    }
+
+    private static void print(String name, Histogram histogram, long errors) {
+        System.out.printf("%-14s %10d %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name, histogram.getTotalCount(), errors, millis(histogram, 50), millis(histogram, 90),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1e3);
+    }
+
+    private static void write(String name, Histogram histogram) throws Exception {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIRECTORY.resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1e3);
+        }
+    }
+
+    /**
+     * Latencies in microseconds and errors per operation of one run
+     */
+    private static class Run {
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        private long elapsed;
+
+        private Run() {
+            for (Operation operation : Operation.values()) {
+                histograms.put(operation, new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3));
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        private Histogram total() {
+            Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        private long totalErrors() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        private double throughput() {
+            return total().getTotalCount() / (elapsed / 1e9);
+        }
+    }
+}
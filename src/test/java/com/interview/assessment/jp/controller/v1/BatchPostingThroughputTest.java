@@ -0,0 +1,129 @@
+package com.interview.assessment.jp.controller.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.ControllerExceptionHandler;
+import com.interview.assessment.jp.ledger.TransactionJournal.FsyncPolicy;
+import com.interview.assessment.jp.service.impl.IdempotencyCache;
+import com.interview.assessment.jp.service.impl.MockDataService;
+import com.interview.assessment.jp.service.impl.PostingMetrics;
+import com.interview.assessment.jp.service.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Postings per second through the MVC stack, one request per transaction
+ * versus batches, with and without a journal forced on every append. Run
+ * with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class BatchPostingThroughputTest {
+
+    private static final int TRANSACTIONS = Integer.getInteger("benchmark.transactions", 10_000);
+    private static final int[] BATCH_SIZES = {1, 10, 100, 1_000};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Batched posting throughput against single posts")
+    public void batch_posting_throughput() throws Exception {
+        System.out.printf("%nPosting %d transactions to one account%n", TRANSACTIONS);
+        System.out.printf("%-12s %12s %16s %16s%n", "journal", "batch size", "postings/s", "speedup");
+
+        // Warm up
+        run(null, 1, 2_000);
+        run(null, 100, 2_000);
+
+        for (FsyncPolicy policy : new FsyncPolicy[] {null, FsyncPolicy.ALWAYS}) {
+            double single = 0;
+            for (int batchSize : BATCH_SIZES) {
+                double throughput = run(policy, batchSize, TRANSACTIONS);
+                if (batchSize == 1) {
+                    single = throughput;
+                }
+                System.out.printf("%-12s %12s %16.0f %15.1fx%n", policy == null ? "off" : policy,
+                        batchSize == 1 ? "single" : batchSize, throughput, throughput / single);
+            }
+        }
+    }
+
+    private double run(FsyncPolicy policy, int batchSize, int transactions) throws Exception {
+        LedgerProperties properties = new LedgerProperties();
+        if (policy != null) {
+            properties.getJournal().setEnabled(true);
+            properties.getJournal().setPath(directory.resolve(policy + "-" + System.nanoTime() + ".journal"));
+            properties.getJournal().setFsyncPolicy(policy);
+        }
+        MockDataService ledger = new MockDataService(properties);
+        ledger.init();
+        Account account = ledger.createAccount(Account.builder()
+                .accountNumber("BAT-" + System.nanoTime())
+                .balance(new BigDecimal("1000000.00"))
+                .accountType(AccountType.CHECKING)
+                .user(ledger.getCurrentUser())
+                .build());
+        TransactionServiceImpl service = new TransactionServiceImpl(ledger, new IdempotencyCache(0, Duration.ZERO),
+                new PostingMetrics(new SimpleMeterRegistry()));
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new TransactionController(service, objectMapper))
+                .setControllerAdvice(new ControllerExceptionHandler())
+                .build();
+
+        // Bodies are serialized up front, as a client would have them ready
+        List<byte[]> bodies = new ArrayList<>();
+        for (int i = 0; i < transactions; i += batchSize) {
+            List<TransactionRequest> batch = new ArrayList<>();
+            for (int j = i; j < Math.min(transactions, i + batchSize); j++) {
+                batch.add(request(j));
+            }
+            bodies.add(objectMapper.writeValueAsBytes(batchSize == 1 ? batch.get(0) : batch));
+        }
+
+        String path = batchSize == 1
+                ? "/api/v1/accounts/{accountId}/transactions"
+                : "/api/v1/accounts/{accountId}/transactions:batch";
+        long started = System.nanoTime();
+        for (byte[] body : bodies) {
+            mockMvc.perform(post(path, account.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isOk());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertEquals(transactions, ledger.getTransactionsByAccountId(account.getId()).size());
+        ledger.close();
+        return transactions / seconds;
+    }
+
+    private static TransactionRequest request(int i) {
+        TransactionRequest request = new TransactionRequest();
+        request.setTransactionType(i % 3 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT);
+        request.setAmount(BigDecimal.valueOf(100 + i % 5000, 2));
+        request.setDescription(i % 3 == 0 ? "Card payment" : "Incoming transfer");
+        return request;
+    }
+}
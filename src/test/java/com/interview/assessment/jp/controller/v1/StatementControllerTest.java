@@ -0,0 +1,247 @@
+package com.interview.assessment.jp.controller.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.dto.response.StatementJobResponse;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.StatementJobStatus;
+import com.interview.assessment.jp.exception.ConflictException;
+import com.interview.assessment.jp.exception.ControllerExceptionHandler;
+import com.interview.assessment.jp.exception.ForbiddenException;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.StatementExportService;
+import com.interview.assessment.jp.service.StatementJobService;
+import com.interview.assessment.jp.service.StatementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class StatementControllerTest {
+
+        private MockMvc mockMvc;
+
+        @Mock
+        private StatementService statementService;
+
+        @Mock
+        private StatementJobService statementJobService;
+
+        @Mock
+        private StatementExportService statementExportService;
+
+        @InjectMocks
+        private StatementController statementController;
+
+        private ObjectMapper objectMapper;
+
+        // Add global exception handler
+        private ControllerExceptionHandler exceptionHandler = new ControllerExceptionHandler();
+
+        @BeforeEach
+        public void setup() {
+                MockitoAnnotations.openMocks(this);
+
+                objectMapper = new ObjectMapper().findAndRegisterModules();
+                mockMvc = MockMvcBuilders.standaloneSetup(statementController)
+                                .setControllerAdvice(exceptionHandler) // Register global exception handler
+                                .build();
+        }
+
+        @Test
+        @DisplayName("Should stream the statement as a text attachment")
+        public void should_stream_statement() throws Exception {
+                // Prepare test data
+                StatementService.Statement statement = new StatementService.Statement() {
+                        @Override
+                        public String fileName() {
+                                return "statement-1-2024-3.txt";
+                        }
+
+                        @Override
+                        public void writeTo(OutputStream out) throws java.io.IOException {
+                                out.write("Account Statement\n".getBytes(StandardCharsets.UTF_8));
+                        }
+                };
+
+                // Mock service response
+                when(statementService.getStatement(eq(1L), any())).thenReturn(statement);
+
+                // Execute test
+                MvcResult started = mockMvc.perform(get("/api/v1/accounts/{accountId}/statements/{year}/{month}",
+                                1L, 2024, 3))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Verify results
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment;filename=statement-1-2024-3.txt"))
+                                .andExpect(content().string("Account Statement\n"));
+
+                ArgumentCaptor<StatementRequest> request = ArgumentCaptor.forClass(StatementRequest.class);
+                verify(statementService, times(1)).getStatement(eq(1L), request.capture());
+                assertEquals(2024, request.getValue().getYear());
+                assertEquals(3, request.getValue().getMonth());
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid month")
+        public void should_reject_invalid_month() throws Exception {
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/accounts/{accountId}/statements/{year}/{month}", 1L, 2024, 13))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errors.month").value("Month must be between 1 and 12"));
+
+                verify(statementService, never()).getStatement(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an account that is not found")
+        public void should_return_404_for_missing_account() throws Exception {
+                // Mock service response
+                when(statementService.getStatement(eq(99L), any()))
+                                .thenThrow(new ResourceNotFoundException("Account not found"));
+
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/accounts/{accountId}/statements/{year}/{month}", 99L, 2024, 3))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should accept a statement job and point to its status")
+        public void should_accept_statement_job() throws Exception {
+                // Prepare test data
+                StatementRequest request = new StatementRequest();
+                request.setYear(2024);
+                request.setMonth(3);
+
+                StatementJobResponse job = StatementJobResponse.builder()
+                                .jobId("job-1")
+                                .accountId(1L)
+                                .year(2024)
+                                .month(3)
+                                .status(StatementJobStatus.QUEUED)
+                                .build();
+
+                // Mock service response
+                when(statementJobService.submitJob(eq(1L), any())).thenReturn(job);
+
+                // Execute test and verify results
+                mockMvc.perform(post("/api/v1/accounts/{accountId}/statement-jobs", 1L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/statement-jobs/job-1"))
+                                .andExpect(jsonPath("$.jobId").value("job-1"))
+                                .andExpect(jsonPath("$.status").value("QUEUED"));
+        }
+
+        @Test
+        @DisplayName("Should return 503 when the job queue is full")
+        public void should_return_503_when_queue_full() throws Exception {
+                // Prepare test data
+                StatementRequest request = new StatementRequest();
+                request.setYear(2024);
+                request.setMonth(3);
+
+                // Mock service response
+                when(statementJobService.submitJob(eq(1L), any()))
+                                .thenThrow(new RejectedExecutionException("Too many statement jobs queued, try again later"));
+
+                // Execute test and verify results
+                mockMvc.perform(post("/api/v1/accounts/{accountId}/statement-jobs", 1L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isServiceUnavailable());
+        }
+
+        @Test
+        @DisplayName("Should return 409 when downloading a job that has not completed")
+        public void should_return_409_for_pending_job() throws Exception {
+                // Mock service response
+                when(statementJobService.getJobStatement("job-1"))
+                                .thenThrow(new ConflictException("Statement job has not completed"));
+
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/statement-jobs/{jobId}/download", "job-1"))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.message").value("Statement job has not completed"));
+        }
+
+        @Test
+        @DisplayName("Should stream the statements of all accounts of a type as a ZIP")
+        public void should_export_statements_as_zip() throws Exception {
+                // Prepare test data
+                StatementExportService.StatementArchive archive = new StatementExportService.StatementArchive() {
+                        @Override
+                        public String fileName() {
+                                return "statements-2024-3-savings.zip";
+                        }
+
+                        @Override
+                        public StatementExportService.ExportSummary writeTo(OutputStream out) throws java.io.IOException {
+                                out.write(new byte[] {'P', 'K'});
+                                return new StatementExportService.ExportSummary(0, 0, Duration.ZERO);
+                        }
+                };
+
+                // Mock service response
+                when(statementExportService.getStatementArchive(any(), eq(AccountType.SAVINGS))).thenReturn(archive);
+
+                // Execute test
+                MvcResult started = mockMvc.perform(get("/api/v1/admin/statements/{year}/{month}", 2024, 3)
+                                .param("accountType", "SAVINGS"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Verify results
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+                                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment;filename=statements-2024-3-savings.zip"))
+                                .andExpect(content().string("PK"));
+
+                ArgumentCaptor<StatementRequest> request = ArgumentCaptor.forClass(StatementRequest.class);
+                verify(statementExportService, times(1)).getStatementArchive(request.capture(), eq(AccountType.SAVINGS));
+                assertEquals(3, request.getValue().getMonth());
+        }
+
+        @Test
+        @DisplayName("Should return 403 when a non-admin exports every account's statements")
+        public void should_return_403_for_non_admin_export() throws Exception {
+                // Mock service response
+                when(statementExportService.getStatementArchive(any(), any()))
+                                .thenThrow(new ForbiddenException("Exporting statements requires the ADMIN role"));
+
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/admin/statements/{year}/{month}", 2024, 3))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.status").value(403))
+                                .andExpect(jsonPath("$.message").value("Exporting statements requires the ADMIN role"));
+        }
+}
@@ -2,9 +2,13 @@ package com.interview.assessment.jp.controller.v1;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionPageResponse;
 import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
 import com.interview.assessment.jp.enums.TransactionType;
 import com.interview.assessment.jp.exception.ControllerExceptionHandler;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
 import com.interview.assessment.jp.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,8 +16,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
@@ -22,12 +29,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,7 +52,8 @@ public class TransactionControllerTest {
         @InjectMocks
         private TransactionController transactionController;
 
-        private ObjectMapper objectMapper = new ObjectMapper();
+        @Spy
+        private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
         // Add global exception handler
         private ControllerExceptionHandler exceptionHandler = new ControllerExceptionHandler();
@@ -53,14 +64,13 @@ public class TransactionControllerTest {
 
                 // Create an ExceptionHandlerExceptionResolver to handle controller exceptions
                 ExceptionHandlerExceptionResolver exceptionResolver = new ExceptionHandlerExceptionResolver();
+                exceptionResolver.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
                 exceptionResolver.afterPropertiesSet();
 
                 mockMvc = MockMvcBuilders.standaloneSetup(transactionController)
                                 .setControllerAdvice(exceptionHandler) // Register global exception handler
                                 .setHandlerExceptionResolvers(exceptionResolver)
                                 .build();
-
-                objectMapper.findAndRegisterModules(); // For correct handling of LocalDateTime
         }
 
         @Test
@@ -111,6 +121,129 @@ public class TransactionControllerTest {
                 verify(transactionService, times(1)).getTransactionsByAccountId(accountId);
         }
 
+        @Test
+        @DisplayName("Should return transactions dated in a range")
+        public void should_return_transactions_between_dates() throws Exception {
+                // Prepare test data
+                Long accountId = 1L;
+                LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+                LocalDateTime to = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+                List<TransactionResponse> transactions = List.of(
+                                TransactionResponse.builder()
+                                                .id(7L)
+                                                .transactionType(TransactionType.DEBIT)
+                                                .amount(BigDecimal.valueOf(25))
+                                                .description("Groceries")
+                                                .transactionDate(from.plusDays(3))
+                                                .accountId(accountId)
+                                                .build());
+
+                // Mock service response
+                when(transactionService.getTransactionsByAccountIdBetween(accountId, from, to))
+                                .thenReturn(transactions);
+
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", accountId)
+                                .param("from", "2024-03-01T00:00:00")
+                                .param("to", "2024-04-01T00:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(1)))
+                                .andExpect(jsonPath("$[0].id", is(7)));
+
+                // Verify service method was called
+                verify(transactionService, times(1)).getTransactionsByAccountIdBetween(accountId, from, to);
+                verify(transactionService, never()).getTransactionsByAccountId(any());
+        }
+
+        @Test
+        @DisplayName("Should stream transactions as NDJSON when requested")
+        public void should_stream_transactions_as_ndjson() throws Exception {
+                // Prepare test data
+                Long accountId = 1L;
+                LocalDateTime date = LocalDateTime.of(2024, 3, 1, 9, 0);
+                Stream<TransactionResponse> transactions = Stream.of(
+                                TransactionResponse.builder().id(1L).transactionType(TransactionType.CREDIT)
+                                                .amount(BigDecimal.valueOf(100)).description("Salary")
+                                                .transactionDate(date).accountId(accountId).build(),
+                                TransactionResponse.builder().id(2L).transactionType(TransactionType.DEBIT)
+                                                .amount(BigDecimal.valueOf(30)).description("Groceries")
+                                                .transactionDate(date.plusDays(1)).accountId(accountId).build());
+
+                // Mock service response
+                when(transactionService.streamTransactionsByAccountId(accountId, null, null))
+                                .thenReturn(transactions);
+
+                // Execute test
+                MvcResult started = mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", accountId)
+                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                String body = mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString();
+
+                // Verify results
+                String[] lines = body.split("\n");
+                assertEquals(2, lines.length);
+                assertTrue(body.endsWith("\n"));
+                assertEquals(1L, objectMapper.readValue(lines[0], TransactionResponse.class).getId());
+                assertEquals("Groceries", objectMapper.readValue(lines[1], TransactionResponse.class).getDescription());
+                verify(transactionService, never()).getTransactionsByAccountId(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an NDJSON export of another user's account before streaming")
+        public void should_not_stream_missing_account() throws Exception {
+                // Mock service response
+                when(transactionService.streamTransactionsByAccountId(99L, null, null))
+                                .thenThrow(new ResourceNotFoundException("Account not found"));
+
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", 99L)
+                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(status().isNotFound())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(jsonPath("$.message", is("Account not found")));
+        }
+
+        @Test
+        @DisplayName("Should return a page of transactions with a next cursor")
+        public void should_return_transactions_page() throws Exception {
+                // Prepare test data
+                Long accountId = 1L;
+                TransactionPageResponse page = TransactionPageResponse.builder()
+                                .transactions(List.of(
+                                                TransactionResponse.builder()
+                                                                .id(7L)
+                                                                .transactionType(TransactionType.CREDIT)
+                                                                .amount(BigDecimal.valueOf(40))
+                                                                .description("Refund")
+                                                                .transactionDate(LocalDateTime.of(2024, 3, 2, 10, 0))
+                                                                .accountId(accountId)
+                                                                .build()))
+                                .nextCursor("next-cursor")
+                                .build();
+
+                // Mock service response
+                when(transactionService.getTransactionsPageByAccountId(accountId, "this-cursor", 1))
+                                .thenReturn(page);
+
+                // Execute test and verify results
+                mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", accountId)
+                                .param("limit", "1")
+                                .param("cursor", "this-cursor"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                                .andExpect(jsonPath("$.transactions[0].id", is(7)))
+                                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+
+                // Verify service method was called
+                verify(transactionService, times(1)).getTransactionsPageByAccountId(accountId, "this-cursor", 1);
+                verify(transactionService, never()).getTransactionsByAccountId(any());
+        }
+
         @Test
         @DisplayName("Should create a new transaction")
         public void should_create_new_transaction() throws Exception {
@@ -133,7 +266,7 @@ public class TransactionControllerTest {
                                 .build();
 
                 // Mock service response
-                when(transactionService.createTransaction(eq(accountId), any(TransactionRequest.class)))
+                when(transactionService.createTransaction(eq(accountId), any(TransactionRequest.class), isNull()))
                                 .thenReturn(response);
 
                 // Execute test and verify results
@@ -148,7 +281,184 @@ public class TransactionControllerTest {
                                 .andExpect(jsonPath("$.accountId", is(1)));
 
                 // Verify service method was called
-                verify(transactionService, times(1)).createTransaction(eq(accountId), any(TransactionRequest.class));
+                verify(transactionService, times(1)).createTransaction(eq(accountId), any(TransactionRequest.class),
+                                isNull());
+        }
+
+        @Test
+        @DisplayName("Should pass the Idempotency-Key header to the service")
+        public void should_pass_idempotency_key() throws Exception {
+                // Prepare test data
+                Long accountId = 1L;
+                TransactionRequest request = new TransactionRequest();
+                request.setTransactionType(TransactionType.CREDIT);
+                request.setAmount(BigDecimal.valueOf(1000));
+                request.setDescription("Salary Deposit");
+
+                TransactionResponse response = TransactionResponse.builder()
+                                .id(1L)
+                                .transactionType(TransactionType.CREDIT)
+                                .amount(BigDecimal.valueOf(1000))
+                                .description("Salary Deposit")
+                                .transactionDate(LocalDateTime.now())
+                                .accountId(accountId)
+                                .build();
+
+                // Mock service response
+                when(transactionService.createTransaction(eq(accountId), any(TransactionRequest.class), eq("retry-1")))
+                                .thenReturn(response);
+
+                // Execute test and verify results
+                for (int attempt = 0; attempt < 2; attempt++) {
+                        mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions", accountId)
+                                        .header("Idempotency-Key", "retry-1")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.id", is(1)));
+                }
+
+                verify(transactionService, times(2)).createTransaction(eq(accountId), any(TransactionRequest.class),
+                                eq("retry-1"));
+        }
+
+        @Test
+        @DisplayName("Should post a batch of transactions")
+        public void should_create_transaction_batch() throws Exception {
+                // Prepare test data
+                Long accountId = 1L;
+                LocalDateTime now = LocalDateTime.now();
+
+                TransactionRequest credit = new TransactionRequest();
+                credit.setTransactionType(TransactionType.CREDIT);
+                credit.setAmount(BigDecimal.valueOf(1000));
+                credit.setDescription("Salary Deposit");
+
+                TransactionRequest debit = new TransactionRequest();
+                debit.setTransactionType(TransactionType.DEBIT);
+                debit.setAmount(BigDecimal.valueOf(200));
+                debit.setDescription("Rent");
+
+                List<TransactionResponse> responses = List.of(
+                                TransactionResponse.builder().id(1L).transactionType(TransactionType.CREDIT)
+                                                .amount(BigDecimal.valueOf(1000)).description("Salary Deposit")
+                                                .transactionDate(now).accountId(accountId).build(),
+                                TransactionResponse.builder().id(2L).transactionType(TransactionType.DEBIT)
+                                                .amount(BigDecimal.valueOf(200)).description("Rent")
+                                                .transactionDate(now).accountId(accountId).build());
+
+                // Mock service response
+                when(transactionService.createTransactions(eq(accountId), anyList())).thenReturn(responses);
+
+                // Execute test and verify results
+                mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions:batch", accountId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(credit, debit))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(2)))
+                                .andExpect(jsonPath("$[0].id", is(1)))
+                                .andExpect(jsonPath("$[1].transactionType", is("DEBIT")));
+
+                verify(transactionService, times(1)).createTransactions(eq(accountId), anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject a batch with an invalid transaction, naming its position")
+        public void should_validate_every_transaction_in_batch() throws Exception {
+                // Prepare test data
+                TransactionRequest valid = new TransactionRequest();
+                valid.setTransactionType(TransactionType.CREDIT);
+                valid.setAmount(BigDecimal.valueOf(1000));
+                valid.setDescription("Salary Deposit");
+
+                TransactionRequest invalid = new TransactionRequest();
+                invalid.setTransactionType(TransactionType.DEBIT);
+                invalid.setAmount(BigDecimal.valueOf(-5));
+                invalid.setDescription("Rent");
+
+                TransactionRequest fractional = new TransactionRequest();
+                fractional.setTransactionType(TransactionType.CREDIT);
+                fractional.setAmount(new BigDecimal("10.005"));
+                fractional.setDescription("Interest");
+
+                // Execute test and verify results
+                mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions:batch", 1L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(valid, invalid, fractional))))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errors['[1].amount']", is("Transaction amount must be positive")))
+                                .andExpect(jsonPath("$.errors['[2].amount']",
+                                                is("Transaction amount must have at most 2 decimal places")));
+
+                verify(transactionService, never()).createTransactions(anyLong(), anyList());
+        }
+
+        @Test
+        @DisplayName("Should transfer between accounts, returning both linked legs")
+        public void should_create_transfer() throws Exception {
+                // Prepare test data
+                LocalDateTime now = LocalDateTime.now();
+                TransferRequest request = new TransferRequest();
+                request.setFromAccountId(1L);
+                request.setToAccountId(2L);
+                request.setAmount(BigDecimal.valueOf(250));
+                request.setDescription("Rent share");
+
+                TransferResponse response = TransferResponse.builder()
+                                .debit(TransactionResponse.builder().id(7L).transactionType(TransactionType.DEBIT)
+                                                .amount(BigDecimal.valueOf(250)).description("Rent share")
+                                                .transactionDate(now).accountId(1L).linkedTransactionId(8L).build())
+                                .credit(TransactionResponse.builder().id(8L).transactionType(TransactionType.CREDIT)
+                                                .amount(BigDecimal.valueOf(250)).description("Rent share")
+                                                .transactionDate(now).accountId(2L).linkedTransactionId(7L).build())
+                                .build();
+
+                // Mock service response
+                when(transactionService.createTransfer(any(TransferRequest.class))).thenReturn(response);
+
+                // Execute test and verify results
+                mockMvc.perform(post("/api/v1/transfers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.debit.id", is(7)))
+                                .andExpect(jsonPath("$.debit.linkedTransactionId", is(8)))
+                                .andExpect(jsonPath("$.credit.accountId", is(2)))
+                                .andExpect(jsonPath("$.credit.linkedTransactionId", is(7)));
+
+                verify(transactionService, times(1)).createTransfer(any(TransferRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should reject a transfer without a destination, with a negative amount or with fractional cents")
+        public void should_validate_transfer_request() throws Exception {
+                // Prepare test data
+                TransferRequest request = new TransferRequest();
+                request.setFromAccountId(1L);
+                request.setAmount(BigDecimal.valueOf(-1));
+                request.setDescription("Rent share");
+
+                TransferRequest fractional = new TransferRequest();
+                fractional.setFromAccountId(1L);
+                fractional.setToAccountId(2L);
+                fractional.setAmount(new BigDecimal("0.001"));
+                fractional.setDescription("Rent share");
+
+                // Execute test and verify results
+                mockMvc.perform(post("/api/v1/transfers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errors.toAccountId", is("Destination account cannot be null")))
+                                .andExpect(jsonPath("$.errors.amount", is("Transfer amount must be positive")));
+                mockMvc.perform(post("/api/v1/transfers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(fractional)))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.errors.amount",
+                                                is("Transfer amount must have at most 2 decimal places")));
+
+                verify(transactionService, never()).createTransfer(any());
         }
 
         @Test
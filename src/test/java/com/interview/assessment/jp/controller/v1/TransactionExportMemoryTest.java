@@ -0,0 +1,157 @@
+package com.interview.assessment.jp.controller.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.impl.IdempotencyCache;
+import com.interview.assessment.jp.service.impl.MockDataService;
+import com.interview.assessment.jp.service.impl.PostingMetrics;
+import com.interview.assessment.jp.service.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Peak heap held while exporting an account's history as one JSON array
+ * versus streamed NDJSON, for a small and a large account. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TransactionExportMemoryTest {
+
+    private static final int LARGE = Integer.getInteger("benchmark.transactions", 2_000_000);
+    private static final int SMALL = 10;
+    private static final int SAMPLE_EVERY = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Streamed export should hold the same heap for small and large accounts")
+    public void streamed_export_heap_is_flat() throws IOException {
+        MockDataService ledger = new MockDataService(new LedgerProperties());
+        ledger.init();
+        TransactionServiceImpl service = new TransactionServiceImpl(ledger, new IdempotencyCache(0, Duration.ZERO),
+                new PostingMetrics(new SimpleMeterRegistry()));
+        TransactionController controller = new TransactionController(service, objectMapper);
+        Long small = populate(ledger, SMALL);
+        Long large = populate(ledger, LARGE);
+
+        System.out.printf("%nHeap held during export, above the ledger itself%n");
+        System.out.printf("%14s %16s %16s %16s%n", "transactions", "JSON array MB", "NDJSON MB", "NDJSON bytes");
+        long streamedSmall = 0;
+        long streamedLarge = 0;
+        for (Long accountId : List.of(small, large)) {
+            int rows = accountId.equals(small) ? SMALL : LARGE;
+
+            // Whole list, then the whole body, as the JSON endpoint does
+            long before = usedHeap();
+            List<TransactionResponse> list = service.getTransactionsByAccountId(accountId);
+            byte[] body = objectMapper.writeValueAsBytes(list);
+            long arrayHeld = usedHeap() - before;
+            assertEquals(rows, list.size());
+            list = null;
+            body = null;
+
+            // Streamed, sampling the heap as rows go out
+            SamplingOutputStream out = new SamplingOutputStream(usedHeap());
+            controller.exportTransactionsByAccountId(accountId, null, null).getBody().writeTo(out);
+            out.sample();
+            assertEquals(rows, out.lines);
+
+            System.out.printf("%14d %16.1f %16.1f %16d%n",
+                    rows, arrayHeld / 1e6, out.peakHeld / 1e6, out.bytes);
+            if (rows == SMALL) {
+                streamedSmall = out.peakHeld;
+            } else {
+                streamedLarge = out.peakHeld;
+            }
+        }
+        // Flat within a few MB of GC noise
+        assertTrue(streamedLarge - streamedSmall < 16_000_000,
+                "Streamed export held " + streamedLarge + " bytes for " + LARGE + " rows");
+    }
+
+    private static Long populate(MockDataService ledger, int rows) {
+        Account account = ledger.createAccount(Account.builder()
+                .accountNumber("EXP-" + System.nanoTime())
+                .balance(new BigDecimal("0.00"))
+                .accountType(AccountType.CHECKING)
+                .user(ledger.getCurrentUser())
+                .build());
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            ledger.createTransaction(Transaction.builder()
+                    .transactionType(TransactionType.CREDIT)
+                    .amount(new BigDecimal("1.25"))
+                    .description("Export posting")
+                    .transactionDate(start.plusSeconds(i))
+                    .account(account)
+                    .build());
+        }
+        return account.getId();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Discards the body, counting lines and sampling live heap periodically
+     */
+    private static final class SamplingOutputStream extends OutputStream {
+
+        private final long baseline;
+        private long bytes;
+        private long lines;
+        private long peakHeld;
+
+        SamplingOutputStream(long baseline) {
+            this.baseline = baseline;
+        }
+
+        @Override
+        public void write(int b) {
+            count(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                count(b[i]);
+            }
+            bytes += len;
+        }
+
+        private void count(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                sample();
+            }
+        }
+
+        void sample() {
+            peakHeld = Math.max(peakHeld, usedHeap() - baseline);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.interview.assessment.jp.exception;
+
+import com.interview.assessment.jp.AssessmentApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = AssessmentApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ExceptionHandlerOrderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should answer API errors from the controller exception handler")
+    public void should_answer_api_errors_from_controller_handler() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transactions", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactionType\":\"CREDIT\",\"amount\":-1,\"description\":\"Negative\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.errors.amount").exists());
+        mockMvc.perform(get("/api/v1/accounts/{accountId}", 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+
+    @Test
+    @DisplayName("Should answer a missing static resource with an empty 404")
+    public void should_answer_missing_resource_with_empty_404() throws Exception {
+        mockMvc.perform(get("/no-such-file.txt"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,92 @@
+package com.interview.assessment.jp.ledger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CasBalanceEngineTest {
+
+    private CasBalanceEngine engine;
+
+    @BeforeEach
+    public void setup() {
+        engine = new CasBalanceEngine();
+        engine.open(1L, 10_000);
+    }
+
+    @Test
+    @DisplayName("Should credit and debit in minor units")
+    public void should_credit_and_debit() {
+        assertEquals(10_050, engine.credit(1L, 50));
+        assertEquals(50, engine.debit(1L, 10_000));
+        assertEquals(50, engine.balance(1L));
+    }
+
+    @Test
+    @DisplayName("Should reject debit exceeding balance without changing it")
+    public void should_reject_insufficient_debit() {
+        assertThrows(IllegalArgumentException.class, () -> engine.debit(1L, 10_001));
+        assertEquals(10_000, engine.balance(1L));
+    }
+
+    @Test
+    @DisplayName("Should settle a sequence only if no prefix of it overdraws")
+    public void should_settle_sequence() {
+        assertEquals(1_000, engine.settle(1L, -9_000, -9_000));
+        // A debit of 10.01 then a credit of 15.01: the net is positive but the debit overdraws
+        assertThrows(IllegalArgumentException.class, () -> engine.settle(1L, 500, -1_001));
+        assertEquals(1_000, engine.balance(1L));
+        assertEquals(1_500, engine.settle(1L, 500, -1_000));
+    }
+
+    @Test
+    @DisplayName("Should never overdraw under concurrent debits")
+    public void should_never_overdraw_under_concurrency() throws Exception {
+        // Prepare test data
+        int threads = 8;
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Execute test
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    try {
+                        engine.debit(1L, 1);
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException ex) {
+                        // Insufficient balance
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Verify results
+        assertEquals(10_000, accepted.get());
+        assertEquals(0, engine.balance(1L));
+    }
+
+    @Test
+    @DisplayName("Should convert between amounts and minor units")
+    public void should_convert_minor_units() {
+        assertEquals(123_456, MinorUnits.toMinor(new BigDecimal("1234.56")));
+        assertEquals(500, MinorUnits.toMinor(new BigDecimal("5")));
+        assertEquals(new BigDecimal("1234.56"), MinorUnits.fromMinor(123_456));
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.toMinor(new BigDecimal("0.001")));
+    }
+}
@@ -0,0 +1,131 @@
+package com.interview.assessment.jp.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupCommitterTest {
+
+    @Test
+    @DisplayName("Should release concurrent callers with fewer syncs than commits")
+    public void should_batch_concurrent_commits() throws Exception {
+        // Prepare test data
+        int threads = 16;
+        int commitsPerThread = 200;
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger durable = new AtomicInteger();
+        AtomicInteger syncs = new AtomicInteger();
+        GroupCommitter committer = new GroupCommitter(() -> {
+            syncs.incrementAndGet();
+            durable.set(written.get());
+        }, 64, Duration.ofMillis(1));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Execute test
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < commitsPerThread; i++) {
+                    int mine = written.incrementAndGet();
+                    committer.commit();
+                    // Verify results
+                    assertTrue(durable.get() >= mine, "Commit returned before its write was synced");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        committer.close();
+
+        // Verify results
+        assertTrue(syncs.get() < threads * commitsPerThread, "Expected commits to share syncs");
+    }
+
+    @Test
+    @DisplayName("Should not wait for a full batch longer than the maximum wait")
+    public void should_sync_partial_batch_after_max_wait() {
+        // Prepare test data
+        AtomicInteger syncs = new AtomicInteger();
+        GroupCommitter committer = new GroupCommitter(syncs::incrementAndGet, 1_000, Duration.ofMillis(5));
+
+        // Execute test
+        long started = System.nanoTime();
+        committer.commit();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        committer.close();
+
+        // Verify results
+        assertEquals(1, syncs.get());
+        assertTrue(elapsedMillis < 1_000, "Commit waited " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should fail callers whose batch could not be synced")
+    public void should_propagate_sync_failure() {
+        // Prepare test data
+        GroupCommitter committer = new GroupCommitter(() -> {
+            throw new IllegalStateException("Disk full");
+        }, 8, Duration.ZERO);
+
+        // Execute test
+        IllegalStateException ex = assertThrows(IllegalStateException.class, committer::commit);
+        committer.close();
+
+        // Verify results
+        assertEquals("Disk full", ex.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject every later commit without syncing again after a sync failed")
+    public void should_stay_failed_after_sync_failure() {
+        // Prepare test data
+        AtomicInteger syncs = new AtomicInteger();
+        GroupCommitter committer = new GroupCommitter(() -> {
+            if (syncs.incrementAndGet() == 1) {
+                throw new IllegalStateException("Disk full");
+            }
+        }, 8, Duration.ZERO);
+        committer.ensureHealthy();
+
+        // Execute test
+        assertThrows(IllegalStateException.class, committer::commit);
+        IllegalStateException later = assertThrows(IllegalStateException.class, committer::commit);
+        IllegalStateException check = assertThrows(IllegalStateException.class, committer::ensureHealthy);
+        committer.close();
+
+        // Verify results
+        assertEquals(1, syncs.get());
+        assertEquals("Disk full", later.getCause().getMessage());
+        assertEquals("Disk full", check.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject commits after close")
+    public void should_reject_commit_after_close() {
+        // Prepare test data
+        GroupCommitter committer = new GroupCommitter(() -> {
+        }, 8, Duration.ZERO);
+
+        // Execute test
+        committer.close();
+
+        // Verify results
+        assertThrows(IllegalStateException.class, committer::commit);
+    }
+}
@@ -0,0 +1,127 @@
+package com.interview.assessment.jp.ledger;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back users, accounts and transaction columns")
+    public void should_round_trip_snapshot() {
+        // Prepare test data
+        Path path = directory.resolve("ledger.snapshot");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        User user = User.builder().id(7L).username("john.doe").password("password")
+                .roles(List.of("USER", "ADMIN")).createdAt(now).build();
+        Account account = Account.builder().id(3L).accountNumber("SAV-1").accountType(AccountType.SAVINGS)
+                .user(user).createdAt(now).updatedAt(now).build();
+        Account empty = Account.builder().id(4L).accountNumber("CHK-1").accountType(AccountType.CHECKING)
+                .user(user).build();
+        TransactionSegment segment = new TransactionSegment();
+        for (int i = 1; i <= 5_000; i++) {
+            segment.append(i, (byte) (i % 2), i * 10L, 1_700_000_000_000L + i, i % 2 == 0 ? 0 : -1);
+        }
+        LedgerSnapshot snapshot = new LedgerSnapshot(2L, 8L, 5L, 5_001L, List.of(user), new String[]{"Salary"},
+                List.of(new LedgerSnapshot.AccountState(account, 12_345L, segment.snapshot()),
+                        new LedgerSnapshot.AccountState(empty, 0L, new TransactionSegment().snapshot())),
+                new long[]{10L, 11L, 20L, 21L});
+
+        // Execute test
+        Path file = snapshot.write(path);
+        LedgerSnapshot restored = LedgerSnapshot.readLatest(path).orElseThrow();
+
+        // Verify results
+        assertEquals(path.resolveSibling("ledger.snapshot.2"), file);
+        assertEquals(2L, restored.journalGeneration());
+        assertEquals(5_001L, restored.nextTransactionId());
+        assertEquals(List.of("USER", "ADMIN"), restored.users().get(0).getRoles());
+        assertNull(restored.users().get(0).getUpdatedAt());
+        assertArrayEquals(new String[]{"Salary"}, restored.descriptions());
+        assertArrayEquals(new long[]{10L, 11L, 20L, 21L}, restored.links());
+
+        LedgerSnapshot.AccountState state = restored.accounts().get(0);
+        assertEquals("SAV-1", state.account().getAccountNumber());
+        assertEquals(AccountType.SAVINGS, state.account().getAccountType());
+        assertEquals(7L, state.account().getUserId());
+        assertEquals(now, state.account().getCreatedAt());
+        assertEquals(12_345L, state.openingMinor());
+        TransactionSegment.Snapshot rows = state.transactions();
+        assertEquals(5_000, rows.size());
+        assertEquals(5_000L, rows.id(4_999));
+        assertEquals(0, rows.type(4_999));
+        assertEquals(50_000L, rows.amountMinor(4_999));
+        assertEquals(1_700_000_005_000L, rows.epochMillis(4_999));
+        assertEquals(-1, rows.description(0));
+        assertEquals(0, restored.accounts().get(1).transactions().size());
+    }
+
+    @Test
+    @DisplayName("Should pick the newest snapshot and delete older ones on request")
+    public void should_read_newest_and_delete_older() {
+        // Prepare test data
+        Path path = directory.resolve("ledger.snapshot");
+        snapshotOf(1L).write(path);
+        snapshotOf(3L).write(path);
+
+        // Execute test
+        LedgerSnapshot.deleteBefore(path, 3L);
+
+        // Verify results
+        assertEquals(3L, LedgerSnapshot.readLatest(path).orElseThrow().journalGeneration());
+        assertFalse(Files.exists(LedgerSnapshot.fileFor(path, 1L)));
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated snapshot")
+    public void should_reject_truncated_snapshot() throws IOException {
+        // Prepare test data
+        Path path = directory.resolve("ledger.snapshot");
+        Path file = snapshotOf(1L).write(path);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+
+        // Execute test and verify results
+        assertThrows(IllegalStateException.class, () -> LedgerSnapshot.read(file));
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot of another format version")
+    public void should_reject_other_version() throws IOException {
+        // Prepare test data
+        Path path = directory.resolve("ledger.snapshot");
+        Path file = snapshotOf(1L).write(path);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = 1;
+        Files.write(file, bytes);
+
+        // Execute test and verify results
+        assertThrows(IllegalStateException.class, () -> LedgerSnapshot.read(file));
+    }
+
+    @Test
+    @DisplayName("Should report no snapshot when none was written")
+    public void should_return_empty_without_snapshot() {
+        assertTrue(LedgerSnapshot.readLatest(directory.resolve("missing").resolve("ledger.snapshot")).isEmpty());
+    }
+
+    private static LedgerSnapshot snapshotOf(long generation) {
+        return new LedgerSnapshot(generation, 1L, 1L, 1L, List.of(), new String[0], List.of(), new long[0]);
+    }
+}
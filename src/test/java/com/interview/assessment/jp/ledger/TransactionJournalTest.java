@@ -0,0 +1,298 @@
+package com.interview.assessment.jp.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionJournalTest {
+
+    private static final int REGION_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay appended records in order after reopening")
+    public void should_replay_records_after_reopen() {
+        // Prepare test data
+        Path path = directory.resolve("ledger.journal");
+        try (TransactionJournal journal = open(path)) {
+            assertEquals(0, journal.replay(ignored()));
+            journal.append(1L, 10L, (byte) 0, 1_000L, 1_700_000_000_000L, "Salary");
+            journal.append(2L, 10L, (byte) 1, 250L, 1_700_000_001_000L, null);
+            journal.append(3L, 11L, (byte) 1, 99L, 1_700_000_002_000L, "Café ☕ ".repeat(20));
+        }
+
+        // Execute test
+        List<Object[]> records = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            long replayed = journal.replay((id, accountId, type, amount, epochMillis, description) ->
+                    records.add(new Object[]{id, accountId, type, amount, epochMillis, description}));
+
+            // Verify results
+            assertEquals(3, replayed);
+        }
+        assertArrayEquals(new Object[]{1L, 10L, (byte) 0, 1_000L, 1_700_000_000_000L, "Salary"}, records.get(0));
+        assertArrayEquals(new Object[]{2L, 10L, (byte) 1, 250L, 1_700_000_001_000L, null}, records.get(1));
+        assertEquals("Café ☕ ".repeat(20), records.get(2)[5]);
+    }
+
+    @Test
+    @DisplayName("Should continue appending in a new generation after replay and across regions")
+    public void should_append_across_regions() throws IOException {
+        // Prepare test data
+        Path path = directory.resolve("ledger.journal");
+        int perSession = 1_500;
+        String description = "x".repeat(100);
+
+        // Execute test
+        for (int session = 0; session < 2; session++) {
+            try (TransactionJournal journal = open(path)) {
+                journal.replay(ignored());
+                for (int i = 0; i < perSession; i++) {
+                    journal.append(session * perSession + i + 1, 1L, (byte) 0, i, i, description);
+                }
+            }
+        }
+
+        // Verify results
+        long[] expectedId = {1};
+        try (TransactionJournal journal = open(path)) {
+            long replayed = journal.replay((id, accountId, type, amount, epochMillis, text) ->
+                    assertEquals(expectedId[0]++, id));
+            assertEquals(2L * perSession, replayed);
+            assertEquals(3, journal.generation());
+        }
+        assertTrue(Files.size(TransactionJournal.fileFor(path, 2)) > 2L * REGION_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should discard a torn record at the tail and keep appending after recovery")
+    public void should_discard_torn_tail() throws IOException {
+        // Prepare test data
+        Path path = directory.resolve("ledger.journal");
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(ignored());
+            journal.append(1L, 1L, (byte) 0, 100L, 0L, "Intact");
+            journal.append(2L, 1L, (byte) 0, 200L, 0L, "Torn".repeat(30));
+        }
+        // Corrupt a byte inside the second record's description
+        try (FileChannel channel = FileChannel.open(TransactionJournal.fileFor(path, 1), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), TransactionJournal.SLOT_SIZE + 100);
+        }
+
+        // Execute test
+        try (TransactionJournal journal = open(path)) {
+            assertEquals(1, journal.replay(ignored()));
+            journal.append(3L, 1L, (byte) 0, 300L, 0L, "After recovery");
+        }
+
+        // Verify results
+        List<Long> ids = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            journal.replay((id, accountId, type, amount, epochMillis, description) -> ids.add(id));
+        }
+        assertEquals(List.of(1L, 3L), ids);
+    }
+
+    @Test
+    @DisplayName("Should never replay a record left behind a record whose header was lost")
+    public void should_not_resurrect_record_behind_lost_header() throws IOException {
+        // Prepare test data: three one-slot records
+        Path path = directory.resolve("ledger.journal");
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(ignored());
+            journal.append(1L, 1L, (byte) 0, 100L, 0L, "One");
+            journal.append(2L, 1L, (byte) 0, 200L, 0L, "Two");
+            journal.append(3L, 1L, (byte) 0, 300L, 0L, "Three");
+        }
+        // Lose the second record's header, as if its page never reached the disk
+        try (FileChannel channel = FileChannel.open(TransactionJournal.fileFor(path, 1), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[4]), TransactionJournal.SLOT_SIZE);
+        }
+
+        // Execute test: a record of the lost one's size must not end right before the third
+        try (TransactionJournal journal = open(path)) {
+            assertEquals(1, journal.replay(ignored()));
+            journal.append(4L, 1L, (byte) 0, 400L, 0L, "Four");
+        }
+
+        // Verify results
+        List<Long> ids = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            journal.replay((id, accountId, type, amount, epochMillis, description) -> ids.add(id));
+        }
+        assertEquals(List.of(1L, 4L), ids);
+    }
+
+    @Test
+    @DisplayName("Should replay a batch whole and discard a batch cut short")
+    public void should_replay_batches_all_or_nothing() throws IOException {
+        // Prepare test data: one record, then two batches of one-slot records
+        Path path = directory.resolve("ledger.journal");
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(ignored());
+            journal.append(1L, 1L, (byte) 0, 100L, 0L, "Single");
+            journal.append(List.of(entry(2L), entry(3L), entry(4L)));
+            journal.append(List.of(entry(5L), entry(6L), entry(7L)));
+        }
+        // Tear the last record of the second batch
+        try (FileChannel channel = FileChannel.open(TransactionJournal.fileFor(path, 1), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 6L * TransactionJournal.SLOT_SIZE + 44);
+        }
+
+        // Execute test
+        List<Long> recovered = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            assertEquals(4, journal.replay((id, accountId, type, amount, epochMillis, description) ->
+                    recovered.add(id)));
+            journal.append(8L, 1L, (byte) 0, 800L, 0L, "After recovery");
+        }
+
+        // Verify results
+        List<Long> ids = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            journal.replay((id, accountId, type, amount, epochMillis, description) -> ids.add(id));
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L), recovered);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 8L), ids);
+    }
+
+    @Test
+    @DisplayName("Should report a linked pair after both of its records")
+    public void should_replay_linked_pair() {
+        // Prepare test data
+        Path path = directory.resolve("ledger.journal");
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(ignored());
+            journal.append(List.of(entry(1L), entry(2L)));
+            journal.appendLinked(entry(3L), new TransactionJournal.Entry(4L, 2L, (byte) 1, 300L, 0L, "Batch"));
+            journal.append(5L, 1L, (byte) 0, 500L, 0L, "Single");
+        }
+
+        // Execute test
+        List<String> events = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(new TransactionJournal.RecordHandler() {
+                @Override
+                public void onRecord(long id, long accountId, byte type, long amount, long epochMillis,
+                        String description) {
+                    events.add("record " + id + "@" + accountId);
+                }
+
+                @Override
+                public void onLinked(long firstId, long secondId) {
+                    events.add("linked " + firstId + "-" + secondId);
+                }
+            });
+        }
+
+        // Verify results
+        assertEquals(List.of("record 1@1", "record 2@1", "record 3@1", "record 4@2", "linked 3-4", "record 5@1"),
+                events);
+    }
+
+    @Test
+    @DisplayName("Should report an account record before the postings that follow it")
+    public void should_replay_account_record() {
+        // Prepare test data
+        Path path = directory.resolve("ledger.journal");
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(ignored());
+            journal.appendAccount(7L, 2L, (byte) 1, 10_000L, 1_700_000_000_000L, "CHK-7");
+            journal.append(1L, 7L, (byte) 1, 2_500L, 1_700_000_001_000L, "Rent");
+        }
+
+        // Execute test
+        List<String> events = new ArrayList<>();
+        long replayed;
+        try (TransactionJournal journal = open(path)) {
+            replayed = journal.replay(new TransactionJournal.RecordHandler() {
+                @Override
+                public void onRecord(long id, long accountId, byte type, long amount, long epochMillis,
+                        String description) {
+                    events.add("record " + id + "@" + accountId);
+                }
+
+                @Override
+                public void onAccount(long accountId, long userId, byte accountType, long openingMinor,
+                        long epochMillis, String accountNumber) {
+                    events.add("account " + accountId + " " + userId + " " + accountType + " " + openingMinor + " "
+                            + epochMillis + " " + accountNumber);
+                }
+            });
+        }
+
+        // Verify results
+        assertEquals(1, replayed);
+        assertEquals(List.of("account 7 2 1 10000 1700000000000 CHK-7", "record 1@7"), events);
+    }
+
+    @Test
+    @DisplayName("Should replay only the generations from the requested one after rolling")
+    public void should_roll_and_truncate_generations() {
+        // Prepare test data
+        Path path = directory.resolve("ledger.journal");
+        long rolled;
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(ignored());
+            journal.append(1L, 1L, (byte) 0, 100L, 0L, "Before roll");
+
+            // Execute test
+            rolled = journal.roll();
+            journal.append(2L, 1L, (byte) 0, 200L, 0L, "After roll");
+        }
+
+        // Verify results
+        assertEquals(2, rolled);
+        List<Long> all = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            journal.replay((id, accountId, type, amount, epochMillis, description) -> all.add(id));
+            journal.deleteBefore(rolled);
+        }
+        assertEquals(List.of(1L, 2L), all);
+
+        List<Long> tail = new ArrayList<>();
+        try (TransactionJournal journal = open(path)) {
+            journal.replay(rolled, (id, accountId, type, amount, epochMillis, description) -> tail.add(id));
+            // Every replay has started a generation of its own
+            assertEquals(rolled + 2, journal.generation());
+        }
+        assertEquals(List.of(2L), tail);
+        assertFalse(Files.exists(TransactionJournal.fileFor(path, 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject appends before replay")
+    public void should_require_replay_before_append() {
+        try (TransactionJournal journal = open(directory.resolve("ledger.journal"))) {
+            assertThrows(IllegalStateException.class,
+                    () -> journal.append(1L, 1L, (byte) 0, 1L, 0L, "Too early"));
+        }
+    }
+
+    private static TransactionJournal open(Path path) {
+        return new TransactionJournal(path, TransactionJournal.FsyncPolicy.ALWAYS, Duration.ZERO, REGION_SIZE);
+    }
+
+    private static TransactionJournal.Entry entry(long id) {
+        return new TransactionJournal.Entry(id, 1L, (byte) 0, id * 100, 0L, "Batch");
+    }
+
+    private static TransactionJournal.RecordHandler ignored() {
+        return (id, accountId, type, amount, epochMillis, description) -> {
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.assessment.jp.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Append and replay rates of the memory-mapped journal. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TransactionJournalThroughputTest {
+
+    private static final int RECORDS = Integer.getInteger("benchmark.records", 5_000_000);
+    private static final String[] DESCRIPTIONS = {"Salary payment", "Shopping expense", "Refund", "Rent", "ATM withdrawal"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Journal should replay millions of records per second")
+    public void journal_append_and_replay_rates() {
+        Path path = directory.resolve("ledger.journal");
+
+        long started = System.nanoTime();
+        try (TransactionJournal journal = new TransactionJournal(path, TransactionJournal.FsyncPolicy.INTERVAL,
+                Duration.ofMillis(100))) {
+            journal.replay((id, accountId, type, amount, epochMillis, description) -> {
+            });
+            for (int i = 0; i < RECORDS; i++) {
+                journal.append(i + 1, i % 1_000, (byte) (i & 1), i, 1_700_000_000_000L + i,
+                        DESCRIPTIONS[i % DESCRIPTIONS.length]);
+            }
+        }
+        double appendRate = RECORDS / ((System.nanoTime() - started) / 1e9);
+
+        long[] checksum = {0};
+        started = System.nanoTime();
+        long replayed;
+        try (TransactionJournal journal = new TransactionJournal(path, TransactionJournal.FsyncPolicy.INTERVAL,
+                Duration.ofMillis(100))) {
+            replayed = journal.replay((id, accountId, type, amount, epochMillis, description) ->
+                    checksum[0] += amount);
+        }
+        double replayRate = RECORDS / ((System.nanoTime() - started) / 1e9);
+
+        System.out.printf("%nMapped journal (%d records)%n", RECORDS);
+        System.out.printf("  append (INTERVAL fsync) : %,12.0f records/s%n", appendRate);
+        System.out.printf("  replay                  : %,12.0f records/s%n", replayRate);
+
+        assertEquals(RECORDS, replayed);
+        assertEquals((long) RECORDS * (RECORDS - 1) / 2, checksum[0]);
+    }
+}
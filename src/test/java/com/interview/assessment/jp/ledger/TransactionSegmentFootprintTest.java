@@ -0,0 +1,91 @@
+package com.interview.assessment.jp.ledger;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap retained per transaction by the previous object-per-row storage versus
+ * the columnar segment. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TransactionSegmentFootprintTest {
+
+    private static final int TRANSACTIONS = Integer.getInteger("benchmark.transactions", 1_000_000);
+    private static final String[] DESCRIPTIONS = {"Salary payment", "Shopping expense", "Refund", "Rent", "ATM withdrawal"};
+
+    @Test
+    @DisplayName("Columnar segment should retain fewer bytes per transaction than Transaction objects")
+    public void columnar_segment_should_be_smaller() {
+        Account account = Account.builder().id(1L).build();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        // Object per row: account list plus the ID index
+        long before = usedHeap();
+        List<Transaction> list = new ArrayList<>();
+        ConcurrentHashMap<Long, Transaction> byId = new ConcurrentHashMap<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            LocalDateTime date = start.plusSeconds(i);
+            Transaction transaction = Transaction.builder()
+                    .id((long) i + 1)
+                    .transactionType(i % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT)
+                    .amount(BigDecimal.valueOf(1000 + i, 2))
+                    // Request bodies deserialize a fresh String per posting
+                    .description(new String(DESCRIPTIONS[i % DESCRIPTIONS.length]))
+                    .transactionDate(date)
+                    .account(account)
+                    .createdAt(start.plusSeconds(i))
+                    .updatedAt(start.plusSeconds(i))
+                    .build();
+            list.add(transaction);
+            byId.put(transaction.getId(), transaction);
+        }
+        double objectBytes = (usedHeap() - before) / (double) TRANSACTIONS;
+        assertEquals(TRANSACTIONS, list.size());
+        assertEquals(TRANSACTIONS, byId.size());
+        list = null;
+        byId = null;
+
+        // Columnar segment plus directory and dictionary
+        before = usedHeap();
+        TransactionSegment segment = new TransactionSegment();
+        TransactionDirectory directory = new TransactionDirectory();
+        DescriptionDictionary dictionary = new DescriptionDictionary();
+        long startMillis = LedgerTime.toEpochMillis(start);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            segment.append(i + 1, (byte) (i % 2), 1000 + i, startMillis + i * 1000L,
+                    dictionary.encode(new String(DESCRIPTIONS[i % DESCRIPTIONS.length])));
+            directory.put(i + 1, 1L);
+        }
+        double columnarBytes = (usedHeap() - before) / (double) TRANSACTIONS;
+        assertEquals(TRANSACTIONS, segment.size());
+        assertEquals(1L, directory.accountOf(TRANSACTIONS));
+
+        System.out.printf("%nHeap per transaction (%d transactions)%n", TRANSACTIONS);
+        System.out.printf("  List<Transaction> + id map : %8.1f bytes%n", objectBytes);
+        System.out.printf("  Columnar segment           : %8.1f bytes%n", columnarBytes);
+        System.out.printf("  Reduction                  : %8.1fx%n", objectBytes / columnarBytes);
+
+        assertTrue(columnarBytes < objectBytes);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,219 @@
+package com.interview.assessment.jp.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionSegmentTest {
+
+    @Test
+    @DisplayName("Should append rows past the initial capacity and read them back")
+    public void should_append_and_read_rows() {
+        // Prepare test data
+        TransactionSegment segment = new TransactionSegment();
+
+        // Execute test
+        for (int i = 1; i <= 100; i++) {
+            segment.append(i * 10L, (byte) (i % 2), i * 100L, 1_000L + i, i % 3);
+        }
+        TransactionSegment.Snapshot snapshot = segment.snapshot();
+
+        // Verify results
+        assertEquals(100, snapshot.size());
+        assertEquals(10L, snapshot.id(0));
+        assertEquals(1, snapshot.type(0));
+        assertEquals(10_000L, snapshot.amountMinor(99));
+        assertEquals(1_100L, snapshot.epochMillis(99));
+        assertEquals(1, snapshot.description(99));
+        assertEquals(41, snapshot.indexOf(420L));
+        assertEquals(-1, snapshot.indexOf(425L));
+    }
+
+    @Test
+    @DisplayName("Snapshot should not see rows appended after it was taken")
+    public void snapshot_should_be_stable() {
+        // Prepare test data
+        TransactionSegment segment = new TransactionSegment();
+        segment.append(1L, (byte) 0, 100L, 0L, 0);
+        TransactionSegment.Snapshot snapshot = segment.snapshot();
+
+        // Execute test
+        segment.append(2L, (byte) 0, 200L, 0L, 0);
+
+        // Verify results
+        assertEquals(1, snapshot.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.id(1));
+        assertEquals(2, segment.size());
+    }
+
+    @Test
+    @DisplayName("Should index backdated rows by date without disturbing older snapshots")
+    public void should_index_rows_by_date() {
+        // Prepare test data
+        TransactionSegment segment = new TransactionSegment();
+        segment.append(1L, (byte) 0, 100L, 1_000L, 0);
+        segment.append(2L, (byte) 0, 200L, 3_000L, 0);
+        TransactionSegment.Snapshot before = segment.snapshot();
+
+        // Execute test
+        segment.append(3L, (byte) 0, 300L, 2_000L, 0);
+        segment.append(4L, (byte) 0, 400L, 3_000L, 0);
+        segment.append(5L, (byte) 0, 500L, 500L, 0);
+        TransactionSegment.Snapshot after = segment.snapshot();
+
+        // Verify results
+        long[] idsByDate = new long[after.size()];
+        for (int position = 0; position < after.size(); position++) {
+            idsByDate[position] = after.id(after.rowAt(position));
+        }
+        assertArrayEquals(new long[]{5L, 1L, 3L, 2L, 4L}, idsByDate);
+        assertEquals(2, after.positionOf(2_000L));
+        assertEquals(3, after.positionOf(2_001L));
+        assertEquals(5, after.positionOf(9_999L));
+        assertEquals(0, after.positionOf(0L));
+
+        assertEquals(600L, after.netMinorBefore((byte) 0, 2));
+        assertEquals(1_500L, after.netMinorBefore((byte) 0, after.size()));
+        assertEquals(-600L, after.netMinorBefore((byte) 1, 2));
+
+        assertEquals(2, before.size());
+        assertEquals(2L, before.id(before.rowAt(1)));
+        assertEquals(1, before.positionOf(2_000L));
+    }
+
+    @Test
+    @DisplayName("Should keep the balance before a position right across checkpoints and backdated rows")
+    public void should_sum_balance_before_position_from_checkpoints() {
+        // Prepare test data
+        TransactionSegment segment = new TransactionSegment();
+        int rows = 3 * TransactionSegment.CHECKPOINT_INTERVAL + 10;
+        for (int i = 1; i <= rows; i++) {
+            segment.append(i, (byte) (i % 3 == 0 ? 1 : 0), i * 10L, i * 1_000L, 0);
+        }
+        TransactionSegment.Snapshot first = segment.snapshot();
+        int[] positions = {0, 1, 255, 256, 257, 600, rows};
+        long[] expected = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            expected[i] = netBefore(first, positions[i]);
+        }
+
+        // Execute test: read once to build the checkpoints, then grow them and start them over
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(expected[i], first.netMinorBefore((byte) 0, positions[i]));
+        }
+        for (int i = rows + 1; i <= 2 * rows; i++) {
+            segment.append(i, (byte) 0, 5L, i * 1_000L, 0);
+        }
+        TransactionSegment.Snapshot grown = segment.snapshot();
+        segment.append(2L * rows + 1, (byte) 1, 7L, 1_500L, 0);
+        TransactionSegment.Snapshot backdated = segment.snapshot();
+
+        // Verify results
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(expected[i], first.netMinorBefore((byte) 0, positions[i]));
+        }
+        for (int position = 0; position <= grown.size(); position += 97) {
+            assertEquals(netBefore(grown, position), grown.netMinorBefore((byte) 0, position));
+        }
+        for (int position = 0; position <= backdated.size(); position += 97) {
+            assertEquals(netBefore(backdated, position), backdated.netMinorBefore((byte) 0, position));
+        }
+        assertEquals(netBefore(backdated, backdated.size()),
+                backdated.netMinorBefore((byte) 0, backdated.size()));
+    }
+
+    private static long netBefore(TransactionSegment.Snapshot snapshot, int position) {
+        long net = 0;
+        for (int i = 0; i < position; i++) {
+            int row = snapshot.rowAt(i);
+            net += snapshot.type(row) == 0 ? snapshot.amountMinor(row) : -snapshot.amountMinor(row);
+        }
+        return net;
+    }
+
+    @Test
+    @DisplayName("Should find the date position after a keyset key")
+    public void should_find_position_after_key() {
+        // Prepare test data
+        TransactionSegment segment = new TransactionSegment();
+        segment.append(1L, (byte) 0, 100L, 1_000L, 0);
+        segment.append(2L, (byte) 0, 100L, 2_000L, 0);
+        segment.append(3L, (byte) 0, 100L, 2_000L, 0);
+        segment.append(4L, (byte) 0, 100L, 1_500L, 0);
+
+        // Execute test
+        TransactionSegment.Snapshot snapshot = segment.snapshot();
+
+        // Verify results
+        assertEquals(0, snapshot.positionAfter(500L, 99L));
+        assertEquals(1, snapshot.positionAfter(1_000L, 1L));
+        assertEquals(2, snapshot.positionAfter(1_500L, 4L));
+        assertEquals(2, snapshot.positionAfter(2_000L, 0L));
+        assertEquals(3, snapshot.positionAfter(2_000L, 2L));
+        assertEquals(4, snapshot.positionAfter(2_000L, 3L));
+    }
+
+    @Test
+    @DisplayName("Restored rows should be indexed by date")
+    public void restored_rows_should_be_indexed_by_date() {
+        // Prepare test data
+        long[] timestamps = {30L, 10L, 20L, 10L};
+
+        // Execute test
+        TransactionSegment.Snapshot snapshot = TransactionSegment.snapshotOf(new long[]{1L, 2L, 3L, 4L},
+                new byte[4], new long[4], timestamps, new int[4]);
+        TransactionSegment segment = TransactionSegment.restore(snapshot);
+        segment.append(5L, (byte) 0, 0L, 15L, 0);
+
+        // Verify results
+        TransactionSegment.Snapshot restored = segment.snapshot();
+        long[] idsByDate = new long[restored.size()];
+        for (int position = 0; position < restored.size(); position++) {
+            idsByDate[position] = restored.id(restored.rowAt(position));
+        }
+        assertArrayEquals(new long[]{2L, 4L, 5L, 3L, 1L}, idsByDate);
+    }
+
+    @Test
+    @DisplayName("Dictionary should store each description once")
+    public void dictionary_should_deduplicate_descriptions() {
+        DescriptionDictionary dictionary = new DescriptionDictionary();
+
+        int salary = dictionary.encode("Salary");
+        int rent = dictionary.encode("Rent");
+
+        assertEquals(salary, dictionary.encode(new String("Salary")));
+        assertNotEquals(salary, rent);
+        assertEquals("Rent", dictionary.decode(rent));
+        assertEquals(DescriptionDictionary.NULL_CODE, dictionary.encode(null));
+        assertNull(dictionary.decode(DescriptionDictionary.NULL_CODE));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Directory should map transaction IDs across chunks")
+    public void directory_should_map_ids_to_accounts() {
+        TransactionDirectory directory = new TransactionDirectory();
+
+        directory.put(1L, 7L);
+        directory.put(200_000L, 9L);
+
+        assertEquals(7L, directory.accountOf(1L));
+        assertEquals(9L, directory.accountOf(200_000L));
+        assertEquals(0L, directory.accountOf(2L));
+        assertEquals(0L, directory.accountOf(-1L));
+    }
+
+    @Test
+    @DisplayName("Should round-trip dates at millisecond precision")
+    public void should_round_trip_dates() {
+        LocalDateTime date = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_000_000);
+
+        assertEquals(date, LedgerTime.toLocalDateTime(LedgerTime.toEpochMillis(date)));
+        assertEquals(LedgerTime.toEpochMillis(date), LedgerTime.toEpochMillisCeiling(date));
+        assertEquals(LedgerTime.toEpochMillis(date) + 1, LedgerTime.toEpochMillisCeiling(date.plusNanos(1)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.interview.assessment.jp.repository;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fetch plans of the account and user lookups, against the H2 schema and
+ * seed data: user 1 owns accounts 1 and 2, user 2 owns accounts 3 and 4.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class AccountRepositoryTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list a user's accounts in one statement without loading the user")
+    public void should_list_accounts_without_user() {
+        // Execute test
+        List<Account> accounts = accountRepository.findByUser_Id(1L);
+
+        // Verify results
+        assertEquals(List.of(1L, 2L), accounts.stream().map(Account::getId).sorted().toList());
+        assertEquals(1L, accounts.get(0).getUserId());
+        assertFalse(Hibernate.isInitialized(accounts.get(0).getUser()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should check account ownership in one statement")
+    public void should_check_ownership_in_one_statement() {
+        // Execute test and verify results
+        assertTrue(accountRepository.existsByIdAndUser_Id(1L, 1L));
+        assertFalse(accountRepository.existsByIdAndUser_Id(3L, 1L));
+        assertFalse(accountRepository.existsByIdAndUser_Id(99L, 1L));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should load a user with its roles in one statement")
+    public void should_find_user_with_roles() {
+        // Execute test
+        User user = userRepository.findByUsername("user1").orElseThrow();
+
+        // Verify results
+        assertTrue(Hibernate.isInitialized(user.getRoles()));
+        assertFalse(user.getRoles().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
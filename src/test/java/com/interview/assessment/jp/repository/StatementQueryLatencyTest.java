@@ -0,0 +1,186 @@
+package com.interview.assessment.jp.repository;
+
+import com.interview.assessment.jp.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement month query on a file-backed H2 table of 10M transactions: the
+ * former {@code YEAR()}/{@code MONTH()} filter loading entities versus the
+ * half-open date range returning {@link StatementLine} projections, with the
+ * query plan of each. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = "logging.level.com.interview.assessment=INFO")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StatementQueryLatencyTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int ACCOUNTS = 200;
+    private static final int MONTHS = 24;
+    private static final int CHUNK = 500_000;
+    private static final long FIRST_ACCOUNT_ID = 1_000;
+    private static final long FIRST_TRANSACTION_ID = 1_000_000;
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2023, 1);
+    private static final int QUERIES = 40;
+
+    // The statement query before it was made sargable
+    private static final String FUNCTION_JPQL = "SELECT t FROM Transaction t WHERE t.account.id = :accountId "
+            + "AND YEAR(t.transactionDate) = :year AND MONTH(t.transactionDate) = :month "
+            + "ORDER BY t.transactionDate DESC";
+    private static final String FUNCTION_SQL = "SELECT * FROM transactions WHERE account_id = %d "
+            + "AND YEAR(transaction_date) = %d AND MONTH(transaction_date) = %d ORDER BY transaction_date DESC";
+    private static final String RANGE_SQL = "SELECT id, transaction_type, amount, description, transaction_date "
+            + "FROM transactions WHERE account_id = %d AND transaction_date >= TIMESTAMP '%s 00:00:00' "
+            + "AND transaction_date < TIMESTAMP '%s 00:00:00' ORDER BY transaction_date, id";
+
+    private static Path directory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("statement-query");
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + directory.resolve("bankdb") + ";CACHE_SIZE=524288");
+    }
+
+    @AfterAll
+    static void cleanup() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    @DisplayName("Month range query over the composite index should beat YEAR()/MONTH() on 10M rows")
+    public void month_range_query_beats_function_filter() {
+        long started = System.nanoTime();
+        seed();
+        System.out.printf("%nSeeded %d transactions over %d accounts and %d months in %d s%n",
+                ROWS, ACCOUNTS, MONTHS, (System.nanoTime() - started) / 1_000_000_000);
+
+        YearMonth sample = FIRST_MONTH.plusMonths(MONTHS / 2);
+        System.out.printf("%nPlan, YEAR()/MONTH() filter:%n%s%n", explain(String.format(FUNCTION_SQL,
+                FIRST_ACCOUNT_ID, sample.getYear(), sample.getMonthValue())));
+        System.out.printf("%nPlan, half-open range:%n%s%n", explain(String.format(RANGE_SQL,
+                FIRST_ACCOUNT_ID, sample.atDay(1), sample.plusMonths(1).atDay(1))));
+
+        // Both forms must return the same month
+        int functionRows = functionQuery(FIRST_ACCOUNT_ID, sample).size();
+        int rangeRows = rangeQuery(FIRST_ACCOUNT_ID, sample).size();
+        assertEquals(functionRows, rangeRows);
+        assertTrue(rangeRows > 0);
+
+        System.out.printf("%n%-34s %12s %12s%n", "query", "ms/query", "rows/query");
+        double function = report("YEAR()/MONTH(), entities",
+                month -> functionQuery(month.accountId(), month.month()).size());
+        double range = report("half-open range, projection",
+                month -> rangeQuery(month.accountId(), month.month()).size());
+        System.out.printf("Speed-up: %.1fx%n", function / range);
+    }
+
+    private List<StatementLine> rangeQuery(long accountId, YearMonth month) {
+        return transactionRepository.findStatementLines(accountId, month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    private List<Transaction> functionQuery(long accountId, YearMonth month) {
+        List<Transaction> transactions = entityManager.createQuery(FUNCTION_JPQL, Transaction.class)
+                .setParameter("accountId", accountId)
+                .setParameter("year", month.getYear())
+                .setParameter("month", month.getMonthValue())
+                .getResultList();
+        entityManager.clear();
+        return transactions;
+    }
+
+    /**
+     * Run the query for the same pseudo-random accounts and months, after one
+     * warm-up pass, and return the mean latency in milliseconds
+     */
+    private double report(String label, ToIntFunction<AccountMonth> query) {
+        for (int i = 0; i < QUERIES / 4; i++) {
+            query.applyAsInt(accountMonth(new Random(i)));
+        }
+        Random random = new Random(42);
+        long rows = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            rows += query.applyAsInt(accountMonth(random));
+        }
+        double millis = (System.nanoTime() - started) / 1e6 / QUERIES;
+        System.out.printf("%-34s %12.2f %12d%n", label, millis, rows / QUERIES);
+        return millis;
+    }
+
+    private static AccountMonth accountMonth(Random random) {
+        return new AccountMonth(FIRST_ACCOUNT_ID + random.nextInt(ACCOUNTS),
+                FIRST_MONTH.plusMonths(random.nextInt(MONTHS)));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    /**
+     * Fill the tables with set-based inserts, each chunk committed on its own.
+     * The date indexes are built once after loading rather than row by row.
+     */
+    private void seed() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.execute("DROP INDEX idx_transactions_date");
+        jdbcTemplate.execute("DROP INDEX idx_transactions_account_date_id");
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, balance, account_type, user_id) "
+                + "SELECT X, 'BEN-' || X, 0, 'CHECKING', 1 FROM SYSTEM_RANGE(?, ?)",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+        long seconds = FIRST_MONTH.atDay(1).atStartOfDay().until(
+                FIRST_MONTH.plusMonths(MONTHS).atDay(1).atStartOfDay(), java.time.temporal.ChronoUnit.SECONDS);
+        for (long from = 0; from < ROWS; from += CHUNK) {
+            long to = Math.min(ROWS, from + CHUNK) - 1;
+            // Dates are scattered over the whole period, so an account's rows are not stored in date order
+            jdbcTemplate.update("INSERT INTO transactions "
+                    + "(id, transaction_type, amount, description, transaction_date, account_id) "
+                    + "SELECT ? + X, CASEWHEN(MOD(X, 3) = 0, 'DEBIT', 'CREDIT'), MOD(X, 5000) / 100.0 + 1, "
+                    + "'Benchmark posting', DATEADD('SECOND', MOD(X * 7919, ?), TIMESTAMP '"
+                    + FIRST_MONTH.atDay(1) + " 00:00:00'), ? + MOD(X, ?) FROM SYSTEM_RANGE(?, ?)",
+                    FIRST_TRANSACTION_ID, seconds, FIRST_ACCOUNT_ID, ACCOUNTS, from, to);
+        }
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_date ON transactions(transaction_date)");
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_account_date_id "
+                + "ON transactions(account_id, transaction_date, id)");
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private record AccountMonth(long accountId, YearMonth month) {
+    }
+}
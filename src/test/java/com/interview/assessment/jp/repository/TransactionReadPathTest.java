@@ -0,0 +1,125 @@
+package com.interview.assessment.jp.repository;
+
+import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap allocated and latency per call when reading one account's
+ * transactions as managed entities mapped to DTOs, in read-write and read-only
+ * transactions, versus selecting the DTOs directly. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = "logging.level.com.interview.assessment=INFO")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransactionReadPathTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000);
+    private static final int WARMUP = 50;
+    private static final int CALLS = 200;
+    private static final long ACCOUNT_ID = 2L;
+    private static final long FIRST_TRANSACTION_ID = 1_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int rows;
+
+    @Test
+    @DisplayName("Projection reads should allocate less than entity reads")
+    public void projection_reads_allocate_less_than_entity_reads() {
+        jdbcTemplate.update("INSERT INTO transactions "
+                + "(id, transaction_type, amount, description, transaction_date, account_id) "
+                + "SELECT ? + X, CASEWHEN(MOD(X, 3) = 0, 'DEBIT', 'CREDIT'), MOD(X, 5000) / 100.0 + 1, "
+                + "'Benchmark posting', DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), ? "
+                + "FROM SYSTEM_RANGE(1, ?)", FIRST_TRANSACTION_ID, ACCOUNT_ID, ROWS);
+        rows = transactionRepository.findResponsesByAccountId(ACCOUNT_ID).size();
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        System.out.printf("%nReading %d transactions of one account (%d calls)%n", rows, CALLS);
+        System.out.printf("%-30s %12s %12s %16s%n", "path", "ms/call", "KB/call", "managed entities");
+        double entity = report("entities, read-write", readWrite, this::entityRead);
+        report("entities, read-only", readOnly, this::entityRead);
+        double projection = report("DTO projection, read-only", readOnly,
+                () -> transactionRepository.findResponsesByAccountId(ACCOUNT_ID));
+        jdbcTemplate.update("DELETE FROM transactions WHERE id > ?", FIRST_TRANSACTION_ID);
+        assertTrue(projection < entity, "Projection allocated " + projection + " bytes per call");
+    }
+
+    private List<TransactionResponse> entityRead() {
+        return transactionRepository.findByAccount_Id(ACCOUNT_ID).stream()
+                .map(TransactionReadPathTest::convertToDto)
+                .toList();
+    }
+
+    /**
+     * Run a read in its own transaction, after warm-up calls, and return the
+     * mean bytes allocated per call
+     */
+    private double report(String label, TransactionTemplate template, Supplier<List<TransactionResponse>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            template.execute(status -> read.get());
+        }
+        long[] managed = new long[1];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            List<TransactionResponse> result = template.execute(status -> {
+                List<TransactionResponse> transactions = read.get();
+                managed[0] = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                return transactions;
+            });
+            assertEquals(rows, result.size());
+        }
+        double millis = (System.nanoTime() - started) / 1e6 / CALLS;
+        double bytes = (double) (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / CALLS;
+        System.out.printf("%-30s %12.2f %12.0f %16d%n", label, millis, bytes / 1024, managed[0]);
+        return bytes;
+    }
+
+    private static TransactionResponse convertToDto(Transaction transaction) {
+        return TransactionResponse.builder()
+                .id(transaction.getId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .description(transaction.getDescription())
+                .transactionDate(transaction.getTransactionDate())
+                .accountId(transaction.getAccount().getId())
+                .linkedTransactionId(transaction.getLinkedTransactionId())
+                .build();
+    }
+}
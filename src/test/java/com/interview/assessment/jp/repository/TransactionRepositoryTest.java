@@ -0,0 +1,61 @@
+package com.interview.assessment.jp.repository;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against the H2 schema and seed data
+ */
+@DataJpaTest(showSql = false)
+public class TransactionRepositoryTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("Should return statement lines from the first instant of a range up to its end")
+    public void should_find_statement_lines_in_range() {
+        // Prepare test data
+        Account account = accountRepository.findById(4L).orElseThrow();
+        LocalDateTime march = LocalDateTime.of(2024, 3, 1, 0, 0);
+        Transaction last = save(account, "Last instant", march.plusMonths(1).minusNanos(1000));
+        Transaction first = save(account, "First instant", march);
+        save(account, "Day before", march.minusNanos(1000));
+        save(account, "Next month", march.plusMonths(1));
+
+        // Execute test
+        List<StatementLine> lines = transactionRepository.findStatementLines(account.getId(), march,
+                march.plusMonths(1));
+
+        // Verify results
+        assertEquals(List.of(first.getId(), last.getId()), lines.stream().map(StatementLine::id).toList());
+        assertEquals("First instant", lines.get(0).description());
+        assertEquals(TransactionType.CREDIT, lines.get(0).transactionType());
+        assertEquals(new BigDecimal("1.00"), lines.get(0).amount());
+        assertEquals(march, lines.get(0).transactionDate());
+    }
+
+    private Transaction save(Account account, String description, LocalDateTime transactionDate) {
+        return transactionRepository.saveAndFlush(Transaction.builder()
+                .transactionType(TransactionType.CREDIT)
+                .amount(new BigDecimal("1.00"))
+                .description(description)
+                .transactionDate(transactionDate)
+                .account(account)
+                .build());
+    }
+}
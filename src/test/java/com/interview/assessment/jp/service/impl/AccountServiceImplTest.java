@@ -7,6 +7,7 @@ import com.interview.assessment.jp.enums.AccountType;
 import com.interview.assessment.jp.exception.ResourceNotFoundException;
 import com.interview.assessment.jp.repository.AccountRepository;
 import com.interview.assessment.jp.repository.UserRepository;
+import com.interview.assessment.jp.service.LedgerStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,7 +41,7 @@ public class AccountServiceImplTest {
     private Authentication authentication;
 
     @Mock
-    private MockDataService mockDataService;
+    private LedgerStore ledgerStore;
 
     @InjectMocks
     private AccountServiceImpl accountService;
@@ -64,8 +65,8 @@ public class AccountServiceImplTest {
         when(authentication.getName()).thenReturn(testUser.getUsername());
         when(userRepository.findByUsername(testUser.getUsername())).thenReturn(Optional.of(testUser));
 
-        // Mock MockDataService
-        when(mockDataService.getCurrentUser()).thenReturn(testUser);
+        // Mock LedgerStore
+        when(ledgerStore.getCurrentUser()).thenReturn(testUser);
     }
 
     @Test
@@ -94,7 +95,7 @@ public class AccountServiceImplTest {
 
         // Mock repository response
         when(accountRepository.findByUser(user)).thenReturn(accounts);
-        when(mockDataService.getAccountsByUserId(user.getId())).thenReturn(accounts);
+        when(ledgerStore.getAccountsByUserId(user.getId())).thenReturn(accounts);
 
         // Execute test
         List<AccountResponse> result = accountService.getAccountsByCurrentUser();
@@ -129,7 +130,7 @@ public class AccountServiceImplTest {
 
         // Mock repository response
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-        when(mockDataService.getAccountById(accountId)).thenReturn(account);
+        when(ledgerStore.getAccountById(accountId)).thenReturn(account);
 
         // Execute test
         AccountResponse result = accountService.getAccountById(accountId);
@@ -150,7 +151,7 @@ public class AccountServiceImplTest {
 
         // Mock repository response
         when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
-        when(mockDataService.getAccountById(accountId)).thenReturn(null);
+        when(ledgerStore.getAccountById(accountId)).thenReturn(null);
 
         // Execute test and verify results
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -167,7 +168,7 @@ public class AccountServiceImplTest {
         // Mock repository response
         when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
         when(accountRepository.findByUser(user)).thenReturn(List.of());
-        when(mockDataService.getAccountsByUserId(user.getId())).thenReturn(List.of());
+        when(ledgerStore.getAccountsByUserId(user.getId())).thenReturn(List.of());
 
         // Execute test
         List<AccountResponse> result = accountService.getAccountsByCurrentUser();
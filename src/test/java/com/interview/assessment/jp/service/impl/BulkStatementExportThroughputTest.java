@@ -0,0 +1,138 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.config.StatementProperties;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.StatementExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Month-end export of every account's statement into one ZIP, against
+ * rendering them one at a time as per-account downloads would. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class BulkStatementExportThroughputTest {
+
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 2_000);
+    private static final int MONTH_TRANSACTIONS = Integer.getInteger("benchmark.transactions", 500);
+    private static final String[] DESCRIPTIONS = {"Salary payment", "Shopping expense", "Refund", "Rent", "ATM withdrawal"};
+
+    @Test
+    @DisplayName("Bulk export of every account's monthly statement")
+    public void bulk_export_throughput() throws IOException {
+        MockDataService ledger = new MockDataService(new LedgerProperties());
+        ledger.init();
+        // The export is for admins only
+        ledger.getCurrentUser().setRoles(List.of("USER", StatementExportServiceImpl.ADMIN_ROLE));
+        YearMonth month = YearMonth.of(2024, 3);
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        long seconds = Duration.between(start, start.plusMonths(1)).toSeconds();
+        for (int a = 0; a < ACCOUNTS; a++) {
+            Account account = ledger.createAccount(Account.builder()
+                    .accountNumber("BLK-" + a)
+                    .balance(new BigDecimal("100000.00"))
+                    .accountType(AccountType.values()[a % AccountType.values().length])
+                    .user(ledger.getCurrentUser())
+                    .build());
+            for (int i = 0; i < MONTH_TRANSACTIONS; i++) {
+                ledger.createTransaction(Transaction.builder()
+                        .transactionType(i % 3 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT)
+                        .amount(BigDecimal.valueOf(100 + i % 5000, 2))
+                        .description(DESCRIPTIONS[i % DESCRIPTIONS.length])
+                        .transactionDate(start.plusSeconds(i * seconds / MONTH_TRANSACTIONS))
+                        .account(account)
+                        .build());
+            }
+        }
+        int accounts = ledger.getAllAccounts(null).size();
+        StatementServiceImpl statementService = new StatementServiceImpl(ledger, new StatementCache(0));
+        StatementRequest request = new StatementRequest();
+        request.setYear(month.getYear());
+        request.setMonth(month.getMonthValue());
+
+        System.out.printf("%nMonthly statements of %d accounts, %d transactions each, on %d CPUs%n",
+                accounts, MONTH_TRANSACTIONS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-30s %12s %14s %14s%n", "mode", "wall ms", "accounts/s", "output MB");
+
+        // One statement at a time, as a client downloading each account would get them
+        for (int round = 0; round < 2; round++) {
+            CountingOutputStream out = new CountingOutputStream();
+            long started = System.nanoTime();
+            for (Account account : ledger.getAllAccounts(null)) {
+                statementService.getAccountStatement(account, month).writeTo(out);
+            }
+            double elapsed = (System.nanoTime() - started) / 1e9;
+            if (round == 1) {
+                System.out.printf("%-30s %12.0f %14.0f %14.1f%n", "sequential, uncompressed",
+                        elapsed * 1000, accounts / elapsed, out.bytes / 1e6);
+            }
+        }
+
+        Set<Integer> parallelisms = new LinkedHashSet<>(List.of(1, Runtime.getRuntime().availableProcessors()));
+        List<int[]> modes = new ArrayList<>();
+        for (int parallelism : parallelisms) {
+            modes.add(new int[] {parallelism, Deflater.BEST_SPEED});
+        }
+        modes.add(new int[] {Runtime.getRuntime().availableProcessors(), Deflater.DEFAULT_COMPRESSION});
+        for (int[] mode : modes) {
+            StatementProperties properties = new StatementProperties();
+            properties.getExport().setParallelism(mode[0]);
+            properties.getExport().setCompressionLevel(mode[1]);
+            StatementExportServiceImpl exportService = new StatementExportServiceImpl(ledger, statementService,
+                    properties);
+            try {
+                StatementExportService.ExportSummary summary = null;
+                CountingOutputStream out = null;
+                for (int round = 0; round < 2; round++) {
+                    out = new CountingOutputStream();
+                    summary = exportService.getStatementArchive(request, null).writeTo(out);
+                }
+                assertEquals(accounts, summary.statements());
+                System.out.printf("%-30s %12d %14.0f %14.1f%n",
+                        "zip, parallelism " + mode[0] + ", level " + mode[1],
+                        summary.wallTime().toMillis(), summary.accountsPerSecond(), out.bytes / 1e6);
+            } finally {
+                exportService.close();
+            }
+        }
+    }
+
+    /**
+     * Discards the output, counting bytes
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.ledger.TransactionJournal.FsyncPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Durable posting throughput and p99 latency with a sync per posting versus
+ * group commit, by number of concurrent writers. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class GroupCommitThroughputTest {
+
+    private static final int POSTINGS_PER_WRITER = Integer.getInteger("benchmark.postings", 2_000);
+    private static final int[] WRITER_COUNTS = {1, 4, 16, 64};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Group commit should raise durable throughput with concurrent writers")
+    public void group_commit_throughput_and_latency() throws Exception {
+        System.out.printf("%nDurable posting throughput (%d postings/writer)%n", POSTINGS_PER_WRITER);
+        System.out.printf("%8s %16s %14s %16s %14s %16s %14s%n", "writers",
+                "always ops/s", "always p99 us", "group ops/s", "group p99 us", "group+1ms ops/s", "p99 us");
+
+        // Warm up
+        run(4, FsyncPolicy.ALWAYS, Duration.ZERO);
+        run(4, FsyncPolicy.GROUP, Duration.ZERO);
+
+        for (int writers : WRITER_COUNTS) {
+            Result always = run(writers, FsyncPolicy.ALWAYS, Duration.ZERO);
+            Result group = run(writers, FsyncPolicy.GROUP, Duration.ZERO);
+            Result delayed = run(writers, FsyncPolicy.GROUP, Duration.ofMillis(1));
+            System.out.printf("%8d %16.0f %14d %16.0f %14d %16.0f %14d%n", writers,
+                    always.throughput, always.p99Micros, group.throughput, group.p99Micros,
+                    delayed.throughput, delayed.p99Micros);
+        }
+    }
+
+    /**
+     * Post credits from several writers, one account each
+     */
+    private Result run(int writers, FsyncPolicy policy, Duration maxWait) throws Exception {
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setPath(directory.resolve(policy + "-" + System.nanoTime() + ".journal"));
+        properties.getJournal().setFsyncPolicy(policy);
+        properties.getJournal().getGroupCommit().setMaxWait(maxWait);
+        MockDataService mockDataService = new MockDataService(properties);
+        mockDataService.init();
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        long[][] latencies = new long[writers][POSTINGS_PER_WRITER];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Account account = mockDataService.createAccount(Account.builder()
+                    .accountNumber("BEN-" + w)
+                    .balance(BigDecimal.ZERO)
+                    .accountType(AccountType.CHECKING)
+                    .user(mockDataService.getCurrentUser())
+                    .build());
+            long[] samples = latencies[w];
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < POSTINGS_PER_WRITER; i++) {
+                    long begin = System.nanoTime();
+                    mockDataService.createTransaction(Transaction.builder()
+                            .transactionType(TransactionType.CREDIT)
+                            .amount(BigDecimal.ONE)
+                            .description("Benchmark posting")
+                            .transactionDate(LocalDateTime.now())
+                            .account(account)
+                            .build());
+                    samples[i] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        mockDataService.close();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long p99 = all[(int) Math.ceil(all.length * 0.99) - 1];
+        return new Result(all.length * 1_000_000_000.0 / elapsed, p99 / 1_000);
+    }
+
+    private record Result(double throughput, long p99Micros) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.exception.ConflictException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("Should run once per key and scope and answer retries with the stored result")
+    public void should_run_once_per_key() {
+        // Prepare test data
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1), clock::get);
+        AtomicInteger runs = new AtomicInteger();
+
+        // Execute test
+        String first = cache.execute(1L, "key", "request", () -> "result-" + runs.incrementAndGet());
+        String retry = cache.execute(1L, "key", "request", () -> "result-" + runs.incrementAndGet());
+        String otherScope = cache.execute(2L, "key", "request", () -> "result-" + runs.incrementAndGet());
+
+        // Verify results
+        assertEquals("result-1", first);
+        assertEquals("result-1", retry);
+        assertEquals("result-2", otherScope);
+        assertThrows(ConflictException.class,
+                () -> cache.execute(1L, "key", "other request", () -> "result-" + runs.incrementAndGet()));
+        IdempotencyCache.Stats stats = cache.stats();
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.entries());
+    }
+
+    @Test
+    @DisplayName("Should forget keys past their TTL and the oldest keys past the limit")
+    public void should_evict_by_age_and_size() {
+        // Prepare test data
+        IdempotencyCache cache = new IdempotencyCache(3, Duration.ofSeconds(10), clock::get);
+        AtomicInteger runs = new AtomicInteger();
+        cache.execute(1L, "a", "request", runs::incrementAndGet);
+
+        // Execute test: "a" expires, then "b" is pushed out by the limit
+        clock.set(TimeUnit.SECONDS.toNanos(10));
+        cache.execute(1L, "b", "request", runs::incrementAndGet);
+        cache.execute(1L, "c", "request", runs::incrementAndGet);
+        cache.execute(1L, "d", "request", runs::incrementAndGet);
+        cache.execute(1L, "e", "request", runs::incrementAndGet);
+
+        // Verify results
+        assertEquals(3, cache.stats().entries());
+        assertEquals(2, cache.stats().evictions());
+        assertEquals(6, (int) cache.execute(1L, "a", "request", runs::incrementAndGet));
+        assertEquals(4, (int) cache.execute(1L, "d", "request", runs::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Should forget a key whose request failed so it can be retried")
+    public void should_forget_failed_requests() {
+        // Prepare test data
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1), clock::get);
+
+        // Execute test
+        assertThrows(IllegalArgumentException.class, () -> cache.execute(1L, "key", "request", () -> {
+            throw new IllegalArgumentException("Insufficient account balance");
+        }));
+        String retry = cache.execute(1L, "key", "request", () -> "posted");
+
+        // Verify results
+        assertEquals("posted", retry);
+        assertEquals(1, cache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("Should count failed requests against the limit until they leave the queue")
+    public void should_bound_queue_of_failed_requests() {
+        // Prepare test data
+        IdempotencyCache cache = new IdempotencyCache(3, Duration.ofMinutes(1), clock::get);
+        AtomicInteger runs = new AtomicInteger();
+        cache.execute(1L, "live", "request", () -> "result-" + runs.incrementAndGet());
+
+        // Execute test
+        for (int i = 0; i < 3; i++) {
+            String key = "failed-" + i;
+            assertThrows(IllegalArgumentException.class, () -> cache.execute(1L, key, "request", () -> {
+                throw new IllegalArgumentException("Insufficient account balance");
+            }));
+        }
+
+        // Verify results
+        IdempotencyCache.Stats stats = cache.stats();
+        assertEquals(0, stats.entries());
+        assertEquals(1, stats.evictions());
+        assertEquals("result-2", cache.execute(1L, "live", "request", () -> "result-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent duplicates onto the request in flight")
+    public void should_coalesce_concurrent_duplicates() throws Exception {
+        // Prepare test data
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Execute test
+        try {
+            Future<Integer> original = executor.submit(() -> cache.execute(1L, "key", "request", () -> {
+                running.countDown();
+                await(release);
+                return runs.incrementAndGet();
+            }));
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            Future<?>[] duplicates = new Future<?>[7];
+            for (int i = 0; i < duplicates.length; i++) {
+                duplicates[i] = executor.submit(() -> cache.execute(1L, "key", "request", runs::incrementAndGet));
+            }
+            release.countDown();
+
+            // Verify results
+            assertEquals(1, original.get(10, TimeUnit.SECONDS));
+            for (Future<?> duplicate : duplicates) {
+                assertEquals(1, duplicate.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, runs.get());
+        assertEquals(7, cache.stats().hits());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
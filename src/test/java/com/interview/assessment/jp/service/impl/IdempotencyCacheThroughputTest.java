@@ -0,0 +1,74 @@
+package com.interview.assessment.jp.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of idempotency lookups on the posting path, and heap held by the
+ * cache after a day's worth of distinct keys. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class IdempotencyCacheThroughputTest {
+
+    private static final int MAX_ENTRIES = 500_000;
+    private static final int KEYS = Integer.getInteger("benchmark.keys", 5_000_000);
+    private static final int LOOKUPS = 2_000_000;
+
+    @Test
+    @DisplayName("Idempotency lookups should cost well under a microsecond with bounded heap")
+    public void idempotency_cache_cost_and_footprint() {
+        long baseline = usedHeap();
+        IdempotencyCache cache = new IdempotencyCache(MAX_ENTRIES, Duration.ofHours(24));
+        String request = "request";
+        Object result = new Object();
+
+        // A day of distinct keys, far more than the cache keeps
+        long started = System.nanoTime();
+        for (int i = 0; i < KEYS; i++) {
+            cache.execute(i % 1_000, "key-" + i, request, () -> result);
+        }
+        double insertNanos = (double) (System.nanoTime() - started) / KEYS;
+        long held = usedHeap() - baseline;
+
+        // Retries of keys still cached
+        String[] retries = new String[1_024];
+        for (int i = 0; i < retries.length; i++) {
+            retries[i] = "key-" + (KEYS - 1 - i);
+        }
+        for (int round = 0; round < 2; round++) {
+            started = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                int key = i & (retries.length - 1);
+                cache.execute((KEYS - 1 - key) % 1_000, retries[key], request, () -> {
+                    throw new IllegalStateException("Retry ran again");
+                });
+            }
+        }
+        double hitNanos = (double) (System.nanoTime() - started) / LOOKUPS;
+
+        IdempotencyCache.Stats stats = cache.stats();
+        System.out.printf("%nIdempotency cache, %d distinct keys, limit %d%n", KEYS, MAX_ENTRIES);
+        System.out.printf("%-28s %12.0f ns%n", "first request (insert)", insertNanos);
+        System.out.printf("%-28s %12.0f ns%n", "retry (hit)", hitNanos);
+        System.out.printf("%-28s %12.1f MB (%d bytes/entry)%n", "heap held", held / 1e6, held / stats.entries());
+        System.out.printf("%-28s %s%n", "stats", stats);
+
+        assertEquals(MAX_ENTRIES, stats.entries());
+        assertTrue(hitNanos < 1_000, "Retry lookup took " + hitNanos + " ns");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
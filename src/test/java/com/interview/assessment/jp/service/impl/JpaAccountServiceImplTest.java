@@ -0,0 +1,78 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.RepositoryCacheConfig;
+import com.interview.assessment.jp.dto.response.AccountResponse;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the H2 schema and seed data: user 1 owns accounts 1 and 2,
+ * user 2 owns accounts 3 and 4.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "banking.ledger.store=JPA",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({JpaAccountServiceImpl.class, JpaLedgerStore.class, RepositoryCacheConfig.class})
+public class JpaAccountServiceImplTest {
+
+    @Autowired
+    private JpaAccountServiceImpl accountService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should list the current user's accounts")
+    public void should_list_current_users_accounts() {
+        // Execute test
+        List<AccountResponse> accounts = accountService.getAccountsByCurrentUser();
+
+        // Verify results
+        assertEquals(List.of(1L, 2L), accounts.stream().map(AccountResponse::getId).toList());
+        assertEquals(AccountType.SAVINGS, accounts.get(0).getAccountType());
+        assertEquals(new BigDecimal("5000.00"), accounts.get(0).getBalance());
+    }
+
+    @Test
+    @DisplayName("Should get an account of the current user and hide other users' accounts")
+    public void should_get_owned_account_only() {
+        // Execute test
+        AccountResponse account = accountService.getAccountById(2L);
+
+        // Verify results
+        assertEquals(2L, account.getId());
+        assertNotNull(account.getAccountNumber());
+        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountById(3L));
+        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountById(99L));
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated request from the caches without a statement")
+    public void should_serve_cached_request_without_statement() {
+        // Prepare test data
+        accountService.getAccountsByCurrentUser();
+        accountService.getAccountById(2L);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Execute test
+        accountService.getAccountsByCurrentUser();
+        accountService.getAccountById(2L);
+
+        // Verify results
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,92 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.repository.AccountRepository;
+import com.interview.assessment.jp.service.LedgerStore;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@link LedgerStore} contract against the H2 schema. Each test runs in a
+ * transaction that the store's calls join and that is rolled back afterwards.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "banking.ledger.store=JPA",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import(JpaLedgerStore.class)
+public class JpaLedgerStoreTest extends LedgerStoreContractTest {
+
+    @Autowired
+    private JpaLedgerStore jpaLedgerStore;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    protected LedgerStore store() {
+        return jpaLedgerStore;
+    }
+
+    @Test
+    @DisplayName("Should read a statement period as projections without managing transaction entities")
+    public void should_read_statement_period_without_managed_entities() {
+        // Prepare test data
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        // Execute test
+        LedgerStore.StatementPeriod period = jpaLedgerStore.getStatementPeriod(1L,
+                LocalDateTime.now().minusYears(1), LocalDateTime.now().plusDays(1));
+
+        // Verify results
+        assertFalse(period.transactions().isEmpty());
+        assertEquals(1L, period.transactions().get(0).getAccount().getId());
+        assertEquals(0, statistics.getEntityStatistics(Transaction.class.getName()).getLoadCount());
+        assertTrue(period.transactions().stream().noneMatch(entityManager::contains));
+    }
+
+    @Test
+    @DisplayName("Should count rows once, then only count what this store commits")
+    public void should_count_once_then_advance_on_commit() {
+        // Prepare test data
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        long transactions = jpaLedgerStore.countTransactions();
+        long accounts = jpaLedgerStore.countAccounts();
+
+        // Execute test: a posting rolled back with the test transaction, then an account committed
+        jpaLedgerStore.createTransaction(transaction(jpaLedgerStore.getAccountById(1L), TransactionType.CREDIT,
+                "1.00", LocalDateTime.now()));
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        Account created = openAccount("0.00");
+        statistics.clear();
+        long transactionsAfter = jpaLedgerStore.countTransactions();
+        long accountsAfter = jpaLedgerStore.countAccounts();
+        long statements = statistics.getPrepareStatementCount();
+        accountRepository.deleteById(created.getId());
+
+        // Verify results
+        assertEquals(transactions, transactionsAfter);
+        assertEquals(accounts + 1, accountsAfter);
+        assertEquals(0, statements);
+    }
+}
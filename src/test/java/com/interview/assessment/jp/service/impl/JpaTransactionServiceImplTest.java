@@ -0,0 +1,248 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.IdempotencyConfig;
+import com.interview.assessment.jp.config.MetricsConfig;
+import com.interview.assessment.jp.config.RepositoryCacheConfig;
+import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the H2 schema and seed data: user 1 owns accounts 1 and 2,
+ * user 2 owns accounts 3 and 4. The lookup caches are disabled, so every
+ * call looks up the user and the account.
+ */
+@DataJpaTest(properties = {
+        "banking.ledger.store=JPA",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "banking.repository-cache.max-accounts=0",
+        "banking.repository-cache.max-user-accounts=0",
+        "banking.repository-cache.max-users=0"})
+@Import({JpaTransactionServiceImpl.class, JpaLedgerStore.class, IdempotencyConfig.class, RepositoryCacheConfig.class,
+        MetricsConfig.class, SimpleMeterRegistry.class})
+public class JpaTransactionServiceImplTest {
+
+    @Autowired
+    private JpaTransactionServiceImpl transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JpaLedgerStore ledgerStore;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should post a transaction and update the account balance")
+    public void should_post_transaction_and_update_balance() {
+        // Execute test
+        TransactionResponse created = transactionService.createTransaction(1L,
+                request(TransactionType.DEBIT, "40.00"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Verify results
+        assertNotNull(created.getId());
+        assertEquals(new BigDecimal("4960.00"), accountRepository.findById(1L).orElseThrow().getBalance());
+        assertEquals(created.getId(), transactionService.getTransactionById(created.getId()).getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createTransaction(1L, request(TransactionType.DEBIT, "4960.01")));
+    }
+
+    @Test
+    @DisplayName("Should post through the ledger store, notifying its posting listeners")
+    public void should_notify_ledger_store_listeners() {
+        // Prepare test data
+        List<Long> posted = new ArrayList<>();
+        ledgerStore.addPostingListener((accountId, transactionDate) -> posted.add(accountId));
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromAccountId(1L);
+        transfer.setToAccountId(2L);
+        transfer.setAmount(new BigDecimal("5.00"));
+        transfer.setDescription("Savings");
+
+        // Execute test
+        transactionService.createTransaction(1L, request(TransactionType.CREDIT, "10.00"));
+        transactionService.createTransactions(2L, List.of(request(TransactionType.CREDIT, "1.00"),
+                request(TransactionType.DEBIT, "1.00")));
+        transactionService.createTransfer(transfer);
+
+        // Verify results
+        assertEquals(List.of(1L, 2L, 2L, 1L, 2L), posted);
+        assertEquals(new BigDecimal("5005.00"), ledgerStore.getAccountById(1L).getBalance());
+    }
+
+    @Test
+    @DisplayName("Should insert a batch of postings in JDBC batches")
+    public void should_insert_batch_in_jdbc_batches() {
+        // Prepare test data
+        List<TransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(request(TransactionType.CREDIT, "1.00"));
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        // Execute test
+        List<TransactionResponse> created = transactionService.createTransactions(2L, requests);
+        entityManager.flush();
+
+        // Verify results: one statement per batch of 50 rather than per row, plus a few sequence calls
+        assertEquals(120, created.size());
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 15,
+                "Prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(created.get(0).getId() + 119, created.get(119).getId());
+    }
+
+    @Test
+    @DisplayName("Should stream transactions across several pages in ID order")
+    public void should_stream_transactions_across_pages() {
+        // Prepare test data
+        int rows = JpaTransactionServiceImpl.STREAM_PAGE_SIZE + 10;
+        List<TransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            requests.add(request(TransactionType.CREDIT, "1.00"));
+        }
+        transactionService.createTransactions(2L, requests);
+        int seeded = transactionService.getTransactionsByAccountId(2L).size() - rows;
+
+        // Execute test
+        List<Long> ids;
+        try (Stream<TransactionResponse> stream = transactionService.streamTransactionsByAccountId(2L, null, null)) {
+            ids = stream.map(TransactionResponse::getId).toList();
+        }
+
+        // Verify results
+        assertEquals(seeded + rows, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should transfer between accounts as two linked transactions")
+    public void should_transfer_with_linked_legs() {
+        // Prepare test data
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(2L);
+        request.setToAccountId(3L);
+        request.setAmount(new BigDecimal("100.00"));
+        request.setDescription("Rent share");
+
+        // Execute test
+        TransferResponse transfer = transactionService.createTransfer(request);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Verify results
+        assertEquals(transfer.getCredit().getId(), transfer.getDebit().getLinkedTransactionId());
+        assertEquals(transfer.getDebit().getId(),
+                transactionService.getTransactionById(transfer.getDebit().getId()).getId());
+        assertEquals(new BigDecimal("2400.00"), accountRepository.findById(2L).orElseThrow().getBalance());
+        assertEquals(new BigDecimal("10100.00"), accountRepository.findById(3L).orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("Should read transactions without loading the account's user or other transactions' accounts")
+    public void should_read_transactions_in_fixed_statement_counts() {
+        // Prepare test data
+        Long id = transactionService.getTransactionsByAccountId(1L).get(0).getId();
+
+        // Execute test and verify results: the user with its roles, the account, then one query
+        assertEquals(3, statements(() -> transactionService.getTransactionsByAccountId(1L)));
+        assertEquals(3, statements(() -> transactionService.getTransactionsPageByAccountId(1L, null, 2)));
+        assertEquals(3, statements(() -> transactionService.getTransactionsByAccountIdBetween(1L, null, null)));
+        assertEquals(2, statements(() -> transactionService.getTransactionById(id)));
+        assertEquals(2, statements(() -> assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.getTransactionsByAccountId(3L))));
+    }
+
+    @Test
+    @DisplayName("Should read transactions as projections without managing transaction entities")
+    public void should_read_transactions_without_managed_entities() {
+        // Prepare test data
+        entityManager.clear();
+        statistics.clear();
+
+        // Execute test
+        List<TransactionResponse> transactions = transactionService.getTransactionsByAccountId(1L);
+        TransactionResponse first = transactionService.getTransactionById(transactions.get(0).getId());
+        transactionService.getTransactionsPageByAccountId(1L, null, 2);
+
+        // Verify results
+        assertFalse(transactions.isEmpty());
+        assertEquals(1L, first.getAccountId());
+        assertEquals(transactions.get(0), first);
+        assertEquals(0, statistics.getEntityStatistics(Transaction.class.getName()).getLoadCount());
+        assertTrue(entityManager.unwrap(Session.class).getStatistics().getEntityKeys().stream()
+                .noneMatch(key -> ((EntityKey) key).getEntityName().equals(Transaction.class.getName())));
+    }
+
+    @Test
+    @DisplayName("Should not expose another user's account")
+    public void should_reject_other_users_account() {
+        Long othersTransactionId = entityManager
+                .createQuery("SELECT t.id FROM Transaction t WHERE t.account.id = 3", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.getTransactionsByAccountId(3L));
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.getTransactionById(othersTransactionId));
+        assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.createTransaction(3L, request(TransactionType.CREDIT, "1.00")));
+    }
+
+    /**
+     * Statements prepared by a call made with an empty persistence context
+     */
+    private long statements(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static TransactionRequest request(TransactionType type, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setTransactionType(type);
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("Test posting");
+        return request;
+    }
+}
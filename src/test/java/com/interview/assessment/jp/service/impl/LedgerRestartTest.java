@@ -0,0 +1,98 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cold start time of a large ledger from the full journal versus from a
+ * snapshot. Run with {@code mvn test -Pbenchmark}; raise
+ * {@code -Dbenchmark.transactions} (and the heap) for larger ledgers.
+ */
+@Tag("benchmark")
+public class LedgerRestartTest {
+
+    private static final int TRANSACTIONS = Integer.getInteger("benchmark.transactions", 5_000_000);
+    private static final int ACCOUNTS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Restart from a snapshot should not replay the whole journal")
+    public void restart_from_snapshot_versus_journal() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(directory.resolve("ledger.snapshot"));
+        properties.getSnapshot().setInterval(Duration.ZERO);
+
+        // Build the ledger through the journal
+        MockDataService ledger = new MockDataService(properties);
+        ledger.init();
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(ledger.createAccount(Account.builder()
+                    .accountNumber("BEN-" + i)
+                    .balance(BigDecimal.ZERO)
+                    .accountType(AccountType.CHECKING)
+                    .user(ledger.getCurrentUser())
+                    .build()));
+        }
+        LocalDateTime date = LocalDateTime.now();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            ledger.createTransaction(Transaction.builder()
+                    .transactionType(TransactionType.CREDIT)
+                    .amount(BigDecimal.ONE)
+                    .description("Benchmark posting")
+                    .transactionDate(date)
+                    .account(accounts.get(i % ACCOUNTS))
+                    .build());
+        }
+        ledger.close();
+
+        long started = System.nanoTime();
+        MockDataService fromJournal = new MockDataService(properties);
+        fromJournal.init();
+        long journalMillis = (System.nanoTime() - started) / 1_000_000;
+
+        started = System.nanoTime();
+        fromJournal.snapshot();
+        long snapshotMillis = (System.nanoTime() - started) / 1_000_000;
+        fromJournal.close();
+
+        started = System.nanoTime();
+        MockDataService fromSnapshot = new MockDataService(properties);
+        fromSnapshot.init();
+        long restoreMillis = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("%nLedger cold start (%,d transactions over %,d accounts)%n", TRANSACTIONS, ACCOUNTS);
+        System.out.printf("  replay full journal : %,8d ms%n", journalMillis);
+        System.out.printf("  write snapshot      : %,8d ms%n", snapshotMillis);
+        System.out.printf("  load snapshot       : %,8d ms%n", restoreMillis);
+
+        long restored = accounts.stream()
+                .mapToLong(account -> fromSnapshot.getTransactionsByAccountId(account.getId()).size())
+                .sum();
+        assertEquals(TRANSACTIONS, restored);
+        assertEquals(new BigDecimal(TRANSACTIONS / ACCOUNTS + ".00"),
+                fromSnapshot.getAccountById(accounts.get(ACCOUNTS - 1).getId()).getBalance());
+        fromSnapshot.close();
+    }
+}
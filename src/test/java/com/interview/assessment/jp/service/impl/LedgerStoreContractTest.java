@@ -0,0 +1,247 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.LedgerStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behavior every {@link LedgerStore} backend must share. Each backend's test
+ * extends this class and supplies the store; the tests open their own
+ * accounts, so they do not depend on a backend's seed data.
+ */
+public abstract class LedgerStoreContractTest {
+
+    private static final AtomicLong ACCOUNT_NUMBERS = new AtomicLong();
+    private static final LocalDateTime MARCH = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    /**
+     * @return The store under test, initialized
+     */
+    protected abstract LedgerStore store();
+
+    @Test
+    @DisplayName("Should find a new account by ID, by owner and by type")
+    public void should_find_new_account() {
+        // Execute test
+        Account account = openAccount("100.00");
+
+        // Verify results
+        Long userId = store().getCurrentUser().getId();
+        assertEquals(account.getId(), store().getAccountById(account.getId()).getId());
+        assertEquals(userId, store().getAccountById(account.getId()).getUserId());
+        assertAmount("100.00", store().getAccountById(account.getId()).getBalance());
+        assertTrue(ids(store().getAccountsByUserId(userId)).contains(account.getId()));
+        assertTrue(ids(store().getAllAccounts(AccountType.CHECKING)).contains(account.getId()));
+        assertFalse(ids(store().getAllAccounts(AccountType.SAVINGS)).contains(account.getId()));
+        assertNull(store().getAccountById(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should apply credits and debits to the balance and keep posting order")
+    public void should_post_credits_and_debits() {
+        // Prepare test data
+        Account account = openAccount("100.00");
+
+        // Execute test
+        Transaction credit = store().createTransaction(transaction(account, TransactionType.CREDIT, "50.00",
+                MARCH.plusDays(2)));
+        Transaction debit = store().createTransaction(transaction(account, TransactionType.DEBIT, "30.00",
+                MARCH.plusDays(1)));
+
+        // Verify results
+        assertAmount("120.00", store().getAccountById(account.getId()).getBalance());
+        assertEquals(List.of(credit.getId(), debit.getId()),
+                transactionIds(store().getTransactionsByAccountId(account.getId())));
+        Transaction found = store().getTransactionById(debit.getId());
+        assertEquals(TransactionType.DEBIT, found.getTransactionType());
+        assertAmount("30.00", found.getAmount());
+        assertEquals(MARCH.plusDays(1), found.getTransactionDate());
+        assertEquals(account.getId(), found.getAccount().getId());
+        assertNull(store().getTransactionById(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should reject a debit exceeding the balance and leave the account unchanged")
+    public void should_reject_overdraft() {
+        // Prepare test data
+        Account account = openAccount("10.00");
+
+        // Execute test
+        assertThrows(IllegalArgumentException.class, () -> store().createTransaction(
+                transaction(account, TransactionType.DEBIT, "10.01", MARCH)));
+
+        // Verify results
+        assertAmount("10.00", store().getAccountById(account.getId()).getBalance());
+        assertTrue(store().getTransactionsByAccountId(account.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should post a batch all or none, checking each debit against the balance before it")
+    public void should_post_batch_all_or_none() {
+        // Prepare test data
+        Account account = openAccount("100.00");
+
+        // Execute test
+        List<Transaction> posted = store().createTransactions(account.getId(), List.of(
+                transaction(account, TransactionType.DEBIT, "60.00", MARCH),
+                transaction(account, TransactionType.CREDIT, "20.00", MARCH),
+                transaction(account, TransactionType.DEBIT, "50.00", MARCH)));
+        assertThrows(IllegalArgumentException.class, () -> store().createTransactions(account.getId(), List.of(
+                transaction(account, TransactionType.CREDIT, "5.00", MARCH),
+                transaction(account, TransactionType.DEBIT, "20.00", MARCH))));
+
+        // Verify results
+        assertEquals(3, posted.size());
+        assertAmount("10.00", store().getAccountById(account.getId()).getBalance());
+        assertEquals(transactionIds(posted), transactionIds(store().getTransactionsByAccountId(account.getId())));
+    }
+
+    @Test
+    @DisplayName("Should move money between accounts as two linked legs, both or neither")
+    public void should_transfer_as_linked_legs() {
+        // Prepare test data
+        Account from = openAccount("100.00");
+        Account to = openAccount("0.00");
+
+        // Execute test
+        LedgerStore.Transfer transfer = store().createTransfer(from.getId(), to.getId(), new BigDecimal("40.00"),
+                "Rent share", MARCH);
+        assertThrows(IllegalArgumentException.class, () -> store().createTransfer(from.getId(), to.getId(),
+                new BigDecimal("60.01"), "Too much", MARCH));
+        assertThrows(IllegalArgumentException.class, () -> store().createTransfer(from.getId(), from.getId(),
+                BigDecimal.ONE, "Same account", MARCH));
+
+        // Verify results
+        assertAmount("60.00", store().getAccountById(from.getId()).getBalance());
+        assertAmount("40.00", store().getAccountById(to.getId()).getBalance());
+        assertEquals(transfer.credit().getId(), transfer.debit().getLinkedTransactionId());
+        assertEquals(transfer.debit().getId(), transfer.credit().getLinkedTransactionId());
+        assertEquals(transfer.debit().getId(),
+                store().getTransactionById(transfer.credit().getId()).getLinkedTransactionId());
+        assertEquals(List.of(transfer.credit().getId()),
+                transactionIds(store().getTransactionsByAccountId(to.getId())));
+    }
+
+    @Test
+    @DisplayName("Should read date ranges and keyset pages ordered by date, then ID")
+    public void should_read_ranges_and_pages_in_date_order() {
+        // Prepare test data: posted out of date order
+        Account account = openAccount("0.00");
+        for (int day : new int[]{3, 1, 5, 2, 4}) {
+            store().createTransaction(transaction(account, TransactionType.CREDIT, day + ".00", MARCH.plusDays(day)));
+        }
+
+        // Execute test
+        List<Transaction> range = store().getTransactionsByAccountIdBetween(account.getId(), MARCH.plusDays(2),
+                MARCH.plusDays(4));
+        List<Transaction> all = store().getTransactionsByAccountIdBetween(account.getId(), null, null);
+        List<Transaction> first = store().getTransactionsPageByAccountId(account.getId(), null, 0, 2);
+        Transaction last = first.get(1);
+        List<Transaction> second = store().getTransactionsPageByAccountId(account.getId(),
+                last.getTransactionDate(), last.getId(), 2);
+        last = second.get(1);
+        List<Transaction> third = store().getTransactionsPageByAccountId(account.getId(),
+                last.getTransactionDate(), last.getId(), 2);
+
+        // Verify results
+        assertEquals(List.of(2L, 3L), days(range));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), days(all));
+        assertEquals(List.of(1L, 2L), days(first));
+        assertEquals(List.of(3L, 4L), days(second));
+        assertEquals(List.of(5L), days(third));
+    }
+
+    @Test
+    @DisplayName("Should return a statement period with the balance before it")
+    public void should_return_statement_period_with_opening_balance() {
+        // Prepare test data
+        Account account = openAccount("100.00");
+        store().createTransaction(transaction(account, TransactionType.CREDIT, "50.00", MARCH.minusDays(9)));
+        store().createTransaction(transaction(account, TransactionType.DEBIT, "30.00", MARCH.plusDays(4)));
+        store().createTransaction(transaction(account, TransactionType.CREDIT, "10.00", MARCH.plusDays(19)));
+        store().createTransaction(transaction(account, TransactionType.CREDIT, "7.00", MARCH.plusMonths(1)));
+
+        // Execute test
+        LedgerStore.StatementPeriod period = store().getStatementPeriod(account.getId(), MARCH,
+                MARCH.plusMonths(1));
+
+        // Verify results
+        assertAmount("150.00", period.openingBalance());
+        assertEquals(List.of(4L, 19L), days(period.transactions()));
+    }
+
+    @Test
+    @DisplayName("Should notify posting listeners of every posting and transfer leg")
+    public void should_notify_posting_listeners() {
+        // Prepare test data
+        Account from = openAccount("100.00");
+        Account to = openAccount("0.00");
+        List<Long> notified = new ArrayList<>();
+        store().addPostingListener((accountId, transactionDate) -> {
+            if (accountId == from.getId() || accountId == to.getId()) {
+                notified.add(accountId);
+            }
+        });
+
+        // Execute test
+        store().createTransaction(transaction(from, TransactionType.CREDIT, "1.00", MARCH));
+        store().createTransfer(from.getId(), to.getId(), BigDecimal.TEN, "Transfer", MARCH);
+
+        // Verify results
+        assertEquals(List.of(from.getId(), from.getId(), to.getId()), notified);
+    }
+
+    protected Account openAccount(String balance) {
+        return store().createAccount(Account.builder()
+                .accountNumber("CT-" + ACCOUNT_NUMBERS.incrementAndGet())
+                .balance(new BigDecimal(balance))
+                .accountType(AccountType.CHECKING)
+                .userId(store().getCurrentUser().getId())
+                .build());
+    }
+
+    protected static Transaction transaction(Account account, TransactionType type, String amount,
+            LocalDateTime transactionDate) {
+        return Transaction.builder()
+                .transactionType(type)
+                .amount(new BigDecimal(amount))
+                .description(type + " " + amount)
+                .transactionDate(transactionDate)
+                .account(account)
+                .build();
+    }
+
+    protected static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "Expected " + expected + " but was " + actual);
+    }
+
+    private static List<Long> ids(List<Account> accounts) {
+        return accounts.stream().map(Account::getId).toList();
+    }
+
+    private static List<Long> transactionIds(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).toList();
+    }
+
+    /**
+     * Days from the start of March to each transaction
+     */
+    private static List<Long> days(List<Transaction> transactions) {
+        return transactions.stream()
+                .map(transaction -> ChronoUnit.DAYS.between(MARCH, transaction.getTransactionDate()))
+                .toList();
+    }
+}
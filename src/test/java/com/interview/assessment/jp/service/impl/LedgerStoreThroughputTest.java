@@ -0,0 +1,206 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.LedgerStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The same mixed workload against every {@link LedgerStore} backend: postings,
+ * transfers, first transaction pages and one-day range reads on random
+ * accounts from several threads. Every run checks that the balances match the
+ * accepted postings. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "banking.ledger.store=JPA",
+        "logging.level.com.interview.assessment=INFO"})
+@Import(JpaLedgerStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LedgerStoreThroughputTest {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 40_000);
+    private static final int THREADS = 8;
+    private static final int ACCOUNTS = 1_000;
+    private static final int DAYS = 30;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    // Operation kinds, by share of the mix
+    private static final String[] OPERATION_NAMES = {"posting", "transfer", "page", "range"};
+    private static final int[] OPERATION_PERCENT = {60, 10, 15, 15};
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JpaLedgerStore jpaLedgerStore;
+
+    @Test
+    @DisplayName("Every ledger store should serve the same mixed workload and keep balances consistent")
+    public void same_workload_on_every_store() throws Exception {
+        System.out.printf("%nMixed workload: %d%% postings, %d%% transfers, %d%% pages, %d%% one-day ranges "
+                        + "(%d threads, %d operations, %d accounts, %d CPUs)%n",
+                OPERATION_PERCENT[0], OPERATION_PERCENT[1], OPERATION_PERCENT[2], OPERATION_PERCENT[3], THREADS,
+                OPERATIONS, ACCOUNTS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %12s %14s %14s %14s %14s%n", "store", "ops/s",
+                "posting us", "transfer us", "page us", "range us");
+
+        // Warm up on the in-memory store
+        MockDataService warmup = memory();
+        run("MEMORY", warmup, false);
+        warmup.close();
+
+        MockDataService memory = memory();
+        run("MEMORY", memory, true);
+        memory.close();
+
+        MappedLedgerStore mapped = mapped();
+        run("MAPPED", mapped, true);
+        mapped.close();
+
+        run("JPA", jpaLedgerStore, true);
+    }
+
+    private void run(String name, LedgerStore store, boolean report) throws Exception {
+        List<Long> accountIds = new ArrayList<>(ACCOUNTS);
+        Long userId = store.getCurrentUser().getId();
+        String prefix = "LSB-" + (report ? name.charAt(0) : 'W') + "-";
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(store.createAccount(Account.builder()
+                    .accountNumber(prefix + i)
+                    .balance(OPENING_BALANCE)
+                    .accountType(AccountType.CHECKING)
+                    .userId(userId)
+                    .build()).getId());
+        }
+
+        // Net accepted postings in cents, time and count per operation kind
+        AtomicLong netCents = new AtomicLong();
+        AtomicLongArray nanos = new AtomicLongArray(OPERATION_NAMES.length);
+        AtomicLongArray counts = new AtomicLongArray(OPERATION_NAMES.length);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                for (int i = 0; i < OPERATIONS / THREADS; i++) {
+                    int kind = kind(random.nextInt(100));
+                    long began = System.nanoTime();
+                    operate(store, accountIds, kind, random, netCents);
+                    nanos.addAndGet(kind, System.nanoTime() - began);
+                    counts.incrementAndGet(kind);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long id : accountIds) {
+            total = total.add(store.getAccountById(id).getBalance());
+        }
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS))
+                .add(BigDecimal.valueOf(netCents.get(), 2)).compareTo(total));
+
+        if (report) {
+            System.out.printf("%-8s %12.0f", name, (OPERATIONS / THREADS * THREADS) * 1e9 / elapsed);
+            for (int kind = 0; kind < OPERATION_NAMES.length; kind++) {
+                System.out.printf(" %14.1f", nanos.get(kind) / 1e3 / Math.max(1, counts.get(kind)));
+            }
+            System.out.println();
+        }
+    }
+
+    private static int kind(int percentile) {
+        int kind = 0;
+        for (int share = OPERATION_PERCENT[0]; percentile >= share; share += OPERATION_PERCENT[kind]) {
+            kind++;
+        }
+        return kind;
+    }
+
+    private static void operate(LedgerStore store, List<Long> accountIds, int kind, ThreadLocalRandom random,
+            AtomicLong netCents) {
+        Long accountId = accountIds.get(random.nextInt(accountIds.size()));
+        LocalDateTime date = START.plusSeconds(random.nextLong(DAYS * 86_400L));
+        switch (kind) {
+            case 0 -> {
+                boolean credit = random.nextBoolean();
+                try {
+                    store.createTransaction(Transaction.builder()
+                            .transactionType(credit ? TransactionType.CREDIT : TransactionType.DEBIT)
+                            .amount(BigDecimal.ONE)
+                            .description("Benchmark posting")
+                            .transactionDate(date)
+                            .account(Account.builder().id(accountId).build())
+                            .build());
+                    netCents.addAndGet(credit ? 100 : -100);
+                } catch (IllegalArgumentException ex) {
+                    // Overdraft rejected
+                }
+            }
+            case 1 -> {
+                Long toAccountId = accountIds.get(random.nextInt(accountIds.size()));
+                if (!toAccountId.equals(accountId)) {
+                    store.createTransfer(accountId, toAccountId, BigDecimal.ONE, "Benchmark transfer", date);
+                }
+            }
+            case 2 -> store.getTransactionsPageByAccountId(accountId, null, 0, 20);
+            default -> store.getTransactionsByAccountIdBetween(accountId, date, date.plusDays(1));
+        }
+    }
+
+    private static MockDataService memory() {
+        MockDataService store = new MockDataService(new LedgerProperties());
+        store.init();
+        return store;
+    }
+
+    private MappedLedgerStore mapped() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        properties.getSnapshot().setPath(directory.resolve("ledger.snapshot"));
+        properties.getSnapshot().setInterval(Duration.ZERO);
+        MappedLedgerStore store = new MappedLedgerStore(properties);
+        store.init();
+        return store;
+    }
+}
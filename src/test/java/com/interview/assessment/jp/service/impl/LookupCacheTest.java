@@ -0,0 +1,110 @@
+package com.interview.assessment.jp.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookupCacheTest {
+
+    @Test
+    @DisplayName("Should load a key once and serve later lookups from the cache")
+    public void should_load_once_then_hit() {
+        // Prepare test data
+        LookupCache<Long, String> cache = new LookupCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Execute test
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Optional.of("account-1"), cache.get(1L, key -> {
+                loads.incrementAndGet();
+                return Optional.of("account-" + key);
+            }));
+        }
+
+        // Verify results
+        assertEquals(1, loads.get());
+        LookupCache.Stats stats = cache.stats();
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.75, stats.hitRatio());
+    }
+
+    @Test
+    @DisplayName("Should not cache empty results")
+    public void should_not_cache_empty_results() {
+        LookupCache<Long, String> cache = new LookupCache<>(10);
+
+        assertTrue(cache.get(1L, key -> Optional.empty()).isEmpty());
+        assertEquals(Optional.of("created"), cache.get(1L, key -> Optional.of("created")));
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry beyond the limit")
+    public void should_evict_least_recently_used() {
+        // Prepare test data
+        LookupCache<Long, String> cache = new LookupCache<>(2);
+        cache.get(1L, key -> Optional.of("one"));
+        cache.get(2L, key -> Optional.of("two"));
+        cache.get(1L, key -> Optional.of("one"));
+
+        // Execute test
+        cache.get(3L, key -> Optional.of("three"));
+
+        // Verify results: 2 was used least recently
+        assertEquals(Optional.of("one"), cache.get(1L, key -> Optional.of("reloaded")));
+        assertEquals(Optional.of("reloaded"), cache.get(2L, key -> Optional.of("reloaded")));
+        assertEquals(2, cache.stats().evictions());
+        assertEquals(2, cache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("Should reload an invalidated key")
+    public void should_reload_invalidated_key() {
+        // Prepare test data
+        LookupCache<Long, String> cache = new LookupCache<>(10);
+        cache.get(1L, key -> Optional.of("old balance"));
+
+        // Execute test
+        cache.invalidate(1L);
+
+        // Verify results
+        assertEquals(Optional.of("new balance"), cache.get(1L, key -> Optional.of("new balance")));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    @DisplayName("Should not cache a value loaded while an invalidation happened")
+    public void should_not_cache_value_loaded_across_invalidation() {
+        // Prepare test data
+        LookupCache<Long, String> cache = new LookupCache<>(10);
+
+        // Execute test: a write commits and invalidates while the old row is being loaded
+        Optional<String> loaded = cache.get(1L, key -> {
+            cache.invalidate(key);
+            return Optional.of("old balance");
+        });
+
+        // Verify results
+        assertEquals(Optional.of("old balance"), loaded);
+        assertEquals(Optional.of("new balance"), cache.get(1L, key -> Optional.of("new balance")));
+    }
+
+    @Test
+    @DisplayName("Should load every time when the size is zero")
+    public void should_load_every_time_when_disabled() {
+        LookupCache<Long, String> cache = new LookupCache<>(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, key -> Optional.of("v" + loads.incrementAndGet()));
+        cache.get(1L, key -> Optional.of("v" + loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().entries());
+        assertThrows(IllegalArgumentException.class, () -> new LookupCache<Long, String>(-1));
+    }
+}
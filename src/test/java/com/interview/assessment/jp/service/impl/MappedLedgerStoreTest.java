@@ -0,0 +1,85 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.LedgerStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@link LedgerStore} contract against the memory-mapped store, plus its
+ * persistence across restarts
+ */
+public class MappedLedgerStoreTest extends LedgerStoreContractTest {
+
+    @TempDir
+    Path directory;
+
+    private LedgerProperties properties;
+    private MappedLedgerStore mappedLedgerStore;
+
+    @BeforeEach
+    public void setup() {
+        // Journal and snapshots are left disabled here; the store enables them itself
+        properties = new LedgerProperties();
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        properties.getSnapshot().setPath(directory.resolve("ledger.snapshot"));
+        properties.getSnapshot().setInterval(Duration.ZERO);
+        mappedLedgerStore = open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mappedLedgerStore.close();
+    }
+
+    @Override
+    protected LedgerStore store() {
+        return mappedLedgerStore;
+    }
+
+    @Test
+    @DisplayName("Should restore accounts, postings and transfers after a restart")
+    public void should_restore_ledger_after_restart() {
+        // Prepare test data
+        Account from = openAccount("100.00");
+        Account to = openAccount("0.00");
+        LocalDateTime date = LocalDateTime.of(2025, 3, 1, 9, 30);
+        Transaction credit = store().createTransaction(transaction(from, TransactionType.CREDIT, "25.00", date));
+        LedgerStore.Transfer transfer = store().createTransfer(from.getId(), to.getId(), new BigDecimal("40.00"),
+                "Rent share", date);
+
+        // Execute test
+        mappedLedgerStore.close();
+        mappedLedgerStore = open();
+
+        // Verify results
+        assertEquals(from.getAccountNumber(), store().getAccountById(from.getId()).getAccountNumber());
+        assertAmount("85.00", store().getAccountById(from.getId()).getBalance());
+        assertAmount("40.00", store().getAccountById(to.getId()).getBalance());
+        assertEquals(List.of(credit.getId(), transfer.debit().getId()),
+                store().getTransactionsByAccountId(from.getId()).stream().map(Transaction::getId).toList());
+        assertEquals(transfer.debit().getId(),
+                store().getTransactionById(transfer.credit().getId()).getLinkedTransactionId());
+        assertEquals(date, store().getTransactionById(credit.getId()).getTransactionDate());
+    }
+
+    private MappedLedgerStore open() {
+        MappedLedgerStore store = new MappedLedgerStore(properties);
+        store.init();
+        return store;
+    }
+}
@@ -0,0 +1,30 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.service.LedgerStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * The {@link LedgerStore} contract against the in-memory ledger
+ */
+public class MockDataServiceContractTest extends LedgerStoreContractTest {
+
+    private MockDataService mockDataService;
+
+    @BeforeEach
+    public void setup() {
+        mockDataService = new MockDataService(new LedgerProperties());
+        mockDataService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mockDataService.close();
+    }
+
+    @Override
+    protected LedgerStore store() {
+        return mockDataService;
+    }
+}
@@ -0,0 +1,584 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.LedgerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MockDataServiceTest {
+
+    private MockDataService mockDataService;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        mockDataService = new MockDataService(new LedgerProperties());
+        mockDataService.init();
+        user = mockDataService.getCurrentUser();
+    }
+
+    @Test
+    @DisplayName("Should post transaction and update balance")
+    public void should_post_transaction_and_update_balance() {
+        // Prepare test data
+        Account account = newAccount("100.00");
+
+        // Execute test
+        Transaction created = mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "40.00"));
+
+        // Verify results
+        assertNotNull(created.getId());
+        assertEquals(new BigDecimal("60.00"), mockDataService.getAccountById(account.getId()).getBalance());
+        assertEquals(1, mockDataService.getTransactionsByAccountId(account.getId()).size());
+
+        Transaction stored = mockDataService.getTransactionById(created.getId());
+        assertEquals(created.getId(), stored.getId());
+        assertEquals(TransactionType.DEBIT, stored.getTransactionType());
+        assertEquals(new BigDecimal("40.00"), stored.getAmount());
+        assertEquals("Test posting", stored.getDescription());
+        assertEquals(created.getTransactionDate(), stored.getTransactionDate());
+        assertEquals(account.getId(), stored.getAccountId());
+    }
+
+    @Test
+    @DisplayName("Should list all accounts by ID, optionally of one type")
+    public void should_list_all_accounts() {
+        // Prepare test data
+        Account checking = newAccount("100.00");
+        Account savings = mockDataService.createAccount(Account.builder()
+                .accountNumber("SAV-" + System.nanoTime())
+                .balance(new BigDecimal("5.00"))
+                .accountType(AccountType.SAVINGS)
+                .user(user)
+                .build());
+
+        // Execute test
+        List<Account> all = mockDataService.getAllAccounts(null);
+        List<Account> savingsAccounts = mockDataService.getAllAccounts(AccountType.SAVINGS);
+
+        // Verify results
+        assertTrue(all.containsAll(List.of(checking, savings)));
+        assertTrue(all.stream().map(Account::getId).toList()
+                .equals(all.stream().map(Account::getId).sorted().toList()));
+        assertTrue(savingsAccounts.contains(savings));
+        assertFalse(savingsAccounts.contains(checking));
+        assertTrue(savingsAccounts.stream().allMatch(account -> account.getAccountType() == AccountType.SAVINGS));
+    }
+
+    @Test
+    @DisplayName("Should reject debit exceeding balance without posting it")
+    public void should_reject_debit_exceeding_balance() {
+        // Prepare test data
+        Account account = newAccount("10.00");
+
+        // Execute test and verify results
+        assertThrows(IllegalArgumentException.class,
+                () -> mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "10.01")));
+        assertEquals(new BigDecimal("10.00"), account.getBalance());
+        assertTrue(mockDataService.getTransactionsByAccountId(account.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not lose postings or overdraw under concurrent debits and credits")
+    public void should_keep_ledger_consistent_under_concurrency() throws Exception {
+        // Prepare test data
+        int threads = 8;
+        int postingsPerThread = 2_000;
+        Account account = newAccount("1000.00");
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Execute test
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            TransactionType type = t % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < postingsPerThread; i++) {
+                    try {
+                        mockDataService.createTransaction(transaction(account, type, "1.00"));
+                    } catch (IllegalArgumentException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Verify results
+        List<Transaction> postings = mockDataService.getTransactionsByAccountId(account.getId());
+        assertEquals(threads * postingsPerThread - rejected.get(), postings.size());
+
+        BigDecimal expected = new BigDecimal("1000.00");
+        for (Transaction posting : postings) {
+            expected = posting.getTransactionType() == TransactionType.CREDIT
+                    ? expected.add(posting.getAmount())
+                    : expected.subtract(posting.getAmount());
+            assertTrue(expected.signum() >= 0, "Balance must never go negative");
+        }
+        assertEquals(expected, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should return transactions in a half-open date range ordered by date")
+    public void should_return_transactions_between_dates() {
+        // Prepare test data
+        Account account = newAccount("100.00");
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+        Transaction third = mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "3.00",
+                base.plusDays(3)));
+        Transaction first = mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "1.00",
+                base.plusDays(1)));
+        Transaction second = mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "2.00",
+                base.plusDays(2)));
+        mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "4.00", base.plusDays(4)));
+
+        // Execute test
+        List<Transaction> range = mockDataService.getTransactionsByAccountIdBetween(account.getId(),
+                base.plusDays(1), base.plusDays(4));
+        List<Transaction> open = mockDataService.getTransactionsByAccountIdBetween(account.getId(),
+                base.plusDays(2).minusNanos(1), null);
+
+        // Verify results
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                range.stream().map(Transaction::getId).toList());
+        assertEquals(3, open.size());
+        assertEquals(second.getId(), open.get(0).getId());
+        assertTrue(mockDataService.getTransactionsByAccountIdBetween(account.getId(), base.plusDays(5), null)
+                .isEmpty());
+        assertTrue(mockDataService.getTransactionsByAccountIdBetween(99_999L, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through transactions by keyset in date order")
+    public void should_page_transactions_by_keyset() {
+        // Prepare test data
+        Account account = newAccount("100.00");
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int day : new int[]{5, 1, 3, 3, 2, 4}) {
+            mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "1.00",
+                    base.plusDays(day)));
+        }
+        mockDataService.getTransactionsByAccountIdBetween(account.getId(), null, null)
+                .forEach(transaction -> expected.add(transaction.getId()));
+
+        // Execute test
+        List<Long> paged = new ArrayList<>();
+        List<Transaction> page = mockDataService.getTransactionsPageByAccountId(account.getId(), null, 0, 4);
+        while (!page.isEmpty()) {
+            page.forEach(transaction -> paged.add(transaction.getId()));
+            Transaction last = page.get(page.size() - 1);
+            page = mockDataService.getTransactionsPageByAccountId(account.getId(), last.getTransactionDate(),
+                    last.getId(), 4);
+        }
+
+        // Verify results
+        assertEquals(expected, paged);
+        assertEquals(6, paged.size());
+        assertEquals(4, mockDataService.getTransactionsPageByAccountId(account.getId(),
+                base.plusDays(3).minusNanos(1), Long.MAX_VALUE, 10).size());
+        assertTrue(mockDataService.getTransactionsPageByAccountId(99_999L, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return a statement period with the balance before it")
+    public void should_return_statement_period() {
+        // Prepare test data
+        Account account = newAccount("100.00");
+        LocalDateTime march = LocalDateTime.of(2024, 3, 1, 0, 0);
+        mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "50.00", march.plusDays(3)));
+        mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "30.00", march.plusMonths(1)));
+        mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "20.00", march.minusDays(1)));
+        mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "5.00", march));
+
+        // Execute test
+        LedgerStore.StatementPeriod period = mockDataService.getStatementPeriod(account.getId(), march,
+                march.plusMonths(1));
+
+        // Verify results
+        assertEquals(new BigDecimal("80.00"), period.openingBalance());
+        assertEquals(List.of(new BigDecimal("5.00"), new BigDecimal("50.00")),
+                period.transactions().stream().map(Transaction::getAmount).toList());
+        assertEquals(new BigDecimal("125.00"), mockDataService.getStatementPeriod(account.getId(),
+                march.plusMonths(1), march.plusMonths(2)).openingBalance());
+    }
+
+    @Test
+    @DisplayName("Should notify posting listeners with the account and transaction date")
+    public void should_notify_posting_listeners() {
+        // Prepare test data
+        Account account = newAccount("100.00");
+        LocalDateTime date = LocalDateTime.of(2024, 3, 10, 8, 0);
+        List<String> postings = new ArrayList<>();
+        mockDataService.addPostingListener((accountId, transactionDate) -> postings.add(accountId + "@" + transactionDate));
+
+        // Execute test
+        mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "5.00", date));
+
+        // Verify results
+        assertEquals(List.of(account.getId() + "@" + date), postings);
+        assertThrows(IllegalArgumentException.class, () -> mockDataService.createTransaction(
+                transaction(account, TransactionType.DEBIT, "500.00", date)));
+        assertEquals(1, postings.size());
+    }
+
+    @Test
+    @DisplayName("Should settle balances through the lock-free engine when enabled")
+    public void should_settle_balances_with_cas_engine() {
+        // Prepare test data
+        LedgerProperties properties = new LedgerProperties();
+        properties.setBalanceEngine(LedgerProperties.BalanceEngine.CAS);
+        mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        user = mockDataService.getCurrentUser();
+        Account account = newAccount("100.00");
+
+        // Execute test
+        mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "0.50"));
+        mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "100.25"));
+
+        // Verify results
+        assertThrows(IllegalArgumentException.class,
+                () -> mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "0.26")));
+        assertEquals(new BigDecimal("0.25"), mockDataService.getAccountById(account.getId()).getBalance());
+        assertEquals(2, mockDataService.getTransactionsByAccountId(account.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Should post a batch in order against the running balance, or none of it")
+    public void should_post_batch_all_or_nothing() {
+        for (LedgerProperties.BalanceEngine engine : LedgerProperties.BalanceEngine.values()) {
+            // Prepare test data
+            LedgerProperties properties = new LedgerProperties();
+            properties.setBalanceEngine(engine);
+            mockDataService = new MockDataService(properties);
+            mockDataService.init();
+            user = mockDataService.getCurrentUser();
+            Account account = newAccount("10.00");
+
+            // Execute test: the debit is covered only by the credit before it
+            List<Transaction> posted = mockDataService.createTransactions(account.getId(), List.of(
+                    transaction(account, TransactionType.CREDIT, "5.00"),
+                    transaction(account, TransactionType.DEBIT, "15.00"),
+                    transaction(account, TransactionType.CREDIT, "1.00")));
+
+            // Verify results
+            assertEquals(3, posted.size());
+            assertTrue(posted.get(0).getId() < posted.get(1).getId() && posted.get(1).getId() < posted.get(2).getId());
+            assertEquals(new BigDecimal("1.00"), mockDataService.getAccountById(account.getId()).getBalance(),
+                    engine.name());
+
+            // The final balance would cover the debit, but the balance before it does not
+            assertThrows(IllegalArgumentException.class, () -> mockDataService.createTransactions(account.getId(),
+                    List.of(transaction(account, TransactionType.DEBIT, "2.00"),
+                            transaction(account, TransactionType.CREDIT, "5.00"))));
+            assertEquals(new BigDecimal("1.00"), mockDataService.getAccountById(account.getId()).getBalance(),
+                    engine.name());
+            assertEquals(3, mockDataService.getTransactionsByAccountId(account.getId()).size(), engine.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Should transfer as a linked debit and credit, or not at all")
+    public void should_transfer_with_linked_legs() {
+        for (LedgerProperties.BalanceEngine engine : LedgerProperties.BalanceEngine.values()) {
+            // Prepare test data
+            LedgerProperties properties = new LedgerProperties();
+            properties.setBalanceEngine(engine);
+            mockDataService = new MockDataService(properties);
+            mockDataService.init();
+            user = mockDataService.getCurrentUser();
+            Account from = newAccount("50.00");
+            Account to = newAccount("5.00");
+
+            // Execute test
+            LedgerStore.Transfer transfer = mockDataService.createTransfer(from.getId(), to.getId(),
+                    new BigDecimal("20.00"), "Rent share", LocalDateTime.now());
+
+            // Verify results
+            assertEquals(new BigDecimal("30.00"), mockDataService.getAccountById(from.getId()).getBalance(),
+                    engine.name());
+            assertEquals(new BigDecimal("25.00"), mockDataService.getAccountById(to.getId()).getBalance(),
+                    engine.name());
+            Transaction debit = mockDataService.getTransactionById(transfer.debit().getId());
+            Transaction credit = mockDataService.getTransactionById(transfer.credit().getId());
+            assertEquals(TransactionType.DEBIT, debit.getTransactionType());
+            assertEquals(from.getId(), debit.getAccountId());
+            assertEquals(credit.getId(), debit.getLinkedTransactionId());
+            assertEquals(TransactionType.CREDIT, credit.getTransactionType());
+            assertEquals(to.getId(), credit.getAccountId());
+            assertEquals(debit.getId(), credit.getLinkedTransactionId());
+            assertEquals(debit.getTransactionDate(), credit.getTransactionDate());
+
+            assertThrows(IllegalArgumentException.class, () -> mockDataService.createTransfer(from.getId(),
+                    to.getId(), new BigDecimal("30.01"), "Too much", LocalDateTime.now()));
+            assertThrows(IllegalArgumentException.class, () -> mockDataService.createTransfer(from.getId(),
+                    from.getId(), new BigDecimal("1.00"), "Same account", LocalDateTime.now()));
+            assertEquals(new BigDecimal("30.00"), mockDataService.getAccountById(from.getId()).getBalance(),
+                    engine.name());
+            assertEquals(1, mockDataService.getTransactionsByAccountId(from.getId()).size(), engine.name());
+            assertEquals(1, mockDataService.getTransactionsByAccountId(to.getId()).size(), engine.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Should neither deadlock nor lose money under transfers in both directions")
+    public void should_conserve_money_under_crossing_transfers() throws Exception {
+        // Prepare test data
+        int threads = 8;
+        int transfersPerThread = 2_000;
+        Account first = newAccount("100.00");
+        Account second = newAccount("100.00");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Execute test
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Account from = t % 2 == 0 ? first : second;
+            Account to = t % 2 == 0 ? second : first;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    try {
+                        mockDataService.createTransfer(from.getId(), to.getId(), new BigDecimal("3.00"),
+                                "Crossing transfer", LocalDateTime.now());
+                    } catch (IllegalArgumentException ex) {
+                        // Insufficient balance
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Verify results
+        assertEquals(new BigDecimal("200.00"), first.getBalance().add(second.getBalance()));
+        assertEquals(mockDataService.getTransactionsByAccountId(first.getId()).size(),
+                mockDataService.getTransactionsByAccountId(second.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Should restore transfer links from the snapshot and the journal")
+    public void should_restore_transfer_links(@TempDir Path directory) {
+        // Prepare test data
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(directory.resolve("ledger.snapshot"));
+        properties.getSnapshot().setInterval(Duration.ZERO);
+        mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        user = mockDataService.getCurrentUser();
+        Account from = newAccount("100.00");
+        Account to = newAccount("0.00");
+        LedgerStore.Transfer snapshotted = mockDataService.createTransfer(from.getId(), to.getId(),
+                new BigDecimal("10.00"), "Before snapshot", LocalDateTime.now());
+        mockDataService.snapshot();
+        LedgerStore.Transfer journaled = mockDataService.createTransfer(to.getId(), from.getId(),
+                new BigDecimal("4.00"), "After snapshot", LocalDateTime.now());
+        mockDataService.close();
+
+        // Execute test
+        MockDataService restarted = new MockDataService(properties);
+        restarted.init();
+
+        // Verify results
+        assertEquals(new BigDecimal("94.00"), restarted.getAccountById(from.getId()).getBalance());
+        assertEquals(new BigDecimal("6.00"), restarted.getAccountById(to.getId()).getBalance());
+        for (LedgerStore.Transfer transfer : List.of(snapshotted, journaled)) {
+            assertEquals(transfer.credit().getId(),
+                    restarted.getTransactionById(transfer.debit().getId()).getLinkedTransactionId());
+            assertEquals(transfer.debit().getId(),
+                    restarted.getTransactionById(transfer.credit().getId()).getLinkedTransactionId());
+        }
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should rebuild postings and balances from the journal after restart")
+    public void should_replay_journal_after_restart(@TempDir Path directory) {
+        // Prepare test data
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        Account savings = mockDataService.getAccountById(1L);
+        BigDecimal openingBalance = savings.getBalance();
+        Transaction credit = mockDataService.createTransaction(transaction(savings, TransactionType.CREDIT, "12.34"));
+        Transaction debit = mockDataService.createTransaction(transaction(savings, TransactionType.DEBIT, "2.34"));
+        List<Transaction> batch = mockDataService.createTransactions(savings.getId(), List.of(
+                transaction(savings, TransactionType.CREDIT, "3.00"),
+                transaction(savings, TransactionType.DEBIT, "3.00")));
+        mockDataService.close();
+
+        // Execute test
+        MockDataService restarted = new MockDataService(properties);
+        restarted.init();
+
+        // Verify results
+        assertEquals(openingBalance.add(new BigDecimal("10.00")), restarted.getAccountById(1L).getBalance());
+        assertEquals(7, restarted.getTransactionsByAccountId(1L).size());
+        Transaction replayed = restarted.getTransactionById(debit.getId());
+        assertEquals(TransactionType.DEBIT, replayed.getTransactionType());
+        assertEquals(new BigDecimal("2.34"), replayed.getAmount());
+        assertEquals(debit.getTransactionDate(), replayed.getTransactionDate());
+        assertNotNull(restarted.getTransactionById(credit.getId()));
+
+        assertNotNull(restarted.getTransactionById(batch.get(1).getId()));
+
+        Transaction next = restarted.createTransaction(transaction(savings, TransactionType.CREDIT, "1.00"));
+        assertEquals(batch.get(1).getId() + 1, next.getId());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should restore accounts created after startup from the journal alone")
+    public void should_replay_journaled_account_after_restart(@TempDir Path directory) {
+        // Prepare test data
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        user = mockDataService.getCurrentUser();
+        Account account = newAccount("100.00");
+        Transaction debit = mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "30.00"));
+        mockDataService.close();
+
+        // Execute test
+        MockDataService restarted = new MockDataService(properties);
+        restarted.init();
+
+        // Verify results
+        Account restored = restarted.getAccountById(account.getId());
+        assertNotNull(restored);
+        assertEquals(new BigDecimal("70.00"), restored.getBalance());
+        assertEquals(account.getAccountNumber(), restored.getAccountNumber());
+        assertEquals(AccountType.CHECKING, restored.getAccountType());
+        assertTrue(restarted.getAccountsByUserId(user.getId()).contains(restored));
+        assertEquals(new BigDecimal("30.00"), restarted.getTransactionById(debit.getId()).getAmount());
+        assertEquals(new BigDecimal("100.00"), restarted.getStatementPeriod(account.getId(),
+                debit.getTransactionDate().minusDays(1), debit.getTransactionDate().plusDays(1))
+                .openingBalance());
+
+        Account next = restarted.createAccount(Account.builder()
+                .accountNumber("TST-next")
+                .balance(BigDecimal.ZERO)
+                .accountType(AccountType.CHECKING)
+                .user(user)
+                .build());
+        assertEquals(account.getId() + 1, next.getId());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should restart from the newest snapshot and replay only the journal tail")
+    public void should_restore_snapshot_and_replay_tail(@TempDir Path directory) {
+        // Prepare test data
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setPath(directory.resolve("ledger.journal"));
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(directory.resolve("ledger.snapshot"));
+        properties.getSnapshot().setInterval(Duration.ZERO);
+        mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        user = mockDataService.getCurrentUser();
+        Account account = newAccount("100.00");
+        mockDataService.createTransaction(transaction(account, TransactionType.DEBIT, "30.00"));
+        long generation = mockDataService.snapshot();
+        Transaction tail = mockDataService.createTransaction(transaction(account, TransactionType.CREDIT, "5.25"));
+        mockDataService.close();
+
+        // Execute test
+        MockDataService restarted = new MockDataService(properties);
+        restarted.init();
+
+        // Verify results
+        assertEquals(2L, generation);
+        assertFalse(Files.exists(directory.resolve("ledger.journal.1")));
+        Account restored = restarted.getAccountById(account.getId());
+        assertEquals(new BigDecimal("75.25"), restored.getBalance());
+        assertEquals(account.getAccountNumber(), restored.getAccountNumber());
+        assertTrue(restarted.getAccountsByUserId(user.getId()).contains(restored));
+        assertEquals(2, restarted.getTransactionsByAccountId(account.getId()).size());
+        assertEquals(new BigDecimal("5.25"), restarted.getTransactionById(tail.getId()).getAmount());
+        assertEquals(mockDataService.getAccountById(1L).getBalance(), restarted.getAccountById(1L).getBalance());
+        assertEquals(3, restarted.getTransactionsByAccountId(1L).size());
+
+        Account next = restarted.createAccount(Account.builder()
+                .accountNumber("TST-next")
+                .balance(BigDecimal.ZERO)
+                .accountType(AccountType.CHECKING)
+                .user(user)
+                .build());
+        assertEquals(account.getId() + 1, next.getId());
+        assertEquals(tail.getId() + 1,
+                restarted.createTransaction(transaction(restored, TransactionType.DEBIT, "0.25")).getId());
+        restarted.close();
+    }
+
+    private Account newAccount(String balance) {
+        return mockDataService.createAccount(Account.builder()
+                .accountNumber("TST-" + System.nanoTime())
+                .balance(new BigDecimal(balance))
+                .accountType(AccountType.CHECKING)
+                .user(user)
+                .build());
+    }
+
+    private static Transaction transaction(Account account, TransactionType type, String amount) {
+        return transaction(account, type, amount, LocalDateTime.now());
+    }
+
+    private static Transaction transaction(Account account, TransactionType type, String amount,
+            LocalDateTime transactionDate) {
+        return Transaction.builder()
+                .transactionType(type)
+                .amount(new BigDecimal(amount))
+                .description("Test posting")
+                .transactionDate(transactionDate)
+                .account(account)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.config.LedgerProperties.BalanceEngine;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Posting throughput of the striped ledger, one account per thread versus all
+ * threads on a single account, for each balance engine. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class MockDataServiceThroughputTest {
+
+    private static final int POSTINGS_PER_THREAD = Integer.getInteger("benchmark.postings", 200_000);
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+
+    @Test
+    @DisplayName("Posting throughput should scale with the number of accounts")
+    public void posting_throughput_scales_across_accounts() throws Exception {
+        System.out.printf("%nStriped ledger posting throughput (%d postings/thread, %d CPUs)%n",
+                POSTINGS_PER_THREAD, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %20s %20s %10s %20s%n",
+                "threads", "distinct ops/s", "same-account ops/s", "scaling", "cas same-account ops/s");
+
+        // Warm up
+        run(4, true, BalanceEngine.LOCKED);
+        run(4, false, BalanceEngine.CAS);
+
+        double baseline = 0;
+        for (int threads : THREAD_COUNTS) {
+            double distinct = run(threads, true, BalanceEngine.LOCKED);
+            double shared = run(threads, false, BalanceEngine.LOCKED);
+            double casShared = run(threads, false, BalanceEngine.CAS);
+            if (threads == 1) {
+                baseline = distinct;
+            }
+            System.out.printf("%8d %20.0f %20.0f %9.2fx %20.0f%n",
+                    threads, distinct, shared, distinct / baseline, casShared);
+        }
+    }
+
+    /**
+     * Post credits from several threads and return postings per second
+     */
+    private double run(int threads, boolean distinctAccounts, BalanceEngine engine) throws Exception {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setBalanceEngine(engine);
+        MockDataService mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        User user = mockDataService.getCurrentUser();
+
+        List<Account> accounts = new ArrayList<>();
+        Account shared = newAccount(mockDataService, user);
+        for (int t = 0; t < threads; t++) {
+            accounts.add(distinctAccounts ? newAccount(mockDataService, user) : shared);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Account account : accounts) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                    mockDataService.createTransaction(Transaction.builder()
+                            .transactionType(TransactionType.CREDIT)
+                            .amount(BigDecimal.ONE)
+                            .description("Benchmark posting")
+                            .transactionDate(LocalDateTime.now())
+                            .account(account)
+                            .build());
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        long total = (long) threads * POSTINGS_PER_THREAD;
+        long posted = accounts.stream().distinct()
+                .mapToLong(account -> mockDataService.getTransactionsByAccountId(account.getId()).size())
+                .sum();
+        assertEquals(total, posted);
+
+        return total * 1_000_000_000.0 / elapsed;
+    }
+
+    private static Account newAccount(MockDataService mockDataService, User user) {
+        return mockDataService.createAccount(Account.builder()
+                .accountNumber("BEN-" + System.nanoTime())
+                .balance(BigDecimal.ZERO)
+                .accountType(AccountType.CHECKING)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.exception.InsufficientFundsException;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostingMetricsTest {
+
+    @Test
+    @DisplayName("Should count each posting by outcome and rethrow failures")
+    public void should_count_outcomes() {
+        // Prepare test data
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PostingMetrics metrics = new PostingMetrics(registry);
+
+        // Execute test
+        String result = metrics.record(PostingMetrics.Kind.TRANSFER, () -> "posted");
+        assertThrows(InsufficientFundsException.class, () -> metrics.record(PostingMetrics.Kind.TRANSFER, () -> {
+            throw new InsufficientFundsException();
+        }));
+        assertThrows(ResourceNotFoundException.class, () -> metrics.record(PostingMetrics.Kind.TRANSFER, () -> {
+            throw new ResourceNotFoundException("Account not found");
+        }));
+        assertThrows(IllegalArgumentException.class, () -> metrics.record(PostingMetrics.Kind.TRANSFER, () -> {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }));
+
+        // Verify results
+        assertEquals("posted", result);
+        assertEquals(1, metrics.count(PostingMetrics.Kind.TRANSFER, PostingMetrics.Outcome.SUCCESS));
+        assertEquals(1, metrics.count(PostingMetrics.Kind.TRANSFER, PostingMetrics.Outcome.INSUFFICIENT_FUNDS));
+        assertEquals(1, metrics.count(PostingMetrics.Kind.TRANSFER, PostingMetrics.Outcome.NOT_FOUND));
+        assertEquals(1, metrics.count(PostingMetrics.Kind.TRANSFER, PostingMetrics.Outcome.REJECTED));
+        assertEquals(1, registry.get("banking.postings")
+                .tags("kind", "transfer", "outcome", "insufficient_funds")
+                .counter()
+                .count());
+        assertEquals(12, registry.find("banking.postings").counters().size());
+    }
+}
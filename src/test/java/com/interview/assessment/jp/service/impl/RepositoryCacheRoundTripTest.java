@@ -0,0 +1,120 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.IdempotencyConfig;
+import com.interview.assessment.jp.config.MetricsConfig;
+import com.interview.assessment.jp.config.RepositoryCacheConfig;
+import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.enums.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Database round trips and latency per request for a mix of account reads,
+ * transaction pages and postings on the JPA services, with the repository
+ * cache cleared before every request versus kept warm. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "banking.ledger.store=JPA",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.interview.assessment=INFO",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"})
+@Import({JpaTransactionServiceImpl.class, JpaAccountServiceImpl.class, JpaLedgerStore.class,
+        IdempotencyConfig.class, RepositoryCacheConfig.class, MetricsConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RepositoryCacheRoundTripTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5_000);
+    private static final int WARMUP = 1_000;
+    // One request in this many posts a transaction
+    private static final int POSTING_EVERY = 20;
+
+    @Autowired
+    private JpaTransactionServiceImpl transactionService;
+
+    @Autowired
+    private JpaAccountServiceImpl accountService;
+
+    @Autowired
+    private RepositoryCache repositoryCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("A warm repository cache should cut database round trips per request")
+    public void warm_cache_cuts_round_trips() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+
+        System.out.printf("%nRequest mix: 1 in %d posts, the rest read accounts and transaction pages (%d requests)%n",
+                POSTING_EVERY, REQUESTS);
+        System.out.printf("%-10s %20s %14s %12s %14s %12s%n",
+                "cache", "statements/request", "ms/request", "accounts", "userAccounts", "users");
+        run(true, statistics, false);
+        double cold = run(true, statistics, true);
+        run(false, statistics, false);
+        double warm = run(false, statistics, true);
+        assertTrue(warm < cold, "Warm cache took " + warm + " statements per request");
+    }
+
+    /**
+     * Serve the request mix and return the mean statements prepared per request
+     */
+    private double run(boolean clearEachRequest, Statistics statistics, boolean report) {
+        int requests = report ? REQUESTS : WARMUP;
+        repositoryCache.clear();
+        statistics.clear();
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            if (clearEachRequest) {
+                repositoryCache.clear();
+            }
+            request(i);
+        }
+        long elapsed = System.nanoTime() - started;
+        double statements = (double) statistics.getPrepareStatementCount() / requests;
+
+        if (report) {
+            Map<String, LookupCache.Stats> stats = repositoryCache.stats();
+            System.out.printf("%-10s %20.2f %14.3f %11.0f%% %13.0f%% %11.0f%%%n",
+                    clearEachRequest ? "cold" : "warm", statements, elapsed / 1e6 / requests,
+                    100 * stats.get("accounts").hitRatio(), 100 * stats.get("userAccounts").hitRatio(),
+                    100 * stats.get("users").hitRatio());
+        }
+        return statements;
+    }
+
+    private void request(int i) {
+        long accountId = 1 + i % 2;
+        if (i % POSTING_EVERY == 0) {
+            TransactionRequest request = new TransactionRequest();
+            request.setTransactionType(TransactionType.CREDIT);
+            request.setAmount(new BigDecimal("1.00"));
+            request.setDescription("Benchmark posting");
+            transactionService.createTransaction(accountId, request);
+            return;
+        }
+        switch (i % 4) {
+            case 1 -> accountService.getAccountsByCurrentUser();
+            case 2 -> accountService.getAccountById(accountId);
+            default -> transactionService.getTransactionsPageByAccountId(accountId, null, 20);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.RepositoryCacheConfig;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the H2 schema and seed data: user 1 owns accounts 1 and 2,
+ * user 2 owns accounts 3 and 4.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "banking.ledger.store=JPA",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import(RepositoryCacheConfig.class)
+public class RepositoryCacheTest {
+
+    @Autowired
+    private RepositoryCache repositoryCache;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        repositoryCache.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups without touching the database")
+    public void should_serve_repeated_lookups_from_cache() {
+        // Prepare test data
+        lookups();
+        statistics.clear();
+
+        // Execute test
+        lookups();
+
+        // Verify results
+        assertEquals(0, statistics.getPrepareStatementCount());
+        LookupCache.Stats accounts = repositoryCache.stats().get("accounts");
+        assertEquals(1, accounts.hits());
+        assertEquals(1, accounts.misses());
+        assertEquals(0.75, repositoryCache.stats().get("users").hitRatio());
+    }
+
+    @Test
+    @DisplayName("Should keep a changed account cached until the transaction commits")
+    public void should_evict_only_after_commit() {
+        // Prepare test data
+        lookups();
+        Account account = accountRepository.findById(1L).orElseThrow();
+        statistics.clear();
+
+        // Execute test: the test transaction never commits
+        repositoryCache.evictAfterCommit(account);
+        lookups();
+
+        // Verify results
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should evict a changed account and its owner's list at once outside a transaction")
+    public void should_evict_account_and_owner_list() {
+        // Prepare test data
+        lookups();
+        Account account = accountRepository.findById(1L).orElseThrow();
+        statistics.clear();
+
+        // Execute test
+        repositoryCache.evictAfterCommit(account);
+        lookups();
+
+        // Verify results: the account and the list reloaded, the user still cached
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, repositoryCache.stats().get("accounts").invalidations());
+        assertEquals(1, repositoryCache.stats().get("userAccounts").invalidations());
+    }
+
+    private void lookups() {
+        assertEquals(1L, repositoryCache.findUserByUsername("user1").orElseThrow().id());
+        assertEquals(Set.of("USER", "ADMIN"),
+                Set.copyOf(repositoryCache.findUserByUsername("user1").orElseThrow().roles()));
+        assertEquals(1L, repositoryCache.findAccountById(1L).orElseThrow().userId());
+        assertEquals(List.of(1L, 2L), repositoryCache.findAccountsByUserId(1L).stream()
+                .map(RepositoryCache.CachedAccount::id)
+                .toList());
+    }
+}
@@ -0,0 +1,175 @@
+package com.interview.assessment.jp.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCacheTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+
+    @Test
+    @DisplayName("Should render once and count hits and misses")
+    public void should_render_once_and_count_hits() {
+        // Prepare test data
+        StatementCache cache = new StatementCache(1_000_000);
+        AtomicInteger renders = new AtomicInteger();
+
+        // Execute test
+        byte[] first = cache.get(1L, MARCH, () -> render(renders, "march"));
+        byte[] second = cache.get(1L, MARCH, () -> render(renders, "march"));
+
+        // Verify results
+        assertArrayEquals(first, second);
+        assertEquals(1, renders.get());
+        StatementCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the month a posting is dated in")
+    public void should_invalidate_only_posted_month() {
+        // Prepare test data
+        StatementCache cache = new StatementCache(1_000_000);
+        AtomicInteger renders = new AtomicInteger();
+        cache.get(1L, MARCH, () -> render(renders, "march"));
+        cache.get(1L, APRIL, () -> render(renders, "april"));
+        cache.get(2L, MARCH, () -> render(renders, "other account"));
+
+        // Execute test
+        cache.invalidate(1L, LocalDateTime.of(2024, 3, 31, 23, 59));
+        cache.invalidate(3L, LocalDateTime.of(2024, 3, 15, 0, 0));
+
+        // Verify results
+        assertEquals(1, cache.stats().invalidations());
+        assertEquals(2, cache.stats().entries());
+        cache.get(1L, APRIL, () -> render(renders, "april"));
+        cache.get(2L, MARCH, () -> render(renders, "other account"));
+        assertEquals(3, renders.get());
+        cache.get(1L, MARCH, () -> render(renders, "march"));
+        assertEquals(4, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used statements beyond the size limit")
+    public void should_evict_least_recently_used() {
+        // Prepare test data: room for two 1 KB statements
+        StatementCache cache = new StatementCache(2_500);
+        AtomicInteger renders = new AtomicInteger();
+        cache.get(1L, MARCH, () -> new byte[1_000]);
+        cache.get(2L, MARCH, () -> new byte[1_000]);
+        cache.get(1L, MARCH, () -> new byte[1_000]);
+
+        // Execute test
+        cache.get(3L, MARCH, () -> new byte[1_000]);
+
+        // Verify results
+        StatementCache.Stats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.entries());
+        assertTrue(stats.bytes() <= 2_500);
+        cache.get(1L, MARCH, () -> render(renders, "recently used"));
+        assertEquals(0, renders.get());
+        cache.get(2L, MARCH, () -> render(renders, "evicted"));
+        assertEquals(1, renders.get());
+
+        // Larger than the whole cache: served but never stored
+        cache.get(4L, MARCH, () -> new byte[3_000]);
+        assertTrue(cache.stats().bytes() <= 2_500);
+    }
+
+    @Test
+    @DisplayName("A posting during a render should keep the rendered bytes out of the cache")
+    public void should_not_cache_render_invalidated_in_flight() {
+        // Prepare test data
+        StatementCache cache = new StatementCache(1_000_000);
+        AtomicInteger renders = new AtomicInteger();
+
+        // Execute test
+        byte[] stale = cache.get(1L, MARCH, () -> {
+            cache.invalidate(1L, LocalDateTime.of(2024, 3, 10, 12, 0));
+            return render(renders, "stale");
+        });
+        byte[] fresh = cache.get(1L, MARCH, () -> render(renders, "fresh"));
+
+        // Verify results
+        assertEquals("stale", new String(stale, StandardCharsets.UTF_8));
+        assertEquals("fresh", new String(fresh, StandardCharsets.UTF_8));
+        assertEquals(2, renders.get());
+        assertEquals(0, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Concurrent requests for the same statement should share one render")
+    public void should_coalesce_concurrent_misses() throws Exception {
+        // Prepare test data
+        StatementCache cache = new StatementCache(1_000_000);
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Execute test
+            Future<byte[]> owner = executor.submit(() -> cache.get(1L, MARCH, () -> {
+                rendering.countDown();
+                await(release);
+                return render(renders, "shared");
+            }));
+            assertTrue(rendering.await(5, TimeUnit.SECONDS));
+            Future<byte[]> waiter = executor.submit(() -> cache.get(1L, MARCH, () -> render(renders, "second")));
+            release.countDown();
+
+            // Verify results
+            assertEquals("shared", new String(owner.get(5, TimeUnit.SECONDS), StandardCharsets.UTF_8));
+            assertEquals("shared", new String(waiter.get(5, TimeUnit.SECONDS), StandardCharsets.UTF_8));
+            assertEquals(1, renders.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A zero-sized cache should render every time")
+    public void disabled_cache_should_always_render() {
+        // Prepare test data
+        StatementCache cache = new StatementCache(0);
+        AtomicInteger renders = new AtomicInteger();
+
+        // Execute test
+        cache.get(1L, MARCH, () -> render(renders, "march"));
+        cache.get(1L, MARCH, () -> render(renders, "march"));
+
+        // Verify results
+        assertEquals(2, renders.get());
+        assertEquals(2, cache.stats().misses());
+        assertEquals(0, cache.stats().entries());
+    }
+
+    private static byte[] render(AtomicInteger renders, String text) {
+        renders.incrementAndGet();
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.StatementProperties;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.exception.ForbiddenException;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.StatementExportService;
+import com.interview.assessment.jp.service.StatementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class StatementExportServiceImplTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    @Mock
+    private LedgerStore ledgerStore;
+
+    @Mock
+    private StatementService statementService;
+
+    private StatementExportServiceImpl statementExportService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        StatementProperties properties = new StatementProperties();
+        properties.getExport().setParallelism(4);
+        properties.getExport().setMaxPending(2);
+        statementExportService = new StatementExportServiceImpl(ledgerStore, statementService, properties);
+
+        when(ledgerStore.getCurrentUser()).thenReturn(User.builder().id(1L).username("admin")
+                .roles(List.of("USER", "ADMIN")).build());
+
+        when(statementService.getAccountStatement(any(Account.class), eq(MARCH)))
+                .thenAnswer(invocation -> statement(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statementExportService.close();
+    }
+
+    @Test
+    @DisplayName("Should zip the statement of every account with an export summary")
+    public void should_zip_every_statement() throws Exception {
+        // Prepare test data
+        List<Account> accounts = accounts(10);
+        when(ledgerStore.getAllAccounts(null)).thenReturn(accounts);
+
+        // Execute test
+        StatementExportService.StatementArchive archive = statementExportService.getStatementArchive(request(), null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StatementExportService.ExportSummary summary = archive.writeTo(out);
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        // Verify results
+        assertEquals("statements-2024-3.zip", archive.fileName());
+        assertEquals(10, summary.statements());
+        assertEquals(11, entries.size());
+        for (Account account : accounts) {
+            assertEquals("Statement of " + account.getId() + "\n",
+                    entries.get("statement-" + account.getId() + "-2024-3.txt"));
+        }
+        assertTrue(entries.get(StatementExportServiceImpl.SUMMARY_ENTRY).contains("Statements: 10\n"));
+        assertEquals(accounts.stream().mapToLong(account -> ("Statement of " + account.getId() + "\n").length()).sum(),
+                summary.bytes());
+    }
+
+    @Test
+    @DisplayName("Should refuse the export to a user without the admin role")
+    public void should_refuse_export_to_non_admin() {
+        // Prepare test data
+        when(ledgerStore.getCurrentUser()).thenReturn(User.builder().id(2L).username("user")
+                .roles(List.of("USER")).build());
+
+        // Execute test and verify results
+        assertThrows(ForbiddenException.class, () -> statementExportService.getStatementArchive(request(), null));
+        verify(ledgerStore, never()).getAllAccounts(any());
+    }
+
+    @Test
+    @DisplayName("Should export only accounts of the requested type")
+    public void should_filter_by_account_type() throws Exception {
+        // Prepare test data
+        when(ledgerStore.getAllAccounts(AccountType.SAVINGS)).thenReturn(accounts(2));
+
+        // Execute test
+        StatementExportService.StatementArchive archive = statementExportService.getStatementArchive(request(),
+                AccountType.SAVINGS);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archive.writeTo(out);
+
+        // Verify results
+        assertEquals("statements-2024-3-savings.zip", archive.fileName());
+        assertEquals(3, unzip(out.toByteArray()).size());
+        verify(ledgerStore, never()).getAllAccounts(null);
+    }
+
+    @Test
+    @DisplayName("Should fail the export when a statement cannot be rendered")
+    public void should_fail_when_statement_fails() {
+        // Prepare test data
+        List<Account> accounts = accounts(5);
+        when(ledgerStore.getAllAccounts(null)).thenReturn(accounts);
+        when(statementService.getAccountStatement(accounts.get(3), MARCH))
+                .thenThrow(new IllegalStateException("Render failed"));
+
+        // Execute test and verify results
+        StatementExportService.StatementArchive archive = statementExportService.getStatementArchive(request(), null);
+        IOException thrown = assertThrows(IOException.class, () -> archive.writeTo(new ByteArrayOutputStream()));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertTrue(thrown.getCause().getMessage().contains("Render failed"));
+    }
+
+    private static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            accounts.add(Account.builder()
+                    .id(id)
+                    .accountNumber("10000000" + id)
+                    .accountType(AccountType.SAVINGS)
+                    .build());
+        }
+        return accounts;
+    }
+
+    private static StatementService.Statement statement(Account account) {
+        return new StatementService.Statement() {
+            @Override
+            public String fileName() {
+                return "statement-" + account.getId() + "-2024-3.txt";
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(("Statement of " + account.getId() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static StatementRequest request() {
+        StatementRequest request = new StatementRequest();
+        request.setYear(MARCH.getYear());
+        request.setMonth(MARCH.getMonthValue());
+        return request;
+    }
+}
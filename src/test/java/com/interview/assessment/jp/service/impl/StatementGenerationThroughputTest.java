@@ -0,0 +1,162 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.service.StatementService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Monthly statement generation for accounts with a busy month on top of a
+ * longer history. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class StatementGenerationThroughputTest {
+
+    private static final int MONTH_TRANSACTIONS = Integer.getInteger("benchmark.transactions", 100_000);
+    private static final int HISTORY_MONTHS = 6;
+    private static final int ACCOUNTS = 4;
+    private static final int ROUNDS = 5;
+    private static final String[] DESCRIPTIONS = {"Salary payment", "Shopping expense", "Refund", "Rent", "ATM withdrawal"};
+
+    @Test
+    @DisplayName("Statements for accounts with 100k transactions in a month")
+    public void statement_generation_throughput() throws IOException {
+        MockDataService ledger = new MockDataService(new LedgerProperties());
+        ledger.init();
+        StatementServiceImpl statementService = new StatementServiceImpl(ledger, new StatementCache(0));
+
+        // Each account has the same volume in every month; in the last one, one posting in a thousand arrives a day late
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Account> accounts = new ArrayList<>();
+        for (int a = 0; a < ACCOUNTS; a++) {
+            Account account = ledger.createAccount(Account.builder()
+                    .accountNumber("STM-" + a)
+                    .balance(new BigDecimal("1000000.00"))
+                    .accountType(AccountType.CHECKING)
+                    .user(ledger.getCurrentUser())
+                    .build());
+            accounts.add(account);
+            for (int month = 0; month <= HISTORY_MONTHS; month++) {
+                LocalDateTime monthStart = start.plusMonths(month);
+                long seconds = Duration.between(monthStart, monthStart.plusMonths(1)).toSeconds();
+                for (int i = 0; i < MONTH_TRANSACTIONS; i++) {
+                    long offset = i * seconds / MONTH_TRANSACTIONS;
+                    if (month == HISTORY_MONTHS && i % 1000 == 999) {
+                        offset = Math.max(0, offset - 86_400);
+                    }
+                    ledger.createTransaction(Transaction.builder()
+                            .transactionType(i % 3 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT)
+                            .amount(BigDecimal.valueOf(100 + i % 5000, 2))
+                            .description(DESCRIPTIONS[i % DESCRIPTIONS.length])
+                            .transactionDate(monthStart.plusSeconds(offset))
+                            .account(account)
+                            .build());
+                }
+            }
+        }
+
+        StatementRequest inOrder = request(start.plusMonths(HISTORY_MONTHS - 1));
+        StatementRequest latePostings = request(start.plusMonths(HISTORY_MONTHS));
+
+        // Warm up
+        for (Account account : accounts) {
+            render(statementService, account, inOrder);
+        }
+
+        System.out.printf("%nMonthly statements (%d transactions/month, %d months of history, %d accounts)%n",
+                MONTH_TRANSACTIONS, HISTORY_MONTHS + 1, ACCOUNTS);
+        System.out.printf("%-22s %14s %14s %14s %14s%n", "month", "ms/statement", "lines/s", "MB/s", "bytes");
+        report("in date order", statementService, accounts, inOrder);
+        report("with late postings", statementService, accounts, latePostings);
+
+        // Month-end spike: the same closed months requested again through the cache
+        StatementCache cache = new StatementCache(64L << 20);
+        StatementServiceImpl cachedService = new StatementServiceImpl(ledger, cache);
+        report("cached (first render)", cachedService, accounts, inOrder, 1);
+        report("cached (hits)", cachedService, accounts, inOrder);
+        System.out.printf("Cache: %s%n", cache.stats());
+    }
+
+    private static void report(String label, StatementService statementService, List<Account> accounts,
+            StatementRequest request) throws IOException {
+        report(label, statementService, accounts, request, ROUNDS);
+    }
+
+    private static void report(String label, StatementService statementService, List<Account> accounts,
+            StatementRequest request, int rounds) throws IOException {
+        long bytes = 0;
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (Account account : accounts) {
+                CountingOutputStream out = render(statementService, account, request);
+                // Header and footer lines around one line per transaction
+                assertEquals(MONTH_TRANSACTIONS + 14, out.lines);
+                bytes = out.bytes;
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        int statements = rounds * accounts.size();
+        System.out.printf("%-22s %14.1f %14.0f %14.1f %14d%n", label,
+                seconds * 1000 / statements,
+                (double) statements * MONTH_TRANSACTIONS / seconds,
+                (double) statements * bytes / seconds / 1e6,
+                bytes);
+    }
+
+    private static CountingOutputStream render(StatementService statementService, Account account,
+            StatementRequest request) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        statementService.getStatement(account.getId(), request).writeTo(out);
+        return out;
+    }
+
+    private static StatementRequest request(LocalDateTime month) {
+        StatementRequest request = new StatementRequest();
+        request.setYear(month.getYear());
+        request.setMonth(month.getMonthValue());
+        return request;
+    }
+
+    /**
+     * Discards the statement, counting bytes and lines
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.StatementProperties;
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.dto.response.StatementJobResponse;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.StatementJobStatus;
+import com.interview.assessment.jp.exception.ConflictException;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.StatementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class StatementJobServiceImplTest {
+
+    @Mock
+    private StatementService statementService;
+
+    @Mock
+    private LedgerStore ledgerStore;
+
+    @TempDir
+    private Path directory;
+
+    private StatementProperties properties;
+    private StatementJobServiceImpl statementJobService;
+    private User testUser;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> rendered = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .password("password")
+                .build();
+
+        properties = new StatementProperties();
+        properties.getJobs().setThreads(1);
+        properties.getJobs().setQueueCapacity(3);
+        properties.getJobs().setDirectory(directory);
+
+        when(ledgerStore.getCurrentUser()).thenReturn(testUser);
+        when(statementService.getStatement(eq(1L), any()))
+                .thenAnswer(invocation -> statement(invocation.getArgument(1)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (statementJobService != null) {
+            statementJobService.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should render the statement to disk and serve it once completed")
+    public void should_complete_job_and_download_statement() throws Exception {
+        // Prepare test data
+        start();
+        release.countDown();
+
+        // Execute test
+        StatementJobResponse submitted = statementJobService.submitJob(1L, request(YearMonth.of(2024, 3)));
+        StatementJobResponse completed = await(submitted.getJobId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StatementService.Statement statement = statementJobService.getJobStatement(submitted.getJobId());
+        statement.writeTo(out);
+
+        // Verify results
+        assertEquals(StatementJobStatus.QUEUED, submitted.getStatus());
+        assertNull(submitted.getDownloadUrl());
+        assertEquals(StatementJobStatus.COMPLETED, completed.getStatus());
+        assertEquals("/api/v1/statement-jobs/" + submitted.getJobId() + "/download", completed.getDownloadUrl());
+        assertEquals(completed.getCompletedAt().plusHours(1), completed.getExpiresAt());
+        assertEquals("statement-2024-3.txt", statement.fileName());
+        assertEquals("Statement 2024-03\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, Files.list(directory).count());
+    }
+
+    @Test
+    @DisplayName("Should run current month jobs ahead of earlier queued closed months")
+    public void should_prioritize_current_month() throws Exception {
+        // Prepare test data: the only worker is busy with the first job
+        start();
+        StatementJobResponse blocker = statementJobService.submitJob(1L, request(YearMonth.of(2023, 12)));
+        awaitStatus(blocker.getJobId(), StatementJobStatus.RUNNING);
+
+        // Execute test
+        statementJobService.submitJob(1L, request(YearMonth.of(2024, 1)));
+        StatementJobResponse last = statementJobService.submitJob(1L, request(YearMonth.of(2024, 2)));
+        statementJobService.submitJob(1L, request(YearMonth.now()));
+        release.countDown();
+        await(last.getJobId());
+
+        // Verify results
+        assertEquals(List.of("2023-12", YearMonth.now().toString(), "2024-01", "2024-02"), rendered);
+    }
+
+    @Test
+    @DisplayName("Should reject submissions while the queue is full")
+    public void should_reject_when_queue_full() throws Exception {
+        // Prepare test data
+        start();
+        StatementJobResponse blocker = statementJobService.submitJob(1L, request(YearMonth.of(2023, 12)));
+        awaitStatus(blocker.getJobId(), StatementJobStatus.RUNNING);
+        for (int month = 1; month <= 3; month++) {
+            statementJobService.submitJob(1L, request(YearMonth.of(2024, month)));
+        }
+
+        // Execute test and verify results
+        assertThrows(RejectedExecutionException.class,
+                () -> statementJobService.submitJob(1L, request(YearMonth.of(2024, 4))));
+
+        release.countDown();
+        awaitStatus(blocker.getJobId(), StatementJobStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should refuse to download a statement that is not ready")
+    public void should_conflict_when_not_completed() throws Exception {
+        // Prepare test data
+        start();
+        StatementJobResponse running = statementJobService.submitJob(1L, request(YearMonth.of(2024, 3)));
+        awaitStatus(running.getJobId(), StatementJobStatus.RUNNING);
+
+        // Execute test and verify results
+        assertThrows(ConflictException.class, () -> statementJobService.getJobStatement(running.getJobId()));
+    }
+
+    @Test
+    @DisplayName("Should delete jobs and statements past their time to live")
+    public void should_remove_expired_jobs() throws Exception {
+        // Prepare test data
+        properties.getJobs().setTtl(Duration.ZERO);
+        start();
+        release.countDown();
+        StatementJobResponse job = statementJobService.submitJob(1L, request(YearMonth.of(2024, 3)));
+        await(job.getJobId());
+
+        // Execute test
+        statementJobService.removeExpired();
+
+        // Verify results
+        assertThrows(ResourceNotFoundException.class, () -> statementJobService.getJob(job.getJobId()));
+        assertEquals(0, Files.list(directory).count());
+    }
+
+    @Test
+    @DisplayName("Should hide jobs of other users and remove leftovers of a previous run")
+    public void should_hide_other_users_jobs() throws Exception {
+        // Prepare test data
+        Files.writeString(directory.resolve("statement-job-leftover.txt"), "stale");
+        start();
+        release.countDown();
+        StatementJobResponse job = statementJobService.submitJob(1L, request(YearMonth.of(2024, 3)));
+        await(job.getJobId());
+        when(ledgerStore.getCurrentUser()).thenReturn(User.builder().id(2L).username("other").build());
+
+        // Execute test and verify results
+        assertFalse(Files.exists(directory.resolve("statement-job-leftover.txt")));
+        assertThrows(ResourceNotFoundException.class, () -> statementJobService.getJob(job.getJobId()));
+        assertThrows(ResourceNotFoundException.class, () -> statementJobService.getJobStatement(job.getJobId()));
+    }
+
+    private void start() {
+        statementJobService = new StatementJobServiceImpl(statementService, ledgerStore, properties);
+        statementJobService.start();
+    }
+
+    private StatementJobResponse await(String jobId) throws InterruptedException {
+        return awaitStatus(jobId, StatementJobStatus.COMPLETED);
+    }
+
+    private StatementJobResponse awaitStatus(String jobId, StatementJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        StatementJobResponse job = statementJobService.getJob(jobId);
+        while (job.getStatus() != status) {
+            assertTrue(System.nanoTime() < deadline, "Job " + jobId + " is still " + job.getStatus());
+            Thread.sleep(5);
+            job = statementJobService.getJob(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Statement that records its render and waits until the test releases it
+     */
+    private StatementService.Statement statement(StatementRequest request) {
+        YearMonth month = YearMonth.of(request.getYear(), request.getMonth());
+        return new StatementService.Statement() {
+            @Override
+            public String fileName() {
+                return "statement-" + month.getYear() + "-" + month.getMonthValue() + ".txt";
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                rendered.add(month.toString());
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                }
+                out.write(("Statement " + month + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    private static StatementRequest request(YearMonth month) {
+        StatementRequest request = new StatementRequest();
+        request.setYear(month.getYear());
+        request.setMonth(month.getMonthValue());
+        return request;
+    }
+}
@@ -0,0 +1,196 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.dto.request.StatementRequest;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.Transaction;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.ResourceNotFoundException;
+import com.interview.assessment.jp.service.LedgerStore;
+import com.interview.assessment.jp.service.StatementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class StatementServiceImplTest {
+
+    @Mock
+    private LedgerStore ledgerStore;
+
+    @Spy
+    private StatementCache statementCache = new StatementCache(1_000_000);
+
+    @InjectMocks
+    private StatementServiceImpl statementService;
+
+    private User testUser;
+    private Account testAccount;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .password("password")
+                .build();
+
+        testAccount = Account.builder()
+                .id(1L)
+                .accountNumber("100000001")
+                .accountType(AccountType.SAVINGS)
+                .balance(BigDecimal.valueOf(5000))
+                .user(testUser)
+                .build();
+
+        when(ledgerStore.getCurrentUser()).thenReturn(testUser);
+    }
+
+    @Test
+    @DisplayName("Should render the opening balance and a running balance per transaction")
+    public void should_render_statement_with_running_balance() throws Exception {
+        // Prepare test data
+        LocalDateTime march = LocalDateTime.of(2024, 3, 1, 0, 0);
+        List<Transaction> transactions = List.of(
+                transaction(1L, TransactionType.CREDIT, "1000.00", "Salary Deposit", march.plusDays(1)),
+                transaction(2L, TransactionType.DEBIT, "200.50", "Supermarket Shopping", march.plusDays(4)));
+
+        when(ledgerStore.getAccountById(1L)).thenReturn(testAccount);
+        when(ledgerStore.getStatementPeriod(1L, march, march.plusMonths(1)))
+                .thenReturn(new LedgerStore.StatementPeriod(new BigDecimal("300.00"), transactions));
+
+        // Execute test
+        StatementService.Statement statement = statementService.getStatement(1L, request(2024, 3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statement.writeTo(out);
+        String text = out.toString(StandardCharsets.UTF_8);
+
+        // Verify results
+        assertEquals("statement-1-2024-3.txt", statement.fileName());
+        assertTrue(text.contains("Statement Period: 2024-03-01 to 2024-03-31\n"));
+        assertTrue(text.contains("Opening Balance: $300.00\n"));
+        assertTrue(text.contains("1. 2024-03-02 00:00 - Deposit - $1000.00 - Salary Deposit - Balance $1300.00\n"));
+        assertTrue(text.contains("2. 2024-03-05 00:00 - Withdrawal - $200.50 - Supermarket Shopping - Balance $1099.50\n"));
+        assertTrue(text.contains("Total Deposits: $1000.00\n"));
+        assertTrue(text.contains("Total Withdrawals: $200.50\n"));
+        assertTrue(text.endsWith("Ending Balance: $1099.50\n"));
+    }
+
+    @Test
+    @DisplayName("Should render an empty month with the opening balance as ending balance")
+    public void should_render_empty_statement() throws Exception {
+        // Prepare test data
+        when(ledgerStore.getAccountById(1L)).thenReturn(testAccount);
+        when(ledgerStore.getStatementPeriod(any(), any(), any()))
+                .thenReturn(new LedgerStore.StatementPeriod(new BigDecimal("42.00"), List.of()));
+
+        // Execute test
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementService.getStatement(1L, request(2024, 2)).writeTo(out);
+        String text = out.toString(StandardCharsets.UTF_8);
+
+        // Verify results
+        assertTrue(text.contains("Statement Period: 2024-02-01 to 2024-02-29\n"));
+        assertTrue(text.contains("No transactions\n"));
+        assertTrue(text.endsWith("Ending Balance: $42.00\n"));
+    }
+
+    @Test
+    @DisplayName("Should serve a closed month from the cache until a posting lands in it")
+    public void should_cache_closed_month_statement() throws Exception {
+        // Prepare test data
+        LocalDateTime march = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(ledgerStore.getAccountById(1L)).thenReturn(testAccount);
+        when(ledgerStore.getStatementPeriod(1L, march, march.plusMonths(1)))
+                .thenReturn(new LedgerStore.StatementPeriod(new BigDecimal("10.00"), List.of()));
+
+        // Execute test
+        String first = render(request(2024, 3));
+        String second = render(request(2024, 3));
+        statementCache.invalidate(1L, march.plusDays(9));
+        String third = render(request(2024, 3));
+
+        // Verify results
+        assertEquals(first, second);
+        assertEquals(first, third);
+        verify(ledgerStore, times(2)).getStatementPeriod(1L, march, march.plusMonths(1));
+        assertEquals(1, statementCache.stats().hits());
+        assertEquals(2, statementCache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("Should not cache the statement of the current month")
+    public void should_not_cache_open_month() throws Exception {
+        // Prepare test data
+        YearMonth current = YearMonth.now();
+        when(ledgerStore.getAccountById(1L)).thenReturn(testAccount);
+        when(ledgerStore.getStatementPeriod(any(), any(), any()))
+                .thenReturn(new LedgerStore.StatementPeriod(BigDecimal.ZERO, List.of()));
+
+        // Execute test
+        render(request(current.getYear(), current.getMonthValue()));
+        render(request(current.getYear(), current.getMonthValue()));
+
+        // Verify results
+        verify(ledgerStore, times(2)).getStatementPeriod(any(), any(), any());
+        assertEquals(0, statementCache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the account belongs to another user")
+    public void should_throw_exception_when_account_not_owned() {
+        // Prepare test data
+        Account otherAccount = Account.builder()
+                .id(2L)
+                .user(User.builder().id(2L).build())
+                .build();
+        when(ledgerStore.getAccountById(2L)).thenReturn(otherAccount);
+
+        // Execute test and verify results
+        assertThrows(ResourceNotFoundException.class, () -> statementService.getStatement(2L, request(2024, 3)));
+        assertThrows(ResourceNotFoundException.class, () -> statementService.getStatement(3L, request(2024, 3)));
+        verify(ledgerStore, never()).getStatementPeriod(any(), any(), any());
+    }
+
+    private String render(StatementRequest request) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementService.getStatement(1L, request).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static StatementRequest request(int year, int month) {
+        StatementRequest request = new StatementRequest();
+        request.setYear(year);
+        request.setMonth(month);
+        return request;
+    }
+
+    private Transaction transaction(Long id, TransactionType type, String amount, String description,
+            LocalDateTime transactionDate) {
+        return Transaction.builder()
+                .id(id)
+                .transactionType(type)
+                .amount(new BigDecimal(amount))
+                .description(description)
+                .transactionDate(transactionDate)
+                .account(testAccount)
+                .build();
+    }
+}
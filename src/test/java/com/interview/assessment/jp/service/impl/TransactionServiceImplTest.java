@@ -1,25 +1,35 @@
 package com.interview.assessment.jp.service.impl;
 
 import com.interview.assessment.jp.dto.request.TransactionRequest;
+import com.interview.assessment.jp.dto.request.TransferRequest;
+import com.interview.assessment.jp.dto.response.TransactionPageResponse;
 import com.interview.assessment.jp.dto.response.TransactionResponse;
+import com.interview.assessment.jp.dto.response.TransferResponse;
 import com.interview.assessment.jp.entity.Account;
 import com.interview.assessment.jp.entity.Transaction;
 import com.interview.assessment.jp.entity.User;
 import com.interview.assessment.jp.enums.AccountType;
 import com.interview.assessment.jp.enums.TransactionType;
+import com.interview.assessment.jp.exception.ConflictException;
+import com.interview.assessment.jp.exception.InsufficientFundsException;
 import com.interview.assessment.jp.exception.ResourceNotFoundException;
 import com.interview.assessment.jp.repository.AccountRepository;
 import com.interview.assessment.jp.repository.TransactionRepository;
+import com.interview.assessment.jp.service.LedgerStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,7 +46,13 @@ public class TransactionServiceImplTest {
     private AccountRepository accountRepository;
 
     @Mock
-    private MockDataService mockDataService;
+    private LedgerStore ledgerStore;
+
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(1_000, Duration.ofHours(1));
+
+    @Spy
+    private PostingMetrics postingMetrics = new PostingMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
@@ -63,8 +79,8 @@ public class TransactionServiceImplTest {
                 .user(testUser)
                 .build();
 
-        // 模拟MockDataService
-        when(mockDataService.getCurrentUser()).thenReturn(testUser);
+        // 模拟LedgerStore
+        when(ledgerStore.getCurrentUser()).thenReturn(testUser);
     }
 
     @Test
@@ -97,8 +113,8 @@ public class TransactionServiceImplTest {
         // 模拟仓库返回
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
         when(transactionRepository.findByAccount_Id(accountId)).thenReturn(transactions);
-        when(mockDataService.getAccountById(accountId)).thenReturn(testAccount);
-        when(mockDataService.getTransactionsByAccountId(accountId)).thenReturn(transactions);
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.getTransactionsByAccountId(accountId)).thenReturn(transactions);
 
         // 执行测试
         List<TransactionResponse> result = transactionService.getTransactionsByAccountId(accountId);
@@ -118,6 +134,130 @@ public class TransactionServiceImplTest {
         assertEquals(accountId, result.get(1).getAccountId());
     }
 
+    @Test
+    @DisplayName("应该返回日期范围内的交易")
+    public void should_return_transactions_between_dates() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = from.plusMonths(1);
+
+        Transaction transaction = Transaction.builder()
+                .id(1L)
+                .transactionType(TransactionType.CREDIT)
+                .amount(BigDecimal.valueOf(1000))
+                .description("工资入账")
+                .transactionDate(from.plusDays(10))
+                .account(testAccount)
+                .build();
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.getTransactionsByAccountIdBetween(accountId, from, to)).thenReturn(List.of(transaction));
+
+        // 执行测试
+        List<TransactionResponse> result = transactionService.getTransactionsByAccountIdBetween(accountId, from, to);
+
+        // 验证结果
+        assertEquals(1, result.size());
+        assertEquals(from.plusDays(10), result.get(0).getTransactionDate());
+        verify(ledgerStore, times(1)).getTransactionsByAccountIdBetween(accountId, from, to);
+    }
+
+    @Test
+    @DisplayName("当开始日期晚于结束日期时应该抛出异常")
+    public void should_reject_inverted_date_range() {
+        // 准备测试数据
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        // 执行测试并验证结果
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsByAccountIdBetween(testAccount.getId(), from,
+                        from.minusDays(1)));
+        verify(ledgerStore, never()).getTransactionsByAccountIdBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("应该以流的形式返回账户交易")
+    public void should_stream_transactions() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        Transaction transaction = Transaction.builder()
+                .id(1L)
+                .transactionType(TransactionType.CREDIT)
+                .amount(BigDecimal.valueOf(1000))
+                .description("工资入账")
+                .transactionDate(from.plusDays(1))
+                .account(testAccount)
+                .build();
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.getTransactionsByAccountId(accountId)).thenReturn(List.of(transaction));
+        when(ledgerStore.getTransactionsByAccountIdBetween(accountId, from, null)).thenReturn(List.of());
+
+        // 执行测试
+        List<TransactionResponse> all = transactionService.streamTransactionsByAccountId(accountId, null, null)
+                .toList();
+        List<TransactionResponse> ranged = transactionService.streamTransactionsByAccountId(accountId, from, null)
+                .toList();
+
+        // 验证结果
+        assertEquals(1, all.size());
+        assertEquals("工资入账", all.get(0).getDescription());
+        assertTrue(ranged.isEmpty());
+        assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.streamTransactionsByAccountId(999L, null, null));
+    }
+
+    @Test
+    @DisplayName("应该按游标分页返回交易")
+    public void should_return_transactions_page_with_cursor() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        LocalDateTime date = LocalDateTime.of(2024, 3, 1, 9, 30);
+        List<Transaction> transactions = Arrays.asList(
+                Transaction.builder().id(1L).transactionType(TransactionType.CREDIT).amount(BigDecimal.TEN)
+                        .description("工资入账").transactionDate(date).account(testAccount).build(),
+                Transaction.builder().id(2L).transactionType(TransactionType.DEBIT).amount(BigDecimal.ONE)
+                        .description("超市购物").transactionDate(date.plusDays(1)).account(testAccount).build(),
+                Transaction.builder().id(3L).transactionType(TransactionType.DEBIT).amount(BigDecimal.ONE)
+                        .description("餐厅消费").transactionDate(date.plusDays(2)).account(testAccount).build());
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.getTransactionsPageByAccountId(accountId, null, 0, 3))
+                .thenReturn(transactions);
+        when(ledgerStore.getTransactionsPageByAccountId(accountId, date.plusDays(1), 2L, 3))
+                .thenReturn(transactions.subList(2, 3));
+
+        // 执行测试
+        TransactionPageResponse first = transactionService.getTransactionsPageByAccountId(accountId, null, 2);
+        TransactionPageResponse second = transactionService.getTransactionsPageByAccountId(accountId,
+                first.getNextCursor(), 2);
+
+        // 验证结果
+        assertEquals(2, first.getTransactions().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getTransactions().size());
+        assertEquals(3L, second.getTransactions().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("当分页参数无效时应该抛出异常")
+    public void should_reject_invalid_page_request() {
+        // 执行测试并验证结果
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPageByAccountId(testAccount.getId(), null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPageByAccountId(testAccount.getId(), null,
+                        TransactionServiceImpl.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPageByAccountId(testAccount.getId(), "不是游标", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPageByAccountId(testAccount.getId(), "AAAA", 10));
+        verify(ledgerStore, never()).getTransactionsPageByAccountId(any(), any(), anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("应该创建新交易")
     public void should_create_new_transaction() {
@@ -142,8 +282,8 @@ public class TransactionServiceImplTest {
         // 模拟仓库返回
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
-        when(mockDataService.getAccountById(accountId)).thenReturn(testAccount);
-        when(mockDataService.createTransaction(any(Transaction.class))).thenReturn(savedTransaction);
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransaction(any(Transaction.class))).thenReturn(savedTransaction);
 
         // 执行测试
         TransactionResponse result = transactionService.createTransaction(accountId, request);
@@ -157,6 +297,197 @@ public class TransactionServiceImplTest {
         assertEquals(accountId, result.getAccountId());
     }
 
+    @Test
+    @DisplayName("应该对相同幂等键的重试返回原交易而不再记账")
+    public void should_return_original_transaction_for_retried_key() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        TransactionRequest request = request(TransactionType.CREDIT, "1000.00", "工资入账");
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(42L);
+            return transaction;
+        });
+
+        // 执行测试
+        TransactionResponse first = transactionService.createTransaction(accountId, request, "key-1");
+        TransactionResponse retry = transactionService.createTransaction(accountId,
+                request(TransactionType.CREDIT, "1000.00", "工资入账"), "key-1");
+
+        // 验证结果
+        assertEquals(42L, retry.getId());
+        assertSame(first, retry);
+        verify(ledgerStore, times(1)).createTransaction(any(Transaction.class));
+        assertThrows(ConflictException.class, () -> transactionService.createTransaction(accountId,
+                request(TransactionType.CREDIT, "999.00", "工资入账"), "key-1"));
+    }
+
+    @Test
+    @DisplayName("应该在记账失败后允许用同一幂等键重试")
+    public void should_allow_retry_after_failed_posting() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        TransactionRequest request = request(TransactionType.DEBIT, "9000.00", "大额取款");
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransaction(any(Transaction.class)))
+                .thenThrow(new IllegalArgumentException("Insufficient account balance"))
+                .thenAnswer(invocation -> {
+                    Transaction transaction = invocation.getArgument(0);
+                    transaction.setId(7L);
+                    return transaction;
+                });
+
+        // 执行测试
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createTransaction(accountId, request, "key-2"));
+        TransactionResponse retry = transactionService.createTransaction(accountId, request, "key-2");
+
+        // 验证结果
+        assertEquals(7L, retry.getId());
+        verify(ledgerStore, times(2)).createTransaction(any(Transaction.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createTransaction(accountId, request, " "));
+    }
+
+    @Test
+    @DisplayName("应该按结果统计记账次数")
+    public void should_count_posting_outcomes() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        TransactionRequest request = request(TransactionType.DEBIT, "9000.00", "大额取款");
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransaction(any(Transaction.class)))
+                .thenThrow(new InsufficientFundsException())
+                .thenAnswer(invocation -> {
+                    Transaction transaction = invocation.getArgument(0);
+                    transaction.setId(8L);
+                    return transaction;
+                });
+
+        // 执行测试
+        assertThrows(InsufficientFundsException.class,
+                () -> transactionService.createTransaction(accountId, request));
+        transactionService.createTransaction(accountId, request);
+        assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.createTransaction(999L, request));
+
+        // 验证结果
+        assertEquals(1, postingMetrics.count(PostingMetrics.Kind.TRANSACTION, PostingMetrics.Outcome.SUCCESS));
+        assertEquals(1, postingMetrics.count(PostingMetrics.Kind.TRANSACTION,
+                PostingMetrics.Outcome.INSUFFICIENT_FUNDS));
+        assertEquals(1, postingMetrics.count(PostingMetrics.Kind.TRANSACTION, PostingMetrics.Outcome.NOT_FOUND));
+        assertEquals(0, postingMetrics.count(PostingMetrics.Kind.BATCH, PostingMetrics.Outcome.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("应该按顺序批量创建交易")
+    public void should_create_transaction_batch() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        List<TransactionRequest> requests = List.of(
+                request(TransactionType.CREDIT, "100.00", "工资入账"),
+                request(TransactionType.DEBIT, "30.00", "超市购物"));
+
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransactions(eq(accountId), anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(1);
+            for (int i = 0; i < transactions.size(); i++) {
+                transactions.get(i).setId(10L + i);
+            }
+            return transactions;
+        });
+
+        // 执行测试
+        List<TransactionResponse> result = transactionService.createTransactions(accountId, requests);
+
+        // 验证结果
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(0).getId());
+        assertEquals(TransactionType.CREDIT, result.get(0).getTransactionType());
+        assertEquals("超市购物", result.get(1).getDescription());
+        assertEquals(result.get(0).getTransactionDate(), result.get(1).getTransactionDate());
+        verify(ledgerStore, times(1)).createTransactions(eq(accountId), anyList());
+        verify(ledgerStore, never()).createTransaction(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("应该拒绝空批次和超大批次")
+    public void should_reject_empty_or_oversized_batch() {
+        // 准备测试数据
+        Long accountId = testAccount.getId();
+        List<TransactionRequest> oversized = Collections.nCopies(TransactionServiceImpl.MAX_BATCH_SIZE + 1,
+                request(TransactionType.CREDIT, "1.00", "入账"));
+
+        // 执行测试并验证结果
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransactions(accountId, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransactions(accountId, oversized));
+        verify(ledgerStore, never()).createTransactions(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("应该创建关联的转出和转入交易")
+    public void should_create_transfer() {
+        // 准备测试数据
+        User otherUser = User.builder().id(2L).username("other").password("password").build();
+        Account destination = Account.builder()
+                .id(2L)
+                .accountNumber("100000002")
+                .accountType(AccountType.CHECKING)
+                .balance(BigDecimal.ZERO)
+                .user(otherUser)
+                .build();
+        TransferRequest request = transferRequest(testAccount.getId(), destination.getId(), "200.00");
+        Transaction debit = Transaction.builder().id(20L).transactionType(TransactionType.DEBIT)
+                .amount(new BigDecimal("200.00")).description("转账").account(testAccount).linkedTransactionId(21L)
+                .build();
+        Transaction credit = Transaction.builder().id(21L).transactionType(TransactionType.CREDIT)
+                .amount(new BigDecimal("200.00")).description("转账").account(destination).linkedTransactionId(20L)
+                .build();
+
+        when(ledgerStore.getAccountById(testAccount.getId())).thenReturn(testAccount);
+        when(ledgerStore.getAccountById(destination.getId())).thenReturn(destination);
+        when(ledgerStore.createTransfer(eq(testAccount.getId()), eq(destination.getId()),
+                eq(new BigDecimal("200.00")), eq("转账"), any(LocalDateTime.class)))
+                .thenReturn(new LedgerStore.Transfer(debit, credit));
+
+        // 执行测试
+        TransferResponse result = transactionService.createTransfer(request);
+
+        // 验证结果
+        assertEquals(20L, result.getDebit().getId());
+        assertEquals(21L, result.getDebit().getLinkedTransactionId());
+        assertEquals(testAccount.getId(), result.getDebit().getAccountId());
+        assertEquals(21L, result.getCredit().getId());
+        assertEquals(20L, result.getCredit().getLinkedTransactionId());
+        assertEquals(destination.getId(), result.getCredit().getAccountId());
+    }
+
+    @Test
+    @DisplayName("当转出账户不属于当前用户或转入账户不存在时转账应该抛出异常")
+    public void should_reject_transfer_from_foreign_or_to_missing_account() {
+        // 准备测试数据
+        User otherUser = User.builder().id(2L).username("other").password("password").build();
+        Account foreign = Account.builder().id(2L).accountNumber("100000002").accountType(AccountType.CHECKING)
+                .balance(BigDecimal.TEN).user(otherUser).build();
+
+        when(ledgerStore.getAccountById(testAccount.getId())).thenReturn(testAccount);
+        when(ledgerStore.getAccountById(foreign.getId())).thenReturn(foreign);
+        when(ledgerStore.getAccountById(999L)).thenReturn(null);
+
+        // 执行测试并验证结果
+        assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.createTransfer(transferRequest(foreign.getId(), testAccount.getId(), "1.00")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.createTransfer(transferRequest(testAccount.getId(), 999L, "1.00")));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransfer(
+                transferRequest(testAccount.getId(), testAccount.getId(), "1.00")));
+        verify(ledgerStore, never()).createTransfer(any(), any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("应该更新账户余额 - 存款")
     public void should_update_account_balance_for_deposit() {
@@ -185,8 +516,8 @@ public class TransactionServiceImplTest {
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
-        when(mockDataService.getAccountById(accountId)).thenReturn(testAccount);
-        when(mockDataService.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(1L);
             // 更新账户余额
@@ -233,8 +564,8 @@ public class TransactionServiceImplTest {
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
-        when(mockDataService.getAccountById(accountId)).thenReturn(testAccount);
-        when(mockDataService.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+        when(ledgerStore.getAccountById(accountId)).thenReturn(testAccount);
+        when(ledgerStore.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(1L);
             // 更新账户余额
@@ -271,7 +602,7 @@ public class TransactionServiceImplTest {
 
         // 模拟仓库返回
         when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-        when(mockDataService.getTransactionById(transactionId)).thenReturn(transaction);
+        when(ledgerStore.getTransactionById(transactionId)).thenReturn(transaction);
 
         // 执行测试
         TransactionResponse result = transactionService.getTransactionById(transactionId);
@@ -293,7 +624,7 @@ public class TransactionServiceImplTest {
 
         // 模拟仓库返回
         when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
-        when(mockDataService.getTransactionById(transactionId)).thenReturn(null);
+        when(ledgerStore.getTransactionById(transactionId)).thenReturn(null);
 
         // 执行测试并验证结果
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -314,11 +645,28 @@ public class TransactionServiceImplTest {
 
         // 模拟仓库返回
         when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
-        when(mockDataService.getAccountById(accountId)).thenReturn(null);
+        when(ledgerStore.getAccountById(accountId)).thenReturn(null);
 
         // 执行测试并验证结果
         assertThrows(ResourceNotFoundException.class, () -> {
             transactionService.createTransaction(accountId, request);
         });
     }
-}
\ No newline at end of file
+
+    private static TransferRequest transferRequest(Long fromAccountId, Long toAccountId, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(fromAccountId);
+        request.setToAccountId(toAccountId);
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("转账");
+        return request;
+    }
+
+    private static TransactionRequest request(TransactionType type, String amount, String description) {
+        TransactionRequest request = new TransactionRequest();
+        request.setTransactionType(type);
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription(description);
+        return request;
+    }
+}
@@ -0,0 +1,132 @@
+package com.interview.assessment.jp.service.impl;
+
+import com.interview.assessment.jp.config.LedgerProperties;
+import com.interview.assessment.jp.config.LedgerProperties.BalanceEngine;
+import com.interview.assessment.jp.entity.Account;
+import com.interview.assessment.jp.entity.User;
+import com.interview.assessment.jp.enums.AccountType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Random transfers between accounts from many threads, for each balance
+ * engine, over a large account population and over a small hot set. Every
+ * run checks that the money in the ledger is unchanged. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TransferThroughputTest {
+
+    private static final int TRANSFERS_PER_THREAD = Integer.getInteger("benchmark.transfers", 20_000);
+    private static final int THREADS = 32;
+    private static final int ACCOUNTS = 10_000;
+    private static final int HOT_ACCOUNTS = 16;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Test
+    @DisplayName("Random transfers among 10k accounts on 32 threads should conserve money")
+    public void transfer_throughput_conserves_money() throws Exception {
+        System.out.printf("%nRandom transfers (%d threads x %d transfers, %d CPUs)%n",
+                THREADS, TRANSFERS_PER_THREAD, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %10s %16s %12s %20s%n", "engine", "accounts", "transfers/s", "rejected", "total money");
+
+        // Warm up
+        run(BalanceEngine.LOCKED, ACCOUNTS, false);
+
+        for (BalanceEngine engine : BalanceEngine.values()) {
+            run(engine, ACCOUNTS, true);
+            run(engine, HOT_ACCOUNTS, true);
+        }
+    }
+
+    private void run(BalanceEngine engine, int accountCount, boolean report) throws Exception {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setBalanceEngine(engine);
+        MockDataService mockDataService = new MockDataService(properties);
+        mockDataService.init();
+        User user = mockDataService.getCurrentUser();
+
+        List<Long> accountIds = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            accountIds.add(mockDataService.createAccount(Account.builder()
+                    .accountNumber("TRF-" + i)
+                    .balance(OPENING_BALANCE)
+                    .accountType(AccountType.CHECKING)
+                    .user(user)
+                    .build()).getId());
+        }
+        BigDecimal before = total(mockDataService, accountIds);
+
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(accountCount);
+                    int to = random.nextInt(accountCount - 1);
+                    if (to >= from) {
+                        to++;
+                    }
+                    try {
+                        mockDataService.createTransfer(accountIds.get(from), accountIds.get(to),
+                                BigDecimal.valueOf(random.nextLong(1, 50_000), 2), "Benchmark transfer",
+                                LocalDateTime.now());
+                    } catch (IllegalArgumentException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            // A deadlock shows up as a timeout rather than a hung build
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        long total = (long) THREADS * TRANSFERS_PER_THREAD;
+        BigDecimal after = total(mockDataService, accountIds);
+        long legs = accountIds.stream()
+                .mapToLong(id -> mockDataService.getTransactionsByAccountId(id).size())
+                .sum();
+        assertEquals(before, after);
+        assertEquals(2 * (total - rejected.get()), legs);
+
+        if (report) {
+            System.out.printf("%-8s %10d %16.0f %12d %20s%n", engine, accountCount,
+                    total * 1_000_000_000.0 / elapsed, rejected.get(), after);
+        }
+        mockDataService.close();
+    }
+
+    private static BigDecimal total(MockDataService mockDataService, List<Long> accountIds) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long id : accountIds) {
+            total = total.add(mockDataService.getAccountById(id).getBalance());
+        }
+        return total;
+    }
+}